@@ -0,0 +1,20 @@
+package jsonjar.cli;
+
+enum CliErrorConstants {
+    CLI_MISSING_MODE("Error: No mode given."),
+    CLI_UNKNOWN_MODE("Error: Unknown mode "),
+    CLI_UNKNOWN_OPTION("Error: Unknown option "),
+    CLI_MISSING_VALUE("Error: Missing value for "),
+    CLI_INVALID_COUNT("Error: Expected a non-negative whole number for "),
+    CLI_NO_DOCUMENTS("Error: The input contains no documents.");
+
+    private final String message;
+
+    CliErrorConstants(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
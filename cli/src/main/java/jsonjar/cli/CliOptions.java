@@ -0,0 +1,69 @@
+package jsonjar.cli;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static jsonjar.cli.CliErrorConstants.*;
+
+// Parsed command line. An input of "-", or no input at all, means stdin.
+
+record CliOptions(Mode mode, int threads, int warmup, int iterations, Path out, List<String> inputs) {
+    static final String USAGE = """
+            Usage: jsonjar <parse|validate|minify|pretty|ndjson> [options] [file ...]
+            Reads stdin when no file is given or a file is "-". Statistics go to stderr.
+              --threads n      worker threads, each processing every document (default 1)
+              --warmup n       unmeasured passes per thread before measuring (default 1)
+              --iterations n   measured passes per thread (default 3)
+              --out file       where minify and pretty write their output (default stdout)""";
+
+    static CliOptions parse(String[] args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException(CLI_MISSING_MODE.getMessage());
+        }
+
+        Mode mode = Mode.fromName(args[0]);
+        int threads = 1;
+        int warmup = 1;
+        int iterations = 3;
+        Path out = null;
+        List<String> inputs = new ArrayList<>();
+
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                inputs.add(arg);
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(CLI_MISSING_VALUE.getMessage() + arg + ".");
+            }
+
+            String value = args[++i];
+            switch (arg) {
+                case "--threads" -> threads = Math.max(1, count(arg, value));
+                case "--warmup" -> warmup = count(arg, value);
+                case "--iterations" -> iterations = Math.max(1, count(arg, value));
+                case "--out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException(CLI_UNKNOWN_OPTION.getMessage() + arg + ".");
+            }
+        }
+
+        if (inputs.isEmpty()) {
+            inputs.add("-");
+        }
+        return new CliOptions(mode, threads, warmup, iterations, out, List.copyOf(inputs));
+    }
+
+    private static int count(String option, String value) {
+        try {
+            int count = Integer.parseInt(value);
+            if (count >= 0) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below like a negative count
+        }
+        throw new IllegalArgumentException(CLI_INVALID_COUNT.getMessage() + option + ".");
+    }
+}
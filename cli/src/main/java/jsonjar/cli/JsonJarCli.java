@@ -0,0 +1,171 @@
+package jsonjar.cli;
+
+import com.sun.management.ThreadMXBean;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static jsonjar.cli.CliErrorConstants.CLI_NO_DOCUMENTS;
+
+// Measures the library on real samples: every thread runs the warm-up passes, waits for the others,
+// then runs the measured passes over all documents. Inputs are read and decoded before anything is
+// timed. Only the first pass of the first thread writes minify and pretty output; the rest discard it.
+//
+// Exits with 0 when every document was valid, 1 when some were not and 2 on a usage error.
+
+public final class JsonJarCli {
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private JsonJarCli() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        CliOptions options;
+        try {
+            options = CliOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(CliOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try (OutputStream output = options.out() != null ? Files.newOutputStream(options.out()) : new FileOutputStream(FileDescriptor.out)) {
+            RunStatistics statistics = run(options, System.in, output);
+            statistics.print(System.err);
+            System.exit(statistics.invalidPerPass() == 0 ? 0 : 1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    static RunStatistics run(CliOptions options, InputStream stdin, OutputStream output) throws IOException, InterruptedException {
+        List<Mode.Document> documents = load(options, stdin);
+        long bytesPerPass = documents.stream().mapToLong(document -> document.bytes().length).sum();
+        BufferedOutputStream bufferedOutput = new BufferedOutputStream(output, 1 << 16);
+
+        int threads = options.threads();
+        long[] before = new long[3]; // GC count, GC time and start of the measured passes
+        CyclicBarrier warmedUp = new CyclicBarrier(threads, () -> {
+            System.arraycopy(RunStatistics.gcCounters(), 0, before, 0, 2);
+            before[2] = System.nanoTime();
+        });
+        LongAdder allocated = new LongAdder();
+        LongAdder invalid = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            boolean writesOutput = t == 0;
+            workers.add(new Thread(() -> {
+                Worker worker = new Worker();
+                try {
+                    for (int pass = 0; pass < options.warmup(); pass++) {
+                        runPass(options.mode(), worker, documents, writesOutput && pass == 0 ? bufferedOutput : OutputStream.nullOutputStream());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+
+                try {
+                    warmedUp.await(); // Reached even after a failure, so that no other worker waits forever
+                    if (failure.get() != null) {
+                        return;
+                    }
+
+                    long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+                    for (int pass = 0; pass < options.iterations(); pass++) {
+                        OutputStream target = writesOutput && options.warmup() == 0 && pass == 0 ? bufferedOutput : OutputStream.nullOutputStream();
+                        invalid.add(runPass(options.mode(), worker, documents, target));
+                    }
+                    allocated.add(THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                } catch (IOException | InterruptedException | BrokenBarrierException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "jsonjar-worker-" + t));
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - before[2];
+        long peakHeap = RunStatistics.peakHeap();
+        long[] after = RunStatistics.gcCounters();
+        bufferedOutput.flush();
+
+        Throwable cause = failure.get();
+        if (cause instanceof IOException e) {
+            throw e;
+        } else if (cause != null) {
+            throw new IllegalStateException(cause);
+        }
+
+        return new RunStatistics(options.mode(), threads, options.iterations(), options.inputs().size(), documents.size(), bytesPerPass,
+                elapsed, allocated.sum(), peakHeap, after[0] - before[0], after[1] - before[1], invalid.sum() / ((long) threads * options.iterations()));
+    }
+
+    // Returns the number of invalid documents
+    private static long runPass(Mode mode, Worker worker, List<Mode.Document> documents, OutputStream output) throws IOException {
+        long invalid = 0;
+        for (Mode.Document document : documents) {
+            if (!mode.process(worker, document, output)) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    private static List<Mode.Document> load(CliOptions options, InputStream stdin) throws IOException {
+        List<Mode.Document> documents = new ArrayList<>();
+
+        for (String input : options.inputs()) {
+            byte[] bytes = input.equals("-") ? stdin.readAllBytes() : Files.readAllBytes(Path.of(input));
+            if (options.mode().splitsLines()) {
+                addLines(bytes, documents);
+            } else {
+                documents.add(Mode.Document.of(bytes));
+            }
+        }
+
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException(CLI_NO_DOCUMENTS.getMessage());
+        }
+        return documents;
+    }
+
+    private static void addLines(byte[] bytes, List<Mode.Document> documents) {
+        int lineStart = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i == bytes.length || bytes[i] == '\n') {
+                int lineEnd = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+                if (!isBlank(bytes, lineStart, lineEnd)) {
+                    byte[] line = new byte[lineEnd - lineStart];
+                    System.arraycopy(bytes, lineStart, line, 0, line.length);
+                    documents.add(Mode.Document.of(line));
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
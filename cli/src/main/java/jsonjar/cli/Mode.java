@@ -0,0 +1,70 @@
+package jsonjar.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+// What the tool does with each document. Every mode returns false for a document it finds invalid
+// rather than throwing, so one bad sample does not end a measurement.
+
+enum Mode {
+    PARSE {
+        @Override
+        boolean process(Worker worker, Document document, OutputStream output) {
+            return worker.parse(document) != null;
+        }
+    },
+    VALIDATE {
+        @Override
+        boolean process(Worker worker, Document document, OutputStream output) {
+            return worker.validate(document);
+        }
+    },
+    MINIFY {
+        @Override
+        boolean process(Worker worker, Document document, OutputStream output) throws IOException {
+            return worker.writeCompact(document, output);
+        }
+    },
+    PRETTY {
+        @Override
+        boolean process(Worker worker, Document document, OutputStream output) throws IOException {
+            return worker.writePretty(document, output);
+        }
+    },
+    // Like PARSE, but each non-blank input line is a document of its own, checked as RFC 8259 JSON
+    // text, so a line holding only a string, boolean or null is valid
+    NDJSON {
+        @Override
+        boolean process(Worker worker, Document document, OutputStream output) {
+            return worker.parseLine(document) != null;
+        }
+
+        @Override
+        boolean splitsLines() {
+            return true;
+        }
+    };
+
+    abstract boolean process(Worker worker, Document document, OutputStream output) throws IOException;
+
+    boolean splitsLines() {
+        return false;
+    }
+
+    static Mode fromName(String name) {
+        for (Mode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException(CliErrorConstants.CLI_UNKNOWN_MODE.getMessage() + name + ".");
+    }
+
+    // Text and bytes of one document, decoded once up front so that decoding is not measured
+    record Document(String text, byte[] bytes) {
+        static Document of(byte[] bytes) {
+            return new Document(new String(bytes, StandardCharsets.UTF_8), bytes);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package jsonjar.cli;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Locale;
+
+// Figures for the measured passes of one run, and the JVM-wide counters they are derived from
+
+record RunStatistics(Mode mode, int threads, int iterations, int inputs, int documentsPerPass, long bytesPerPass,
+                     long elapsedNanos, long allocatedBytes, long peakHeapBytes, long gcCount, long gcMillis, long invalidPerPass) {
+
+    // Heap pool peaks are reset here, so peakHeap reports the highest use since the last call
+    static long[] gcCounters() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    // Sum of each heap pool's peak, an upper bound since the pools need not peak together
+    static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    long documents() {
+        return (long) documentsPerPass * threads * iterations;
+    }
+
+    double seconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    void print(PrintStream out) {
+        double megabytes = (double) bytesPerPass * threads * iterations / (1024 * 1024);
+
+        out.printf(Locale.ROOT, "mode         %s%n", mode.name().toLowerCase(Locale.ROOT));
+        out.printf(Locale.ROOT, "input        %d documents in %d input(s), %s%n", documentsPerPass, inputs, size(bytesPerPass));
+        out.printf(Locale.ROOT, "measured     %d thread(s) x %d pass(es) = %d documents in %.3f s%n", threads, iterations, documents(), seconds());
+        out.printf(Locale.ROOT, "throughput   %.2f MB/s, %.0f documents/s%n", megabytes / seconds(), documents() / seconds());
+        out.printf(Locale.ROOT, "allocation   %s per document%n", size(allocatedBytes / Math.max(1, documents())));
+        out.printf(Locale.ROOT, "peak heap    %s%n", size(peakHeapBytes));
+        out.printf(Locale.ROOT, "gc           %d collection(s), %d ms%n", gcCount, gcMillis);
+        out.printf(Locale.ROOT, "invalid      %d document(s)%n", invalidPerPass);
+    }
+
+    private static String size(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String[] units = {"KB", "MB", "GB", "TB"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format(Locale.ROOT, "%.1f %s", value, units[unit]);
+    }
+}
@@ -0,0 +1,69 @@
+package jsonjar.cli;
+
+import jsonjar.error_handling.JsonSyntaxException;
+import jsonjar.json_objects.Json;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonParserOptions;
+import jsonjar.lexing_parsing.JsonValidator;
+import jsonjar.printing.JsonPrettyPrinter;
+import jsonjar.printing.JsonWriter;
+import jsonjar.state_management.GrammarExtension;
+import jsonjar.state_management.JsonGrammar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+// Per-thread parser and printers, which keep reusable buffers and must not be shared
+
+final class Worker {
+    // Each NDJSON line is a JSON text of its own, which may be a lone string, boolean or null
+    private static final JsonGrammar LINE_GRAMMAR = JsonGrammar.strict(EnumSet.of(GrammarExtension.TOP_LEVEL_SCALARS));
+
+    private final JsonParser parser = new JsonParser();
+    private final JsonParser lineParser = new JsonParser(JsonParserOptions.DEFAULT.withGrammar(LINE_GRAMMAR));
+    private final JsonPrettyPrinter prettyPrinter = new JsonPrettyPrinter();
+    private final JsonWriter writer = new JsonWriter();
+
+    // Null when the document is not valid JSON
+    Json parse(Mode.Document document) {
+        return parse(parser, document);
+    }
+
+    Json parseLine(Mode.Document document) {
+        return parse(lineParser, document);
+    }
+
+    private static Json parse(JsonParser parser, Mode.Document document) {
+        try {
+            return parser.parseFromString(document.text());
+        } catch (JsonSyntaxException | IOException e) {
+            return null;
+        }
+    }
+
+    boolean validate(Mode.Document document) {
+        return JsonValidator.isValid(document.bytes());
+    }
+
+    boolean writeCompact(Mode.Document document, OutputStream output) throws IOException {
+        Json json = parse(document);
+        if (json == null) {
+            return false;
+        }
+        writer.writeCompact(json, output);
+        output.write('\n');
+        return true;
+    }
+
+    boolean writePretty(Mode.Document document, OutputStream output) throws IOException {
+        Json json = parse(document);
+        if (json == null) {
+            return false;
+        }
+        output.write(prettyPrinter.getFormattedJsonString(json, 0).getBytes(StandardCharsets.UTF_8));
+        output.write('\n');
+        return true;
+    }
+}
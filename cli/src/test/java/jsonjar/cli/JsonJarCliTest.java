@@ -0,0 +1,81 @@
+package jsonjar.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonJarCliTest {
+    private static final String NDJSON = "{\"a\": 1}\n\n{\"b\": [true, null]}\r\n{\"c\": }\n";
+
+    private static RunStatistics run(String input, OutputStream output, String... args) throws IOException, InterruptedException {
+        return JsonJarCli.run(CliOptions.parse(args), new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+    }
+
+    @Test
+    void givenArgumentsThenParseOptions() {
+        CliOptions options = CliOptions.parse(new String[]{"pretty", "a.json", "--threads", "4", "--iterations", "0", "b.json"});
+
+        assertEquals(Mode.PRETTY, options.mode());
+        assertEquals(4, options.threads());
+        assertEquals(1, options.iterations());
+        assertEquals(List.of("a.json", "b.json"), options.inputs());
+        assertEquals(List.of("-"), CliOptions.parse(new String[]{"parse"}).inputs());
+    }
+
+    @Test
+    void givenInvalidArgumentsThenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> CliOptions.parse(new String[0]));
+        assertThrows(IllegalArgumentException.class, () -> CliOptions.parse(new String[]{"explode"}));
+        assertThrows(IllegalArgumentException.class, () -> CliOptions.parse(new String[]{"parse", "--threads"}));
+        assertThrows(IllegalArgumentException.class, () -> CliOptions.parse(new String[]{"parse", "--threads", "-1"}));
+        assertThrows(IllegalArgumentException.class, () -> CliOptions.parse(new String[]{"parse", "--fast", "1"}));
+    }
+
+    @Test
+    void givenNdjsonThenCountLinesAndInvalidDocuments() throws IOException, InterruptedException {
+        RunStatistics statistics = run(NDJSON, OutputStream.nullOutputStream(), "ndjson", "--threads", "3", "--iterations", "2");
+
+        assertEquals(3, statistics.documentsPerPass());
+        assertEquals(18, statistics.documents());
+        assertEquals(1, statistics.invalidPerPass());
+        assertTrue(statistics.elapsedNanos() > 0);
+    }
+
+    @Test
+    void givenNdjsonScalarLinesThenCountThemValid() throws IOException, InterruptedException {
+        RunStatistics statistics = run("\"a\"\ntrue\nnull\n-1.5\n[1,]\n", OutputStream.nullOutputStream(), "ndjson");
+
+        assertEquals(5, statistics.documentsPerPass());
+        assertEquals(1, statistics.invalidPerPass());
+    }
+
+    @Test
+    void givenMalformedNumbersThenCountThemInvalid() throws IOException, InterruptedException {
+        assertEquals(1, run("[-]", OutputStream.nullOutputStream(), "parse").invalidPerPass());
+        assertEquals(1, run("[1e]", OutputStream.nullOutputStream(), "minify").invalidPerPass());
+        assertEquals(2, run("[-]\n[1e]\n[1]\n", OutputStream.nullOutputStream(), "ndjson").invalidPerPass());
+    }
+
+    @Test
+    void givenMinifyThenWriteOutputOnce() throws IOException, InterruptedException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        RunStatistics statistics = run("{ \"a\" : [ 1 , 2 ] }", output, "minify", "--threads", "2", "--warmup", "2");
+
+        assertEquals("{\"a\":[1,2]}\n", output.toString(StandardCharsets.UTF_8));
+        assertEquals(0, statistics.invalidPerPass());
+    }
+
+    @Test
+    void givenValidateThenReportInvalidDocument() throws IOException, InterruptedException {
+        assertEquals(1, run("[1, 2", OutputStream.nullOutputStream(), "validate").invalidPerPass());
+        assertEquals(0, run("[1, 2]", OutputStream.nullOutputStream(), "validate", "--warmup", "0").invalidPerPass());
+    }
+}
@@ -0,0 +1,60 @@
+package jsonjar.benchmarks;
+
+import jsonjar.json_objects.JsonArray;
+import jsonjar.json_objects.JsonObject;
+import jsonjar.lexing_parsing.JsonParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Typed accessor chains over already-parsed documents: one deep walk and one shallow record read
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessBenchmark {
+    private JsonObject nested;
+    private JsonObject record;
+    private JsonArray numbers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonParser parser = new JsonParser();
+        nested = parser.parseFromString(BenchmarkCorpus.DEEPLY_NESTED.json()).toJsonObject();
+        record = parser.parseFromString(BenchmarkCorpus.TINY_API.json()).toJsonObject();
+        numbers = parser.parseFromString(BenchmarkCorpus.NUMBER_ARRAY.json()).toJsonArray();
+    }
+
+    @Benchmark
+    public BigDecimal deepGetAsJsonObject() {
+        JsonObject current = nested;
+        for (int level = 1; level < BenchmarkCorpus.DEPTH; level++) {
+            current = current.getAsJsonObject("child");
+        }
+        return current.getAsBigDecimal("level");
+    }
+
+    @Benchmark
+    public void recordGetters(Blackhole blackhole) {
+        blackhole.consume(record.getAsBigDecimal("id"));
+        blackhole.consume(record.getAsJsonObject("user").getAsString("name"));
+        blackhole.consume(record.getAsJsonObject("user").getAsJsonArray("roles").getAsString(1));
+        blackhole.consume(record.getAsJsonObject("user").getAsBoolean("verified"));
+        blackhole.consume(record.getAsBigDecimal("score"));
+    }
+
+    @Benchmark
+    public BigDecimal indexedGetAsBigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < numbers.size(); i += 97) {
+            sum = sum.add(numbers.getAsBigDecimal(i));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,116 @@
+package jsonjar.benchmarks;
+
+import jsonjar.generator.CorpusShape;
+import jsonjar.generator.JsonCorpusGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Documents the benchmarks run over, generated from a fixed seed so every run measures the same input.
+// GENERATED_MIXED and LARGE come from JsonCorpusGenerator. LARGE is over 100 MB and is not part of the default parameter sets; select it with -p corpus=LARGE.
+
+public enum BenchmarkCorpus {
+    TINY_API {
+        @Override
+        void write(StringBuilder sb, Random random) {
+            sb.append("{\"id\": 48213, \"user\": {\"name\": \"alice\", \"roles\": [\"admin\", \"dev\"], \"verified\": true}, ")
+              .append("\"score\": 9.75, \"tags\": null, \"created\": \"2024-01-31T12:00:00Z\"}");
+        }
+    },
+    NUMBER_ARRAY {
+        @Override
+        void write(StringBuilder sb, Random random) {
+            sb.append('[');
+            for (int i = 0; i < 20_000; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                switch (i % 4) {
+                    case 0 -> sb.append(random.nextInt(1000));
+                    case 1 -> sb.append(random.nextLong());
+                    case 2 -> sb.append(random.nextInt(100_000)).append('.').append(random.nextInt(100));
+                    default -> sb.append(random.nextInt(10)).append(".5e").append(random.nextInt(20) - 10);
+                }
+            }
+            sb.append(']');
+        }
+    },
+    STRINGS_AND_ESCAPES {
+        @Override
+        void write(StringBuilder sb, Random random) {
+            String[] pieces = {"plain text ", "\\\"quoted\\\" ", "line\\nbreak ", "tab\\there ", "back\\\\slash ", "caf\\u00e9 ", "\\ud83d\\ude00 "};
+            sb.append('[');
+            for (int i = 0; i < 5_000; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append('"');
+                for (int j = 0, length = 1 + random.nextInt(8); j < length; j++) {
+                    sb.append(pieces[random.nextInt(pieces.length)]);
+                }
+                sb.append('"');
+            }
+            sb.append(']');
+        }
+    },
+    DEEPLY_NESTED {
+        @Override
+        void write(StringBuilder sb, Random random) {
+            for (int level = 0; level < DEPTH; level++) {
+                sb.append("{\"level\": ").append(level).append(", \"items\": [").append(random.nextInt(100)).append("], \"child\": ");
+            }
+            sb.append("null");
+            sb.append("}".repeat(DEPTH));
+        }
+    },
+    GENERATED_MIXED {
+        @Override
+        void write(StringBuilder sb, Random random) {
+            generate(sb, CorpusShape.DEFAULT.withSeed(random.nextLong()), 1024 * 1024);
+        }
+    },
+    LARGE {
+        @Override
+        void write(StringBuilder sb, Random random) {
+            generate(sb, CorpusShape.DEFAULT.withSeed(random.nextLong()).withMaxDepth(2).withArrayHomogeneity(0.95), 100 * 1024 * 1024);
+        }
+    };
+
+    public static final int DEPTH = 500;
+    private static final long SEED = 20240131L;
+
+    abstract void write(StringBuilder sb, Random random);
+
+    private static void generate(StringBuilder sb, CorpusShape shape, long targetBytes) {
+        StringWriter writer = new StringWriter();
+        try {
+            new JsonCorpusGenerator(shape).writeRecords(writer, targetBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter does not throw
+        }
+        sb.append(writer.getBuffer());
+    }
+
+    public String json() {
+        StringBuilder sb = new StringBuilder();
+        write(sb, new Random(SEED + ordinal()));
+        return sb.toString();
+    }
+
+    // Writes the document to a temporary file, deleted when the JVM exits
+    public Path writeToFile() {
+        try {
+            Path file = Files.createTempFile("jsonjar-" + name().toLowerCase(), ".json");
+            file.toFile().deleteOnExit();
+            Files.writeString(file, json(), StandardCharsets.UTF_8);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package jsonjar.benchmarks;
+
+import jsonjar.json_objects.Json;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.printing.JsonPrettyPrinter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrintingBenchmark {
+    @Param({"TINY_API", "NUMBER_ARRAY", "STRINGS_AND_ESCAPES", "DEEPLY_NESTED", "GENERATED_MIXED"})
+    public BenchmarkCorpus corpus;
+
+    private Json document;
+    private JsonPrettyPrinter printer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        document = new JsonParser().parseFromString(corpus.json());
+        printer = new JsonPrettyPrinter();
+    }
+
+    @Benchmark
+    public String getFormattedJsonString() {
+        return printer.getFormattedJsonString(document, 0);
+    }
+
+    @Benchmark
+    public String compactToString() {
+        return document.toString();
+    }
+}
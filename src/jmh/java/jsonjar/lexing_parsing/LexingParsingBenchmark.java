@@ -0,0 +1,71 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.benchmarks.BenchmarkCorpus;
+import jsonjar.json_objects.Json;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the parser's package to reach the package-private lexer and token-level parse.
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LexingParsingBenchmark {
+    @Param({"TINY_API", "NUMBER_ARRAY", "STRINGS_AND_ESCAPES", "DEEPLY_NESTED", "GENERATED_MIXED"})
+    public BenchmarkCorpus corpus;
+
+    private String json;
+    private File file;
+    private List<Token> tokens;
+    private JsonTokenTape tape;
+    private JsonLexer lexer;
+    private JsonParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = corpus.json();
+        file = corpus.writeToFile().toFile();
+        lexer = new JsonLexer();
+        parser = new JsonParser();
+        tokens = lexer.lexFromString(json);
+        tape = JsonTokenTape.of(json);
+    }
+
+    @Benchmark
+    public List<Token> lexFromString() throws IOException {
+        return lexer.lexFromString(json);
+    }
+
+    @Benchmark
+    public JsonTokenTape lexToTape() {
+        tape.lex(json);
+        return tape;
+    }
+
+    @Benchmark
+    public Json parseTape() {
+        return parser.parse(tape);
+    }
+
+    @Benchmark
+    public Json parseTokens() {
+        return parser.parse(tokens);
+    }
+
+    @Benchmark
+    public Json parseFromString() throws IOException {
+        return parser.parseFromString(json);
+    }
+
+    @Benchmark
+    public Json parseFromFile() throws IOException {
+        return parser.parseFromFile(file);
+    }
+}
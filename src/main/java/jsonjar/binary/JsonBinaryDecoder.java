@@ -0,0 +1,198 @@
+package jsonjar.binary;
+
+import jsonjar.error_handling.JsonBinaryFormatException;
+import jsonjar.json_objects.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static jsonjar.binary.JsonBinaryErrorConstants.*;
+import static jsonjar.binary.JsonBinaryFormat.*;
+
+// Decodes the binary format (see JsonBinaryFormat) straight from the caller's array or buffer, without
+// copying the input or going through text. Repeated keys decode to the same String instance.
+
+public final class JsonBinaryDecoder {
+    private final ByteBuffer input;
+    private final List<String> keyTable = new ArrayList<>();
+
+    private JsonBinaryDecoder(ByteBuffer input) {
+        this.input = input;
+    }
+
+    public static Json decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    // Reads from the buffer's position to its limit without moving either
+    public static Json decode(ByteBuffer buffer) {
+        JsonBinaryDecoder decoder = new JsonBinaryDecoder(buffer.duplicate());
+
+        try {
+            decoder.readHeader();
+            Json value = decoder.readValue();
+            if (decoder.input.hasRemaining()) {
+                throw new JsonBinaryFormatException(BINARY_TRAILING_BYTES.getMessage() + decoder.input.position());
+            }
+            return value;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + decoder.input.position());
+        }
+    }
+
+    private void readHeader() {
+        if (input.remaining() < 3 || input.get() != MAGIC[0] || input.get() != MAGIC[1]) {
+            throw new JsonBinaryFormatException(BINARY_BAD_HEADER.getMessage());
+        }
+
+        byte version = input.get();
+        if (version != VERSION) {
+            throw new JsonBinaryFormatException(BINARY_UNSUPPORTED_VERSION.getMessage() + version);
+        }
+    }
+
+    // Containers are filled through an explicit stack rather than by recursion, so that deeply nested
+    // input cannot overflow the thread stack; every level costs at least two bytes of input
+    private Json readValue() {
+        Deque<OpenContainer> open = new ArrayDeque<>();
+        Json value = readItem(open);
+
+        while (!open.isEmpty()) {
+            OpenContainer current = open.peek();
+            if (current.remaining == 0) {
+                open.pop();
+                continue;
+            }
+
+            current.remaining--;
+            if (current.container instanceof JsonObject object) {
+                String key = readKey();
+                object.addValue(key, readItem(open));
+            } else {
+                ((JsonArray) current.container).addValue(readItem(open));
+            }
+        }
+        return value;
+    }
+
+    // A scalar, or an empty container that is pushed onto open when it has elements or members to read
+    private Json readItem(Deque<OpenContainer> open) {
+        int offset = input.position();
+        byte tag = input.get();
+
+        return switch (tag) {
+            case NULL -> JsonNull.getInstance();
+            case FALSE -> JsonBoolean.FALSE;
+            case TRUE -> JsonBoolean.TRUE;
+            case INTEGER -> JsonNumber.valueOf(unzigzag(readVarint()));
+            case DECIMAL -> readDecimal();
+            case NUMBER -> {
+                String text = readUtf8(readLength());
+                yield new JsonNumber(new BigDecimal(text), text);
+            }
+            case STRING -> new JsonString(readUtf8(readLength()));
+            case ARRAY -> openContainer(new JsonArray(), readLength(), open);
+            case OBJECT -> openContainer(new JsonObject(), readLength(), open);
+            default -> throw new JsonBinaryFormatException(BINARY_UNKNOWN_TAG.getMessage() + offset);
+        };
+    }
+
+    private JsonNumber readDecimal() {
+        int scale = (int) unzigzag(readVarint());
+        byte[] unscaled = new byte[readLength()];
+        input.get(unscaled);
+
+        BigDecimal value = new BigDecimal(new BigInteger(unscaled), scale);
+        return new JsonNumber(value, value.toString());
+    }
+
+    private static JsonContainer openContainer(JsonContainer container, int size, Deque<OpenContainer> open) {
+        if (size > 0) {
+            open.push(new OpenContainer(container, size));
+        }
+        return container;
+    }
+
+    private static final class OpenContainer {
+        private final JsonContainer container;
+        private int remaining;
+
+        OpenContainer(JsonContainer container, int remaining) {
+            this.container = container;
+            this.remaining = remaining;
+        }
+    }
+
+    private String readKey() {
+        int offset = input.position();
+        long reference = readVarint();
+
+        if ((reference & 1) == 1) {
+            long index = reference >>> 1;
+            if (index >= keyTable.size()) {
+                throw new JsonBinaryFormatException(BINARY_INVALID_KEY_REFERENCE.getMessage() + offset);
+            }
+            return keyTable.get((int) index);
+        }
+
+        String key = readUtf8(checkLength(reference >>> 1, offset));
+        if (keyTable.size() < MAX_KEY_TABLE_SIZE) {
+            keyTable.add(key);
+        }
+        return key;
+    }
+
+    private String readUtf8(int length) {
+        if (length > input.remaining()) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + input.position());
+        }
+
+        String value;
+        if (input.hasArray()) {
+            value = new String(input.array(), input.arrayOffset() + input.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length]; // Direct buffers have no backing array to decode from
+            input.get(input.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        input.position(input.position() + length);
+        return value;
+    }
+
+    private int readLength() {
+        int offset = input.position();
+        return checkLength(readVarint(), offset);
+    }
+
+    // A length can never exceed the bytes left, which also stops corrupt input from causing huge allocations
+    private int checkLength(long length, int offset) {
+        if (length < 0 || length > input.remaining()) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + offset);
+        }
+        return (int) length;
+    }
+
+    private long readVarint() {
+        int offset = input.position();
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new JsonBinaryFormatException(BINARY_VARINT_TOO_LONG.getMessage() + offset);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
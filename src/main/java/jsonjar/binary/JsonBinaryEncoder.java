@@ -0,0 +1,233 @@
+package jsonjar.binary;
+
+import jsonjar.json_objects.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static jsonjar.binary.JsonBinaryFormat.*;
+
+// Streams one Json value in the binary format (see JsonBinaryFormat) through a fixed-size buffer.
+// Whole values are written with writeValue; large documents can also be produced piece by piece with
+// the header and key methods, as long as each container header is followed by the announced entries.
+
+public final class JsonBinaryEncoder {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final Map<String, Integer> keyTable = new HashMap<>();
+    private int count = 0;
+    private boolean headerWritten = false;
+
+    public JsonBinaryEncoder(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    public static byte[] encode(Json json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonBinaryEncoder encoder = new JsonBinaryEncoder(bytes);
+
+        try {
+            encoder.writeValue(json);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // ByteArrayOutputStream does not throw
+        }
+        return bytes.toByteArray();
+    }
+
+    public void writeValue(Json json) throws IOException {
+        writeHeader();
+        switch (json) {
+            case JsonObject object -> writeObject(object.getValue());
+            case PersistentJsonObject object -> writeObject(object.getValue());
+            case JsonArray array -> writeArray(array.size(), array.iterator());
+            case PersistentJsonArray array -> writeArray(array.size(), array.iterator());
+            case JsonString str -> writeString(STRING, str.getValue());
+            case JsonNumber number -> writeNumber(number);
+            case JsonBoolean bool -> writeByte(bool.getValue() ? TRUE : FALSE);
+            case JsonNull ignored -> writeByte(NULL);
+            default -> throw new IllegalStateException("Unexpected Json type " + json);
+        }
+    }
+
+    public void writeArrayHeader(int size) throws IOException {
+        writeHeader();
+        writeByte(ARRAY);
+        writeVarint(size);
+    }
+
+    public void writeObjectHeader(int size) throws IOException {
+        writeHeader();
+        writeByte(OBJECT);
+        writeVarint(size);
+    }
+
+    public void writeKey(String key) throws IOException {
+        Integer index = keyTable.get(key);
+        if (index != null) {
+            writeVarint(((long) index << 1) | 1);
+            return;
+        }
+
+        if (keyTable.size() < MAX_KEY_TABLE_SIZE) {
+            keyTable.put(key, keyTable.size());
+        }
+        writeUtf8(key, true);
+    }
+
+    public void flush() throws IOException {
+        outputStream.write(buffer, 0, count);
+        count = 0;
+        outputStream.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            headerWritten = true;
+            writeByte(MAGIC[0]);
+            writeByte(MAGIC[1]);
+            writeByte(VERSION);
+        }
+    }
+
+    private void writeObject(Map<String, Json> members) throws IOException {
+        writeByte(OBJECT);
+        writeVarint(members.size());
+        for (Map.Entry<String, Json> member : members.entrySet()) {
+            writeKey(member.getKey());
+            writeValue(member.getValue());
+        }
+    }
+
+    private void writeArray(int size, Iterator<Json> elements) throws IOException {
+        writeByte(ARRAY);
+        writeVarint(size);
+        while (elements.hasNext()) {
+            writeValue(elements.next());
+        }
+    }
+
+    private void writeNumber(JsonNumber number) throws IOException {
+        if (number.isExactLong()) {
+            writeByte(INTEGER);
+            writeVarint(zigzag(number.getValue().longValue()));
+            return;
+        }
+
+        BigDecimal value = number.getValue();
+        if (value.toString().equals(number.toString())) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeByte(DECIMAL);
+            writeVarint(zigzag(value.scale()));
+            writeVarint(unscaled.length);
+            writeBytes(unscaled);
+            return;
+        }
+
+        writeString(NUMBER, number.toString()); // Keeps forms such as 1e5 or -0 exactly as written
+    }
+
+    private void writeString(byte tag, String value) throws IOException {
+        writeByte(tag);
+        writeUtf8(value, false);
+    }
+
+    // Length-prefixed UTF-8, encoded straight into the buffer. Keys carry their length shifted left by one.
+    private void writeUtf8(String value, boolean isKey) throws IOException {
+        long length = utf8Length(value);
+        writeVarint(isKey ? length << 1 : length);
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                ensureCapacity(1);
+                buffer[count++] = (byte) c;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                writeByte('?'); // Unpaired surrogates cannot be encoded, matching String.getBytes(UTF_8)
+            } else {
+                writeCodePoint(c);
+            }
+        }
+    }
+
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensureCapacity(4);
+        if (codePoint < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (codePoint >> 6));
+        } else if (codePoint < 0x10000) {
+            buffer[count++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        } else {
+            buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        }
+        buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    private void writeVarint(long value) throws IOException {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > BUFFER_SIZE) {
+            flush();
+            outputStream.write(bytes);
+            return;
+        }
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(int required) throws IOException {
+        if (count + required > BUFFER_SIZE) {
+            outputStream.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
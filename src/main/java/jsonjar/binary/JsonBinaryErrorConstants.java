@@ -0,0 +1,24 @@
+package jsonjar.binary;
+
+enum JsonBinaryErrorConstants {
+    BINARY_BAD_HEADER("Error: Input does not start with a binary Json header."),
+    BINARY_UNSUPPORTED_VERSION("Error: Unsupported binary Json version "),
+    BINARY_UNEXPECTED_END("Error: Unexpected end of binary Json input at offset "),
+    BINARY_UNKNOWN_TAG("Error: Unknown binary Json tag at offset "),
+    BINARY_INVALID_KEY_REFERENCE("Error: Invalid key back-reference at offset "),
+    BINARY_VARINT_TOO_LONG("Error: Malformed varint at offset "),
+    BINARY_TRAILING_BYTES("Error: Unexpected bytes after binary Json value at offset "),
+    SNAPSHOT_BAD_HEADER("Error: Input is not a Json snapshot."),
+    SNAPSHOT_TOO_LARGE("Error: Json snapshots are limited to 2 GiB."),
+    SNAPSHOT_CLOSED("Error: The Json snapshot has been closed.");
+
+    private final String message;
+
+    JsonBinaryErrorConstants(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
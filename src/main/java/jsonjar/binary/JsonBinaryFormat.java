@@ -0,0 +1,35 @@
+package jsonjar.binary;
+
+// Layout shared by JsonBinaryEncoder and JsonBinaryDecoder.
+//
+// A message is MAGIC, VERSION and one value. Each value starts with a one-byte tag:
+//   NULL, FALSE, TRUE
+//   INTEGER   zigzag varint, for numbers written exactly as Long.toString would write them
+//   DECIMAL   zigzag varint scale, varint length, unscaled value as big-endian two's complement bytes,
+//             for numbers written exactly as BigDecimal.toString would write them
+//   NUMBER    varint length, ASCII text, for every other number so that its text is preserved
+//   STRING    varint length, UTF-8 bytes
+//   ARRAY     varint element count, elements
+//   OBJECT    varint member count, then key and value for each member
+// A key is a varint k: if k is even, k / 2 UTF-8 bytes follow and the key is appended to the key table;
+// if k is odd, it refers to entry k / 2 of the key table. The table stops growing at MAX_KEY_TABLE_SIZE.
+
+final class JsonBinaryFormat {
+    static final byte[] MAGIC = {'J', 'B'};
+    static final byte VERSION = 1;
+
+    static final byte NULL = 0x00;
+    static final byte FALSE = 0x01;
+    static final byte TRUE = 0x02;
+    static final byte INTEGER = 0x03;
+    static final byte DECIMAL = 0x04;
+    static final byte NUMBER = 0x05;
+    static final byte STRING = 0x06;
+    static final byte ARRAY = 0x07;
+    static final byte OBJECT = 0x08;
+
+    static final int MAX_KEY_TABLE_SIZE = 65536;
+
+    private JsonBinaryFormat() {
+    }
+}
@@ -0,0 +1,58 @@
+package jsonjar.binary;
+
+import jsonjar.error_handling.JsonBinaryFormatException;
+import jsonjar.json_objects.Json;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static jsonjar.binary.JsonBinaryErrorConstants.SNAPSHOT_TOO_LARGE;
+
+// A document saved once as an indexed snapshot (see JsonSnapshotFormat) and reopened by mapping the
+// file, which costs the same whatever the document's size. The root and everything below it are
+// read-only JsonObject and JsonArray views that decode nodes as they are reached, and processes mapping
+// the same file share its pages through the OS page cache.
+
+public final class JsonSnapshot implements AutoCloseable {
+    private final SnapshotBuffer snapshot;
+
+    private JsonSnapshot(SnapshotBuffer snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public static void write(Json json, Path path) throws IOException {
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(path))) {
+            new SnapshotWriter(outputStream).write(json);
+        }
+    }
+
+    public static JsonSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new JsonBinaryFormatException(SNAPSHOT_TOO_LARGE.getMessage());
+            }
+            // The mapping stays valid after the channel is closed
+            return new JsonSnapshot(new SnapshotBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+        }
+    }
+
+    public Json getRoot() {
+        return snapshot.root();
+    }
+
+    public long sizeInBytes() {
+        return snapshot.size();
+    }
+
+    // Views obtained from this snapshot throw JsonReadException once it is closed. The JVM unmaps
+    // the file when the mapping becomes unreachable.
+    @Override
+    public void close() {
+        snapshot.close();
+    }
+}
@@ -0,0 +1,42 @@
+package jsonjar.binary;
+
+// Layout of the indexed snapshot written by SnapshotWriter and read through SnapshotBuffer.
+//
+// Unlike the streaming format in JsonBinaryFormat, every node can be read in place from its offset,
+// so a mapped file needs no decoding pass. A snapshot is MAGIC, VERSION, the shared NULL, FALSE and
+// TRUE nodes, all other nodes children first, then a trailer of the root offset and MAGIC again.
+// Integers are big-endian and offsets are absolute ints, which limits one snapshot to 2 GiB.
+//
+// Each node starts with a one-byte tag:
+//   NULL, FALSE, TRUE
+//   INTEGER   8-byte long, for numbers written exactly as Long.toString would write them
+//   NUMBER    int length, ASCII text, for every other number so that its text is preserved
+//   STRING    int length, UTF-8 bytes; also used for keys, each distinct key being written once
+//   ARRAY     int count, then the offset of each element
+//   OBJECT    int count, then key offset and value offset for each member in order, then a lookup
+//             table of (key hash, member index) pairs sorted by hash, where the hash is String.hashCode
+
+final class JsonSnapshotFormat {
+    static final byte[] MAGIC = {'J', 'S', 'N', 'P'};
+    static final byte VERSION = 1;
+
+    static final byte NULL = 0x00;
+    static final byte FALSE = 0x01;
+    static final byte TRUE = 0x02;
+    static final byte INTEGER = 0x03;
+    static final byte NUMBER = 0x05;
+    static final byte STRING = 0x06;
+    static final byte ARRAY = 0x07;
+    static final byte OBJECT = 0x08;
+
+    static final int HEADER_SIZE = MAGIC.length + 1;
+    static final int NULL_OFFSET = HEADER_SIZE;
+    static final int FALSE_OFFSET = HEADER_SIZE + 1;
+    static final int TRUE_OFFSET = HEADER_SIZE + 2;
+    static final int TRAILER_SIZE = 4 + MAGIC.length;
+
+    static final int MAX_KEY_TABLE_SIZE = 65536; // Keys beyond this many distinct ones are written per use
+
+    private JsonSnapshotFormat() {
+    }
+}
@@ -0,0 +1,93 @@
+package jsonjar.binary;
+
+import jsonjar.error_handling.JsonBinaryFormatException;
+import jsonjar.json_objects.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static jsonjar.binary.JsonBinaryErrorConstants.BINARY_UNEXPECTED_END;
+import static jsonjar.binary.JsonBinaryErrorConstants.SNAPSHOT_TOO_LARGE;
+
+// A document kept in direct memory in the snapshot layout (see JsonSnapshotFormat), for large data that
+// stays resident for a long time. The garbage collector sees one small buffer object instead of millions
+// of nodes; reads go through the same read-only views as a mapped JsonSnapshot.
+
+public final class OffHeapJsonDocument implements AutoCloseable {
+    private final SnapshotBuffer snapshot;
+
+    private OffHeapJsonDocument(ByteBuffer buffer) {
+        this.snapshot = new SnapshotBuffer(buffer);
+    }
+
+    // Measures the document first so that the direct buffer is allocated once, at its exact size
+    public static OffHeapJsonDocument of(Json json) {
+        try {
+            long size = new SnapshotWriter(OutputStream.nullOutputStream()).write(json);
+            if (size > Integer.MAX_VALUE) {
+                throw new JsonBinaryFormatException(SNAPSHOT_TOO_LARGE.getMessage());
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            new SnapshotWriter(new BufferOutputStream(buffer)).write(json);
+            return new OffHeapJsonDocument(buffer.flip());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Neither stream throws
+        }
+    }
+
+    // Copies a file written by JsonSnapshot.write into direct memory, without building a heap tree
+    public static OffHeapJsonDocument load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new JsonBinaryFormatException(SNAPSHOT_TOO_LARGE.getMessage());
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + buffer.position());
+                }
+            }
+            return new OffHeapJsonDocument(buffer.flip());
+        }
+    }
+
+    public Json getRoot() {
+        return snapshot.root();
+    }
+
+    public long sizeInBytes() {
+        return snapshot.size();
+    }
+
+    // Views obtained from this document throw JsonReadException once it is closed. The memory itself
+    // is returned when the buffer's cleaner runs, as direct buffers cannot be freed on demand.
+    @Override
+    public void close() {
+        snapshot.close();
+    }
+
+    private static final class BufferOutputStream extends OutputStream {
+        private final ByteBuffer buffer;
+
+        BufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package jsonjar.binary;
+
+import jsonjar.error_handling.JsonBinaryFormatException;
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.json_objects.*;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static jsonjar.binary.JsonBinaryErrorConstants.*;
+import static jsonjar.binary.JsonSnapshotFormat.*;
+
+// A snapshot held in a mapped or direct buffer. Nodes are decoded on demand with absolute reads only,
+// so one buffer can serve any number of threads. Closing drops the buffer; views still held afterwards
+// fail on their next read instead of touching released memory.
+
+final class SnapshotBuffer {
+    private volatile ByteBuffer buffer;
+    private final int rootOffset;
+
+    SnapshotBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.rootOffset = readTrailer(buffer);
+    }
+
+    private static int readTrailer(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        if (limit < HEADER_SIZE + 3 + TRAILER_SIZE || !hasMagic(buffer, 0) || !hasMagic(buffer, limit - MAGIC.length)) {
+            throw new JsonBinaryFormatException(SNAPSHOT_BAD_HEADER.getMessage());
+        }
+
+        byte version = buffer.get(MAGIC.length);
+        if (version != VERSION) {
+            throw new JsonBinaryFormatException(BINARY_UNSUPPORTED_VERSION.getMessage() + version);
+        }
+
+        int rootOffset = buffer.getInt(limit - TRAILER_SIZE);
+        if (rootOffset < NULL_OFFSET || rootOffset >= limit - TRAILER_SIZE) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + rootOffset);
+        }
+        return rootOffset;
+    }
+
+    private static boolean hasMagic(ByteBuffer buffer, int offset) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(offset + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Json root() {
+        return node(rootOffset);
+    }
+
+    long size() {
+        return openBuffer().limit();
+    }
+
+    void close() {
+        buffer = null;
+    }
+
+    Json node(int offset) {
+        ByteBuffer bytes = openBuffer();
+
+        try {
+            return switch (bytes.get(offset)) {
+                case NULL -> JsonNull.getInstance();
+                case FALSE -> JsonBoolean.FALSE;
+                case TRUE -> JsonBoolean.TRUE;
+                case INTEGER -> JsonNumber.valueOf(bytes.getLong(offset + 1));
+                case NUMBER -> {
+                    String text = text(bytes, offset, StandardCharsets.US_ASCII);
+                    yield new JsonNumber(new BigDecimal(text), text);
+                }
+                case STRING -> new JsonString(text(bytes, offset, StandardCharsets.UTF_8));
+                case ARRAY -> new SnapshotJsonArray(this, offset, bytes.getInt(offset + 1));
+                case OBJECT -> new SnapshotJsonObject(this, offset, bytes.getInt(offset + 1));
+                default -> throw new JsonBinaryFormatException(BINARY_UNKNOWN_TAG.getMessage() + offset);
+            };
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + offset);
+        }
+    }
+
+    String string(int offset) {
+        ByteBuffer bytes = openBuffer();
+
+        try {
+            if (bytes.get(offset) != STRING) {
+                throw new JsonBinaryFormatException(BINARY_UNKNOWN_TAG.getMessage() + offset);
+            }
+            return text(bytes, offset, StandardCharsets.UTF_8);
+        } catch (IndexOutOfBoundsException e) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + offset);
+        }
+    }
+
+    int getInt(int offset) {
+        try {
+            return openBuffer().getInt(offset);
+        } catch (IndexOutOfBoundsException e) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + offset);
+        }
+    }
+
+    private static String text(ByteBuffer bytes, int offset, Charset charset) {
+        int length = bytes.getInt(offset + 1);
+        if (length < 0 || length > bytes.limit() - offset - 5) {
+            throw new JsonBinaryFormatException(BINARY_UNEXPECTED_END.getMessage() + offset);
+        }
+
+        byte[] text = new byte[length];
+        bytes.get(offset + 5, text);
+        return new String(text, charset);
+    }
+
+    private ByteBuffer openBuffer() {
+        ByteBuffer current = buffer;
+        if (current == null) {
+            throw new JsonReadException(SNAPSHOT_CLOSED.getMessage());
+        }
+        return current;
+    }
+}
@@ -0,0 +1,28 @@
+package jsonjar.binary;
+
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonArrayView;
+
+// Read-only array node of a snapshot; elements are found in O(1) through the node's offset table
+
+final class SnapshotJsonArray extends JsonArrayView {
+    private final SnapshotBuffer snapshot;
+    private final int elements;
+    private final int count;
+
+    SnapshotJsonArray(SnapshotBuffer snapshot, int offset, int count) {
+        this.snapshot = snapshot;
+        this.elements = offset + 5;
+        this.count = count;
+    }
+
+    @Override
+    protected int elementCount() {
+        return count;
+    }
+
+    @Override
+    protected Json elementAt(int index) {
+        return snapshot.node(snapshot.getInt(elements + index * 4));
+    }
+}
@@ -0,0 +1,60 @@
+package jsonjar.binary;
+
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonObjectView;
+
+// Read-only object node of a snapshot. Lookups binary-search the node's hash table, so get(key)
+// only decodes the keys whose hash matches and the one value it returns.
+
+final class SnapshotJsonObject extends JsonObjectView {
+    private final SnapshotBuffer snapshot;
+    private final int members; // Offset of the (key offset, value offset) table
+    private final int lookup;  // Offset of the (key hash, member index) table
+    private final int count;
+
+    SnapshotJsonObject(SnapshotBuffer snapshot, int offset, int count) {
+        this.snapshot = snapshot;
+        this.members = offset + 5;
+        this.lookup = members + count * 8;
+        this.count = count;
+    }
+
+    @Override
+    protected int memberCount() {
+        return count;
+    }
+
+    @Override
+    protected String keyAt(int index) {
+        return snapshot.string(snapshot.getInt(members + index * 8));
+    }
+
+    @Override
+    protected Json valueAt(int index) {
+        return snapshot.node(snapshot.getInt(members + index * 8 + 4));
+    }
+
+    @Override
+    protected int indexOf(String key) {
+        int hash = key.hashCode();
+        int low = 0;
+        int high = count;
+
+        while (low < high) { // First entry whose hash is not below the key's
+            int middle = (low + high) >>> 1;
+            if (snapshot.getInt(lookup + middle * 8) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (int entry = low; entry < count && snapshot.getInt(lookup + entry * 8) == hash; entry++) {
+            int index = snapshot.getInt(lookup + entry * 8 + 4);
+            if (keyAt(index).equals(key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
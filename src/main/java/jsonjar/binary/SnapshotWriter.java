@@ -0,0 +1,184 @@
+package jsonjar.binary;
+
+import jsonjar.error_handling.JsonBinaryFormatException;
+import jsonjar.json_objects.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static jsonjar.binary.JsonBinaryErrorConstants.SNAPSHOT_TOO_LARGE;
+import static jsonjar.binary.JsonSnapshotFormat.*;
+
+// Writes one Json value as an indexed snapshot (see JsonSnapshotFormat). Children are written before
+// their parent so that every offset is known when the parent's tables are written, and the output is
+// produced strictly sequentially through a fixed-size buffer.
+
+final class SnapshotWriter {
+    private static final int BUFFER_SIZE = 65536;
+
+    private final OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final Map<String, Integer> keyOffsets = new HashMap<>();
+    private int count = 0;
+    private long position = 0;
+
+    SnapshotWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    // Returns the snapshot's size in bytes
+    long write(Json json) throws IOException {
+        writeBytes(MAGIC);
+        writeByte(VERSION);
+        writeByte(NULL);
+        writeByte(FALSE);
+        writeByte(TRUE);
+
+        int rootOffset = writeNode(json);
+
+        writeInt(rootOffset);
+        writeBytes(MAGIC);
+        outputStream.write(buffer, 0, count);
+        count = 0;
+        return position;
+    }
+
+    private int writeNode(Json json) throws IOException {
+        return switch (json) {
+            case JsonObject object -> writeObject(object.getValue());
+            case PersistentJsonObject object -> writeObject(object.getValue());
+            case JsonArray array -> writeArray(array.size(), array.iterator());
+            case PersistentJsonArray array -> writeArray(array.size(), array.iterator());
+            case JsonString str -> writeString(str.getValue());
+            case JsonNumber number -> writeNumber(number);
+            case JsonBoolean bool -> bool.getValue() ? TRUE_OFFSET : FALSE_OFFSET;
+            case JsonNull ignored -> NULL_OFFSET;
+            default -> throw new IllegalStateException("Unexpected Json type " + json);
+        };
+    }
+
+    private int writeObject(Map<String, Json> values) throws IOException {
+        int size = values.size();
+        int[] keys = new int[size];
+        int[] children = new int[size];
+        long[] lookup = new long[size]; // Key hash in the high half, member index in the low half
+
+        int i = 0;
+        for (Map.Entry<String, Json> entry : values.entrySet()) {
+            keys[i] = writeKey(entry.getKey());
+            children[i] = writeNode(entry.getValue());
+            lookup[i] = ((long) entry.getKey().hashCode() << 32) | i;
+            i++;
+        }
+        Arrays.sort(lookup);
+
+        int offset = startNode(OBJECT);
+        writeInt(size);
+        for (i = 0; i < size; i++) {
+            writeInt(keys[i]);
+            writeInt(children[i]);
+        }
+        for (long entry : lookup) {
+            writeInt((int) (entry >> 32));
+            writeInt((int) entry);
+        }
+        return offset;
+    }
+
+    private int writeArray(int size, Iterator<Json> values) throws IOException {
+        int[] children = new int[size];
+        for (int i = 0; i < size; i++) {
+            children[i] = writeNode(values.next());
+        }
+
+        int offset = startNode(ARRAY);
+        writeInt(size);
+        for (int child : children) {
+            writeInt(child);
+        }
+        return offset;
+    }
+
+    private int writeKey(String key) throws IOException {
+        Integer offset = keyOffsets.get(key);
+        if (offset != null) {
+            return offset;
+        }
+
+        int written = writeString(key);
+        if (keyOffsets.size() < MAX_KEY_TABLE_SIZE) {
+            keyOffsets.put(key, written);
+        }
+        return written;
+    }
+
+    private int writeNumber(JsonNumber number) throws IOException {
+        if (number.isExactLong()) {
+            int offset = startNode(INTEGER);
+            writeLong(number.getValue().longValue());
+            return offset;
+        }
+        return writeText(NUMBER, number.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private int writeString(String value) throws IOException {
+        return writeText(STRING, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int writeText(byte tag, byte[] bytes) throws IOException {
+        int offset = startNode(tag);
+        writeInt(bytes.length);
+        writeBytes(bytes);
+        return offset;
+    }
+
+    private int startNode(byte tag) throws IOException {
+        if (position > Integer.MAX_VALUE) {
+            throw new JsonBinaryFormatException(SNAPSHOT_TOO_LARGE.getMessage());
+        }
+
+        int offset = (int) position;
+        writeByte(tag);
+        return offset;
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void writeInt(int value) throws IOException {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (count == buffer.length) {
+            outputStream.write(buffer, 0, count);
+            count = 0;
+        }
+        buffer[count++] = (byte) b;
+        position++;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - count) {
+            outputStream.write(buffer, 0, count);
+            count = 0;
+        }
+        if (bytes.length > buffer.length) {
+            outputStream.write(bytes);
+        } else {
+            System.arraycopy(bytes, 0, buffer, count, bytes.length);
+            count += bytes.length;
+        }
+        position += bytes.length;
+    }
+}
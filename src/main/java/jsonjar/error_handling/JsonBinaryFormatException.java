@@ -0,0 +1,7 @@
+package jsonjar.error_handling;
+
+public class JsonBinaryFormatException extends RuntimeException {
+    public JsonBinaryFormatException(String message) {
+        super(message);
+    }
+}
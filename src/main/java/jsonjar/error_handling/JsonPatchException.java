@@ -0,0 +1,7 @@
+package jsonjar.error_handling;
+
+public class JsonPatchException extends RuntimeException {
+    public JsonPatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package jsonjar.error_handling;
+
+public class JsonSchemaException extends RuntimeException {
+    public JsonSchemaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package jsonjar.error_handling;
+
+public class JsonWriteException extends RuntimeException {
+    public JsonWriteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package jsonjar.json_objects;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Backing store for JsonArray. Specialised stores hold elements in compact form and hand
+// back a more general store from add() as soon as an element no longer fits.
+
+abstract class ArrayStorage implements Iterable<Json> {
+    abstract int size();
+
+    abstract Json get(int index);
+
+    abstract ArrayStorage add(Json value);
+
+    abstract GenericArrayStorage toGeneric();
+
+    // Like add(), these return the store to use from now on. Specialised stores override
+    // the cases they can handle in place and otherwise move to the generic store.
+
+    ArrayStorage set(int index, Json value) {
+        return toGeneric().set(index, value);
+    }
+
+    ArrayStorage insert(int index, Json value) {
+        return toGeneric().insert(index, value);
+    }
+
+    ArrayStorage remove(int index) {
+        return toGeneric().remove(index);
+    }
+
+    @Override
+    public Iterator<Json> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public Json next() {
+                if (index >= size()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package jsonjar.json_objects;
+
+import java.util.Arrays;
+
+// One bit per element
+final class BooleanArrayStorage extends ArrayStorage {
+    private long[] bits = new long[1];
+    private int size = 0;
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    Json get(int index) {
+        return JsonBoolean.valueOf(getBoolean(index));
+    }
+
+    boolean getBoolean(int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    ArrayStorage add(Json value) {
+        if (!(value instanceof JsonBoolean bool)) {
+            return toGeneric().add(value);
+        }
+
+        if (size == bits.length * Long.SIZE) {
+            bits = Arrays.copyOf(bits, bits.length * 2);
+        }
+        if (bool.getValue()) {
+            bits[size >>> 6] |= 1L << size;
+        }
+        size++;
+        return this;
+    }
+
+    @Override
+    ArrayStorage set(int index, Json value) {
+        if (!(value instanceof JsonBoolean bool)) {
+            return toGeneric().set(index, value);
+        }
+
+        if (bool.getValue()) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+        return this;
+    }
+
+    @Override
+    GenericArrayStorage toGeneric() {
+        GenericArrayStorage generic = new GenericArrayStorage(size + 1);
+        for (int i = 0; i < size; i++) {
+            generic.add(get(i));
+        }
+        return generic;
+    }
+
+    boolean[] toBooleanArray() {
+        boolean[] booleans = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            booleans[i] = getBoolean(i);
+        }
+        return booleans;
+    }
+}
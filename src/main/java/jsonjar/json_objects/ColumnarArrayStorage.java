@@ -0,0 +1,462 @@
+package jsonjar.json_objects;
+
+import java.util.*;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// Stores an array of flat, same-keyed objects column by column. Rows are exposed as JsonColumnarRow views;
+// the first element that is not such an object turns the array back into generic storage of those views.
+// Added objects are copied cell by cell and not retained.
+
+final class ColumnarArrayStorage extends ArrayStorage {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final JsonArray owner;
+    private JsonObjectShape shape; // Column names in order; null until the first row arrives
+    private Column[] columns;
+    private int rowCount = 0;
+    private int capacity = 0;
+
+    ColumnarArrayStorage(JsonArray owner) {
+        this.owner = owner;
+    }
+
+    JsonArray owner() {
+        return owner;
+    }
+
+    @Override
+    int size() {
+        return rowCount;
+    }
+
+    @Override
+    Json get(int index) {
+        return new JsonColumnarRow(this, index);
+    }
+
+    @Override
+    ArrayStorage add(Json value) {
+        if (!(value instanceof JsonObject object) || !accepts(object)) {
+            return toGeneric().add(value);
+        }
+
+        if (shape == null) {
+            shape = JsonObjectShape.ROOT;
+            columns = new Column[object.size()];
+            for (Map.Entry<String, Json> entry : object.getValue().entrySet()) {
+                columns[shape.size()] = new NullColumn();
+                shape = shape.withKey(entry.getKey());
+            }
+        }
+
+        ensureCapacity(rowCount + 1);
+        int column = 0;
+        for (Json columnValue : object.getValue().values()) {
+            columns[column] = columns[column].set(rowCount, columnValue, capacity);
+            column++;
+        }
+        rowCount++;
+        return this;
+    }
+
+    // Only flat objects whose keys match the existing columns exactly, in the same order, are stored column-wise
+    private boolean accepts(JsonObject object) {
+        if (object instanceof JsonColumnarRow || object.isFrozen()) {
+            return false;
+        }
+
+        if (shape != null) {
+            if (object.size() != shape.size()) {
+                return false;
+            }
+
+            if (object.compactShape() != shape) {
+                int index = 0;
+                for (String key : object.getValue().keySet()) {
+                    if (!key.equals(shape.keyAt(index++))) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        for (Json columnValue : object.getValue().values()) {
+            if (columnValue instanceof JsonContainer || columnValue instanceof PersistentJsonObject || columnValue instanceof PersistentJsonArray) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Existing row views stay valid afterwards, because the generic storage holds views onto these columns
+    @Override
+    GenericArrayStorage toGeneric() {
+        GenericArrayStorage generic = new GenericArrayStorage(rowCount + 1);
+        for (int row = 0; row < rowCount; row++) {
+            generic.add(new JsonColumnarRow(this, row));
+        }
+        return generic;
+    }
+
+    int columnCount() {
+        return shape == null ? 0 : shape.size();
+    }
+
+    String columnName(int column) {
+        return shape.keyAt(column);
+    }
+
+    int columnIndex(String key) {
+        return shape == null ? -1 : shape.indexOf(key);
+    }
+
+    Json getCell(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    void setCell(int row, String key, Json value) {
+        int column = columnIndex(key);
+
+        if (column < 0) {
+            column = columnCount();
+            shape = (shape == null ? JsonObjectShape.ROOT : shape).withKey(key);
+            columns = columns == null ? new Column[1] : Arrays.copyOf(columns, column + 1);
+            columns[column] = new GenericColumn(capacity); // Rows that never set this key keep a missing entry
+        }
+
+        columns[column] = columns[column].set(row, value, capacity);
+    }
+
+    // Only generic columns can represent a missing cell, so removal generalises the column
+    void removeCell(int row, String key) {
+        int column = columnIndex(key);
+
+        if (column >= 0) {
+            columns[column] = columns[column].toGenericColumn(capacity).set(row, null, capacity);
+        }
+    }
+
+    LongStream longColumn(String key) {
+        int column = columnIndex(key);
+        if (column >= 0 && columns[column] instanceof LongColumn longColumn) {
+            return longColumn.stream(rowCount);
+        }
+        return null;
+    }
+
+    DoubleStream doubleColumn(String key) {
+        int column = columnIndex(key);
+        if (column >= 0 && columns[column] instanceof DoubleColumn doubleColumn) {
+            return doubleColumn.stream(rowCount);
+        }
+        if (column >= 0 && columns[column] instanceof LongColumn longColumn) {
+            return longColumn.stream(rowCount).asDoubleStream();
+        }
+        return null;
+    }
+
+    Stream<String> stringColumn(String key) {
+        int column = columnIndex(key);
+        if (column >= 0 && columns[column] instanceof StringColumn stringColumn) {
+            return stringColumn.stream(rowCount);
+        }
+        return null;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+
+        capacity = Math.max(INITIAL_CAPACITY, Math.max(required, capacity * 2));
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].resize(capacity);
+        }
+    }
+
+    private static boolean isSet(long[] bitmap, int row) {
+        return (bitmap[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private static void setBit(long[] bitmap, int row, boolean value) {
+        if (value) {
+            bitmap[row >>> 6] |= 1L << row;
+        } else {
+            bitmap[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    private static int bitmapWords(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+
+    // Each column stores one field for every row. set() returns the column to keep using, which is a
+    // GenericColumn once a value no longer fits the specialised representation.
+    private abstract static class Column {
+        int rowsUsed = 0;
+
+        abstract Json get(int row);
+
+        abstract Column setValue(int row, Json value, int capacity);
+
+        abstract void resize(int capacity);
+
+        final Column set(int row, Json value, int capacity) {
+            Column result = setValue(row, value, capacity);
+            result.rowsUsed = Math.max(result.rowsUsed, Math.max(rowsUsed, row + 1));
+            return result;
+        }
+
+        Column toGenericColumn(int capacity) {
+            GenericColumn generic = new GenericColumn(capacity);
+            for (int row = 0; row < rowsUsed; row++) {
+                generic.values[row] = get(row);
+            }
+            generic.rowsUsed = rowsUsed;
+            return generic;
+        }
+    }
+
+    // Holds rows that have only seen nulls so far; the first real value decides the column type
+    private static final class NullColumn extends Column {
+        @Override
+        Json get(int row) {
+            return row < rowsUsed ? JsonNull.getInstance() : null;
+        }
+
+        @Override
+        Column setValue(int row, Json value, int capacity) {
+            if (value instanceof JsonNull) {
+                return this;
+            }
+
+            Column typed = switch (value) {
+                case JsonNumber number when number.isExactLong() -> new LongColumn(capacity);
+                case JsonNumber number when number.isExactDouble() -> new DoubleColumn(capacity);
+                case JsonString ignored -> new StringColumn(capacity);
+                case JsonBoolean ignored -> new BooleanColumn(capacity);
+                default -> new GenericColumn(capacity);
+            };
+
+            for (int previousRow = 0; previousRow < rowsUsed; previousRow++) {
+                typed = typed.set(previousRow, JsonNull.getInstance(), capacity);
+            }
+            return typed.set(row, value, capacity);
+        }
+
+        @Override
+        void resize(int capacity) {
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private long[] values;
+        private long[] nulls;
+
+        LongColumn(int capacity) {
+            values = new long[capacity];
+            nulls = new long[bitmapWords(capacity)];
+        }
+
+        @Override
+        Json get(int row) {
+            if (isSet(nulls, row)) {
+                return JsonNull.getInstance();
+            }
+            return JsonNumber.valueOf(values[row]);
+        }
+
+        @Override
+        Column setValue(int row, Json value, int capacity) {
+            if (value instanceof JsonNull) {
+                setBit(nulls, row, true);
+                return this;
+            }
+            if (value instanceof JsonNumber number && number.isExactLong()) {
+                values[row] = number.getValue().longValue();
+                setBit(nulls, row, false);
+                return this;
+            }
+            return toGenericColumn(capacity).set(row, value, capacity);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            nulls = Arrays.copyOf(nulls, bitmapWords(capacity));
+        }
+
+        LongStream stream(int rowCount) {
+            return IntStream.range(0, rowCount).filter(row -> !isSet(nulls, row)).mapToLong(row -> values[row]);
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private double[] values;
+        private long[] nulls;
+
+        DoubleColumn(int capacity) {
+            values = new double[capacity];
+            nulls = new long[bitmapWords(capacity)];
+        }
+
+        @Override
+        Json get(int row) {
+            if (isSet(nulls, row)) {
+                return JsonNull.getInstance();
+            }
+            return JsonNumber.fromDouble(values[row]);
+        }
+
+        @Override
+        Column setValue(int row, Json value, int capacity) {
+            if (value instanceof JsonNull) {
+                setBit(nulls, row, true);
+                return this;
+            }
+            if (value instanceof JsonNumber number && number.isExactDouble()) {
+                values[row] = Double.parseDouble(number.toString());
+                setBit(nulls, row, false);
+                return this;
+            }
+            return toGenericColumn(capacity).set(row, value, capacity);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+            nulls = Arrays.copyOf(nulls, bitmapWords(capacity));
+        }
+
+        DoubleStream stream(int rowCount) {
+            return IntStream.range(0, rowCount).filter(row -> !isSet(nulls, row)).mapToDouble(row -> values[row]);
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+        private long[] bits;
+        private long[] nulls;
+
+        BooleanColumn(int capacity) {
+            bits = new long[bitmapWords(capacity)];
+            nulls = new long[bitmapWords(capacity)];
+        }
+
+        @Override
+        Json get(int row) {
+            if (isSet(nulls, row)) {
+                return JsonNull.getInstance();
+            }
+            return JsonBoolean.valueOf(isSet(bits, row));
+        }
+
+        @Override
+        Column setValue(int row, Json value, int capacity) {
+            if (value instanceof JsonNull) {
+                setBit(nulls, row, true);
+                return this;
+            }
+            if (value instanceof JsonBoolean bool) {
+                setBit(bits, row, bool.getValue());
+                setBit(nulls, row, false);
+                return this;
+            }
+            return toGenericColumn(capacity).set(row, value, capacity);
+        }
+
+        @Override
+        void resize(int capacity) {
+            bits = Arrays.copyOf(bits, bitmapWords(capacity));
+            nulls = Arrays.copyOf(nulls, bitmapWords(capacity));
+        }
+    }
+
+    // Dictionary-encoded strings; a null code marks JSON null
+    private static final class StringColumn extends Column {
+        private static final int NULL_CODE = -1;
+        private static final int MIN_DICTIONARY_SIZE_BEFORE_GIVING_UP = 1024;
+
+        private int[] codes;
+        private final List<JsonString> dictionary = new ArrayList<>();
+        private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+        private int rowsSet = 0;
+
+        StringColumn(int capacity) {
+            codes = new int[capacity];
+        }
+
+        @Override
+        Json get(int row) {
+            int code = codes[row];
+            return code == NULL_CODE ? JsonNull.getInstance() : dictionary.get(code);
+        }
+
+        @Override
+        Column setValue(int row, Json value, int capacity) {
+            rowsSet++;
+
+            if (value instanceof JsonNull) {
+                codes[row] = NULL_CODE;
+                return this;
+            }
+            if (!(value instanceof JsonString string)) {
+                return toGenericColumn(capacity).set(row, value, capacity);
+            }
+
+            Integer code = dictionaryCodes.get(string.getValue());
+            if (code == null) {
+                // Mostly-unique values (identifiers) gain nothing from a dictionary
+                if (dictionary.size() >= MIN_DICTIONARY_SIZE_BEFORE_GIVING_UP && dictionary.size() > rowsSet / 2) {
+                    return toGenericColumn(capacity).set(row, value, capacity);
+                }
+                code = dictionary.size();
+                dictionary.add(string);
+                dictionaryCodes.put(string.getValue(), code);
+            }
+            codes[row] = code;
+            return this;
+        }
+
+        @Override
+        void resize(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        Stream<String> stream(int rowCount) {
+            return IntStream.range(0, rowCount).filter(row -> codes[row] != NULL_CODE).mapToObj(row -> dictionary.get(codes[row]).getValue());
+        }
+    }
+
+    // Fallback for mixed types and for keys added to individual rows; a missing entry means the row lacks the key
+    private static final class GenericColumn extends Column {
+        private Json[] values;
+
+        GenericColumn(int capacity) {
+            values = new Json[capacity];
+        }
+
+        @Override
+        Json get(int row) {
+            return values[row];
+        }
+
+        @Override
+        Column setValue(int row, Json value, int capacity) {
+            values[row] = value;
+            return this;
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Column toGenericColumn(int capacity) {
+            return this;
+        }
+    }
+}
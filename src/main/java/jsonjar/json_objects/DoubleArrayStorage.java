@@ -0,0 +1,72 @@
+package jsonjar.json_objects;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+final class DoubleArrayStorage extends ArrayStorage {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int size = 0;
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    Json get(int index) {
+        return JsonNumber.fromDouble(values[index]);
+    }
+
+    double getDouble(int index) {
+        return values[index];
+    }
+
+    @Override
+    ArrayStorage add(Json value) {
+        if (!(value instanceof JsonNumber number) || !number.isExactDouble()) {
+            return toGeneric().add(value);
+        }
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = Double.parseDouble(number.toString());
+        return this;
+    }
+
+    @Override
+    ArrayStorage set(int index, Json value) {
+        if (!(value instanceof JsonNumber number) || !number.isExactDouble()) {
+            return toGeneric().set(index, value);
+        }
+
+        values[index] = Double.parseDouble(number.toString());
+        return this;
+    }
+
+    @Override
+    ArrayStorage remove(int index) {
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return this;
+    }
+
+    @Override
+    GenericArrayStorage toGeneric() {
+        GenericArrayStorage generic = new GenericArrayStorage(size + 1);
+        for (int i = 0; i < size; i++) {
+            generic.add(get(i));
+        }
+        return generic;
+    }
+
+    double[] toDoubleArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    DoubleStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+}
@@ -0,0 +1,41 @@
+package jsonjar.json_objects;
+
+// Shared storage of every empty array; the first element decides which specialised storage to grow into
+
+final class EmptyArrayStorage extends ArrayStorage {
+    static final EmptyArrayStorage INSTANCE = new EmptyArrayStorage();
+
+    private EmptyArrayStorage() {
+    }
+
+    @Override
+    int size() {
+        return 0;
+    }
+
+    @Override
+    Json get(int index) {
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    @Override
+    ArrayStorage add(Json value) {
+        ArrayStorage storage = switch (value) {
+            case JsonNumber number when number.isExactLong() -> new LongArrayStorage();
+            case JsonNumber number when number.isExactDouble() -> new DoubleArrayStorage();
+            case JsonBoolean ignored -> new BooleanArrayStorage();
+            default -> new GenericArrayStorage();
+        };
+        return storage.add(value);
+    }
+
+    @Override
+    ArrayStorage insert(int index, Json value) {
+        return add(value);
+    }
+
+    @Override
+    GenericArrayStorage toGeneric() {
+        return new GenericArrayStorage();
+    }
+}
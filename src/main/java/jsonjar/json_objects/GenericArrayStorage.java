@@ -0,0 +1,61 @@
+package jsonjar.json_objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+
+final class GenericArrayStorage extends ArrayStorage {
+    private final ArrayList<Json> values;
+
+    GenericArrayStorage() {
+        this.values = new ArrayList<>();
+    }
+
+    GenericArrayStorage(int initialCapacity) {
+        this.values = new ArrayList<>(initialCapacity);
+    }
+
+    @Override
+    int size() {
+        return values.size();
+    }
+
+    @Override
+    Json get(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    ArrayStorage add(Json value) {
+        values.add(value);
+        return this;
+    }
+
+    @Override
+    ArrayStorage set(int index, Json value) {
+        values.set(index, value);
+        return this;
+    }
+
+    @Override
+    ArrayStorage insert(int index, Json value) {
+        values.add(index, value);
+        return this;
+    }
+
+    @Override
+    ArrayStorage remove(int index) {
+        values.remove(index);
+        return this;
+    }
+
+    @Override
+    GenericArrayStorage toGeneric() {
+        return this;
+    }
+
+    @Override
+    public Iterator<Json> iterator() {
+        return Collections.unmodifiableList(values).iterator();
+    }
+}
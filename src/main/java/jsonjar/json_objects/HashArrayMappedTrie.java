@@ -0,0 +1,250 @@
+package jsonjar.json_objects;
+
+import java.util.Arrays;
+
+// Persistent hash map: every update copies only the nodes on the path to the changed entry (Bagwell's HAMT)
+
+final class HashArrayMappedTrie<K, V> {
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int LEVEL_MASK = 0x1f;
+    private static final HashArrayMappedTrie<?, ?> EMPTY = new HashArrayMappedTrie<>(BitmapIndexedNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private HashArrayMappedTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> HashArrayMappedTrie<K, V> empty() {
+        return (HashArrayMappedTrie<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        return (V) root.find(0, key.hashCode(), key);
+    }
+
+    HashArrayMappedTrie<K, V> with(K key, V value) {
+        boolean[] addedLeaf = new boolean[1];
+        Node newRoot = root.with(0, key.hashCode(), key, value, addedLeaf);
+
+        if (newRoot == root) {
+            return this;
+        }
+        return new HashArrayMappedTrie<>(newRoot, addedLeaf[0] ? size + 1 : size);
+    }
+
+    HashArrayMappedTrie<K, V> without(K key) {
+        if (get(key) == null) {
+            return this;
+        }
+
+        Node newRoot = root.without(0, key.hashCode(), key);
+        return new HashArrayMappedTrie<>(newRoot == null ? BitmapIndexedNode.EMPTY : newRoot, size - 1);
+    }
+
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & LEVEL_MASK);
+    }
+
+    private interface Node {
+        Object find(int shift, int hash, Object key);
+
+        Node with(int shift, int hash, Object key, Object value, boolean[] addedLeaf);
+
+        Node without(int shift, int hash, Object key); // Returns null when the node becomes empty
+    }
+
+    // Entries are stored as (key, value) pairs; a null key marks a pair whose value is a child node
+    private static final class BitmapIndexedNode implements Node {
+        static final BitmapIndexedNode EMPTY = new BitmapIndexedNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapIndexedNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            int index = index(bit);
+            Object keyOrNull = array[2 * index];
+            Object valueOrNode = array[2 * index + 1];
+
+            if (keyOrNull == null) {
+                return ((Node) valueOrNode).find(shift + BITS_PER_LEVEL, hash, key);
+            }
+            return key.equals(keyOrNull) ? valueOrNode : null;
+        }
+
+        @Override
+        public Node with(int shift, int hash, Object key, Object value, boolean[] addedLeaf) {
+            int bit = bitFor(hash, shift);
+            int index = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, 2 * index);
+                newArray[2 * index] = key;
+                newArray[2 * index + 1] = value;
+                System.arraycopy(array, 2 * index, newArray, 2 * (index + 1), array.length - 2 * index);
+                addedLeaf[0] = true;
+                return new BitmapIndexedNode(bitmap | bit, newArray);
+            }
+
+            Object keyOrNull = array[2 * index];
+            Object valueOrNode = array[2 * index + 1];
+
+            if (keyOrNull == null) {
+                Node newChild = ((Node) valueOrNode).with(shift + BITS_PER_LEVEL, hash, key, value, addedLeaf);
+                return newChild == valueOrNode ? this : copyAndSet(2 * index + 1, newChild);
+            }
+
+            if (key.equals(keyOrNull)) {
+                return value == valueOrNode ? this : copyAndSet(2 * index + 1, value);
+            }
+
+            addedLeaf[0] = true;
+            Node subNode = createNode(shift + BITS_PER_LEVEL, keyOrNull, valueOrNode, hash, key, value);
+            Object[] newArray = array.clone();
+            newArray[2 * index] = null;
+            newArray[2 * index + 1] = subNode;
+            return new BitmapIndexedNode(bitmap, newArray);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = index(bit);
+            Object keyOrNull = array[2 * index];
+            Object valueOrNode = array[2 * index + 1];
+
+            if (keyOrNull == null) {
+                Node newChild = ((Node) valueOrNode).without(shift + BITS_PER_LEVEL, hash, key);
+                if (newChild == valueOrNode) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return copyAndSet(2 * index + 1, newChild);
+                }
+            } else if (!key.equals(keyOrNull)) {
+                return this;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, 2 * index);
+            System.arraycopy(array, 2 * (index + 1), newArray, 2 * index, newArray.length - 2 * index);
+            return new BitmapIndexedNode(bitmap ^ bit, newArray);
+        }
+
+        private BitmapIndexedNode copyAndSet(int position, Object value) {
+            Object[] newArray = array.clone();
+            newArray[position] = value;
+            return new BitmapIndexedNode(bitmap, newArray);
+        }
+
+        private static Node createNode(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            int hash1 = key1.hashCode();
+
+            if (hash1 == hash2) {
+                return new HashCollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            }
+
+            boolean[] addedLeaf = new boolean[1];
+            return EMPTY.with(shift, hash1, key1, value1, addedLeaf)
+                    .with(shift, hash2, key2, value2, addedLeaf);
+        }
+    }
+
+    // Holds keys whose full 32-bit hashes are identical, searched linearly
+    private static final class HashCollisionNode implements Node {
+        private final int hash;
+        private final Object[] array;
+
+        HashCollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : array[index + 1];
+        }
+
+        @Override
+        public Node with(int shift, int hash, Object key, Object value, boolean[] addedLeaf) {
+            if (hash != this.hash) {
+                Node nested = new BitmapIndexedNode(bitFor(this.hash, shift), new Object[]{null, this});
+                return nested.with(shift, hash, key, value, addedLeaf);
+            }
+
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+                return new HashCollisionNode(hash, newArray);
+            }
+
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            addedLeaf[0] = true;
+            return new HashCollisionNode(hash, newArray);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, newArray.length - index);
+            return new HashCollisionNode(hash, newArray);
+        }
+    }
+}
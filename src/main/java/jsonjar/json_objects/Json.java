@@ -7,6 +7,11 @@ import static jsonjar.json_objects.JsonReadErrorConstants.JSON_READ_ERROR_UNEXPE
 public interface Json {
     Object getValue();
 
+    // 64-bit hash of the value's structure, equal for equal values. Containers cache it until modified.
+    default long structuralHash() {
+        return StructuralHash.ofLeaf(this);
+    }
+
     default JsonObject toJsonObject() {
         if (this instanceof JsonObject jsonObject) {
             return jsonObject;
@@ -5,33 +5,253 @@ import jsonjar.error_handling.JsonReadException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static jsonjar.json_objects.JsonReadErrorConstants.JSON_READ_ERROR_INDEX_OUT_OF_BOUNDS;
 import static jsonjar.json_objects.JsonReadErrorConstants.JSON_READ_ERROR_TYPE_MISMATCH;
 
-public class JsonArray implements Json, Iterable<Json> {
-    private final ArrayList<Json> values;
+public class JsonArray extends JsonContainer implements Iterable<Json> {
+    private static final int MIN_COLUMNAR_ROWS = 2;
+
+    private ArrayStorage storage;
 
     public JsonArray() {
-        this.values = new ArrayList<>();
+        this.storage = EmptyArrayStorage.INSTANCE;
+    }
+
+    JsonArray(ArrayStorage storage) {
+        this.storage = storage;
+    }
+
+    // An array that stores flat, same-keyed objects column by column until an element does not fit.
+    // Objects stored in columns are copied rather than kept: changing one after adding it does not
+    // change the array, and the array reads back row views rather than the object itself.
+    public static JsonArray columnar() {
+        JsonArray array = new JsonArray();
+        array.storage = new ColumnarArrayStorage(array);
+        return array;
+    }
+
+    // A columnar copy of this array when all its elements are flat objects with the same keys in the same
+    // order, or null when they are not. Arrays with fewer than two elements gain nothing from columns.
+    public JsonArray toColumnar() {
+        if (storage.size() < MIN_COLUMNAR_ROWS || !(storage.get(0) instanceof JsonObject first)) {
+            return null;
+        }
+
+        for (Json element : storage) {
+            if (!(element instanceof JsonObject object) || !haveSameKeys(first, object)) {
+                return null;
+            }
+        }
+
+        JsonArray columnar = columnar();
+        for (Json element : storage) {
+            columnar.addValue(element);
+            if (!columnar.isColumnar()) {
+                return null; // A nested container or frozen object does not fit into columns
+            }
+        }
+        return columnar;
+    }
+
+    private static boolean haveSameKeys(JsonObject first, JsonObject other) {
+        if (first.compactShape() != null && first.compactShape() == other.compactShape()) {
+            return true;
+        }
+        if (first.size() != other.size()) {
+            return false;
+        }
+
+        Iterator<String> otherKeys = other.getValue().keySet().iterator();
+        for (String key : first.getValue().keySet()) {
+            if (!key.equals(otherKeys.next())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void addValue(Json value) {
-        this.values.add(value);
+        checkMutable();
+        this.storage = this.storage.add(value);
+        if (!(storage instanceof ColumnarArrayStorage)) {
+            adopt(value); // Values stored in columns are copies, so the array holds no reference to adopt
+        }
+        invalidate();
+    }
+
+    // Replaces the element at index and returns the previous one
+    public Json setValue(int index, Json value) {
+        checkMutable();
+        checkIndex(index, storage.size() - 1);
+        Json previous = storage.get(index);
+        adopt(value);
+        this.storage = this.storage.set(index, value);
+        release(previous);
+        invalidate();
+        return previous;
     }
 
+    // Inserts before the element at index, shifting it and later elements up; index == size() appends
+    public void insertValue(int index, Json value) {
+        checkMutable();
+        checkIndex(index, storage.size());
+        adopt(value);
+        this.storage = this.storage.insert(index, value);
+        invalidate();
+    }
+
+    // Removes and returns the element at index, shifting later elements down
+    public Json removeValue(int index) {
+        checkMutable();
+        checkIndex(index, storage.size() - 1);
+        Json previous = storage.get(index);
+        this.storage = this.storage.remove(index);
+        release(previous);
+        invalidate();
+        return previous;
+    }
+
+    private static void checkIndex(int index, int maxIndex) {
+        if (index < 0 || index > maxIndex) {
+            throw new JsonReadException(JSON_READ_ERROR_INDEX_OUT_OF_BOUNDS.getMessage() + " Index: " + index);
+        }
+    }
+
+    // Elements of arrays stored unboxed are materialised on every read, so get(i) returns an equal but new
+    // JsonNumber each time outside the shared small integers. getAsLong, getAsDouble and the bulk accessors
+    // below read such arrays without allocating.
     public Json get(int index) {
-        if (index < 0 || index >= values.size()) {
+        if (index < 0 || index >= storage.size()) {
             return null;
         }
-        return values.get(index);
+        return storage.get(index);
     }
 
     public Json getRequired(int index) {
-        if (index < 0 || index >= values.size()) {
+        if (index < 0 || index >= storage.size()) {
             throw new JsonReadException(JSON_READ_ERROR_INDEX_OUT_OF_BOUNDS.getMessage() + " Index: " + index);
         }
-        return values.get(index);
+        return storage.get(index);
+    }
+
+    public int size() {
+        return storage.size();
+    }
+
+    public boolean isColumnar() {
+        return storage instanceof ColumnarArrayStorage;
+    }
+
+    public LongStream getLongColumn(String key) {
+        LongStream column = storage instanceof ColumnarArrayStorage columnar ? columnar.longColumn(key) : null;
+
+        if (column == null) {
+            throw new JsonReadException(JSON_READ_ERROR_TYPE_MISMATCH.getMessage() + " Column: " + key + " is not an integer column.");
+        }
+        return column;
+    }
+
+    public DoubleStream getDoubleColumn(String key) {
+        DoubleStream column = storage instanceof ColumnarArrayStorage columnar ? columnar.doubleColumn(key) : null;
+
+        if (column == null) {
+            throw new JsonReadException(JSON_READ_ERROR_TYPE_MISMATCH.getMessage() + " Column: " + key + " is not a numeric column.");
+        }
+        return column;
+    }
+
+    public Stream<String> getStringColumn(String key) {
+        Stream<String> column = storage instanceof ColumnarArrayStorage columnar ? columnar.stringColumn(key) : null;
+
+        if (column == null) {
+            throw new JsonReadException(JSON_READ_ERROR_TYPE_MISMATCH.getMessage() + " Column: " + key + " is not a string column.");
+        }
+        return column;
+    }
+
+    // Bulk accessors read straight from primitive storage when the array was built from
+    // plain longs, doubles or booleans, and fall back to converting element by element
+
+    public long[] toLongArray() {
+        if (storage instanceof LongArrayStorage longs) {
+            return longs.toLongArray();
+        }
+
+        long[] values = new long[storage.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getAsExactLong(i);
+        }
+        return values;
+    }
+
+    public double[] toDoubleArray() {
+        if (storage instanceof DoubleArrayStorage doubles) {
+            return doubles.toDoubleArray();
+        }
+        if (storage instanceof LongArrayStorage longs) {
+            return longs.toDoubleArray();
+        }
+
+        double[] values = new double[storage.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getAsBigDecimal(i).doubleValue();
+        }
+        return values;
+    }
+
+    public boolean[] toBooleanArray() {
+        if (storage instanceof BooleanArrayStorage booleans) {
+            return booleans.toBooleanArray();
+        }
+
+        boolean[] values = new boolean[storage.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getAsBoolean(i);
+        }
+        return values;
+    }
+
+    public LongStream longStream() {
+        if (storage instanceof LongArrayStorage longs) {
+            return longs.stream();
+        }
+        return LongStream.of(toLongArray());
+    }
+
+    public DoubleStream doubleStream() {
+        if (storage instanceof DoubleArrayStorage doubles) {
+            return doubles.stream();
+        }
+        return DoubleStream.of(toDoubleArray());
+    }
+
+    public long getAsLong(int index) {
+        if (storage instanceof LongArrayStorage longs && index >= 0 && index < longs.size()) {
+            return longs.getLong(index);
+        }
+        return getAsExactLong(index);
+    }
+
+    public double getAsDouble(int index) {
+        if (storage instanceof DoubleArrayStorage doubles && index >= 0 && index < doubles.size()) {
+            return doubles.getDouble(index);
+        }
+        if (storage instanceof LongArrayStorage longs && index >= 0 && index < longs.size()) {
+            return longs.getLong(index);
+        }
+        return getAsBigDecimal(index).doubleValue();
+    }
+
+    private long getAsExactLong(int index) {
+        try {
+            return getAsBigDecimal(index).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new JsonReadException(JSON_READ_ERROR_TYPE_MISMATCH.getMessage() + " Index: " + index + " is not a long.");
+        }
     }
 
     public JsonString getAsJsonString(int index) {
@@ -99,25 +319,76 @@ public class JsonArray implements Json, Iterable<Json> {
 
     @Override
     public Iterator<Json> iterator() {
-        return values.iterator();
+        return storage.iterator();
+    }
+
+    @Override
+    public JsonArray deepCopy() {
+        JsonArray copy = new JsonArray();
+        for (Json value : storage) {
+            copy.addValue(value instanceof JsonContainer container ? container.deepCopy() : value);
+        }
+        return copy;
+    }
+
+    @Override
+    Iterable<Json> children() {
+        return storage;
+    }
+
+    // Only generic storage can hold containers that change; the specialised kinds hold numbers or booleans,
+    // and columns hold frozen containers at most
+    @Override
+    boolean mayHoldContainers() {
+        return storage instanceof GenericArrayStorage;
+    }
+
+    @Override
+    void resetForReuse() {
+        super.resetForReuse();
+        storage = EmptyArrayStorage.INSTANCE;
     }
 
     @Override
     public ArrayList<Json> getValue() {
-        return new ArrayList<>(values);
+        ArrayList<Json> values = new ArrayList<>(storage.size());
+        for (Json value : storage) {
+            values.add(value);
+        }
+        return values;
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
         if (obj instanceof JsonArray other) {
-            return this.values.equals(other.values);
+            if (this.storage.size() != other.storage.size() || hashesDiffer(other)) {
+                return false;
+            }
+
+            Iterator<Json> otherValues = other.storage.iterator();
+            for (Json value : storage) {
+                if (!value.equals(otherValues.next())) {
+                    return false;
+                }
+            }
+            return true;
         }
         return false;
     }
 
     @Override
-    public int hashCode() {
-        return values.hashCode();
+    Hashes computeHashes() {
+        int hash = 1;
+        long structuralHash = StructuralHash.ARRAY_SEED;
+
+        for (Json value : storage) {
+            hash = 31 * hash + value.hashCode(); // Same contract as List.hashCode
+            structuralHash = StructuralHash.addElement(structuralHash, value.structuralHash());
+        }
+        return new Hashes(hash, StructuralHash.mix(structuralHash));
     }
 
     @Override
@@ -125,16 +396,16 @@ public class JsonArray implements Json, Iterable<Json> {
         StringBuilder sb = new StringBuilder();
         sb.append("[");
 
-        for (Json value : values) {
+        for (Json value : storage) {
             sb.append(value.toString());
             sb.append(",");
         }
 
-        if (!values.isEmpty()) {
+        if (storage.size() > 0) {
             sb.deleteCharAt(sb.length() - 1);
         }
 
         sb.append("]");
         return sb.toString();
     }
-}
\ No newline at end of file
+}
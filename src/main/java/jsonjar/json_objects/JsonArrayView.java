@@ -0,0 +1,56 @@
+package jsonjar.json_objects;
+
+import jsonjar.error_handling.JsonWriteException;
+
+import static jsonjar.json_objects.JsonWriteErrorConstants.JSON_WRITE_ERROR_FROZEN;
+
+// Read-only JsonArray whose elements live outside the heap model, for example in a mapped snapshot.
+// Subclasses decode elements on demand by position; all JsonArray accessors go through them.
+
+public abstract class JsonArrayView extends JsonArray {
+    protected JsonArrayView() {
+        this(new ViewStorage());
+    }
+
+    private JsonArrayView(ViewStorage storage) {
+        super(storage);
+        storage.view = this;
+        markFrozen();
+    }
+
+    protected abstract int elementCount();
+
+    protected abstract Json elementAt(int index);
+
+    // Caching serialized bytes would copy the document back onto the heap
+    @Override
+    public boolean usesSerializationCache() {
+        return false;
+    }
+
+    private static final class ViewStorage extends ArrayStorage {
+        private JsonArrayView view;
+
+        @Override
+        int size() {
+            return view.elementCount();
+        }
+
+        @Override
+        Json get(int index) {
+            return view.elementAt(index);
+        }
+
+        // The owning view is frozen, so the mutators below are never reached through JsonArray
+
+        @Override
+        ArrayStorage add(Json value) {
+            throw new JsonWriteException(JSON_WRITE_ERROR_FROZEN.getMessage());
+        }
+
+        @Override
+        GenericArrayStorage toGeneric() {
+            throw new JsonWriteException(JSON_WRITE_ERROR_FROZEN.getMessage());
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package jsonjar.json_objects;
 
 public class JsonBoolean implements Json {
+    public static final JsonBoolean TRUE = new JsonBoolean(true);
+    public static final JsonBoolean FALSE = new JsonBoolean(false);
+
     private final boolean value;
 
     public JsonBoolean(boolean value) {
         this.value = value;
     }
 
+    public static JsonBoolean valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
     public Boolean getValue() {
         return value;
     }
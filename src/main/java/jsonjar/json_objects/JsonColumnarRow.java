@@ -0,0 +1,102 @@
+package jsonjar.json_objects;
+
+import jsonjar.error_handling.JsonWriteException;
+
+import java.util.*;
+
+import static jsonjar.json_objects.JsonWriteErrorConstants.JSON_WRITE_ERROR_MUTABLE_IN_COLUMNAR_ROW;
+
+// JsonObject view onto one row of a columnar array. Reads decode the row's cells on demand and
+// writes go straight back into the columns, so every view of the same row stays consistent.
+// Cells are never tracked as children, so a row only takes containers that cannot change: a mutable
+// one could be changed later without clearing the hashes and bytes cached by the array.
+
+final class JsonColumnarRow extends JsonObject {
+    private final ColumnarArrayStorage storage;
+    private final int row;
+
+    JsonColumnarRow(ColumnarArrayStorage storage, int row) {
+        super(null, null);
+        this.storage = storage;
+        this.row = row;
+    }
+
+    @Override
+    public void addValue(String key, Json value) {
+        checkMutable();
+        if (value instanceof JsonContainer container && !container.isFrozen()) {
+            throw new JsonWriteException(JSON_WRITE_ERROR_MUTABLE_IN_COLUMNAR_ROW.getMessage());
+        }
+        storage.owner().adopt(value);
+        storage.setCell(row, key, value);
+        storage.owner().invalidate();
+    }
+
+    @Override
+    public Json removeValue(String key) {
+        checkMutable();
+        Json previous = get(key);
+
+        if (previous != null) {
+            storage.removeCell(row, key);
+            storage.owner().release(previous);
+            storage.owner().invalidate();
+        }
+        return previous;
+    }
+
+    @Override
+    void checkMutable() {
+        storage.owner().checkMutable();
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return storage.owner().isFrozen();
+    }
+
+    @Override
+    public Json get(String key) {
+        int column = storage.columnIndex(key);
+        return column < 0 ? null : storage.getCell(row, column);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int column = 0; column < storage.columnCount(); column++) {
+            if (storage.getCell(row, column) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    JsonObjectShape compactShape() {
+        return null;
+    }
+
+    @Override
+    Iterable<Json> children() {
+        return getValue().values();
+    }
+
+    @Override
+    public Map<String, Json> getValue() {
+        Map<String, Json> values = new LinkedHashMap<>();
+        for (int column = 0; column < storage.columnCount(); column++) {
+            Json value = storage.getCell(row, column);
+            if (value != null) {
+                values.put(storage.columnName(column), value);
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    // A view has nothing to notify when its row changes, so it recomputes hashes every time
+    @Override
+    boolean cachesHashes() {
+        return false;
+    }
+}
@@ -0,0 +1,261 @@
+package jsonjar.json_objects;
+
+import jsonjar.error_handling.JsonWriteException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static jsonjar.json_objects.JsonWriteErrorConstants.JSON_WRITE_ERROR_FROZEN;
+
+// Shared behaviour for JsonObject and JsonArray: freezing, parent tracking, cached hashes and cached serialized forms.
+//
+// A container only registers with its children while it holds cached state, since that state is all a mutation
+// below has to clear. Without cached state there are no back-pointers, so a child taken out of a document does
+// not keep the rest of it reachable.
+
+public abstract class JsonContainer implements Json {
+    private JsonContainer parent;
+    private List<JsonContainer> additionalParents; // Only allocated when a container is shared between parents
+    private int ownerCount = 0; // Containers holding this one, tracked or not
+    private boolean tracksChildren = false;
+    private boolean frozen = false;
+    private boolean serializationCacheEnabled = false;
+    private volatile SerializationCache serializationCache; // Filled and read by JsonWriter only
+    private Hashes hashes;
+
+    // Both hashes are computed together and published through one immutable object, so that frozen
+    // containers shared between threads never observe half of them
+    record Hashes(int contractHash, long structuralHash) {
+    }
+
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+
+        frozen = true;
+        for (Json child : children()) {
+            if (child instanceof JsonContainer container) {
+                container.freeze();
+            }
+        }
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    // For views over storage that can never change: freezing through children() would decode all of it
+    void markFrozen() {
+        frozen = true;
+    }
+
+    public void enableSerializationCache() {
+        if (serializationCacheEnabled) {
+            return;
+        }
+
+        serializationCacheEnabled = true;
+        for (Json child : children()) {
+            if (child instanceof JsonContainer container) {
+                container.enableSerializationCache();
+            }
+        }
+    }
+
+    public boolean usesSerializationCache() {
+        return frozen || serializationCacheEnabled;
+    }
+
+    // The printer's cache for this container, made by factory on first use, or null when the container does
+    // not use the cache. Frozen containers may be shared between threads, so the holder is installed under
+    // a lock and published through a volatile field, and every thread gets the same one.
+    public SerializationCache serializationCache(Supplier<? extends SerializationCache> factory) {
+        if (!usesSerializationCache()) {
+            return null;
+        }
+
+        SerializationCache cache = serializationCache;
+        return cache != null ? cache : installSerializationCache(factory);
+    }
+
+    private synchronized SerializationCache installSerializationCache(Supplier<? extends SerializationCache> factory) {
+        SerializationCache cache = serializationCache;
+        if (cache == null) {
+            cache = factory.get();
+            serializationCache = cache;
+            trackChildren(); // Does nothing for frozen containers, which never change
+        }
+        return cache;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashes().contractHash();
+    }
+
+    @Override
+    public long structuralHash() {
+        return hashes().structuralHash();
+    }
+
+    Hashes hashes() {
+        Hashes current = hashes;
+        if (current == null) {
+            current = computeHashes();
+            if (cachesHashes()) {
+                hashes = current;
+                trackChildren();
+            }
+        }
+        return current;
+    }
+
+    abstract Hashes computeHashes();
+
+    boolean cachesHashes() {
+        return true;
+    }
+
+    // Lets equals reject most unequal containers in O(1) once both sides have been hashed
+    boolean hashesDiffer(JsonContainer other) {
+        Hashes mine = hashes;
+        Hashes theirs = other.hashes;
+        return mine != null && theirs != null && mine.structuralHash() != theirs.structuralHash();
+    }
+
+    // Copies every nested container; leaf values are immutable and stay shared. The copy is never frozen.
+    public abstract JsonContainer deepCopy();
+
+    abstract Iterable<Json> children();
+
+    void checkMutable() {
+        if (frozen) {
+            throw new JsonWriteException(JSON_WRITE_ERROR_FROZEN.getMessage());
+        }
+    }
+
+    // Called by subclasses whenever a child is attached. The caller invalidates itself afterwards, so a new
+    // child never has a cached parent to register with.
+    void adopt(Json child) {
+        if (child instanceof JsonContainer container) {
+            container.ownerCount++;
+
+            if (serializationCacheEnabled) {
+                container.enableSerializationCache();
+            }
+        }
+    }
+
+    void release(Json child) {
+        if (child instanceof JsonContainer container) {
+            container.ownerCount--;
+            container.removeParent(this);
+        }
+    }
+
+    // A cached ancestor implies a cached descendant, both for serialized bytes and for hashes, which are
+    // computed from the children's hashes. Propagation can therefore stop at the first node holding nothing.
+    void invalidate() {
+        if (!hasCachedState()) {
+            return;
+        }
+
+        clearCachedState();
+
+        // Every registered parent is about to drop its cached state, and with it the registration
+        JsonContainer first = parent;
+        List<JsonContainer> others = additionalParents;
+        parent = null;
+        additionalParents = null;
+
+        if (first != null) {
+            first.invalidate();
+        }
+        if (others != null) {
+            for (JsonContainer other : others) {
+                other.invalidate();
+            }
+        }
+    }
+
+    boolean hasCachedState() {
+        return serializationCache != null || hashes != null;
+    }
+
+    void clearCachedState() {
+        serializationCache = null;
+        hashes = null;
+        untrackChildren();
+    }
+
+    // False when no child can be a container, so there is nothing to track
+    boolean mayHoldContainers() {
+        return true;
+    }
+
+    private void trackChildren() {
+        if (tracksChildren || frozen || !mayHoldContainers()) {
+            return;
+        }
+
+        tracksChildren = true;
+        for (Json child : children()) {
+            if (child instanceof JsonContainer container) {
+                container.addParent(this);
+            }
+        }
+    }
+
+    private void untrackChildren() {
+        if (!tracksChildren) {
+            return;
+        }
+
+        tracksChildren = false;
+        for (Json child : children()) {
+            if (child instanceof JsonContainer container) {
+                container.removeParent(this);
+            }
+        }
+    }
+
+    private void addParent(JsonContainer newParent) {
+        if (frozen) {
+            return; // Frozen containers never change, so they never need to notify a parent
+        }
+
+        if (parent == null) {
+            parent = newParent;
+        } else {
+            if (additionalParents == null) {
+                additionalParents = new ArrayList<>(2);
+            }
+            additionalParents.add(newParent);
+        }
+    }
+
+    // True when no container but owner holds this one (for a root, when none does), so it can be recycled.
+    // The walk from the root has already established that owner is one of the holders.
+    boolean isExclusivelyOwnedBy(JsonContainer owner) {
+        return !frozen && ownerCount == (owner == null ? 0 : 1);
+    }
+
+    // Returns the container to the state of a newly constructed one; subclasses drop their children afterwards
+    void resetForReuse() {
+        clearCachedState();
+        parent = null;
+        additionalParents = null;
+        ownerCount = 0;
+        serializationCacheEnabled = false;
+    }
+
+    private void removeParent(JsonContainer oldParent) {
+        if (parent == oldParent) {
+            parent = (additionalParents == null || additionalParents.isEmpty()) ? null : additionalParents.remove(additionalParents.size() - 1);
+        } else if (additionalParents != null) {
+            additionalParents.remove(oldParent);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package jsonjar.json_objects;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+// Keeps the objects and arrays of documents that are no longer needed and hands them out again in place
+// of new ones, together with the slot arrays of compact objects. Leaf values are immutable and may be
+// shared, so they are never recycled. A container is only taken back when the tree being recycled is
+// its sole owner: frozen containers, and those also added elsewhere, are left alone with their subtrees.
+//
+// Not thread-safe; each pool belongs to one parse context.
+
+public final class JsonNodePool {
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final int INITIAL_SIZE = 16;
+
+    private final int capacity;
+    private final Deque<JsonContainer> pending = new ArrayDeque<>(); // Containers whose children are still to visit
+    private JsonObject[] objects;
+    private JsonArray[] arrays;
+    private int objectCount = 0;
+    private int arrayCount = 0;
+
+    public JsonNodePool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Capacity bounds the number of objects and of arrays held, so that one huge document cannot pin its tree
+    public JsonNodePool(int capacity) {
+        this.capacity = capacity;
+        this.objects = new JsonObject[Math.min(INITIAL_SIZE, capacity)];
+        this.arrays = new JsonArray[Math.min(INITIAL_SIZE, capacity)];
+    }
+
+    public JsonObject newObject() {
+        if (objectCount == 0) {
+            return new JsonObject();
+        }
+        JsonObject object = objects[--objectCount];
+        objects[objectCount] = null;
+        return object;
+    }
+
+    public JsonArray newArray() {
+        if (arrayCount == 0) {
+            return new JsonArray();
+        }
+        JsonArray array = arrays[--arrayCount];
+        arrays[arrayCount] = null;
+        return array;
+    }
+
+    public int pooledObjects() {
+        return objectCount;
+    }
+
+    public int pooledArrays() {
+        return arrayCount;
+    }
+
+    // Takes back the containers of a document. Neither root nor anything reached from it may be used afterwards.
+    public void recycle(Json root) {
+        if (!isRecyclable(root, null)) {
+            return;
+        }
+
+        pending.push((JsonContainer) root);
+        while (!pending.isEmpty()) {
+            JsonContainer container = pending.pop();
+            if (container instanceof JsonObject object) {
+                visitChildren(object);
+                object.resetForReuse();
+                offer(object);
+            } else {
+                JsonArray array = (JsonArray) container;
+                visitChildren(array);
+                array.resetForReuse();
+                offer(array);
+            }
+        }
+    }
+
+    private void visitChildren(JsonObject object) {
+        Json[] slots = object.compactSlots();
+        if (slots == null) {
+            for (Json child : object.getValue().values()) {
+                pushIfRecyclable(child, object);
+            }
+            return;
+        }
+
+        for (int i = 0; i < object.size(); i++) {
+            pushIfRecyclable(slots[i], object);
+        }
+    }
+
+    private void visitChildren(JsonArray array) {
+        if (array.mayHoldContainers()) {
+            for (int i = 0; i < array.size(); i++) {
+                pushIfRecyclable(array.get(i), array);
+            }
+        }
+    }
+
+    private void pushIfRecyclable(Json child, JsonContainer owner) {
+        if (isRecyclable(child, owner)) {
+            pending.push((JsonContainer) child);
+        }
+    }
+
+    // Views and other subclasses have storage of their own, so only plain objects and arrays qualify
+    private static boolean isRecyclable(Json json, JsonContainer owner) {
+        return (json != null && (json.getClass() == JsonObject.class || json.getClass() == JsonArray.class))
+                && ((JsonContainer) json).isExclusivelyOwnedBy(owner);
+    }
+
+    private void offer(JsonObject object) {
+        if (objectCount == objects.length) {
+            if (objectCount >= capacity) {
+                return;
+            }
+            objects = Arrays.copyOf(objects, Math.min(capacity, objectCount * 2));
+        }
+        objects[objectCount++] = object;
+    }
+
+    private void offer(JsonArray array) {
+        if (arrayCount == arrays.length) {
+            if (arrayCount >= capacity) {
+                return;
+            }
+            arrays = Arrays.copyOf(arrays, Math.min(capacity, arrayCount * 2));
+        }
+        arrays[arrayCount++] = array;
+    }
+}
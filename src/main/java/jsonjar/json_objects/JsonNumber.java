@@ -3,6 +3,17 @@ package jsonjar.json_objects;
 import java.math.BigDecimal;
 
 public class JsonNumber implements Json {
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final JsonNumber[] SMALL_VALUES = new JsonNumber[256]; // -128 to 127
+
+    static {
+        for (int i = 0; i < SMALL_VALUES.length; i++) {
+            long value = i - 128;
+            SMALL_VALUES[i] = new JsonNumber(BigDecimal.valueOf(value), Long.toString(value));
+        }
+    }
+
     private final BigDecimal value;
     private final String originalRepresentation;
 
@@ -15,6 +26,46 @@ public class JsonNumber implements Json {
         return value;
     }
 
+    // Shared instance for integers between -128 and 127, new instance otherwise
+    public static JsonNumber valueOf(long value) {
+        if (value >= -128 && value <= 127) {
+            return SMALL_VALUES[(int) value + 128];
+        }
+        return new JsonNumber(BigDecimal.valueOf(value), Long.toString(value));
+    }
+
+    static JsonNumber fromDouble(double value) {
+        String representation = Double.toString(value);
+        return new JsonNumber(new BigDecimal(representation), representation);
+    }
+
+    // True when the number is an integer written exactly as Long.toString would write it,
+    // so it can be stored as a long and materialised again without changing its text
+    public boolean isExactLong() {
+        String representation = originalRepresentation;
+        if (representation.isEmpty() || representation.length() > 20) {
+            return false;
+        }
+
+        for (int i = 0; i < representation.length(); i++) {
+            char c = representation.charAt(i);
+            if (!(Character.isDigit(c) || (i == 0 && c == '-'))) {
+                return false;
+            }
+        }
+        return value.scale() <= 0 && value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0
+                && Long.toString(value.longValue()).equals(representation);
+    }
+
+    // True when the number is written exactly as Double.toString would write it
+    boolean isExactDouble() {
+        try {
+            return Double.toString(Double.parseDouble(originalRepresentation)).equals(originalRepresentation);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof JsonNumber jsonNumber) {
@@ -25,7 +76,8 @@ public class JsonNumber implements Json {
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        // equals ignores scale, so 1 and 1.0 must hash alike
+        return value.signum() == 0 ? 0 : value.stripTrailingZeros().hashCode();
     }
 
     @Override
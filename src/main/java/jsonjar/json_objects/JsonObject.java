@@ -8,26 +8,144 @@ import java.util.*;
 import static jsonjar.json_objects.JsonReadErrorConstants.JSON_READ_ERROR_KEY_MISSING;
 import static jsonjar.json_objects.JsonReadErrorConstants.JSON_READ_ERROR_TYPE_MISMATCH;
 
-public class JsonObject implements Json {
-    private final Map<String, Json> values;
+public class JsonObject extends JsonContainer {
+    private static final int COMPACT_THRESHOLD = 16; // Objects with more keys than this switch to a hash map
+    private static final int INITIAL_SLOT_CAPACITY = 4;
+    private static final Json[] NO_SLOTS = new Json[0];
+
+    // Small objects keep values in slots ordered by a shared shape; large ones fall back to a LinkedHashMap
+    private JsonObjectShape shape;
+    private Json[] slots;
+    private Map<String, Json> values;
 
     public JsonObject() {
-        this.values = new LinkedHashMap<>();
+        this.shape = JsonObjectShape.ROOT;
+        this.slots = NO_SLOTS;
+    }
+
+    JsonObject(JsonObjectShape shape, Json[] slots) {
+        this.shape = shape;
+        this.slots = slots;
+    }
+
+    JsonObjectShape compactShape() {
+        return shape;
+    }
+
+    // The slots of a compact object, valid up to size(); null once the object has switched to a map
+    Json[] compactSlots() {
+        return slots;
+    }
+
+    // Keeps the slot array of a compact object so that the next owner can fill it again
+    @Override
+    void resetForReuse() {
+        super.resetForReuse();
+        if (values != null) {
+            values = null;
+            slots = NO_SLOTS;
+        } else {
+            Arrays.fill(slots, 0, shape.size(), null);
+        }
+        shape = JsonObjectShape.ROOT;
     }
 
     public void addValue(String key, Json value) {
-        this.values.put(key, value);
+        checkMutable();
+        adopt(value);
+        release(put(key, value));
+        invalidate();
+    }
+
+    // Removes the entry for key and returns its value, or null if there was none
+    public Json removeValue(String key) {
+        checkMutable();
+        Json previous = remove(key);
+
+        if (previous != null) {
+            release(previous);
+            invalidate();
+        }
+        return previous;
+    }
+
+    private Json remove(String key) {
+        if (values != null) {
+            return values.remove(key);
+        }
+
+        int index = shape.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        Json previous = slots[index];
+        System.arraycopy(slots, index + 1, slots, index, shape.size() - index - 1);
+        slots[shape.size() - 1] = null;
+        shape = shape.withoutKeyAt(index);
+        return previous;
+    }
+
+    private Json put(String key, Json value) {
+        if (values != null) {
+            return values.put(key, value);
+        }
+
+        int index = shape.indexOf(key);
+        if (index >= 0) {
+            Json previous = slots[index];
+            slots[index] = value;
+            return previous;
+        }
+
+        int size = shape.size();
+        if (size == COMPACT_THRESHOLD) {
+            switchToMap();
+            values.put(key, value);
+            return null;
+        }
+
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(INITIAL_SLOT_CAPACITY, size * 2));
+        }
+        slots[size] = value;
+        shape = shape.withKey(key);
+        return null;
+    }
+
+    private void switchToMap() {
+        Map<String, Json> map = new LinkedHashMap<>();
+        for (int i = 0; i < shape.size(); i++) {
+            map.put(shape.keyAt(i), slots[i]);
+        }
+
+        values = map;
+        shape = null;
+        slots = null;
     }
 
     public Json get(String key) {
-        return this.values.get(key);
+        if (values != null) {
+            return values.get(key);
+        }
+
+        int index = shape.indexOf(key);
+        return index >= 0 ? slots[index] : null;
+    }
+
+    public boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return values != null ? values.size() : shape.size();
     }
 
     public Json getRequired(String key) {
-        Json value = this.values.get(key);
+        Json value = get(key);
 
         if (value == null) {
-            throw new JsonReadException(JSON_READ_ERROR_KEY_MISSING + key);
+            throw new JsonReadException(JSON_READ_ERROR_KEY_MISSING.getMessage() + key);
         }
 
         return value;
@@ -113,22 +231,68 @@ public class JsonObject implements Json {
         throw new JsonReadException(JSON_READ_ERROR_TYPE_MISMATCH.getMessage() + " Key: " + key + " is not a JsonNull.");
     }
 
+    @Override
+    public JsonObject deepCopy() {
+        JsonObject copy = new JsonObject();
+        for (Map.Entry<String, Json> entry : getValue().entrySet()) {
+            Json value = entry.getValue();
+            copy.addValue(entry.getKey(), value instanceof JsonContainer container ? container.deepCopy() : value);
+        }
+        return copy;
+    }
+
+    @Override
+    Iterable<Json> children() {
+        return getValue().values();
+    }
+
     @Override
     public Map<String, Json> getValue() {
-        return Collections.unmodifiableMap(values);
+        if (values != null) {
+            return Collections.unmodifiableMap(values);
+        }
+        return new CompactMapView();
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
         if (obj instanceof JsonObject other) {
-            return this.values.equals(other.values);
+            if (hashesDiffer(other)) {
+                return false;
+            }
+            if (this.shape != null && this.shape == other.shape) {
+                for (int i = 0; i < shape.size(); i++) {
+                    if (!slots[i].equals(other.slots[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return this.getValue().equals(other.getValue());
         }
         return false;
     }
 
     @Override
-    public int hashCode() {
-        return values.hashCode();
+    Hashes computeHashes() {
+        int hash = 0;
+        long structuralHash = StructuralHash.OBJECT_SEED;
+
+        if (shape != null) {
+            for (int i = 0; i < shape.size(); i++) {
+                hash += shape.keyAt(i).hashCode() ^ slots[i].hashCode(); // Same contract as Map.hashCode
+                structuralHash = StructuralHash.addMember(structuralHash, shape.keyAt(i), slots[i].structuralHash());
+            }
+        } else {
+            for (Map.Entry<String, Json> entry : getValue().entrySet()) {
+                hash += entry.getKey().hashCode() ^ entry.getValue().hashCode();
+                structuralHash = StructuralHash.addMember(structuralHash, entry.getKey(), entry.getValue().structuralHash());
+            }
+        }
+        return new Hashes(hash, StructuralHash.mix(structuralHash));
     }
 
     @Override
@@ -136,7 +300,7 @@ public class JsonObject implements Json {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
 
-        for (Map.Entry<String, Json> entry : values.entrySet()) {
+        for (Map.Entry<String, Json> entry : getValue().entrySet()) {
             sb.append("\"");
             sb.append(entry.getKey());
             sb.append("\":");
@@ -144,10 +308,63 @@ public class JsonObject implements Json {
             sb.append(",");
         }
 
-        if (!values.isEmpty()) {
+        if (size() > 0) {
             sb.deleteCharAt(sb.length() - 1);
         }
         sb.append("}");
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    // Read-only Map over the compact representation, so callers see the same API in both modes
+    private final class CompactMapView extends AbstractMap<String, Json> {
+        @Override
+        public Json get(Object key) {
+            return key instanceof String stringKey ? JsonObject.this.get(stringKey) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return shape.size();
+        }
+
+        @Override
+        public Set<Entry<String, Json>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return shape.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Json>> iterator() {
+                    JsonObjectShape iteratedShape = shape;
+                    Json[] iteratedSlots = slots;
+
+                    return new Iterator<>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < iteratedShape.size();
+                        }
+
+                        @Override
+                        public Entry<String, Json> next() {
+                            if (index >= iteratedShape.size()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Json> entry = new SimpleImmutableEntry<>(iteratedShape.keyAt(index), iteratedSlots[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
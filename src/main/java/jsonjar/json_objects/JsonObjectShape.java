@@ -0,0 +1,111 @@
+package jsonjar.json_objects;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interned ordered key list shared by all small objects built with the same keys in the same order.
+// Shapes form a transition tree from ROOT, so objects of one record type end up pointing at one instance.
+// Transitions are weak: a shape stays shared while some object uses it and is dropped from the tree once
+// none does, so documents with ever-changing keys cannot fill it up.
+
+final class JsonObjectShape {
+    static final JsonObjectShape ROOT = new JsonObjectShape(null, new String[0]);
+    private static final ReferenceQueue<JsonObjectShape> collectedShapes = new ReferenceQueue<>();
+
+    private final JsonObjectShape parent; // Keeps the path from ROOT alive for as long as this shape is in use
+    private final String[] keys;
+    private volatile Map<String, Transition> transitions;
+
+    private JsonObjectShape(JsonObjectShape parent, String[] keys) {
+        this.parent = parent;
+        this.keys = keys;
+    }
+
+    private static final class Transition extends WeakReference<JsonObjectShape> {
+        private final JsonObjectShape from;
+        private final String key;
+
+        Transition(JsonObjectShape from, String key, JsonObjectShape to) {
+            super(to, collectedShapes);
+            this.from = from;
+            this.key = key;
+        }
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    String keyAt(int index) {
+        return keys[index];
+    }
+
+    int indexOf(String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    JsonObjectShape withKey(String key) {
+        JsonObjectShape existing = target(transitions, key);
+        if (existing != null) {
+            return existing;
+        }
+
+        expungeCollectedShapes();
+        synchronized (this) {
+            if (transitions == null) {
+                transitions = new ConcurrentHashMap<>(4);
+            }
+
+            existing = target(transitions, key);
+            if (existing != null) {
+                return existing;
+            }
+            JsonObjectShape shape = new JsonObjectShape(this, appendKey(key));
+            transitions.put(key, new Transition(this, key, shape));
+            return shape;
+        }
+    }
+
+    private static JsonObjectShape target(Map<String, Transition> transitions, String key) {
+        Transition transition = transitions == null ? null : transitions.get(key);
+        return transition == null ? null : transition.get();
+    }
+
+    private static void expungeCollectedShapes() {
+        Reference<? extends JsonObjectShape> collected;
+        while ((collected = collectedShapes.poll()) != null) {
+            Transition transition = (Transition) collected;
+            transition.from.transitions.remove(transition.key, transition);
+        }
+    }
+
+    JsonObjectShape withoutKeyAt(int index) {
+        JsonObjectShape shape = ROOT;
+        for (int i = 0; i < keys.length; i++) {
+            if (i != index) {
+                shape = shape.withKey(keys[i]);
+            }
+        }
+        return shape;
+    }
+
+    private String[] appendKey(String key) {
+        String[] newKeys = new String[keys.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, keys.length);
+        newKeys[keys.length] = key;
+        return newKeys;
+    }
+}
@@ -0,0 +1,109 @@
+package jsonjar.json_objects;
+
+import java.util.*;
+
+// Read-only JsonObject whose members live outside the heap model, for example in a mapped snapshot.
+// Subclasses decode members on demand by position; everything else, including equality, hashing,
+// printing and deepCopy, works as for any other JsonObject. Views are frozen from the start.
+
+public abstract class JsonObjectView extends JsonObject {
+    protected JsonObjectView() {
+        super(null, null);
+        markFrozen();
+    }
+
+    protected abstract int memberCount();
+
+    protected abstract String keyAt(int index);
+
+    protected abstract Json valueAt(int index);
+
+    // Position of key, or -1. Subclasses with a key index should override the linear scan.
+    protected int indexOf(String key) {
+        for (int i = 0; i < memberCount(); i++) {
+            if (keyAt(i).equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Json get(String key) {
+        int index = indexOf(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public int size() {
+        return memberCount();
+    }
+
+    @Override
+    JsonObjectShape compactShape() {
+        return null;
+    }
+
+    @Override
+    Iterable<Json> children() {
+        return getValue().values();
+    }
+
+    // Caching serialized bytes would copy the document back onto the heap
+    @Override
+    public boolean usesSerializationCache() {
+        return false;
+    }
+
+    @Override
+    public Map<String, Json> getValue() {
+        return new AbstractMap<>() {
+            @Override
+            public Json get(Object key) {
+                return key instanceof String stringKey ? JsonObjectView.this.get(stringKey) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public int size() {
+                return memberCount();
+            }
+
+            @Override
+            public Set<Entry<String, Json>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public int size() {
+                        return memberCount();
+                    }
+
+                    @Override
+                    public Iterator<Entry<String, Json>> iterator() {
+                        return new Iterator<>() {
+                            private int index = 0;
+
+                            @Override
+                            public boolean hasNext() {
+                                return index < memberCount();
+                            }
+
+                            @Override
+                            public Entry<String, Json> next() {
+                                if (index >= memberCount()) {
+                                    throw new NoSuchElementException();
+                                }
+                                Entry<String, Json> entry = new SimpleImmutableEntry<>(keyAt(index), valueAt(index));
+                                index++;
+                                return entry;
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+}
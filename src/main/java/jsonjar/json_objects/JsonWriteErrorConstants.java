@@ -0,0 +1,16 @@
+package jsonjar.json_objects;
+
+public enum JsonWriteErrorConstants {
+    JSON_WRITE_ERROR_FROZEN("Error: Cannot modify a frozen Json container."),
+    JSON_WRITE_ERROR_MUTABLE_IN_COLUMNAR_ROW("Error: A columnar row cannot hold a mutable Json container.");
+
+    private final String message;
+
+    JsonWriteErrorConstants(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,80 @@
+package jsonjar.json_objects;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+final class LongArrayStorage extends ArrayStorage {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size = 0;
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    Json get(int index) {
+        return JsonNumber.valueOf(values[index]);
+    }
+
+    long getLong(int index) {
+        return values[index];
+    }
+
+    @Override
+    ArrayStorage add(Json value) {
+        if (!(value instanceof JsonNumber number) || !number.isExactLong()) {
+            return toGeneric().add(value);
+        }
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = number.getValue().longValue();
+        return this;
+    }
+
+    @Override
+    ArrayStorage set(int index, Json value) {
+        if (!(value instanceof JsonNumber number) || !number.isExactLong()) {
+            return toGeneric().set(index, value);
+        }
+
+        values[index] = number.getValue().longValue();
+        return this;
+    }
+
+    @Override
+    ArrayStorage remove(int index) {
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return this;
+    }
+
+    @Override
+    GenericArrayStorage toGeneric() {
+        GenericArrayStorage generic = new GenericArrayStorage(size + 1);
+        for (int i = 0; i < size; i++) {
+            generic.add(get(i));
+        }
+        return generic;
+    }
+
+    long[] toLongArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    double[] toDoubleArray() {
+        double[] doubles = new double[size];
+        for (int i = 0; i < size; i++) {
+            doubles[i] = values[i];
+        }
+        return doubles;
+    }
+
+    LongStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+}
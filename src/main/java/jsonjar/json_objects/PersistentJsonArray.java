@@ -0,0 +1,193 @@
+package jsonjar.json_objects;
+
+import jsonjar.error_handling.JsonReadException;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+import static jsonjar.json_objects.JsonReadErrorConstants.JSON_READ_ERROR_INDEX_OUT_OF_BOUNDS;
+
+// Immutable JsonArray counterpart: every modification returns a new version sharing untouched chunks.
+// Mutable JsonObject and JsonArray values are converted on the way in, so that whoever holds the original
+// cannot change a version (and with it its cached hashes) afterwards.
+
+public final class PersistentJsonArray implements Json, Iterable<Json> {
+    private static final PersistentJsonArray EMPTY = new PersistentJsonArray(PersistentVector.empty());
+
+    private final PersistentVector<Json> values;
+    private int hash = 0; // Cached lazily, safe because the contents never change
+    private volatile long structuralHash = 0; // 0 until computed; volatile as a long write may tear
+
+    private PersistentJsonArray(PersistentVector<Json> values) {
+        this.values = values;
+    }
+
+    public static PersistentJsonArray empty() {
+        return EMPTY;
+    }
+
+    public static PersistentJsonArray of(Json... values) {
+        PersistentVector<Json> vector = PersistentVector.empty();
+        for (Json value : values) {
+            vector = vector.withAppended(toPersistent(value));
+        }
+        return new PersistentJsonArray(vector);
+    }
+
+    // Deep conversion: nested JsonObject and JsonArray values become persistent too
+    public static PersistentJsonArray from(JsonArray array) {
+        PersistentVector<Json> vector = PersistentVector.empty();
+        for (Json value : array) {
+            vector = vector.withAppended(toPersistent(value));
+        }
+        return new PersistentJsonArray(vector);
+    }
+
+    static Json toPersistent(Json json) {
+        if (json instanceof JsonObject object) {
+            return PersistentJsonObject.from(object);
+        } else if (json instanceof JsonArray array) {
+            return from(array);
+        }
+        return json;
+    }
+
+    static Json toMutable(Json json) {
+        if (json instanceof PersistentJsonObject object) {
+            return object.toMutable();
+        } else if (json instanceof PersistentJsonArray array) {
+            return array.toMutable();
+        }
+        return json;
+    }
+
+    public PersistentJsonArray withAppended(Json value) {
+        return new PersistentJsonArray(values.withAppended(toPersistent(value)));
+    }
+
+    public PersistentJsonArray with(int index, Json value) {
+        checkIndex(index);
+        return new PersistentJsonArray(values.with(index, toPersistent(value)));
+    }
+
+    public PersistentJsonArray withInserted(int index, Json value) {
+        if (index != values.size()) {
+            checkIndex(index);
+        }
+        return new PersistentJsonArray(values.withInserted(index, toPersistent(value)));
+    }
+
+    public PersistentJsonArray without(int index) {
+        checkIndex(index);
+        return new PersistentJsonArray(values.without(index));
+    }
+
+    public Json get(int index) {
+        if (index < 0 || index >= values.size()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    public Json getRequired(int index) {
+        checkIndex(index);
+        return values.get(index);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public JsonArray toMutable() {
+        JsonArray array = new JsonArray();
+        for (Json value : values) {
+            array.addValue(toMutable(value));
+        }
+        return array;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= values.size()) {
+            throw new JsonReadException(JSON_READ_ERROR_INDEX_OUT_OF_BOUNDS.getMessage() + " Index: " + index);
+        }
+    }
+
+    @Override
+    public Iterator<Json> iterator() {
+        return values.iterator();
+    }
+
+    @Override
+    public List<Json> getValue() {
+        return new AbstractList<>() {
+            @Override
+            public Json get(int index) {
+                return values.get(index);
+            }
+
+            @Override
+            public int size() {
+                return values.size();
+            }
+
+            @Override
+            public Iterator<Json> iterator() {
+                return values.iterator();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof PersistentJsonArray other) {
+            if (this.hash != 0 && other.hash != 0 && this.hash != other.hash) {
+                return false;
+            }
+            return this.values.size() == other.values.size() && getValue().equals(other.getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash == 0) {
+            hash = getValue().hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public long structuralHash() {
+        long current = structuralHash;
+        if (current == 0) {
+            long result = StructuralHash.ARRAY_SEED;
+            for (Json value : values) {
+                result = StructuralHash.addElement(result, value.structuralHash());
+            }
+            current = StructuralHash.mix(result);
+            structuralHash = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+
+        Iterator<Json> iterator = values.iterator();
+        while (iterator.hasNext()) {
+            sb.append(iterator.next().toString());
+            if (iterator.hasNext()) {
+                sb.append(",");
+            }
+        }
+
+        sb.append("]");
+        return sb.toString();
+    }
+}
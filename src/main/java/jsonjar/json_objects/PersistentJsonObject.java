@@ -0,0 +1,239 @@
+package jsonjar.json_objects;
+
+import jsonjar.error_handling.JsonReadException;
+
+import java.util.*;
+
+import static jsonjar.json_objects.JsonReadErrorConstants.JSON_READ_ERROR_KEY_MISSING;
+
+// Immutable JsonObject counterpart backed by a HAMT, keeping insertion order in a persistent key vector
+
+public final class PersistentJsonObject implements Json {
+    private static final PersistentJsonObject EMPTY = new PersistentJsonObject(HashArrayMappedTrie.empty(), PersistentVector.empty());
+    private static final int MIN_KEYS_BEFORE_COMPACTION = 32;
+
+    private final HashArrayMappedTrie<String, Slot> entries;
+    private final PersistentVector<String> keyOrder; // Removed keys leave a null until the vector is compacted
+    private int hash = 0;
+    private volatile long structuralHash = 0; // 0 until computed; volatile as a long write may tear
+
+    private record Slot(int position, Json value) {
+    }
+
+    private PersistentJsonObject(HashArrayMappedTrie<String, Slot> entries, PersistentVector<String> keyOrder) {
+        this.entries = entries;
+        this.keyOrder = keyOrder;
+    }
+
+    public static PersistentJsonObject empty() {
+        return EMPTY;
+    }
+
+    // Deep conversion: nested JsonObject and JsonArray values become persistent too
+    public static PersistentJsonObject from(JsonObject object) {
+        PersistentJsonObject result = EMPTY;
+        for (Map.Entry<String, Json> entry : object.getValue().entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    // A mutable JsonObject or JsonArray value is converted, so later changes to it do not reach this version
+    public PersistentJsonObject with(String key, Json value) {
+        value = PersistentJsonArray.toPersistent(value);
+        Slot existing = entries.get(key);
+
+        if (existing != null) {
+            if (existing.value() == value) {
+                return this;
+            }
+            return new PersistentJsonObject(entries.with(key, new Slot(existing.position(), value)), keyOrder);
+        }
+
+        return new PersistentJsonObject(entries.with(key, new Slot(keyOrder.size(), value)), keyOrder.withAppended(key));
+    }
+
+    public PersistentJsonObject without(String key) {
+        Slot existing = entries.get(key);
+
+        if (existing == null) {
+            return this;
+        }
+
+        HashArrayMappedTrie<String, Slot> newEntries = entries.without(key);
+        PersistentVector<String> newKeyOrder = keyOrder.with(existing.position(), null);
+
+        int removedKeys = newKeyOrder.size() - newEntries.size();
+        if (removedKeys > MIN_KEYS_BEFORE_COMPACTION && removedKeys > newEntries.size()) {
+            return compact(newEntries, newKeyOrder);
+        }
+        return new PersistentJsonObject(newEntries, newKeyOrder);
+    }
+
+    private static PersistentJsonObject compact(HashArrayMappedTrie<String, Slot> entries, PersistentVector<String> keyOrder) {
+        PersistentJsonObject result = EMPTY;
+        for (String key : keyOrder) {
+            if (key != null) {
+                result = result.with(key, entries.get(key).value());
+            }
+        }
+        return result;
+    }
+
+    public Json get(String key) {
+        Slot slot = entries.get(key);
+        return slot == null ? null : slot.value();
+    }
+
+    public Json getRequired(String key) {
+        Json value = get(key);
+
+        if (value == null) {
+            throw new JsonReadException(JSON_READ_ERROR_KEY_MISSING.getMessage() + key);
+        }
+
+        return value;
+    }
+
+    public boolean containsKey(String key) {
+        return entries.get(key) != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public JsonObject toMutable() {
+        JsonObject object = new JsonObject();
+        for (Map.Entry<String, Json> entry : getValue().entrySet()) {
+            object.addValue(entry.getKey(), PersistentJsonArray.toMutable(entry.getValue()));
+        }
+        return object;
+    }
+
+    @Override
+    public Map<String, Json> getValue() {
+        return new AbstractMap<>() {
+            @Override
+            public Json get(Object key) {
+                return key instanceof String stringKey ? PersistentJsonObject.this.get(stringKey) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof String stringKey && PersistentJsonObject.this.containsKey(stringKey);
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+
+            @Override
+            public Set<Entry<String, Json>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public int size() {
+                        return entries.size();
+                    }
+
+                    @Override
+                    public Iterator<Entry<String, Json>> iterator() {
+                        return entryIterator();
+                    }
+                };
+            }
+        };
+    }
+
+    private Iterator<Map.Entry<String, Json>> entryIterator() {
+        Iterator<String> keys = keyOrder.iterator();
+
+        return new Iterator<>() {
+            private String nextKey = advance();
+
+            private String advance() {
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    if (key != null) {
+                        return key;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextKey != null;
+            }
+
+            @Override
+            public Map.Entry<String, Json> next() {
+                if (nextKey == null) {
+                    throw new NoSuchElementException();
+                }
+
+                String key = nextKey;
+                nextKey = advance();
+                return new AbstractMap.SimpleImmutableEntry<>(key, entries.get(key).value());
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof PersistentJsonObject other) {
+            if (this.hash != 0 && other.hash != 0 && this.hash != other.hash) {
+                return false;
+            }
+            return this.entries.size() == other.entries.size() && getValue().equals(other.getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash == 0) {
+            hash = getValue().hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public long structuralHash() {
+        long current = structuralHash;
+        if (current == 0) {
+            long result = StructuralHash.OBJECT_SEED;
+            for (Map.Entry<String, Json> entry : getValue().entrySet()) {
+                result = StructuralHash.addMember(result, entry.getKey(), entry.getValue().structuralHash());
+            }
+            current = StructuralHash.mix(result);
+            structuralHash = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        Iterator<Map.Entry<String, Json>> iterator = entryIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Json> entry = iterator.next();
+            sb.append("\"");
+            sb.append(entry.getKey());
+            sb.append("\":");
+            sb.append(entry.getValue().toString());
+            if (iterator.hasNext()) {
+                sb.append(",");
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,192 @@
+package jsonjar.json_objects;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Persistent 32-way chunked vector with a tail buffer, so appends and updates copy O(log32 n) small arrays
+
+final class PersistentVector<T> implements Iterable<T> {
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int CHUNK_SIZE = 1 << BITS_PER_LEVEL;
+    private static final int LEVEL_MASK = CHUNK_SIZE - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS_PER_LEVEL, new Object[CHUNK_SIZE], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (T) chunkFor(index)[index & LEVEL_MASK];
+    }
+
+    PersistentVector<T> withAppended(T value) {
+        if (size - tailOffset() < CHUNK_SIZE) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // Tail is full: push it into the tree, growing a new level when the root itself is full
+        Object[] newRoot;
+        int newShift = shift;
+
+        if ((size >>> BITS_PER_LEVEL) > (1 << shift)) {
+            newRoot = new Object[CHUNK_SIZE];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS_PER_LEVEL;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    PersistentVector<T> with(int index, T value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & LEVEL_MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, value), tail);
+    }
+
+    // Removal from the middle shifts every later element, so the vector is rebuilt in O(n)
+    PersistentVector<T> without(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        PersistentVector<T> result = empty();
+        for (int i = 0; i < size; i++) {
+            if (i != index) {
+                result = result.withAppended(get(i));
+            }
+        }
+        return result;
+    }
+
+    PersistentVector<T> withInserted(int index, T value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index == size) {
+            return withAppended(value);
+        }
+
+        PersistentVector<T> result = empty();
+        for (int i = 0; i < size; i++) {
+            if (i == index) {
+                result = result.withAppended(value);
+            }
+            result = result.withAppended(get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+            private Object[] chunk = size > 0 ? chunkFor(0) : null;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & LEVEL_MASK) == 0 && index > 0) {
+                    chunk = chunkFor(index);
+                }
+                return (T) chunk[index++ & LEVEL_MASK];
+            }
+        };
+    }
+
+    private int tailOffset() {
+        return size < CHUNK_SIZE ? 0 : ((size - 1) >>> BITS_PER_LEVEL) << BITS_PER_LEVEL;
+    }
+
+    private Object[] chunkFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS_PER_LEVEL) {
+            node = (Object[]) node[(index >>> level) & LEVEL_MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & LEVEL_MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+
+        if (level == BITS_PER_LEVEL) {
+            nodeToInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            nodeToInsert = child != null ? pushTail(level - BITS_PER_LEVEL, child, tailNode) : newPath(level - BITS_PER_LEVEL, tailNode);
+        }
+
+        result[subIndex] = nodeToInsert;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+
+        Object[] path = new Object[CHUNK_SIZE];
+        path[0] = newPath(level - BITS_PER_LEVEL, node);
+        return path;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object value) {
+        Object[] result = node.clone();
+
+        if (level == 0) {
+            result[index & LEVEL_MASK] = value;
+        } else {
+            int subIndex = (index >>> level) & LEVEL_MASK;
+            result[subIndex] = assoc(level - BITS_PER_LEVEL, (Object[]) node[subIndex], index, value);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,7 @@
+package jsonjar.json_objects;
+
+// Output a printer keeps on a container that uses the serialization cache, dropped whenever the container
+// changes. The container only holds it: what is stored, and who may read it, is up to the printer.
+
+public interface SerializationCache {
+}
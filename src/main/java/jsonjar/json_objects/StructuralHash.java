@@ -0,0 +1,78 @@
+package jsonjar.json_objects;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+// Building blocks of the 64-bit structural hash. It agrees with Json equality across mutable and
+// persistent containers: object member order is ignored and numbers hash by numeric value.
+
+final class StructuralHash {
+    static final long OBJECT_SEED = 0x6A09E667F3BCC908L;
+    static final long ARRAY_SEED = 0xBB67AE8584CAA73BL;
+    private static final long NUMBER_SEED = 0x3C6EF372FE94F82BL;
+    private static final long PRIME = 0x100000001B3L;
+    private static final long TRUE_HASH = mix(0x3L);
+    private static final long FALSE_HASH = mix(0x4L);
+    private static final long NULL_HASH = mix(0x5L);
+
+    private StructuralHash() {
+    }
+
+    static long ofLeaf(Json json) {
+        return switch (json) {
+            case JsonString str -> mix(ofString(str.getValue()) ^ 0x1L);
+            case JsonNumber number -> mix(ofNumber(number.getValue()) ^ 0x2L);
+            case JsonBoolean bool -> bool.getValue() ? TRUE_HASH : FALSE_HASH;
+            case JsonNull ignored -> NULL_HASH;
+            default -> throw new IllegalStateException("Unexpected Json type " + json);
+        };
+    }
+
+    // Members are summed, so that equal objects hash alike whatever their key order
+    static long addMember(long hash, String key, long valueHash) {
+        return hash + mix(ofString(key) * PRIME + valueHash);
+    }
+
+    static long addElement(long hash, long elementHash) {
+        return mix(hash * PRIME + elementHash);
+    }
+
+    // Final mixing step of SplitMix64, applied once all members or elements are added
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    // FNV-1a over UTF-16 code units
+    private static long ofString(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return hash;
+    }
+
+    // Hashes the normalised unscaled value and scale. Unscaled values that fit a long go through SplitMix64
+    // whole, so distinct ones never collide at the same scale; longer ones mix in sign, length and every byte.
+    private static long ofNumber(BigDecimal value) {
+        if (value.signum() == 0) {
+            return NUMBER_SEED;
+        }
+
+        BigDecimal normalised = value.stripTrailingZeros();
+        BigInteger unscaled = normalised.unscaledValue();
+        long hash = mix(NUMBER_SEED + normalised.scale());
+        if (unscaled.bitLength() < Long.SIZE) {
+            return mix(hash + unscaled.longValue());
+        }
+
+        byte[] magnitude = unscaled.abs().toByteArray();
+        hash = mix(hash + unscaled.signum());
+        hash = mix(hash + magnitude.length);
+        for (byte b : magnitude) {
+            hash = mix(hash + (b & 0xFF));
+        }
+        return hash;
+    }
+}
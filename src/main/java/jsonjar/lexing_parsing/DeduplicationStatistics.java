@@ -0,0 +1,9 @@
+package jsonjar.lexing_parsing;
+
+// Outcome of subtree deduplication for one parse
+
+public record DeduplicationStatistics(long lookups, long hits, int tableSize) {
+    public double hitRate() {
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,187 @@
+package jsonjar.lexing_parsing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static jsonjar.lexing_parsing.JsonParsingErrorConstants.*;
+
+// Parses many files concurrently, on virtual threads by default or on a fixed number of platform threads.
+// Every file is read and parsed by its own task, so reading some files overlaps with parsing others.
+// Tasks start in the order the files are given, as long as the in-flight limits allow: at most
+// maxInFlightBytes of files (by size on disk) and maxInFlightFiles files are being read, parsed or
+// waiting to be handed to the caller at once. A file larger than the byte limit runs on its own.
+//
+// Failures never stop the batch; each shows up as the error of that file's result. Immutable, so one
+// batch parser can run any number of batches, including concurrently.
+
+public final class JsonBatchParser {
+    public static final JsonBatchParser DEFAULT = new JsonBatchParser(JsonParserOptions.DEFAULT, 0, 256L << 20, 1024);
+
+    private final JsonParserOptions parserOptions;
+    private final int threads; // 0 for a virtual thread per file
+    private final long maxInFlightBytes;
+    private final int maxInFlightFiles;
+
+    private JsonBatchParser(JsonParserOptions parserOptions, int threads, long maxInFlightBytes, int maxInFlightFiles) {
+        this.parserOptions = parserOptions;
+        this.threads = threads;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.maxInFlightFiles = maxInFlightFiles;
+    }
+
+    public JsonBatchParser withParserOptions(JsonParserOptions parserOptions) {
+        return new JsonBatchParser(parserOptions, threads, maxInFlightBytes, maxInFlightFiles);
+    }
+
+    // Parse on this many platform threads; 0 starts a virtual thread per file
+    public JsonBatchParser withThreads(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException(BATCH_NEGATIVE_THREAD_COUNT.getMessage());
+        }
+        return new JsonBatchParser(parserOptions, threads, maxInFlightBytes, maxInFlightFiles);
+    }
+
+    public JsonBatchParser withMaxInFlightBytes(long maxInFlightBytes) {
+        if (maxInFlightBytes < 1) {
+            throw new IllegalArgumentException(BATCH_NON_POSITIVE_BYTE_LIMIT.getMessage());
+        }
+        return new JsonBatchParser(parserOptions, threads, maxInFlightBytes, maxInFlightFiles);
+    }
+
+    public JsonBatchParser withMaxInFlightFiles(int maxInFlightFiles) {
+        if (maxInFlightFiles < 1) {
+            throw new IllegalArgumentException(BATCH_NON_POSITIVE_FILE_LIMIT.getMessage());
+        }
+        return new JsonBatchParser(parserOptions, threads, maxInFlightBytes, maxInFlightFiles);
+    }
+
+    // One result per file, in the order the files were given
+    public List<JsonFileResult> parseAll(Collection<Path> files) throws InterruptedException {
+        List<JsonFileResult> results = new ArrayList<>(files.size());
+        parseAll(files, true, results::add);
+        return results;
+    }
+
+    // Hands each result to consumer on the calling thread, either in the order the files were given or as
+    // soon as each is parsed. Results count against the in-flight limits until consumer returns, so a slow
+    // consumer holds back reading. If consumer throws, files not yet started are skipped and the exception
+    // is rethrown once running tasks have stopped.
+    public void parseAll(Collection<Path> files, boolean inOrder, Consumer<JsonFileResult> consumer) throws InterruptedException {
+        List<Path> paths = List.copyOf(files);
+        InFlightLimit limit = new InFlightLimit(maxInFlightBytes, maxInFlightFiles);
+        BlockingQueue<IndexedResult> completed = new LinkedBlockingQueue<>();
+        Queue<JsonParseContext> contexts = new ConcurrentLinkedQueue<>(); // Reused by later tasks of this batch
+        ExecutorService executor = threads == 0 ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(threads);
+        Thread submitter = Thread.ofVirtual().start(() -> submitAll(paths, limit, executor, contexts, completed));
+
+        try {
+            IndexedResult[] pending = inOrder ? new IndexedResult[paths.size()] : null;
+            int next = 0;
+            for (int received = 0; received < paths.size(); received++) {
+                IndexedResult result = completed.take();
+                if (!inOrder) {
+                    deliver(result, limit, consumer);
+                    continue;
+                }
+
+                pending[result.index()] = result;
+                for (; next < paths.size() && pending[next] != null; next++) {
+                    deliver(pending[next], limit, consumer);
+                    pending[next] = null;
+                }
+            }
+        } finally {
+            submitter.interrupt();
+            submitter.join();
+            executor.shutdownNow();
+            executor.close();
+        }
+    }
+
+    private static void deliver(IndexedResult result, InFlightLimit limit, Consumer<JsonFileResult> consumer) {
+        try {
+            consumer.accept(result.result());
+        } finally {
+            limit.release(result.bytes());
+        }
+    }
+
+    private void submitAll(List<Path> paths, InFlightLimit limit, ExecutorService executor,
+                           Queue<JsonParseContext> contexts, BlockingQueue<IndexedResult> completed) {
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                int index = i;
+                Path file = paths.get(i);
+                long bytes = Math.min(sizeOf(file), maxInFlightBytes);
+
+                limit.acquire(bytes);
+                executor.execute(() -> completed.add(new IndexedResult(index, bytes, parse(file, contexts))));
+            }
+        } catch (InterruptedException | RejectedExecutionException e) {
+            // The caller has stopped the batch
+        }
+    }
+
+    private JsonFileResult parse(Path file, Queue<JsonParseContext> contexts) {
+        JsonParseContext context = contexts.poll();
+        if (context == null) {
+            context = new JsonParseContext(parserOptions);
+        }
+
+        try {
+            return new JsonFileResult(file, context.parse(file), null);
+        } catch (Exception e) {
+            return new JsonFileResult(file, null, e);
+        } catch (StackOverflowError | OutOfMemoryError e) {
+            return new JsonFileResult(file, null, new ExecutionException(e)); // Still report, or the batch would wait forever
+        } finally {
+            contexts.add(context);
+        }
+    }
+
+    // Unreadable files are still submitted, so that their error is reported with the others
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record IndexedResult(int index, long bytes, JsonFileResult result) {
+    }
+
+    // A byte budget and a file count taken together, so that waiting for one never holds the other
+    private static final class InFlightLimit {
+        private final long maxBytes;
+        private final int maxFiles;
+        private long bytes = 0;
+        private int files = 0;
+
+        InFlightLimit(long maxBytes, int maxFiles) {
+            this.maxBytes = maxBytes;
+            this.maxFiles = maxFiles;
+        }
+
+        synchronized void acquire(long fileBytes) throws InterruptedException {
+            while (files == maxFiles || bytes + fileBytes > maxBytes) {
+                wait();
+            }
+            bytes += fileBytes;
+            files++;
+        }
+
+        synchronized void release(long fileBytes) {
+            bytes -= fileBytes;
+            files--;
+            notifyAll();
+        }
+    }
+}
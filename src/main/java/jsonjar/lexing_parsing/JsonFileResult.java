@@ -0,0 +1,13 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.json_objects.Json;
+
+import java.nio.file.Path;
+
+// Outcome of parsing one file of a batch: the document, or the exception that stopped it being read or parsed
+
+public record JsonFileResult(Path file, Json json, Exception error) {
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -3,175 +3,155 @@ package jsonjar.lexing_parsing;
 import jsonjar.error_handling.JsonSyntaxException;
 
 import java.io.*;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static jsonjar.lexing_parsing.JsonParsingErrorConstants.*;
 
-// Responsible for breaking the raw input into tokens and validating token syntax
+// Responsible for breaking the raw input into tokens and validating token syntax. Tokens are written
+// to a JsonTokenTape as offsets into the input; the list form is built from the tape on request.
 
 class JsonLexer {
-    private boolean insideString = false;
-    private boolean escapeNext = false;
-
     List<Token> lexFromFile(File inputFile) throws IOException {
-        StringBuilder fileContent = new StringBuilder();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(inputFile))) {
-            int charAsInt;
-            while ((charAsInt = reader.read()) != -1) {
-                fileContent.append((char) charAsInt);
-            }
-        }
-
-        return lexFromString(fileContent.toString());
+        return lexFromString(readFile(inputFile));
     }
 
     List<Token> lexFromString(String input) throws IOException {
-        List<Token> tokens = new ArrayList<>();
-        StringBuilder stringContent = new StringBuilder();
-
-        try (PushbackReader reader = new PushbackReader(new StringReader(input))) {
-            int charAsInt;
-            while ((charAsInt = reader.read()) != -1) {
-                char character = (char) charAsInt;
-
-                if (insideString) {
-                    handleString(character, stringContent, reader, tokens); // Handle escape characters and quotes explicitly
-                } else if (!isWhitespace(character)) {
-                    tokeniseCharacter(character, tokens, reader); // Ignoring whitespace outside of strings, create appropriate tokens
-                }
-            }
-        }
-        reset();
-        return tokens;
+        return JsonTokenTape.of(input).toTokens();
     }
 
-    private void handleString(char character, StringBuilder stringContent, PushbackReader reader, List<Token> tokens) throws IOException {
-        if (escapeNext) {
-            handleEscapeCharacters(character, stringContent, reader); // If backslash, determine valid escape sequence and append
-            escapeNext = false;
-        } else if (character == '\\') {
-            escapeNext = true; // Handle escape sequence on next character
-        } else if (character == '"') {
-            insideString = false;
-            tokens.add(Token.of(TokenType.CONTENT, stringContent.toString())); // End of string, add content token and reset
-            stringContent.setLength(0);
-        } else {
-            stringContent.append(character);
-        }
-    }
+    static String readFile(File inputFile) throws IOException {
+        StringBuilder fileContent = new StringBuilder((int) Math.min(inputFile.length(), Integer.MAX_VALUE - 8));
 
-    private static void handleEscapeCharacters(char character, StringBuilder stringContent, PushbackReader reader) throws IOException {
-        switch (character) {
-            case 'n' -> stringContent.append('\n');
-            case 't' -> stringContent.append('\t');
-            case 'r' -> stringContent.append('\r');
-            case 'b' -> stringContent.append('\b');
-            case 'f' -> stringContent.append('\f');
-            case '"' -> stringContent.append('\"');
-            case '\\' -> stringContent.append('\\');
-            case '/' -> stringContent.append('/');
-            case 'u' -> handleUnicodeEscape(reader, stringContent); // Parse Unicode escape sequence as hex number and append
-            default -> throw new JsonSyntaxException(LEXER_INVALID_ESCAPE_CHARACTER.getMessage() + character + "'");
-        }
-    }
-
-    private static void handleUnicodeEscape(Reader reader, StringBuilder stringContent) throws IOException, JsonSyntaxException {
-        char[] unicode = new char[4];
-        for (int i = 0; i < 4; i++) {
-            int nextChar = reader.read();
-            if (nextChar == -1) throw new JsonSyntaxException(LEXER_UNEXPECTED_END_OF_UNICODE.getMessage());
-            unicode[i] = (char) nextChar;
+        try (Reader reader = new BufferedReader(new FileReader(inputFile))) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                fileContent.append(buffer, 0, read);
+            }
         }
-        stringContent.append((char) Integer.parseInt(new String(unicode), 16));
+        return fileContent.toString();
     }
 
-    private void tokeniseCharacter(char character, List<Token> tokens, PushbackReader reader) throws IOException {
-        switch (character) {
-            case '"' -> insideString = true;
-            case '{' -> tokens.add(Token.of(TokenType.OBJECT_OPENER, character));
-            case '}' -> tokens.add(Token.of(TokenType.OBJECT_CLOSER, character));
-            case '[' -> tokens.add(Token.of(TokenType.ARRAY_OPENER, character));
-            case ']' -> tokens.add(Token.of(TokenType.ARRAY_CLOSER, character));
-            case ':' -> tokens.add(Token.of(TokenType.COLON, character));
-            case ',' -> tokens.add(Token.of(TokenType.COMMA, character));
-            case 't' -> handleLiteral("true", TokenType.BOOLEAN, true, tokens, reader);
-            case 'f' -> handleLiteral("false", TokenType.BOOLEAN, false, tokens, reader);
-            case 'n' -> handleLiteral("null", TokenType.NULL, null, tokens, reader);
-
-            default -> {
-                // Check for valid JSON starting character
-                if (Character.isDigit(character) || character == '-') {
-                    tokeniseNumber(reader, character, tokens); // Read number until delimiter or EOF and then add token
-                } else {
-                    throw new JsonSyntaxException(LEXER_INVALID_STARTING_CHARACTER.getMessage() + character + "'");
+    // Holds no state between calls, so one failed document cannot affect the next
+    static void lexToTape(String input, JsonTokenTape tape) {
+        int length = input.length();
+        int position = 0;
+
+        while (position < length) {
+            char character = input.charAt(position);
+            switch (character) {
+                case ' ', '\n', '\r', '\t' -> position++; // Ignoring whitespace outside of strings
+                case '"' -> position = tokeniseString(input, position + 1, tape);
+                case '{' -> tape.open(TokenType.OBJECT_OPENER, position++);
+                case '}' -> tape.close(TokenType.OBJECT_CLOSER, position++);
+                case '[' -> tape.open(TokenType.ARRAY_OPENER, position++);
+                case ']' -> tape.close(TokenType.ARRAY_CLOSER, position++);
+                case ':' -> tape.add(TokenType.COLON, position++, 1, 0);
+                case ',' -> tape.add(TokenType.COMMA, position++, 1, 0);
+                case 't' -> position = tokeniseLiteral(input, position, "true", TokenType.BOOLEAN, tape);
+                case 'f' -> position = tokeniseLiteral(input, position, "false", TokenType.BOOLEAN, tape);
+                case 'n' -> position = tokeniseLiteral(input, position, "null", TokenType.NULL, tape);
+
+                default -> {
+                    // Check for valid JSON starting character
+                    if (Character.isDigit(character) || character == '-') {
+                        position = tokeniseNumber(input, position, tape); // Read number until delimiter or EOF
+                    } else {
+                        throw new JsonSyntaxException(LEXER_INVALID_STARTING_CHARACTER.getMessage() + character + "'");
+                    }
                 }
             }
         }
     }
 
-    private static void handleLiteral(String expectedLiteral, TokenType tokenType, Object value, List<Token> tokens, PushbackReader reader) throws IOException {
-        char[] expected = new char[expectedLiteral.length() - 1];
+    // Validates escape sequences without decoding them; the tape decodes on demand. Returns the position after the closing quote.
+    private static int tokeniseString(String input, int start, JsonTokenTape tape) {
+        int length = input.length();
+        int flags = 0;
 
-        if (reader.read(expected) != expected.length) {
-            throw new JsonSyntaxException(LEXER_INVALID_LITERAL.getMessage() + Arrays.toString(expected));
-        }
+        for (int position = start; position < length; position++) {
+            char character = input.charAt(position);
+            if (character == '"') {
+                tape.add(TokenType.CONTENT, start, position - start, flags);
+                return position + 1;
+            }
+            if (character != '\\') {
+                continue;
+            }
 
-        for (int i = 1; i < expectedLiteral.length(); i++) {
-            if (expected[i - 1] != expectedLiteral.charAt(i)) {
-                throw new JsonSyntaxException(LEXER_INVALID_LITERAL.getMessage() + Arrays.toString(expected));
+            flags = JsonTokenTape.HAS_ESCAPES;
+            if (++position == length) {
+                break;
+            }
+            char escaped = input.charAt(position);
+            switch (escaped) {
+                case 'n', 't', 'r', 'b', 'f', '"', '\\', '/' -> {
+                }
+                case 'u' -> {
+                    if (position + 4 >= length) {
+                        throw new JsonSyntaxException(LEXER_UNEXPECTED_END_OF_UNICODE.getMessage());
+                    }
+                    for (int i = 1; i <= 4; i++) {
+                        if (Character.digit(input.charAt(position + i), 16) < 0) {
+                            throw new JsonSyntaxException(LEXER_INVALID_UNICODE_ESCAPE.getMessage() + input.substring(position + 1, position + 5) + "'");
+                        }
+                    }
+                    position += 4;
+                }
+                default -> throw new JsonSyntaxException(LEXER_INVALID_ESCAPE_CHARACTER.getMessage() + escaped + "'");
             }
         }
-        tokens.add(Token.of(tokenType, value));
+        throw new JsonSyntaxException(LEXER_UNTERMINATED_STRING.getMessage());
     }
 
-    private void tokeniseNumber(PushbackReader reader, Character character, List<Token> tokens) throws IOException {
-        StringBuilder number = new StringBuilder();
-        number.append(character);
+    private static int tokeniseLiteral(String input, int start, String expectedLiteral, TokenType tokenType, JsonTokenTape tape) {
+        int end = start + expectedLiteral.length();
 
-        while (true) {
-            int nextInt = reader.read();
+        if (end > input.length() || !input.startsWith(expectedLiteral, start)) {
+            char[] expected = new char[expectedLiteral.length() - 1];
+            input.getChars(start + 1, Math.min(end, input.length()), expected, 0);
+            throw new JsonSyntaxException(LEXER_INVALID_LITERAL.getMessage() + Arrays.toString(expected));
+        }
+        tape.add(tokenType, start, expectedLiteral.length(), 0);
+        return end;
+    }
 
-            char nextChar = (char) nextInt;
-            boolean endOfFile = nextInt == -1;
-            boolean nextCharIsAValidDelimiter = !endOfFile && (isWhitespace(nextChar) || nextChar == ',' || nextChar == '}' || nextChar == ']');
+    private static int tokeniseNumber(String input, int start, JsonTokenTape tape) {
+        int length = input.length();
+        boolean integer = true;
+        int position = start + 1;
 
-            if (endOfFile || nextCharIsAValidDelimiter) {
-                disallowLeadingZeros(number);
-                tokens.add(Token.of(TokenType.NUMBER, number.toString()));
-                if (nextCharIsAValidDelimiter) {
-                    reader.unread(nextChar);
-                }
+        for (; position < length; position++) {
+            char nextChar = input.charAt(position);
+            if (isWhitespace(nextChar) || nextChar == ',' || nextChar == '}' || nextChar == ']') {
                 break;
             }
-
-            number.append(nextChar);
+            integer &= nextChar >= '0' && nextChar <= '9';
         }
+
+        disallowLeadingZeros(input, start, position);
+        integer &= input.charAt(start) != '-' || position - start > 1;
+        tape.add(TokenType.NUMBER, start, position - start, integer ? JsonTokenTape.INTEGER : 0);
+        return position;
     }
 
-    private static void disallowLeadingZeros(StringBuilder number) {
-        if (number.charAt(0) == '0' && number.length() > 1) {
-            char next = number.charAt(1);
+    private static void disallowLeadingZeros(String input, int start, int end) {
+        if (input.charAt(start) == '0' && end - start > 1) {
+            char next = input.charAt(start + 1);
             if (next != '.' && next != 'e' && next != 'E') {
                 throw new JsonSyntaxException(LEXER_NO_LEADING_ZEROS.getMessage());
             }
         }
-        if (number.length() > 2 && number.charAt(0) == '-' && number.charAt(1) == '0') {
-            char next = number.charAt(2);
+        if (end - start > 2 && input.charAt(start) == '-' && input.charAt(start + 1) == '0') {
+            char next = input.charAt(start + 2);
             if (next != '.' && next != 'e' && next != 'E') {
                 throw new JsonSyntaxException(LEXER_NO_LEADING_ZEROS.getMessage());
             }
         }
     }
 
-    private boolean isWhitespace(char c) {
+    private static boolean isWhitespace(char c) {
         return c == ' ' || c == '\n' || c == '\r' || c == '\t';
     }
-
-    void reset() {
-        insideString = false;
-        escapeNext = false;
-    }
-}
\ No newline at end of file
+}
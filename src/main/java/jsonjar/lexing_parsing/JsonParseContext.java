@@ -0,0 +1,151 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonNodePool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static jsonjar.lexing_parsing.JsonParsingErrorConstants.CONTEXT_DOCUMENT_CLOSED;
+
+// Owns everything a parse needs besides the document itself: the token tape, container stack and key
+// cache of its parser, a read buffer for files and, for scoped documents, a pool of recycled containers.
+// Reusing one context for many small documents leaves only the leaf values and the tree to allocate,
+// and parseScoped takes the containers of the tree back when the document is closed.
+//
+// A context serves one thread at a time. forCurrentThread keeps one per platform thread; virtual threads
+// are too many and too short-lived for that, so they should acquire a context and close it when done,
+// which returns it to a small pool shared by all threads. Closing it again is harmless until it has been
+// acquired anew, after which it belongs to the new holder.
+
+public final class JsonParseContext implements AutoCloseable {
+    private static final ThreadLocal<JsonParseContext> THREAD_CONTEXTS = ThreadLocal.withInitial(JsonParseContext::new);
+    private static final AtomicReferenceArray<JsonParseContext> SHARED_CONTEXTS =
+            new AtomicReferenceArray<>(2 * Runtime.getRuntime().availableProcessors());
+    private static final int INITIAL_READ_BUFFER_SIZE = 8192;
+    private static final int RETAINED_READ_BUFFER_SIZE = 1 << 20; // Larger buffers are dropped after each file
+
+    private final JsonParser parser;
+    private final JsonNodePool nodePool = new JsonNodePool();
+    private final boolean shared;
+    private boolean released = false; // Set while a shared context sits in the pool, so closing twice returns it once
+    private byte[] readBuffer = new byte[INITIAL_READ_BUFFER_SIZE];
+
+    public JsonParseContext() {
+        this(JsonParserOptions.DEFAULT);
+    }
+
+    public JsonParseContext(JsonParserOptions options) {
+        this(options, false);
+    }
+
+    private JsonParseContext(JsonParserOptions options, boolean shared) {
+        this.parser = new JsonParser(options, nodePool);
+        this.shared = shared;
+    }
+
+    // The calling thread's own context, with default options; closing it has no effect
+    public static JsonParseContext forCurrentThread() {
+        return THREAD_CONTEXTS.get();
+    }
+
+    // A context with default options from the shared pool, or a new one when the pool is empty. Close it to return it.
+    public static JsonParseContext acquire() {
+        for (int i = 0; i < SHARED_CONTEXTS.length(); i++) {
+            JsonParseContext context = SHARED_CONTEXTS.get(i);
+            if (context != null && SHARED_CONTEXTS.compareAndSet(i, context, null)) {
+                context.released = false;
+                return context;
+            }
+        }
+        return new JsonParseContext(JsonParserOptions.DEFAULT, true);
+    }
+
+    public Json parse(String input) throws IOException {
+        return parser.parseFromString(input);
+    }
+
+    public Json parse(Path file) throws IOException {
+        return parser.parseFromString(readFile(file));
+    }
+
+    // Parses a document whose containers return to this context when it is closed
+    public ScopedDocument parseScoped(String input) throws IOException {
+        return new ScopedDocument(parse(input));
+    }
+
+    public ScopedDocument parseScoped(Path file) throws IOException {
+        return new ScopedDocument(parse(file));
+    }
+
+    public JsonParser parser() {
+        return parser;
+    }
+
+    private String readFile(Path file) throws IOException {
+        int length = 0;
+
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(readBuffer, length, readBuffer.length - length)) != -1) {
+                length += read;
+                if (length == readBuffer.length) {
+                    readBuffer = Arrays.copyOf(readBuffer, readBuffer.length * 2);
+                }
+            }
+            return new String(readBuffer, 0, length, StandardCharsets.UTF_8);
+        } finally {
+            if (readBuffer.length > RETAINED_READ_BUFFER_SIZE) {
+                readBuffer = new byte[INITIAL_READ_BUFFER_SIZE];
+            }
+        }
+    }
+
+    int readBufferSize() {
+        return readBuffer.length;
+    }
+
+    @Override
+    public void close() {
+        if (!shared || released) {
+            return;
+        }
+        released = true;
+        for (int i = 0; i < SHARED_CONTEXTS.length(); i++) {
+            if (SHARED_CONTEXTS.compareAndSet(i, null, this)) {
+                return;
+            }
+        }
+    }
+
+    // A parsed document on loan from its context. Nothing taken from root may be used once it is closed,
+    // as the containers will be filled with the values of later documents.
+    public final class ScopedDocument implements AutoCloseable {
+        private Json root;
+
+        private ScopedDocument(Json root) {
+            this.root = root;
+        }
+
+        public Json root() {
+            if (root == null) {
+                throw new JsonReadException(CONTEXT_DOCUMENT_CLOSED.getMessage());
+            }
+            return root;
+        }
+
+        @Override
+        public void close() {
+            if (root != null) {
+                nodePool.recycle(root);
+                root = null;
+            }
+        }
+    }
+}
@@ -2,32 +2,137 @@ package jsonjar.lexing_parsing;
 
 import jsonjar.error_handling.JsonSyntaxException;
 import jsonjar.json_objects.*;
+import jsonjar.monitoring.JsonInstrumentation;
+import jsonjar.monitoring.ParseEvent;
+import jsonjar.schema.SchemaStreamValidator;
+import jsonjar.schema.SchemaViolation;
 import jsonjar.state_management.JsonFiniteStateMachine;
-import jsonjar.state_management.State;
 
 import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static jsonjar.lexing_parsing.JsonParsingErrorConstants.*;
 
 public class JsonParser {
-    private static final JsonFiniteStateMachine stateMachine = JsonFiniteStateMachine.JSON_FINITE_STATE_MACHINE;
-    private static final Deque<Json> jsonStack = new ArrayDeque<>();
-    private static final JsonLexer lexer = new JsonLexer();
+    private static final String ENGINE = "tree";
+    private final JsonFiniteStateMachine stateMachine;
+    private final JsonTokenTape tape = new JsonTokenTape(); // Reused by every parse from text
+    private final KeyCache keyCache = new KeyCache();
+    private final Deque<Json> jsonStack = new ArrayDeque<>();
+    private final List<String> pendingKeys = new ArrayList<>(); // Key each open container will be stored under, null inside arrays
+    private final JsonParserOptions options;
+    private final SmallIntegerCache smallIntegerCache;
+    private final SubtreeDeduplicator deduplicator; // Null unless deduplication is enabled
+    private final SchemaStreamValidator schemaValidator; // Null unless a schema is set
+    private final JsonNodePool nodePool; // Null unless parsing for a JsonParseContext
     private String currentKey = null;
+    private int maxDepth = 0; // Reported to JsonInstrumentation along with nodeCount
+    private int nodeCount = 0;
+    private int lexedTokens = 0;
+
+    public JsonParser() {
+        this(JsonParserOptions.DEFAULT);
+    }
+
+    public JsonParser(JsonParserOptions options) {
+        this(options, null);
+    }
+
+    // Containers are taken from nodePool when one is given
+    JsonParser(JsonParserOptions options, JsonNodePool nodePool) {
+        this.options = options;
+        this.nodePool = nodePool;
+        this.stateMachine = new JsonFiniteStateMachine(options.grammar());
+        this.smallIntegerCache = new SmallIntegerCache(options.smallIntegerCacheMin(), options.smallIntegerCacheMax());
+        this.deduplicator = options.deduplicationTableSize() > 0 ? new SubtreeDeduplicator(options.deduplicationTableSize()) : null;
+        this.schemaValidator = options.schema() != null ? options.schema().newStreamValidator() : null;
+    }
 
     public Json parseFromFile(File file) throws IOException {
-        List<Token> tokens = lexer.lexFromFile(file);
-        return parse(tokens);
+        ParseEvent event = JsonInstrumentation.beginParse();
+        boolean succeeded = false;
+        try {
+            Json result = parseText(JsonLexer.readFile(file));
+            succeeded = true;
+            return result;
+        } finally {
+            JsonInstrumentation.endParse(event, ENGINE, file.length(), lexedTokens, maxDepth, nodeCount, succeeded);
+        }
+    }
+
+    // Parses many files concurrently; see JsonBatchParser for the limits applied and for other settings
+    public static List<JsonFileResult> parseAll(Collection<Path> files) throws InterruptedException {
+        return JsonBatchParser.DEFAULT.parseAll(files);
+    }
+
+    // Streaming form of parseAll, handing each result to consumer as soon as its file is parsed
+    public static void parseAll(Collection<Path> files, Consumer<JsonFileResult> consumer) throws InterruptedException {
+        JsonBatchParser.DEFAULT.parseAll(files, false, consumer);
     }
 
     public Json parseFromString(String input) throws IOException {
-        List<Token> tokens = lexer.lexFromString(input);
-        return parse(tokens);
+        ParseEvent event = JsonInstrumentation.beginParse();
+        boolean succeeded = false;
+        try {
+            Json result = parseText(input);
+            succeeded = true;
+            return result;
+        } finally {
+            JsonInstrumentation.endParse(event, ENGINE, input.length(), lexedTokens, maxDepth, nodeCount, succeeded);
+        }
+    }
+
+    private Json parseText(String input) {
+        // Input that fails to lex must not report the shape of the previous document
+        lexedTokens = 0;
+        maxDepth = 0;
+        nodeCount = 0;
+        try {
+            tape.lex(input);
+            lexedTokens = tape.size();
+            return parse(tape);
+        } finally {
+            tape.clear(); // Drops the reference to the input
+        }
+    }
+
+    // Builds the tree straight from a tape, which is left untouched and can be parsed again
+    public Json parse(JsonTokenTape tokens) {
+        reset();
+
+        try {
+            if (tokens.size() == 0) {
+                throw new JsonSyntaxException(PARSER_NO_TOKENS.getMessage());
+            }
+
+            for (int i = 0; i < tokens.size(); i++) {
+                TokenType type = tokens.type(i);
+                advance(type);
+                processToken(type, switch (type) {
+                    case CONTENT -> stateMachine.isAtKey() && !tokens.hasFlag(i, JsonTokenTape.HAS_ESCAPES)
+                            ? keyCache.get(tokens.source(), tokens.offset(i), tokens.length(i))
+                            : tokens.stringValue(i);
+                    case NUMBER -> tokens.text(i);
+                    case BOOLEAN -> tokens.source().charAt(tokens.offset(i)) == 't' ? "true" : "false";
+                    default -> null;
+                });
+            }
+
+            return result();
+        } finally {
+            if (deduplicator != null) {
+                deduplicator.releaseTable();
+            }
+        }
     }
 
     Json parse(List<Token> tokens) {
@@ -39,27 +144,40 @@ public class JsonParser {
             }
 
             for (Token token : tokens) {
-                stateMachine.nextState(token.type());
-                processToken(stateMachine.getCurrentState(), token);
+                advance(token.type());
+                processToken(token.type(), token.value() != null ? token.value().toString() : null);
             }
 
-            if (jsonStack.size() != 1) {
-                throw new JsonSyntaxException(PARSER_INVALID_JSON_STRUCTURE.getMessage());
+            return result();
+        } finally {
+            if (deduplicator != null) {
+                deduplicator.releaseTable();
             }
+        }
+    }
 
-            return jsonStack.pop();
-        } catch (IllegalStateException e) {
-            throw new JsonSyntaxException(PARSER_INVALID_JSON_SYNTAX.getMessage() + e.getMessage());
+    private void advance(TokenType type) {
+        int state = stateMachine.advance(type);
+        if (state < 0) {
+            throw new JsonSyntaxException(PARSER_INVALID_JSON_SYNTAX.getMessage() + stateMachine.describeError(state));
         }
     }
 
-    private void processToken(State currentState, Token token) {
-        switch (token.type()) {
-            case OBJECT_OPENER -> handleOpener(new JsonObject());
-            case ARRAY_OPENER -> handleOpener(new JsonArray());
-            case CONTENT -> handleContent(currentState, token);
-            case BOOLEAN -> handleBoolean(token);
-            case NUMBER -> handleNumber(token);
+    private Json result() {
+        if (jsonStack.size() != 1) {
+            throw new JsonSyntaxException(PARSER_INVALID_JSON_STRUCTURE.getMessage());
+        }
+        return jsonStack.pop();
+    }
+
+    // Text is the string content, number or boolean as written, and null for every other type
+    private void processToken(TokenType type, String text) {
+        switch (type) {
+            case OBJECT_OPENER -> handleOpener(nodePool != null ? nodePool.newObject() : new JsonObject());
+            case ARRAY_OPENER -> handleOpener(nodePool != null ? nodePool.newArray() : new JsonArray());
+            case CONTENT -> handleContent(text);
+            case BOOLEAN -> handleBoolean(text);
+            case NUMBER -> handleNumber(text);
             case NULL -> addJsonToCurrentContext(JsonNull.getInstance());
             case OBJECT_CLOSER, ARRAY_CLOSER -> handleCloser();
             default -> {
@@ -68,67 +186,145 @@ public class JsonParser {
         }
     }
 
+    // Containers are attached to their parent only once complete, so parents always receive finished values
     private void handleOpener(Json container) {
-        addJsonToCurrentContext(container);
+        if (jsonStack.isEmpty()) {
+            jsonStack.push(container); // The root stays at the bottom of the stack as the result
+        }
 
-        if (!jsonStack.isEmpty()) {
-            jsonStack.push(container);
+        jsonStack.push(container);
+        pendingKeys.add(currentKey);
+        maxDepth = Math.max(maxDepth, pendingKeys.size());
+        nodeCount++;
+
+        if (schemaValidator != null) {
+            if (container instanceof JsonObject) {
+                schemaValidator.startObject();
+            } else {
+                schemaValidator.startArray();
+            }
         }
+        currentKey = null;
     }
 
-    private void handleContent(State currentState, Token token) {
-        String content = token.value().toString();
-
-        if (currentState == State.OBJECT_KEY) {
+    private void handleContent(String content) {
+        if (stateMachine.isAtKey()) {
             currentKey = content;
+            if (schemaValidator != null) {
+                schemaValidator.key(content);
+            }
         } else {
-            JsonString jsonString = new JsonString(content);
+            JsonStringPool stringPool = options.stringPool();
+            JsonString jsonString = stringPool != null ? stringPool.intern(content) : new JsonString(content);
             addJsonToCurrentContext(jsonString);
         }
     }
 
-    private void handleBoolean(Token token) {
-        JsonBoolean jsonBoolean = new JsonBoolean(Boolean.parseBoolean(token.value().toString()));
+    private void handleBoolean(String text) {
+        JsonBoolean jsonBoolean = JsonBoolean.valueOf(Boolean.parseBoolean(text));
         addJsonToCurrentContext(jsonBoolean);
     }
 
-    private void handleNumber(Token token) {
-        String originalRepresentation = token.value().toString();
-        JsonNumber jsonNumber = new JsonNumber(new BigDecimal(token.value().toString()), originalRepresentation);
+    private void handleNumber(String originalRepresentation) {
+        JsonNumber jsonNumber = smallIntegerCache.get(originalRepresentation);
+
+        if (jsonNumber == null) {
+            try {
+                jsonNumber = new JsonNumber(new BigDecimal(originalRepresentation), originalRepresentation);
+            } catch (NumberFormatException e) {
+                // The lexer only splits numbers at delimiters, so tokens such as "-" or "1x" arrive here
+                throw new JsonSyntaxException(PARSER_INVALID_NUMBER.getMessage() + originalRepresentation);
+            }
+        }
         addJsonToCurrentContext(jsonNumber);
     }
 
     private void handleCloser() {
-        if (!jsonStack.isEmpty()) {
+        if (jsonStack.size() > 1) {
             Json completedContext = jsonStack.pop();
+            String key = pendingKeys.remove(pendingKeys.size() - 1);
+
+            if (schemaValidator != null) {
+                schemaValidator.endContainer(completedContext);
+            }
+
+            boolean isRoot = jsonStack.size() == 1 && jsonStack.peek() == completedContext;
+            if (options.columnarArrays() && completedContext instanceof JsonArray array) {
+                completedContext = storeColumnWise(array);
+            }
 
-            if (jsonStack.isEmpty()) {
+            if (isRoot) {
+                jsonStack.pop();
                 jsonStack.push(completedContext);
+            } else {
+                if (deduplicator != null) {
+                    completedContext = deduplicator.intern(completedContext);
+                }
+                addJsonToContext(jsonStack.peek(), key, completedContext);
             }
         }
     }
 
+    // Only arrays whose elements turned out to share one flat shape are stored in columns. The elements
+    // have been copied into the columns, so the array and its objects go back to the pool.
+    private Json storeColumnWise(JsonArray array) {
+        JsonArray columnar = array.toColumnar();
+        if (columnar == null) {
+            return array;
+        }
+
+        if (nodePool != null) {
+            nodePool.recycle(array);
+        }
+        return columnar;
+    }
+
     private void addJsonToCurrentContext(Json json) {
-        if (!jsonStack.isEmpty()) {
-            Json currentContext = jsonStack.peek();
+        nodeCount++;
+        if (schemaValidator != null) {
+            schemaValidator.value(json);
+        }
 
-            if (currentContext instanceof JsonObject object) {
-                if (currentKey != null) {
-                    object.addValue(currentKey, json);
-                    currentKey = null;
-                }
-            } else if (currentContext instanceof JsonArray array) {
-                array.addValue(json);
-            }
+        if (!jsonStack.isEmpty()) {
+            addJsonToContext(jsonStack.peek(), currentKey, json);
+            currentKey = null;
         } else {
             jsonStack.push(json);
         }
     }
 
+    private static void addJsonToContext(Json context, String key, Json json) {
+        if (context instanceof JsonObject object) {
+            if (key != null) {
+                object.addValue(key, json);
+            }
+        } else if (context instanceof JsonArray array) {
+            array.addValue(json);
+        }
+    }
+
+    // Statistics of the most recent parse; all zero when deduplication is disabled
+    public DeduplicationStatistics getDeduplicationStatistics() {
+        return deduplicator != null ? deduplicator.statistics() : new DeduplicationStatistics(0, 0, 0);
+    }
+
+    // Violations of the schema set through JsonParserOptions.withSchema found by the most recent parse
+    public List<SchemaViolation> getSchemaViolations() {
+        return schemaValidator != null ? List.copyOf(schemaValidator.getViolations()) : Collections.emptyList();
+    }
+
     public void reset() {
+        if (deduplicator != null) {
+            deduplicator.reset();
+        }
+        if (schemaValidator != null) {
+            schemaValidator.reset();
+        }
         stateMachine.reset();
         currentKey = null;
+        maxDepth = 0;
+        nodeCount = 0;
         jsonStack.clear();
-        lexer.reset();
+        pendingKeys.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.schema.JsonSchema;
+import jsonjar.state_management.JsonGrammar;
+
+import static jsonjar.lexing_parsing.JsonParsingErrorConstants.OPTIONS_NEGATIVE_DEDUPLICATION_TABLE_SIZE;
+import static jsonjar.lexing_parsing.JsonParsingErrorConstants.OPTIONS_SMALL_INTEGER_CACHE_TOO_LARGE;
+
+// Immutable parser settings; each with* method returns a modified copy
+
+public final class JsonParserOptions {
+    public static final JsonParserOptions DEFAULT = new JsonParserOptions(false, -128, 1024, null, 0, null, JsonGrammar.LENIENT);
+    private static final int MAX_SMALL_INTEGER_CACHE_SIZE = 65536;
+
+    private final boolean columnarArrays;
+    private final int smallIntegerCacheMin;
+    private final int smallIntegerCacheMax;
+    private final JsonStringPool stringPool;
+    private final int deduplicationTableSize;
+    private final JsonSchema schema;
+    private final JsonGrammar grammar;
+
+    private JsonParserOptions(boolean columnarArrays, int smallIntegerCacheMin, int smallIntegerCacheMax, JsonStringPool stringPool,
+                              int deduplicationTableSize, JsonSchema schema, JsonGrammar grammar) {
+        this.columnarArrays = columnarArrays;
+        this.smallIntegerCacheMin = smallIntegerCacheMin;
+        this.smallIntegerCacheMax = smallIntegerCacheMax;
+        this.stringPool = stringPool;
+        this.deduplicationTableSize = deduplicationTableSize;
+        this.schema = schema;
+        this.grammar = grammar;
+    }
+
+    // Store arrays of flat, same-keyed objects column by column (see JsonArray.toColumnar). Other arrays keep
+    // their elements as parsed.
+    public JsonParserOptions withColumnarArrays(boolean columnarArrays) {
+        return new JsonParserOptions(columnarArrays, smallIntegerCacheMin, smallIntegerCacheMax, stringPool, deduplicationTableSize, schema, grammar);
+    }
+
+    // Share one JsonNumber per integer between min and max (inclusive); pass max < min to disable
+    public JsonParserOptions withSmallIntegerCache(int min, int max) {
+        if ((long) max - min >= MAX_SMALL_INTEGER_CACHE_SIZE) {
+            throw new IllegalArgumentException(OPTIONS_SMALL_INTEGER_CACHE_TOO_LARGE.getMessage() + MAX_SMALL_INTEGER_CACHE_SIZE);
+        }
+        return new JsonParserOptions(columnarArrays, min, max, stringPool, deduplicationTableSize, schema, grammar);
+    }
+
+    // Share string values through the given pool; null disables pooling
+    public JsonParserOptions withStringPool(JsonStringPool stringPool) {
+        return new JsonParserOptions(columnarArrays, smallIntegerCacheMin, smallIntegerCacheMax, stringPool, deduplicationTableSize, schema, grammar);
+    }
+
+    // Reuse one frozen instance for repeated identical objects and arrays, remembering up to
+    // tableSize distinct subtrees per parse; 0 disables deduplication
+    public JsonParserOptions withSubtreeDeduplication(int tableSize) {
+        if (tableSize < 0) {
+            throw new IllegalArgumentException(OPTIONS_NEGATIVE_DEDUPLICATION_TABLE_SIZE.getMessage());
+        }
+        return new JsonParserOptions(columnarArrays, smallIntegerCacheMin, smallIntegerCacheMax, stringPool, tableSize, schema, grammar);
+    }
+
+    // Validate every parsed document against schema while parsing it (see JsonParser.getSchemaViolations);
+    // null disables validation
+    public JsonParserOptions withSchema(JsonSchema schema) {
+        return new JsonParserOptions(columnarArrays, smallIntegerCacheMin, smallIntegerCacheMax, stringPool, deduplicationTableSize, schema, grammar);
+    }
+
+    // Accept the grammar's extensions to strict JSON, such as trailing commas
+    public JsonParserOptions withGrammar(JsonGrammar grammar) {
+        return new JsonParserOptions(columnarArrays, smallIntegerCacheMin, smallIntegerCacheMax, stringPool, deduplicationTableSize, schema, grammar);
+    }
+
+    public boolean columnarArrays() {
+        return columnarArrays;
+    }
+
+    public int smallIntegerCacheMin() {
+        return smallIntegerCacheMin;
+    }
+
+    public int smallIntegerCacheMax() {
+        return smallIntegerCacheMax;
+    }
+
+    public JsonStringPool stringPool() {
+        return stringPool;
+    }
+
+    public int deduplicationTableSize() {
+        return deduplicationTableSize;
+    }
+
+    public JsonSchema schema() {
+        return schema;
+    }
+
+    public JsonGrammar grammar() {
+        return grammar;
+    }
+}
@@ -3,12 +3,30 @@ package jsonjar.lexing_parsing;
 enum JsonParsingErrorConstants {
     LEXER_INVALID_ESCAPE_CHARACTER("Error: Invalid escape character '\\"),
     LEXER_UNEXPECTED_END_OF_UNICODE("Error: Unexpected end of input in Unicode escape."),
+    LEXER_INVALID_UNICODE_ESCAPE("Error: Invalid Unicode escape '\\u"),
+    LEXER_UNTERMINATED_STRING("Error: Unexpected end of input inside a string."),
     LEXER_INVALID_STARTING_CHARACTER("Error: invalid starting character '"),
     LEXER_INVALID_LITERAL("Error: Invalid literal. Current sequence = "),
     LEXER_NO_LEADING_ZEROS("Error: Numbers cannot have leading zeros."),
     PARSER_NO_TOKENS("Error: No tokens to process. It is possible that the provided JSON file is empty or invalid."),
     PARSER_INVALID_JSON_STRUCTURE("Error: Invalid JSON structure. Unclosed objects or arrays remain."),
-    PARSER_INVALID_JSON_SYNTAX("Error: Invalid JSON syntax. ");
+    PARSER_INVALID_JSON_SYNTAX("Error: Invalid JSON syntax. "),
+    PARSER_INVALID_NUMBER("Error: Invalid number: "),
+    OPTIONS_SMALL_INTEGER_CACHE_TOO_LARGE("Error: Small integer cache cannot hold more than this many values: "),
+    STRING_POOL_NEGATIVE_LIMIT("Error: Pool limits must not be negative."),
+    OPTIONS_NEGATIVE_DEDUPLICATION_TABLE_SIZE("Error: Deduplication table size must not be negative."),
+    BATCH_NEGATIVE_THREAD_COUNT("Error: Thread count must not be negative."),
+    BATCH_NON_POSITIVE_BYTE_LIMIT("Error: In-flight byte limit must be positive."),
+    BATCH_NON_POSITIVE_FILE_LIMIT("Error: In-flight file limit must be positive."),
+    CONTEXT_DOCUMENT_CLOSED("Error: The scoped document has been closed and its nodes recycled."),
+    VALIDATOR_UNEXPECTED_CHARACTER("Error: Unexpected character."),
+    VALIDATOR_UNEXPECTED_END("Error: Unexpected end of input."),
+    VALIDATOR_UNEXPECTED_TOKEN("Error: Unexpected token. "),
+    VALIDATOR_INVALID_LITERAL("Error: Invalid literal."),
+    VALIDATOR_INVALID_NUMBER("Error: Invalid number."),
+    VALIDATOR_INVALID_ESCAPE("Error: Invalid escape sequence."),
+    VALIDATOR_CONTROL_CHARACTER("Error: Unescaped control character in string."),
+    VALIDATOR_INVALID_UTF8("Error: Invalid UTF-8 sequence.");
 
     private final String message;
 
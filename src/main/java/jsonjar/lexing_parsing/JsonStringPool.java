@@ -0,0 +1,67 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.json_objects.JsonString;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static jsonjar.lexing_parsing.JsonParsingErrorConstants.STRING_POOL_NEGATIVE_LIMIT;
+
+// Bounded pool of shared JsonString instances for short, frequently repeated values such as
+// statuses or enum names. Once full, new strings are no longer pooled but existing entries are
+// still shared. A pool can be shared between parsers and threads.
+
+public final class JsonStringPool {
+    private final int maxEntries;
+    private final int maxLength;
+    private final Map<String, JsonString> pool = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JsonStringPool(int maxEntries, int maxLength) {
+        if (maxEntries < 0 || maxLength < 0) {
+            throw new IllegalArgumentException(STRING_POOL_NEGATIVE_LIMIT.getMessage());
+        }
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+    }
+
+    public JsonString intern(String value) {
+        if (value.length() > maxLength) {
+            return new JsonString(value);
+        }
+
+        JsonString pooled = pool.get(value);
+        if (pooled != null) {
+            hits.increment();
+            return pooled;
+        }
+
+        misses.increment();
+        JsonString jsonString = new JsonString(value);
+        if (pool.size() < maxEntries) {
+            pooled = pool.putIfAbsent(value, jsonString);
+        }
+        return pooled != null ? pooled : jsonString;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    // Lookups of strings short enough to be pooled that did not find an existing entry
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,210 @@
+package jsonjar.lexing_parsing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// The tokens of one document as a flat int array that points back into the source text. Each entry is
+// four ints: the token's offset and length in the source, its type together with flags, and for
+// containers the index of the matching opener or closer. Strings, numbers and literals are not copied
+// out of the source until asked for, so lexing into a warm tape allocates nothing per token.
+//
+// A tape can be walked any number of times, and skip lets a consumer jump over a whole value at once.
+// lex reuses the arrays of a previous document, growing them only when a larger one arrives. clear
+// gives up arrays grown past RETAINED_TOKENS, so that one huge document does not pin them for good.
+
+public final class JsonTokenTape {
+    // Flags
+    public static final int HAS_ESCAPES = 1; // CONTENT whose source contains escape sequences
+    public static final int INTEGER = 2; // NUMBER made of digits and an optional minus sign only
+
+    private static final int STRIDE = 4;
+    private static final int OFFSET = 0;
+    private static final int LENGTH = 1;
+    private static final int TYPE_AND_FLAGS = 2;
+    private static final int LINK = 3;
+    private static final int TYPE_BITS = 8;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final int NO_LINK = -1;
+    private static final TokenType[] TYPES = TokenType.values();
+    private static final int INITIAL_TOKENS = 64;
+    private static final int INITIAL_OPEN_CONTAINERS = 16;
+    private static final int RETAINED_TOKENS = 64 * 1024;
+    private static final int RETAINED_OPEN_CONTAINERS = 1024;
+
+    private String source = "";
+    private int[] entries = new int[INITIAL_TOKENS * STRIDE];
+    private int size = 0;
+    private int[] openContainers = new int[INITIAL_OPEN_CONTAINERS]; // Indices of openers still waiting for their closer
+    private int openCount = 0;
+
+    public static JsonTokenTape of(String input) {
+        JsonTokenTape tape = new JsonTokenTape();
+        tape.lex(input);
+        return tape;
+    }
+
+    // Replaces the contents of this tape with the tokens of input
+    public void lex(String input) {
+        clear();
+        source = input;
+        JsonLexer.lexToTape(input, this);
+    }
+
+    public void clear() {
+        source = "";
+        size = 0;
+        openCount = 0;
+        if (entries.length > RETAINED_TOKENS * STRIDE) {
+            entries = new int[INITIAL_TOKENS * STRIDE];
+        }
+        if (openContainers.length > RETAINED_OPEN_CONTAINERS) {
+            openContainers = new int[INITIAL_OPEN_CONTAINERS];
+        }
+    }
+
+    // Tokens the tape holds before it has to grow
+    int capacity() {
+        return entries.length / STRIDE;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TokenType type(int index) {
+        return TYPES[entry(index, TYPE_AND_FLAGS) & TYPE_MASK];
+    }
+
+    public int offset(int index) {
+        return entry(index, OFFSET);
+    }
+
+    public int length(int index) {
+        return entry(index, LENGTH);
+    }
+
+    public int flags(int index) {
+        return entry(index, TYPE_AND_FLAGS) >>> TYPE_BITS;
+    }
+
+    public boolean hasFlag(int index, int flag) {
+        return (flags(index) & flag) != 0;
+    }
+
+    // Index of the closer matching an opener or of the opener matching a closer, or -1 when unbalanced
+    public int matchingIndex(int index) {
+        return entry(index, LINK);
+    }
+
+    // Index of the first token after the value starting at index
+    public int skip(int index) {
+        int match = matchingIndex(index);
+        TokenType type = type(index);
+        if ((type == TokenType.OBJECT_OPENER || type == TokenType.ARRAY_OPENER) && match > index) {
+            return match + 1;
+        }
+        return index + 1;
+    }
+
+    // The token's source text, with quotes stripped and escapes left in place for strings
+    public String text(int index) {
+        int offset = offset(index);
+        return source.substring(offset, offset + length(index));
+    }
+
+    // The decoded content of a CONTENT token
+    public String stringValue(int index) {
+        if (!hasFlag(index, HAS_ESCAPES)) {
+            return text(index);
+        }
+
+        int start = offset(index);
+        int end = start + length(index);
+        StringBuilder content = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char character = source.charAt(i);
+            if (character != '\\') {
+                content.append(character);
+                continue;
+            }
+
+            char escaped = source.charAt(++i);
+            switch (escaped) {
+                case 'n' -> content.append('\n');
+                case 't' -> content.append('\t');
+                case 'r' -> content.append('\r');
+                case 'b' -> content.append('\b');
+                case 'f' -> content.append('\f');
+                case 'u' -> {
+                    content.append((char) Integer.parseInt(source, i + 1, i + 5, 16));
+                    i += 4;
+                }
+                default -> content.append(escaped); // '"', '\\' and '/' stand for themselves
+            }
+        }
+        return content.toString();
+    }
+
+    // The token at index as produced by the list-based lexer
+    public Token toToken(int index) {
+        TokenType type = type(index);
+        return switch (type) {
+            case CONTENT -> Token.of(type, stringValue(index));
+            case NUMBER -> Token.of(type, text(index));
+            case BOOLEAN -> Token.of(type, source.charAt(offset(index)) == 't');
+            case NULL -> Token.of(type, null);
+            default -> Token.of(type, source.charAt(offset(index)));
+        };
+    }
+
+    public List<Token> toTokens() {
+        List<Token> tokens = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tokens.add(toToken(i));
+        }
+        return tokens;
+    }
+
+    void add(TokenType type, int offset, int length, int flags) {
+        if ((size + 1) * STRIDE > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+
+        int base = size * STRIDE;
+        entries[base + OFFSET] = offset;
+        entries[base + LENGTH] = length;
+        entries[base + TYPE_AND_FLAGS] = type.ordinal() | flags << TYPE_BITS;
+        entries[base + LINK] = NO_LINK;
+        size++;
+    }
+
+    void open(TokenType type, int offset) {
+        if (openCount == openContainers.length) {
+            openContainers = Arrays.copyOf(openContainers, openCount * 2);
+        }
+        openContainers[openCount++] = size;
+        add(type, offset, 1, 0);
+    }
+
+    // Links the closer with the innermost open container; the grammar decides later whether they match
+    void close(TokenType type, int offset) {
+        add(type, offset, 1, 0);
+        if (openCount > 0) {
+            int opener = openContainers[--openCount];
+            entries[opener * STRIDE + LINK] = size - 1;
+            entries[(size - 1) * STRIDE + LINK] = opener;
+        }
+    }
+
+    private int entry(int index, int field) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return entries[index * STRIDE + field];
+    }
+}
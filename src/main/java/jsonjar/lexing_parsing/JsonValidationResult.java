@@ -0,0 +1,8 @@
+package jsonjar.lexing_parsing;
+
+// Outcome of JsonValidator.validate. For invalid input, offset counts bytes (chars for String input)
+// from 0 and line and column count from 1, all pointing at the first unit that cannot be accepted.
+
+public record JsonValidationResult(boolean isValid, long offset, int line, int column, String message) {
+    static final JsonValidationResult VALID = new JsonValidationResult(true, -1, 0, 0, null);
+}
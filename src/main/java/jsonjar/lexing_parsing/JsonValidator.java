@@ -0,0 +1,460 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.monitoring.JsonInstrumentation;
+import jsonjar.monitoring.ValidateEvent;
+import jsonjar.state_management.JsonFiniteStateMachine;
+import jsonjar.state_management.JsonGrammar;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static jsonjar.lexing_parsing.JsonParsingErrorConstants.*;
+
+// Checks that input would parse without producing tokens or a tree. The lexer is folded into a push
+// automaton fed a byte (or char) at a time, and every token it recognises is run through the same
+// JsonGrammar table JsonParser uses, by default the parser's own, so the validator accepts the trailing
+// commas and rejects the top-level scalars that the parser does. Numbers follow the parser too: a number
+// runs up to whitespace, a comma or a closer and must then be something BigDecimal reads, with no
+// leading zeros. isValid on arrays and strings reuses one validator per thread and allocates nothing at
+// all once warm. Rejects are return codes rather than exceptions, which keeps floods of invalid input cheap.
+//
+// Strings are held to RFC 8259 where JsonParser is not: unescaped control characters are rejected, and
+// byte input must also be valid UTF-8.
+
+public final class JsonValidator {
+    private static final int BUFFER_SIZE = 8192;
+    private static final JsonGrammar DEFAULT_GRAMMAR = JsonParserOptions.DEFAULT.grammar();
+    private static final JsonValidationResult UNDESCRIBED = new JsonValidationResult(false, -1, 0, 0, null); // For isValid
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    // Between tokens
+    private static final int TOKEN = 0;
+    // Inside a token
+    private static final int STRING = 1;
+    private static final int STRING_ESCAPE = 2;
+    private static final int STRING_UNICODE = 3;
+    private static final int LITERAL = 4;
+    private static final int NUMBER_SIGN = 5;
+    private static final int NUMBER_ZERO = 6;
+    private static final int NUMBER_INTEGER = 7;
+    private static final int NUMBER_POINT = 8;         // After digits and a point
+    private static final int NUMBER_LEADING_POINT = 9; // After a minus sign and a point
+    private static final int NUMBER_FRACTION = 10;
+    private static final int NUMBER_EXPONENT = 11;
+    private static final int NUMBER_EXPONENT_SIGN = 12;
+    private static final int NUMBER_EXPONENT_DIGITS = 13;
+
+    // Streams are read through user code that may itself validate, so only array and string input reuse these
+    private static final ThreadLocal<JsonValidator> BYTE_VALIDATORS = ThreadLocal.withInitial(() -> new JsonValidator(true));
+    private static final ThreadLocal<JsonValidator> CHAR_VALIDATORS = ThreadLocal.withInitial(() -> new JsonValidator(false));
+
+    private final boolean utf8;
+    private JsonGrammar grammar = DEFAULT_GRAMMAR;
+    private JsonFiniteStateMachine machine = new JsonFiniteStateMachine(DEFAULT_GRAMMAR);
+    private int state = TOKEN;
+    private int depth = 0; // Open containers, counted as the parser does whatever the grammar makes of them
+    private boolean started = false;
+    private byte[] literal;
+    private int literalIndex = 0;
+    private int hexDigits = 0;
+    private int utf8Remaining = 0;
+    private int utf8Lower = 0x80;
+    private int utf8Upper = 0xBF;
+    private JsonParsingErrorConstants error;
+    private int grammarError = 0;
+
+    private long offset = 0;
+    private long bytesRead = 0; // Stream input only
+    private int line = 1;
+    private int column = 1;
+
+    private JsonValidator(boolean utf8) {
+        this.utf8 = utf8;
+    }
+
+    public static boolean isValid(byte[] input) {
+        return isValid(input, DEFAULT_GRAMMAR);
+    }
+
+    public static boolean isValid(byte[] input, JsonGrammar grammar) {
+        return BYTE_VALIDATORS.get().reset(grammar).scan(input, false).isValid();
+    }
+
+    public static boolean isValid(String input) {
+        return isValid(input, DEFAULT_GRAMMAR);
+    }
+
+    public static boolean isValid(String input, JsonGrammar grammar) {
+        return CHAR_VALIDATORS.get().reset(grammar).scan(input, false).isValid();
+    }
+
+    public static boolean isValid(InputStream input) throws IOException {
+        return isValid(input, DEFAULT_GRAMMAR);
+    }
+
+    public static boolean isValid(InputStream input, JsonGrammar grammar) throws IOException {
+        return new JsonValidator(true).reset(grammar).scan(input, false).isValid();
+    }
+
+    public static JsonValidationResult validate(byte[] input) {
+        return validate(input, DEFAULT_GRAMMAR);
+    }
+
+    public static JsonValidationResult validate(byte[] input, JsonGrammar grammar) {
+        return BYTE_VALIDATORS.get().reset(grammar).scan(input, true);
+    }
+
+    public static JsonValidationResult validate(String input) {
+        return validate(input, DEFAULT_GRAMMAR);
+    }
+
+    public static JsonValidationResult validate(String input, JsonGrammar grammar) {
+        return CHAR_VALIDATORS.get().reset(grammar).scan(input, true);
+    }
+
+    public static JsonValidationResult validate(InputStream input) throws IOException {
+        return validate(input, DEFAULT_GRAMMAR);
+    }
+
+    public static JsonValidationResult validate(InputStream input, JsonGrammar grammar) throws IOException {
+        return new JsonValidator(true).reset(grammar).scan(input, true);
+    }
+
+    // Keeps the state machine, and with it the stack it has grown, while the grammar stays the same
+    private JsonValidator reset(JsonGrammar grammar) {
+        if (grammar != this.grammar) {
+            this.grammar = grammar;
+            machine = new JsonFiniteStateMachine(grammar);
+        } else {
+            machine.reset();
+        }
+        state = TOKEN;
+        depth = 0;
+        started = false;
+        literal = null;
+        literalIndex = 0;
+        hexDigits = 0;
+        utf8Remaining = 0;
+        utf8Lower = 0x80;
+        utf8Upper = 0xBF;
+        error = null;
+        grammarError = 0;
+        offset = 0;
+        bytesRead = 0;
+        line = 1;
+        column = 1;
+        return this;
+    }
+
+    private JsonValidationResult failure() {
+        String message = error == VALIDATOR_UNEXPECTED_TOKEN ? error.getMessage() + machine.describeError(grammarError) : error.getMessage();
+        return new JsonValidationResult(false, offset, line, column, message);
+    }
+
+    // Results are built before the listener hears of the operation, as a listener that validates on
+    // this thread resets the shared validator. isValid does not describe failures, so it allocates nothing.
+    private JsonValidationResult scan(byte[] input, boolean describe) {
+        ValidateEvent event = JsonInstrumentation.beginValidate();
+        JsonValidationResult result = null;
+        try {
+            result = consume(input) ? JsonValidationResult.VALID : describe ? failure() : UNDESCRIBED;
+            return result;
+        } finally {
+            report(event, "bytes", input.length, result);
+        }
+    }
+
+    private JsonValidationResult scan(String input, boolean describe) {
+        ValidateEvent event = JsonInstrumentation.beginValidate();
+        JsonValidationResult result = null;
+        try {
+            result = consume(input) ? JsonValidationResult.VALID : describe ? failure() : UNDESCRIBED;
+            return result;
+        } finally {
+            report(event, "chars", input.length(), result);
+        }
+    }
+
+    private JsonValidationResult scan(InputStream input, boolean describe) throws IOException {
+        ValidateEvent event = JsonInstrumentation.beginValidate();
+        JsonValidationResult result = null;
+        try {
+            result = consume(input) ? JsonValidationResult.VALID : describe ? failure() : UNDESCRIBED;
+            return result;
+        } finally {
+            report(event, "stream", bytesRead, result);
+        }
+    }
+
+    // A null result means reading the input threw
+    private void report(ValidateEvent event, String engine, long inputSize, JsonValidationResult result) {
+        boolean valid = result != null && result.isValid();
+        JsonInstrumentation.endValidate(event, engine, inputSize, valid, result == null || valid ? -1 : offset, result != null);
+    }
+
+    private boolean consume(byte[] input) {
+        for (byte b : input) {
+            if (!accept(b & 0xFF)) {
+                return false;
+            }
+        }
+        return finish();
+    }
+
+    private boolean consume(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (!accept(input.charAt(i))) {
+                return false;
+            }
+        }
+        return finish();
+    }
+
+    private boolean consume(InputStream input) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            bytesRead += read;
+            for (int i = 0; i < read; i++) {
+                if (!accept(buffer[i] & 0xFF)) {
+                    return false;
+                }
+            }
+        }
+        return finish();
+    }
+
+    // Positions always point at the unit being examined, so a failure reports the offending one
+    private boolean accept(int c) {
+        if (!step(c)) {
+            return false;
+        }
+
+        offset++;
+        if (c == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+        return true;
+    }
+
+    private boolean finish() {
+        switch (state) {
+            case TOKEN, NUMBER_ZERO, NUMBER_INTEGER, NUMBER_POINT, NUMBER_FRACTION, NUMBER_EXPONENT_DIGITS -> {
+            }
+            case NUMBER_SIGN, NUMBER_LEADING_POINT, NUMBER_EXPONENT, NUMBER_EXPONENT_SIGN -> {
+                return fail(VALIDATOR_INVALID_NUMBER);
+            }
+            default -> {
+                return fail(VALIDATOR_UNEXPECTED_END);
+            }
+        }
+        return started && depth == 0 || fail(VALIDATOR_UNEXPECTED_END);
+    }
+
+    private boolean step(int c) {
+        switch (state) {
+            case STRING: return stepString(c);
+            case STRING_ESCAPE: return stepEscape(c);
+            case STRING_UNICODE:
+                if (!isHexDigit(c)) {
+                    return fail(VALIDATOR_INVALID_ESCAPE);
+                }
+                if (++hexDigits == 4) {
+                    state = STRING;
+                }
+                return true;
+            case LITERAL:
+                if (c != literal[literalIndex]) {
+                    return fail(VALIDATOR_INVALID_LITERAL);
+                }
+                if (++literalIndex == literal.length) {
+                    state = TOKEN;
+                }
+                return true;
+            case NUMBER_SIGN:
+                if (c == '0') {
+                    return advanceTo(NUMBER_ZERO);
+                } else if (c >= '1' && c <= '9') {
+                    return advanceTo(NUMBER_INTEGER);
+                }
+                return c == '.' ? advanceTo(NUMBER_LEADING_POINT) : fail(VALIDATOR_INVALID_NUMBER);
+            case NUMBER_ZERO:
+            case NUMBER_INTEGER:
+                if (isDigit(c) && state == NUMBER_INTEGER) {
+                    return true;
+                } else if (c == '.') {
+                    return advanceTo(NUMBER_POINT);
+                }
+                return isExponentMark(c) ? advanceTo(NUMBER_EXPONENT) : endNumber(c);
+            case NUMBER_POINT:
+            case NUMBER_FRACTION:
+                if (isDigit(c)) {
+                    return advanceTo(NUMBER_FRACTION);
+                }
+                return isExponentMark(c) ? advanceTo(NUMBER_EXPONENT) : endNumber(c);
+            case NUMBER_LEADING_POINT:
+                return isDigit(c) ? advanceTo(NUMBER_FRACTION) : fail(VALIDATOR_INVALID_NUMBER);
+            case NUMBER_EXPONENT:
+                if (c == '+' || c == '-') {
+                    return advanceTo(NUMBER_EXPONENT_SIGN);
+                }
+                return isDigit(c) ? advanceTo(NUMBER_EXPONENT_DIGITS) : fail(VALIDATOR_INVALID_NUMBER);
+            case NUMBER_EXPONENT_SIGN:
+                return isDigit(c) ? advanceTo(NUMBER_EXPONENT_DIGITS) : fail(VALIDATOR_INVALID_NUMBER);
+            case NUMBER_EXPONENT_DIGITS:
+                return isDigit(c) || endNumber(c);
+            default:
+                return isWhitespace(c) || startToken(c);
+        }
+    }
+
+    // Each token is handed to the grammar as soon as its first unit is seen, so a token the grammar
+    // does not allow is reported where it starts
+    private boolean startToken(int c) {
+        switch (c) {
+            case '{': return advance(TokenType.OBJECT_OPENER) && open();
+            case '[': return advance(TokenType.ARRAY_OPENER) && open();
+            case '}': return advance(TokenType.OBJECT_CLOSER) && close();
+            case ']': return advance(TokenType.ARRAY_CLOSER) && close();
+            case ':': return advance(TokenType.COLON);
+            case ',': return advance(TokenType.COMMA);
+            case '"': return advance(TokenType.CONTENT) && advanceTo(STRING);
+            case 't': return advance(TokenType.BOOLEAN) && startLiteral(TRUE);
+            case 'f': return advance(TokenType.BOOLEAN) && startLiteral(FALSE);
+            case 'n': return advance(TokenType.NULL) && startLiteral(NULL);
+            case '-': return advance(TokenType.NUMBER) && advanceTo(NUMBER_SIGN);
+            case '0': return advance(TokenType.NUMBER) && advanceTo(NUMBER_ZERO);
+            default:
+                return c >= '1' && c <= '9' ? advance(TokenType.NUMBER) && advanceTo(NUMBER_INTEGER) : fail(VALIDATOR_UNEXPECTED_CHARACTER);
+        }
+    }
+
+    private boolean advance(TokenType type) {
+        int result = machine.advance(type);
+        if (result < 0) {
+            grammarError = result;
+            return fail(VALIDATOR_UNEXPECTED_TOKEN);
+        }
+        started = true;
+        return true;
+    }
+
+    private boolean open() {
+        depth++;
+        return true;
+    }
+
+    private boolean close() {
+        return depth-- > 0 || fail(VALIDATOR_UNEXPECTED_CHARACTER);
+    }
+
+    private boolean startLiteral(byte[] expected) {
+        literal = expected;
+        literalIndex = 1;
+        state = LITERAL;
+        return true;
+    }
+
+    private boolean stepString(int c) {
+        if (utf8Remaining > 0) {
+            if (c < utf8Lower || c > utf8Upper) {
+                return fail(VALIDATOR_INVALID_UTF8);
+            }
+            utf8Remaining--;
+            utf8Lower = 0x80;
+            utf8Upper = 0xBF;
+            return true;
+        }
+
+        if (c == '"') {
+            state = TOKEN;
+            return true;
+        } else if (c == '\\') {
+            state = STRING_ESCAPE;
+            return true;
+        } else if (c < 0x20) {
+            return fail(VALIDATOR_CONTROL_CHARACTER);
+        } else if (c >= 0x80 && utf8) {
+            return startUtf8Sequence(c);
+        }
+        return true;
+    }
+
+    // Lead bytes fix how many continuation bytes follow; the narrowed ranges for the first of them
+    // reject overlong forms, UTF-16 surrogates and code points above U+10FFFF
+    private boolean startUtf8Sequence(int c) {
+        if (c >= 0xC2 && c <= 0xDF) {
+            utf8Remaining = 1;
+        } else if (c >= 0xE0 && c <= 0xEF) {
+            utf8Remaining = 2;
+            utf8Lower = c == 0xE0 ? 0xA0 : 0x80;
+            utf8Upper = c == 0xED ? 0x9F : 0xBF;
+        } else if (c >= 0xF0 && c <= 0xF4) {
+            utf8Remaining = 3;
+            utf8Lower = c == 0xF0 ? 0x90 : 0x80;
+            utf8Upper = c == 0xF4 ? 0x8F : 0xBF;
+        } else {
+            return fail(VALIDATOR_INVALID_UTF8);
+        }
+        return true;
+    }
+
+    private boolean stepEscape(int c) {
+        switch (c) {
+            case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> state = STRING;
+            case 'u' -> {
+                hexDigits = 0;
+                state = STRING_UNICODE;
+            }
+            default -> {
+                return fail(VALIDATOR_INVALID_ESCAPE);
+            }
+        }
+        return true;
+    }
+
+    // Like the lexer, only whitespace, a comma or a closer ends a number; anything else would become
+    // part of it and leave text BigDecimal cannot read
+    private boolean endNumber(int c) {
+        if (isWhitespace(c)) {
+            return advanceTo(TOKEN);
+        }
+        if (c != ',' && c != '}' && c != ']') {
+            return fail(VALIDATOR_INVALID_NUMBER);
+        }
+        state = TOKEN;
+        return startToken(c);
+    }
+
+    private boolean advanceTo(int nextState) {
+        state = nextState;
+        return true;
+    }
+
+    private boolean fail(JsonParsingErrorConstants reason) {
+        error = reason;
+        return false;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isExponentMark(int c) {
+        return c == 'e' || c == 'E';
+    }
+
+    private static boolean isHexDigit(int c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,33 @@
+package jsonjar.lexing_parsing;
+
+// Direct-mapped cache of recently seen object keys, looked up by their text in the source so that a
+// repeated key costs no allocation. Keys from the cache are also identical instances, which lets
+// JsonObjectShape match them by reference.
+
+final class KeyCache {
+    private static final int SIZE = 1024; // Power of two
+    private static final int MAX_KEY_LENGTH = 64; // Longer keys are rarely repeated and expensive to compare
+
+    private final String[] keys = new String[SIZE];
+
+    String get(String source, int offset, int length) {
+        if (length > MAX_KEY_LENGTH) {
+            return source.substring(offset, offset + length);
+        }
+
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+
+        String cached = keys[slot];
+        if (cached != null && cached.length() == length && source.regionMatches(offset, cached, 0, length)) {
+            return cached;
+        }
+
+        String key = source.substring(offset, offset + length);
+        keys[slot] = key;
+        return key;
+    }
+}
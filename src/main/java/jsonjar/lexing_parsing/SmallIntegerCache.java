@@ -0,0 +1,59 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.json_objects.JsonNumber;
+
+// Per-parser cache of JsonNumbers for integers in a configurable range, filled lazily.
+// Only canonical integer text is cached so that cached numbers print exactly as written.
+
+final class SmallIntegerCache {
+    private static final int MAX_DIGITS = 18; // Any 18-digit integer fits in a long
+
+    private final long min;
+    private final JsonNumber[] numbers;
+
+    SmallIntegerCache(int min, int max) {
+        this.min = min;
+        this.numbers = new JsonNumber[max >= min ? max - min + 1 : 0];
+    }
+
+    // Returns the cached number for the given text, or null if it is not a canonical integer in range
+    JsonNumber get(String text) {
+        if (numbers.length == 0) {
+            return null;
+        }
+
+        long value = parseCanonicalInteger(text);
+        if (value == Long.MIN_VALUE || value < min || value - min >= numbers.length) {
+            return null;
+        }
+
+        int index = (int) (value - min);
+        JsonNumber number = numbers[index];
+        if (number == null) {
+            number = JsonNumber.valueOf(value);
+            numbers[index] = number;
+        }
+        return number;
+    }
+
+    // Long.MIN_VALUE signals text that is not written the way Long.toString would write it
+    private static long parseCanonicalInteger(String text) {
+        boolean negative = !text.isEmpty() && text.charAt(0) == '-';
+        int start = negative ? 1 : 0;
+        int digits = text.length() - start;
+
+        if (digits == 0 || digits > MAX_DIGITS || (text.charAt(start) == '0' && (digits > 1 || negative))) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,108 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.json_objects.*;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// Per-parse hash-consing table. Each completed object or array is looked up by structural hash and
+// replaced by an earlier instance with exactly the same content, i.e. the same member order and number
+// text, so that printing is unaffected. Shared instances are frozen, as a change through one parent
+// would otherwise show up under every other parent.
+
+final class SubtreeDeduplicator {
+    private final int maxEntries;
+    private final Map<Long, JsonContainer> table = new HashMap<>();
+    private long lookups = 0;
+    private long hits = 0;
+    private int entries = 0; // Kept after the table is released, for statistics
+
+    SubtreeDeduplicator(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Json intern(Json json) {
+        if (!(json instanceof JsonContainer container)) {
+            return json;
+        }
+
+        lookups++;
+        long hash = container.structuralHash();
+        JsonContainer existing = table.get(hash);
+
+        if (existing == null) {
+            if (entries < maxEntries) {
+                table.put(hash, container);
+                entries++;
+            }
+            return container;
+        }
+
+        if (sameContent(existing, container)) {
+            hits++;
+            existing.freeze();
+            return existing;
+        }
+        return container; // Hash collision between different subtrees; keep the first one in the table
+    }
+
+    DeduplicationStatistics statistics() {
+        return new DeduplicationStatistics(lookups, hits, entries);
+    }
+
+    // Drops the table once a parse is complete, so the parser does not keep the last document alive
+    void releaseTable() {
+        table.clear();
+    }
+
+    void reset() {
+        table.clear();
+        lookups = 0;
+        hits = 0;
+        entries = 0;
+    }
+
+    // Stricter than equals, which ignores member order and compares numbers by value
+    private static boolean sameContent(Json first, Json second) {
+        if (first == second) {
+            return true;
+        }
+
+        switch (first) {
+            case JsonObject object when second instanceof JsonObject other -> {
+                if (object.size() != other.size()) {
+                    return false;
+                }
+
+                Iterator<Map.Entry<String, Json>> otherEntries = other.getValue().entrySet().iterator();
+                for (Map.Entry<String, Json> entry : object.getValue().entrySet()) {
+                    Map.Entry<String, Json> otherEntry = otherEntries.next();
+                    if (!entry.getKey().equals(otherEntry.getKey()) || !sameContent(entry.getValue(), otherEntry.getValue())) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case JsonArray array when second instanceof JsonArray other -> {
+                if (array.size() != other.size()) {
+                    return false;
+                }
+
+                Iterator<Json> otherElements = other.iterator();
+                for (Json element : array) {
+                    if (!sameContent(element, otherElements.next())) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case JsonNumber number when second instanceof JsonNumber other -> {
+                return number.toString().equals(other.toString());
+            }
+            default -> {
+                return first.equals(second) && !(first instanceof JsonContainer);
+            }
+        }
+    }
+}
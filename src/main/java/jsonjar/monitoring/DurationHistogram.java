@@ -0,0 +1,80 @@
+package jsonjar.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static jsonjar.monitoring.MonitoringErrorConstants.HISTOGRAM_QUANTILE_OUT_OF_RANGE;
+
+// Lock-free histogram of durations in nanoseconds with power-of-two buckets: bucket i counts durations
+// below 2^i ns that are not in a lower bucket. Percentiles are therefore upper bounds, accurate to a
+// factor of two, which is enough to spot a shifted distribution at the cost of one increment per value.
+
+public final class DurationHistogram {
+    public static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    public long bucketCount(int bucket) {
+        return buckets.get(bucket);
+    }
+
+    // Exclusive upper bound of a bucket
+    public static long bucketLimit(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    // Upper bound of the bucket holding the given quantile (0 to 1), or 0 when nothing was recorded
+    public long percentileNanos(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(HISTOGRAM_QUANTILE_OUT_OF_RANGE.getMessage());
+        }
+
+        long total = count();
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS && total > 0; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= rank) {
+                return Math.min(bucketLimit(bucket), maxNanos());
+            }
+        }
+        return maxNanos();
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets.set(bucket, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    private static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(nanos));
+    }
+}
@@ -0,0 +1,123 @@
+package jsonjar.monitoring;
+
+import jdk.jfr.EventType;
+
+import java.util.ServiceLoader;
+
+// Entry point the library calls around parse, print and validate operations. Each begin method returns
+// null unless a JsonMetrics is installed or the matching Flight Recorder event is enabled, and each end
+// method returns at once when given null, so when nothing is listening an operation costs a volatile
+// read and a flag check and allocates nothing.
+//
+// Callers pass the event from begin to end unchanged, ending it in a finally block so that an operation
+// that throws is still reported, with succeeded false.
+
+public final class JsonInstrumentation {
+    private static final EventType PARSE_TYPE = EventType.getEventType(ParseEvent.class);
+    private static final EventType PRINT_TYPE = EventType.getEventType(PrintEvent.class);
+    private static final EventType VALIDATE_TYPE = EventType.getEventType(ValidateEvent.class);
+
+    private static volatile JsonMetrics metrics = ServiceLoader.load(JsonMetrics.class).findFirst().orElse(null);
+
+    private JsonInstrumentation() {
+    }
+
+    // Replaces the installed listener; null turns metrics off
+    public static void setMetrics(JsonMetrics listener) {
+        metrics = listener;
+    }
+
+    public static JsonMetrics getMetrics() {
+        return metrics;
+    }
+
+    public static ParseEvent beginParse() {
+        if (metrics == null && !PARSE_TYPE.isEnabled()) {
+            return null;
+        }
+        ParseEvent event = new ParseEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    public static void endParse(ParseEvent event, String engine, long inputSize, int tokenCount, int maxDepth, int nodeCount, boolean succeeded) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+
+        JsonMetrics listener = metrics;
+        if (listener != null) {
+            listener.parsed(engine, inputSize, tokenCount, maxDepth, nodeCount, succeeded, System.nanoTime() - event.startNanos);
+        }
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = inputSize;
+            event.tokenCount = tokenCount;
+            event.maxDepth = maxDepth;
+            event.nodeCount = nodeCount;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    public static PrintEvent beginPrint() {
+        if (metrics == null && !PRINT_TYPE.isEnabled()) {
+            return null;
+        }
+        PrintEvent event = new PrintEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    public static void endPrint(PrintEvent event, String engine, long outputSize, boolean succeeded) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+
+        JsonMetrics listener = metrics;
+        if (listener != null) {
+            listener.printed(engine, outputSize, succeeded, System.nanoTime() - event.startNanos);
+        }
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.outputSize = outputSize;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    public static ValidateEvent beginValidate() {
+        if (metrics == null && !VALIDATE_TYPE.isEnabled()) {
+            return null;
+        }
+        ValidateEvent event = new ValidateEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    // errorOffset is -1 unless the input was found invalid
+    public static void endValidate(ValidateEvent event, String engine, long inputSize, boolean valid, long errorOffset, boolean succeeded) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+
+        JsonMetrics listener = metrics;
+        if (listener != null) {
+            listener.validated(engine, inputSize, valid, errorOffset, succeeded, System.nanoTime() - event.startNanos);
+        }
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.inputSize = inputSize;
+            event.valid = valid;
+            event.errorOffset = errorOffset;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+}
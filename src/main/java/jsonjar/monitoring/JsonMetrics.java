@@ -0,0 +1,22 @@
+package jsonjar.monitoring;
+
+// Listener for completed operations, to bridge into a metrics system such as Micrometer or Prometheus.
+// Install one with JsonInstrumentation.setMetrics, or name an implementation in
+// META-INF/services/jsonjar.monitoring.JsonMetrics to have it picked up at startup.
+//
+// Methods are called synchronously on the thread that did the work, so implementations must be
+// thread-safe and cheap. Operations that throw are reported too, with succeeded false; invalid input
+// found by the validator is a successful check. JsonMetricsRecorder is a ready-made implementation
+// with counters and duration histograms.
+
+public interface JsonMetrics {
+    default void parsed(String engine, long inputSize, int tokenCount, int maxDepth, int nodeCount, boolean succeeded, long durationNanos) {
+    }
+
+    default void printed(String engine, long outputSize, boolean succeeded, long durationNanos) {
+    }
+
+    // errorOffset points at the first unit that could not be accepted, or is -1 for valid input
+    default void validated(String engine, long inputSize, boolean valid, long errorOffset, boolean succeeded, long durationNanos) {
+    }
+}
@@ -0,0 +1,124 @@
+package jsonjar.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// JsonMetrics that keeps totals and duration histograms in memory, for services that poll them into
+// their own metrics system or only want numbers on a status page
+
+public final class JsonMetricsRecorder implements JsonMetrics {
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder parsedInput = new LongAdder();
+    private final LongAdder parsedNodes = new LongAdder();
+    private final LongAdder failedParses = new LongAdder();
+    private final LongAdder prints = new LongAdder();
+    private final LongAdder printedOutput = new LongAdder();
+    private final LongAdder failedPrints = new LongAdder();
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder invalidDocuments = new LongAdder();
+    private final LongAdder failedValidations = new LongAdder();
+    private final DurationHistogram parseDurations = new DurationHistogram();
+    private final DurationHistogram printDurations = new DurationHistogram();
+    private final DurationHistogram validateDurations = new DurationHistogram();
+
+    @Override
+    public void parsed(String engine, long inputSize, int tokenCount, int maxDepth, int nodeCount, boolean succeeded, long durationNanos) {
+        parses.increment();
+        if (!succeeded) {
+            failedParses.increment();
+        }
+        parsedInput.add(inputSize);
+        parsedNodes.add(nodeCount);
+        parseDurations.record(durationNanos);
+    }
+
+    @Override
+    public void printed(String engine, long outputSize, boolean succeeded, long durationNanos) {
+        prints.increment();
+        if (!succeeded) {
+            failedPrints.increment();
+        }
+        printedOutput.add(outputSize);
+        printDurations.record(durationNanos);
+    }
+
+    @Override
+    public void validated(String engine, long inputSize, boolean valid, long errorOffset, boolean succeeded, long durationNanos) {
+        validations.increment();
+        if (!succeeded) {
+            failedValidations.increment();
+        } else if (!valid) {
+            invalidDocuments.increment();
+        }
+        validateDurations.record(durationNanos);
+    }
+
+    public long parses() {
+        return parses.sum();
+    }
+
+    public long parsedInput() {
+        return parsedInput.sum();
+    }
+
+    public long parsedNodes() {
+        return parsedNodes.sum();
+    }
+
+    // Parses that threw, which are also counted by parses
+    public long failedParses() {
+        return failedParses.sum();
+    }
+
+    public long prints() {
+        return prints.sum();
+    }
+
+    public long printedOutput() {
+        return printedOutput.sum();
+    }
+
+    public long failedPrints() {
+        return failedPrints.sum();
+    }
+
+    public long validations() {
+        return validations.sum();
+    }
+
+    public long invalidDocuments() {
+        return invalidDocuments.sum();
+    }
+
+    // Validations whose input could not be read, which are neither valid nor invalid documents
+    public long failedValidations() {
+        return failedValidations.sum();
+    }
+
+    public DurationHistogram parseDurations() {
+        return parseDurations;
+    }
+
+    public DurationHistogram printDurations() {
+        return printDurations;
+    }
+
+    public DurationHistogram validateDurations() {
+        return validateDurations;
+    }
+
+    public void reset() {
+        parses.reset();
+        parsedInput.reset();
+        parsedNodes.reset();
+        failedParses.reset();
+        prints.reset();
+        printedOutput.reset();
+        failedPrints.reset();
+        validations.reset();
+        invalidDocuments.reset();
+        failedValidations.reset();
+        parseDurations.reset();
+        printDurations.reset();
+        validateDurations.reset();
+    }
+}
@@ -0,0 +1,15 @@
+package jsonjar.monitoring;
+
+enum MonitoringErrorConstants {
+    HISTOGRAM_QUANTILE_OUT_OF_RANGE("Error: Quantile must be between 0 and 1.");
+
+    private final String message;
+
+    MonitoringErrorConstants(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
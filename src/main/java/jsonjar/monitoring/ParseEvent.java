@@ -0,0 +1,37 @@
+package jsonjar.monitoring;
+
+import jdk.jfr.*;
+
+// Flight Recorder event for one parsed document, from the first character lexed to the finished tree
+
+@Name("jsonjar.Parse")
+@Label("JSON Parse")
+@Category("jsonjar")
+@Description("Lexing and parsing of one document")
+@StackTrace(false)
+public final class ParseEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Input Size")
+    @Description("Bytes of a file or chars of a string")
+    long inputSize;
+
+    @Label("Tokens")
+    int tokenCount;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    @Label("Nodes")
+    int nodeCount;
+
+    @Label("Succeeded")
+    @Description("False when the operation threw")
+    boolean succeeded;
+
+    transient long startNanos; // For JsonMetrics, which is told the duration whether or not the event is recorded
+
+    ParseEvent() {
+    }
+}
@@ -0,0 +1,28 @@
+package jsonjar.monitoring;
+
+import jdk.jfr.*;
+
+// Flight Recorder event for one document serialized by JsonPrettyPrinter or JsonWriter
+
+@Name("jsonjar.Print")
+@Label("JSON Print")
+@Category("jsonjar")
+@Description("Serialization of one document")
+@StackTrace(false)
+public final class PrintEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Output Size")
+    @Description("Bytes written, or chars for string output")
+    long outputSize;
+
+    @Label("Succeeded")
+    @Description("False when the operation threw")
+    boolean succeeded;
+
+    transient long startNanos;
+
+    PrintEvent() {
+    }
+}
@@ -0,0 +1,35 @@
+package jsonjar.monitoring;
+
+import jdk.jfr.*;
+
+// Flight Recorder event for one well-formedness check by JsonValidator
+
+@Name("jsonjar.Validate")
+@Label("JSON Validate")
+@Category("jsonjar")
+@Description("Well-formedness check of one document")
+@StackTrace(false)
+public final class ValidateEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Input Size")
+    @Description("Bytes or chars of input, or for a stream the bytes read from it")
+    long inputSize;
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Error Offset")
+    @Description("First byte or char that could not be accepted, or -1 for valid input")
+    long errorOffset;
+
+    @Label("Succeeded")
+    @Description("False when reading the input threw")
+    boolean succeeded;
+
+    transient long startNanos;
+
+    ValidateEvent() {
+    }
+}
@@ -0,0 +1,30 @@
+package jsonjar.patching;
+
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.PersistentJsonArray;
+import jsonjar.json_objects.PersistentJsonObject;
+
+// The primitive edits patch operations are built from. Each edit returns the document root to use
+// afterwards, which only differs from the given root when the root itself is replaced or, for
+// persistent documents, when the edit produced a new version.
+
+interface DocumentEditor {
+    Json add(Json root, JsonPointer path, Json value);
+
+    Json remove(Json root, JsonPointer path);
+
+    Json replace(Json root, JsonPointer path, Json value);
+
+    // Form of an existing document value to insert elsewhere in the same document
+    Json copyOf(Json existing);
+
+    // Form of a patch value to insert into the document
+    Json valueOf(PatchValue value);
+
+    static DocumentEditor forDocument(Json document) {
+        if (document instanceof PersistentJsonObject || document instanceof PersistentJsonArray) {
+            return PersistentDocumentEditor.INSTANCE;
+        }
+        return MutableDocumentEditor.INSTANCE;
+    }
+}
@@ -0,0 +1,206 @@
+package jsonjar.patching;
+
+import jsonjar.json_objects.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Computes a JSON Patch that turns one document into another. Subtrees are skipped when identical, as
+// between versions of a persistent document, or when their cached 64-bit structural hashes match, which
+// keeps skipping an equal subtree O(1) even between independently parsed documents. Arrays skip common
+// prefixes and suffixes, then align the rest with an LCS over element hashes while that fits the cost
+// budget, or compare it position by position otherwise.
+
+public final class JsonDiff {
+    public static final JsonDiff DEFAULT = new JsonDiff(1_000_000);
+
+    private final long arrayCostBudget;
+
+    private JsonDiff(long arrayCostBudget) {
+        this.arrayCostBudget = arrayCostBudget;
+    }
+
+    // Largest LCS table (changed source elements times changed target elements) used for one array
+    public JsonDiff withArrayCostBudget(long arrayCostBudget) {
+        return new JsonDiff(arrayCostBudget);
+    }
+
+    public long arrayCostBudget() {
+        return arrayCostBudget;
+    }
+
+    public JsonPatch diff(Json source, Json target) {
+        Differ differ = new Differ();
+        differ.diff(source, target, JsonPointer.ROOT);
+        return new JsonPatch(Collections.unmodifiableList(differ.operations));
+    }
+
+    private final class Differ {
+        private final List<PatchOperation> operations = new ArrayList<>();
+
+        void diff(Json source, Json target, JsonPointer path) {
+            if (sameStructure(source, target)) {
+                return;
+            }
+
+            Map<String, Json> sourceMembers = members(source);
+            Map<String, Json> targetMembers = members(target);
+            if (sourceMembers != null && targetMembers != null) {
+                diffObjects(sourceMembers, targetMembers, path);
+                return;
+            }
+
+            List<Json> sourceElements = elements(source);
+            List<Json> targetElements = elements(target);
+            if (sourceElements != null && targetElements != null) {
+                diffArrays(sourceElements, targetElements, path);
+                return;
+            }
+
+            operations.add(new PatchOperation.Replace(path, new PatchValue(target)));
+        }
+
+        private void diffObjects(Map<String, Json> source, Map<String, Json> target, JsonPointer path) {
+            for (Map.Entry<String, Json> member : source.entrySet()) {
+                Json targetValue = target.get(member.getKey());
+                if (targetValue == null) {
+                    operations.add(new PatchOperation.Remove(path.append(member.getKey())));
+                } else {
+                    diff(member.getValue(), targetValue, path.append(member.getKey()));
+                }
+            }
+
+            for (Map.Entry<String, Json> member : target.entrySet()) {
+                if (!source.containsKey(member.getKey())) {
+                    operations.add(new PatchOperation.Add(path.append(member.getKey()), new PatchValue(member.getValue())));
+                }
+            }
+        }
+
+        private void diffArrays(List<Json> source, List<Json> target, JsonPointer path) {
+            int start = 0;
+            int sourceEnd = source.size();
+            int targetEnd = target.size();
+
+            while (start < sourceEnd && start < targetEnd && sameStructure(source.get(start), target.get(start))) {
+                start++;
+            }
+            while (sourceEnd > start && targetEnd > start && sameStructure(source.get(sourceEnd - 1), target.get(targetEnd - 1))) {
+                sourceEnd--;
+                targetEnd--;
+            }
+
+            long cost = (long) (sourceEnd - start) * (targetEnd - start);
+            if (cost <= arrayCostBudget) {
+                diffAlignedArrays(source, target, start, sourceEnd, targetEnd, path);
+            } else {
+                diffPositionalArrays(source, target, start, sourceEnd, targetEnd, path);
+            }
+        }
+
+        // Classic LCS table over element hashes, with leaves confirmed by comparing them, then a forward walk
+        // emitting edits at their current index. A removal next to an insertion is turned into a nested diff
+        // of the two elements. Matching elements extend the diagonal, which lets the walk skip most comparisons.
+        private void diffAlignedArrays(List<Json> source, List<Json> target, int start, int sourceEnd, int targetEnd, JsonPointer path) {
+            int rows = sourceEnd - start;
+            int columns = targetEnd - start;
+            long[] sourceHashes = new long[rows];
+            long[] targetHashes = new long[columns];
+            for (int i = 0; i < rows; i++) {
+                sourceHashes[i] = source.get(start + i).structuralHash();
+            }
+            for (int j = 0; j < columns; j++) {
+                targetHashes[j] = target.get(start + j).structuralHash();
+            }
+
+            int[] lengths = new int[(rows + 1) * (columns + 1)]; // Suffix LCS lengths, row-major
+            for (int i = rows - 1; i >= 0; i--) {
+                for (int j = columns - 1; j >= 0; j--) {
+                    lengths[i * (columns + 1) + j] = sourceHashes[i] == targetHashes[j] && sameStructure(source.get(start + i), target.get(start + j))
+                            ? lengths[(i + 1) * (columns + 1) + j + 1] + 1
+                            : Math.max(lengths[(i + 1) * (columns + 1) + j], lengths[i * (columns + 1) + j + 1]);
+                }
+            }
+
+            int i = 0;
+            int j = 0;
+            int index = start;
+            while (i < rows || j < columns) {
+                if (i < rows && j < columns && lengths[i * (columns + 1) + j] == lengths[(i + 1) * (columns + 1) + j + 1] + 1
+                        && sourceHashes[i] == targetHashes[j] && sameStructure(source.get(start + i), target.get(start + j))) {
+                    i++;
+                    j++;
+                    index++;
+                } else if (i < rows && j < columns
+                        && lengths[(i + 1) * (columns + 1) + j + 1] == lengths[i * (columns + 1) + j]) {
+                    diff(source.get(start + i), target.get(start + j), path.append(index)); // Neither element is in the LCS
+                    i++;
+                    j++;
+                    index++;
+                } else if (j >= columns || (i < rows && lengths[(i + 1) * (columns + 1) + j] >= lengths[i * (columns + 1) + j + 1])) {
+                    operations.add(new PatchOperation.Remove(path.append(index)));
+                    i++;
+                } else {
+                    operations.add(new PatchOperation.Add(path.append(index), new PatchValue(target.get(start + j))));
+                    j++;
+                    index++;
+                }
+            }
+        }
+
+        private void diffPositionalArrays(List<Json> source, List<Json> target, int start, int sourceEnd, int targetEnd, JsonPointer path) {
+            int common = Math.min(sourceEnd, targetEnd);
+            for (int index = start; index < common; index++) {
+                diff(source.get(index), target.get(index), path.append(index));
+            }
+            for (int index = common; index < sourceEnd; index++) {
+                operations.add(new PatchOperation.Remove(path.append(common)));
+            }
+            for (int index = common; index < targetEnd; index++) {
+                operations.add(new PatchOperation.Add(path.append(index), new PatchValue(target.get(index))));
+            }
+        }
+    }
+
+    // Equality across mutable and persistent containers. Shared subtrees are accepted by identity and differing
+    // hashes reject at once. Matching hashes are trusted for containers, so that equal subtrees are skipped
+    // without walking them: two different containers share a 64-bit structural hash with a probability of
+    // about 2^-64, and such a collision would leave that subtree out of the patch. Leaves are cheap to compare
+    // and are still checked, which keeps small values whose hashes coincide apart.
+    private static boolean sameStructure(Json source, Json target) {
+        if (source == target) {
+            return true;
+        }
+        if (source.structuralHash() != target.structuralHash()) {
+            return false;
+        }
+
+        boolean sourceIsContainer = isContainer(source);
+        if (sourceIsContainer || isContainer(target)) {
+            return sourceIsContainer && isContainer(target);
+        }
+        return source.equals(target);
+    }
+
+    private static boolean isContainer(Json json) {
+        return json instanceof JsonContainer || json instanceof PersistentJsonObject || json instanceof PersistentJsonArray;
+    }
+
+    private static Map<String, Json> members(Json json) {
+        return switch (json) {
+            case JsonObject object -> object.getValue();
+            case PersistentJsonObject object -> object.getValue();
+            default -> null;
+        };
+    }
+
+    private static List<Json> elements(Json json) {
+        return switch (json) {
+            case JsonArray array -> array.getValue();
+            case PersistentJsonArray array -> array.getValue();
+            default -> null;
+        };
+    }
+}
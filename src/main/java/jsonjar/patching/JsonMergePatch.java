@@ -0,0 +1,84 @@
+package jsonjar.patching;
+
+import jsonjar.json_objects.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// RFC 7396 JSON Merge Patch, compiled once into a tree that mirrors the patch document.
+// Mutable documents are merged in place; persistent documents get a new version sharing all untouched members.
+
+public final class JsonMergePatch {
+    private static final JsonMergePatch REMOVE = new JsonMergePatch(null, null);
+
+    private final Map<String, JsonMergePatch> members; // Set when the patch is an object
+    private final PatchValue value;                    // Set when the patch replaces the target outright
+
+    private JsonMergePatch(Map<String, JsonMergePatch> members, PatchValue value) {
+        this.members = members;
+        this.value = value;
+    }
+
+    public static JsonMergePatch compile(Json patchDocument) {
+        Map<String, Json> patchMembers = switch (patchDocument) {
+            case JsonObject object -> object.getValue();
+            case PersistentJsonObject object -> object.getValue();
+            default -> null;
+        };
+
+        if (patchMembers == null) {
+            return new JsonMergePatch(null, new PatchValue(patchDocument));
+        }
+
+        Map<String, JsonMergePatch> members = new LinkedHashMap<>();
+        for (Map.Entry<String, Json> entry : patchMembers.entrySet()) {
+            members.put(entry.getKey(), entry.getValue() instanceof JsonNull ? REMOVE : compile(entry.getValue()));
+        }
+        return new JsonMergePatch(members, null);
+    }
+
+    // Returns the merged document, which is the given document itself when it is a mutable object
+    public Json apply(Json document) {
+        boolean persistent = document instanceof PersistentJsonObject || document instanceof PersistentJsonArray;
+        return persistent ? applyPersistent(document) : applyMutable(document);
+    }
+
+    private Json applyMutable(Json target) {
+        if (members == null) {
+            return value.forMutable();
+        }
+
+        JsonObject object = target instanceof JsonObject existing ? existing : new JsonObject();
+        for (Map.Entry<String, JsonMergePatch> member : members.entrySet()) {
+            String key = member.getKey();
+            JsonMergePatch patch = member.getValue();
+
+            if (patch == REMOVE) {
+                object.removeValue(key);
+                continue;
+            }
+
+            Json current = object.get(key);
+            Json merged = patch.applyMutable(current);
+            if (merged != current) {
+                object.addValue(key, merged);
+            }
+        }
+        return object;
+    }
+
+    private Json applyPersistent(Json target) {
+        if (members == null) {
+            return value.forPersistent();
+        }
+
+        PersistentJsonObject object = target instanceof PersistentJsonObject existing ? existing : PersistentJsonObject.empty();
+        for (Map.Entry<String, JsonMergePatch> member : members.entrySet()) {
+            String key = member.getKey();
+            JsonMergePatch patch = member.getValue();
+
+            object = patch == REMOVE ? object.without(key) : object.with(key, patch.applyPersistent(object.get(key)));
+        }
+        return object;
+    }
+}
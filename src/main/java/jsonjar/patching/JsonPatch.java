@@ -0,0 +1,180 @@
+package jsonjar.patching;
+
+import jsonjar.error_handling.JsonPatchException;
+import jsonjar.json_objects.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static jsonjar.patching.JsonPatchErrorConstants.*;
+
+// RFC 6902 JSON Patch, compiled once into a list of operations and applied to any number of documents.
+// JsonObject/JsonArray documents are edited in place, so a failing operation leaves earlier ones applied.
+// Persistent documents are edited copy-on-write and the original is untouched if any operation fails.
+
+public final class JsonPatch {
+    private final List<PatchOperation> operations;
+
+    JsonPatch(List<PatchOperation> operations) {
+        this.operations = operations;
+    }
+
+    public static JsonPatch compile(Json patchDocument) {
+        if (!(patchDocument instanceof JsonArray array)) {
+            throw new JsonPatchException(PATCH_NOT_AN_ARRAY.getMessage());
+        }
+
+        List<PatchOperation> operations = new ArrayList<>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            if (!(array.get(i) instanceof JsonObject operation)) {
+                throw new JsonPatchException(PATCH_OPERATION_NOT_AN_OBJECT.getMessage() + i);
+            }
+            operations.add(compileOperation(operation));
+        }
+        return new JsonPatch(Collections.unmodifiableList(operations));
+    }
+
+    private static PatchOperation compileOperation(JsonObject operation) {
+        String op = requiredString(operation, "op");
+        JsonPointer path = JsonPointer.parse(requiredString(operation, "path"));
+
+        return switch (op) {
+            case "add" -> new PatchOperation.Add(path, new PatchValue(requiredValue(operation, "value")));
+            case "remove" -> new PatchOperation.Remove(path);
+            case "replace" -> new PatchOperation.Replace(path, new PatchValue(requiredValue(operation, "value")));
+            case "move" -> {
+                JsonPointer from = JsonPointer.parse(requiredString(operation, "from"));
+                if (!from.equals(path) && from.isPrefixOf(path)) {
+                    throw new JsonPatchException(PATCH_MOVE_INTO_CHILD.getMessage() + path);
+                }
+                yield new PatchOperation.Move(from, path);
+            }
+            case "copy" -> new PatchOperation.Copy(JsonPointer.parse(requiredString(operation, "from")), path);
+            case "test" -> new PatchOperation.Test(path, new PatchValue(requiredValue(operation, "value")));
+            default -> throw new JsonPatchException(PATCH_UNKNOWN_OPERATION.getMessage() + op);
+        };
+    }
+
+    private static String requiredString(JsonObject operation, String member) {
+        if (operation.get(member) instanceof JsonString value) {
+            return value.getValue();
+        }
+        throw new JsonPatchException(PATCH_MISSING_MEMBER.getMessage() + member);
+    }
+
+    private static Json requiredValue(JsonObject operation, String member) {
+        Json value = operation.get(member);
+
+        if (value == null) {
+            throw new JsonPatchException(PATCH_MISSING_MEMBER.getMessage() + member);
+        }
+        return value;
+    }
+
+    // Returns the patched document, which is the given document itself unless the root was replaced
+    // or the document is persistent
+    public Json apply(Json document) {
+        DocumentEditor editor = DocumentEditor.forDocument(document);
+        Json root = document;
+
+        for (PatchOperation operation : operations) {
+            root = operation.apply(root, editor);
+        }
+        return root;
+    }
+
+    // Applies several patches in order as one coalesced patch
+    public static Json applyAll(Json document, List<JsonPatch> patches) {
+        return combine(patches).apply(document);
+    }
+
+    // Concatenates patches and drops writes to object members that a later operation overwrites
+    // before anything else could observe them, e.g. a counter replaced once per patch in a batch
+    public static JsonPatch combine(List<JsonPatch> patches) {
+        List<PatchOperation> operations = new ArrayList<>();
+        for (JsonPatch patch : patches) {
+            operations.addAll(patch.operations);
+        }
+
+        for (int i = 0; i < operations.size(); i++) {
+            if (isOverwrittenLater(operations, i)) {
+                operations.set(i, null);
+            }
+        }
+        operations.removeIf(operation -> operation == null);
+
+        return new JsonPatch(Collections.unmodifiableList(operations));
+    }
+
+    // A later add or replace of the same member overwrites an earlier one when no operation in between
+    // touches that member, its ancestors or its descendants. The later write takes over the kind of the
+    // dropped one, so that a patch that would have failed on a missing member still fails.
+    private static boolean isOverwrittenLater(List<PatchOperation> operations, int index) {
+        PatchOperation earlier = operations.get(index);
+        JsonPointer path = writtenMemberPath(earlier);
+        if (path == null) {
+            return false;
+        }
+
+        for (int i = index + 1; i < operations.size(); i++) {
+            PatchOperation later = operations.get(i);
+            if (later == null) {
+                continue;
+            }
+
+            if (path.equals(writtenMemberPath(later))) {
+                PatchValue value = later instanceof PatchOperation.Add add ? add.value() : ((PatchOperation.Replace) later).value();
+                operations.set(i, earlier instanceof PatchOperation.Add ? new PatchOperation.Add(path, value) : new PatchOperation.Replace(path, value));
+                return true;
+            }
+            for (JsonPointer pointer : later.pointers()) {
+                if (mayAffect(pointer, path)) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static JsonPointer writtenMemberPath(PatchOperation operation) {
+        JsonPointer path = switch (operation) {
+            case PatchOperation.Add add -> add.path();
+            case PatchOperation.Replace replace -> replace.path();
+            default -> null;
+        };
+        return path == null || path.size() == 0 || JsonPointer.isIndexLike(path.lastToken()) ? null : path;
+    }
+
+    // Conservative: two pointers are independent only if they diverge at two distinct member names
+    private static boolean mayAffect(JsonPointer first, JsonPointer second) {
+        int common = Math.min(first.size(), second.size());
+        for (int i = 0; i < common; i++) {
+            String firstToken = first.token(i);
+            String secondToken = second.token(i);
+
+            if (!firstToken.equals(secondToken)) {
+                return JsonPointer.isIndexLike(firstToken) || JsonPointer.isIndexLike(secondToken);
+            }
+        }
+        return true; // One is a prefix of the other
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    // The patch as an RFC 6902 document, e.g. to send a computed diff elsewhere
+    public JsonArray toJson() {
+        JsonArray document = new JsonArray();
+        for (PatchOperation operation : operations) {
+            document.addValue(operation.toJson());
+        }
+        return document;
+    }
+
+    @Override
+    public String toString() {
+        return toJson().toString();
+    }
+}
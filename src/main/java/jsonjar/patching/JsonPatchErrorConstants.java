@@ -0,0 +1,24 @@
+package jsonjar.patching;
+
+enum JsonPatchErrorConstants {
+    POINTER_INVALID("Error: Invalid JSON Pointer. Pointer = "),
+    PATCH_NOT_AN_ARRAY("Error: A JSON Patch must be an array of operation objects."),
+    PATCH_OPERATION_NOT_AN_OBJECT("Error: A JSON Patch operation must be an object. Index: "),
+    PATCH_MISSING_MEMBER("Error: JSON Patch operation is missing a required member. Member: "),
+    PATCH_UNKNOWN_OPERATION("Error: Unknown JSON Patch operation. Operation: "),
+    PATCH_PATH_NOT_FOUND("Error: No value exists at path "),
+    PATCH_INVALID_ARRAY_INDEX("Error: Invalid array index at path "),
+    PATCH_CANNOT_REMOVE_ROOT("Error: The document root cannot be removed."),
+    PATCH_MOVE_INTO_CHILD("Error: A value cannot be moved into one of its own children. Path: "),
+    PATCH_TEST_FAILED("Error: Test operation failed at path ");
+
+    private final String message;
+
+    JsonPatchErrorConstants(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,160 @@
+package jsonjar.patching;
+
+import jsonjar.error_handling.JsonPatchException;
+import jsonjar.json_objects.*;
+
+import java.util.Arrays;
+
+import static jsonjar.patching.JsonPatchErrorConstants.POINTER_INVALID;
+
+// RFC 6901 JSON Pointer, parsed once into unescaped reference tokens
+
+public final class JsonPointer {
+    public static final JsonPointer ROOT = new JsonPointer(new String[0]);
+
+    private final String[] tokens;
+
+    private JsonPointer(String[] tokens) {
+        this.tokens = tokens;
+    }
+
+    public static JsonPointer parse(String pointer) {
+        if (pointer.isEmpty()) {
+            return ROOT;
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new JsonPatchException(POINTER_INVALID.getMessage() + pointer);
+        }
+
+        String[] tokens = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = unescape(tokens[i], pointer);
+        }
+        return new JsonPointer(tokens);
+    }
+
+    private static String unescape(String token, String pointer) {
+        if (token.indexOf('~') < 0) {
+            return token;
+        }
+
+        StringBuilder sb = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c != '~') {
+                sb.append(c);
+            } else if (i + 1 < token.length() && token.charAt(i + 1) == '0') {
+                sb.append('~');
+                i++;
+            } else if (i + 1 < token.length() && token.charAt(i + 1) == '1') {
+                sb.append('/');
+                i++;
+            } else {
+                throw new JsonPatchException(POINTER_INVALID.getMessage() + pointer);
+            }
+        }
+        return sb.toString();
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public String token(int index) {
+        return tokens[index];
+    }
+
+    public String lastToken() {
+        return tokens[tokens.length - 1];
+    }
+
+    public JsonPointer parent() {
+        return new JsonPointer(Arrays.copyOf(tokens, tokens.length - 1));
+    }
+
+    public JsonPointer append(String token) {
+        String[] newTokens = Arrays.copyOf(tokens, tokens.length + 1);
+        newTokens[tokens.length] = token;
+        return new JsonPointer(newTokens);
+    }
+
+    public JsonPointer append(int index) {
+        return append(Integer.toString(index));
+    }
+
+    // True when this pointer equals other or refers to one of its ancestors
+    public boolean isPrefixOf(JsonPointer other) {
+        if (tokens.length > other.tokens.length) {
+            return false;
+        }
+        for (int i = 0; i < tokens.length; i++) {
+            if (!tokens[i].equals(other.tokens[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the referenced value, or null if the document has no value at this pointer
+    public Json resolve(Json document) {
+        Json current = document;
+        for (String token : tokens) {
+            current = switch (current) {
+                case JsonObject object -> object.get(token);
+                case PersistentJsonObject object -> object.get(token);
+                case JsonArray array -> array.get(arrayIndex(token));
+                case PersistentJsonArray array -> array.get(arrayIndex(token));
+                default -> null;
+            };
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    // RFC 6901 array index: "0" or digits without a leading zero. Returns -1 for anything else.
+    static int arrayIndex(String token) {
+        if (token.isEmpty() || token.length() > 9 || (token.charAt(0) == '0' && token.length() > 1)) {
+            return -1;
+        }
+
+        int index = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    // Tokens that could address an array element, whose meaning shifts when elements are added or removed
+    static boolean isIndexLike(String token) {
+        return token.equals("-") || arrayIndex(token) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof JsonPointer other) {
+            return Arrays.equals(this.tokens, other.tokens);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(tokens);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (String token : tokens) {
+            sb.append('/');
+            sb.append(token.replace("~", "~0").replace("/", "~1"));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package jsonjar.patching;
+
+import jsonjar.error_handling.JsonPatchException;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonArray;
+import jsonjar.json_objects.JsonContainer;
+import jsonjar.json_objects.JsonObject;
+
+import static jsonjar.patching.JsonPatchErrorConstants.*;
+
+// Edits JsonObject and JsonArray documents in place, touching only the container that holds the target
+
+final class MutableDocumentEditor implements DocumentEditor {
+    static final MutableDocumentEditor INSTANCE = new MutableDocumentEditor();
+
+    private MutableDocumentEditor() {
+    }
+
+    @Override
+    public Json add(Json root, JsonPointer path, Json value) {
+        if (path.size() == 0) {
+            return value;
+        }
+
+        String token = path.lastToken();
+        switch (parentOf(root, path)) {
+            case JsonObject object -> object.addValue(token, value);
+            case JsonArray array -> {
+                if (token.equals("-")) {
+                    array.addValue(value);
+                } else {
+                    array.insertValue(checkIndex(path, array.size()), value);
+                }
+            }
+            default -> throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+        }
+        return root;
+    }
+
+    @Override
+    public Json remove(Json root, JsonPointer path) {
+        if (path.size() == 0) {
+            throw new JsonPatchException(PATCH_CANNOT_REMOVE_ROOT.getMessage());
+        }
+
+        switch (parentOf(root, path)) {
+            case JsonObject object -> {
+                if (object.removeValue(path.lastToken()) == null) {
+                    throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path);
+                }
+            }
+            case JsonArray array -> array.removeValue(checkIndex(path, array.size() - 1));
+            default -> throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+        }
+        return root;
+    }
+
+    @Override
+    public Json replace(Json root, JsonPointer path, Json value) {
+        if (path.size() == 0) {
+            return value;
+        }
+
+        String token = path.lastToken();
+        switch (parentOf(root, path)) {
+            case JsonObject object -> {
+                if (!object.containsKey(token)) {
+                    throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path);
+                }
+                object.addValue(token, value);
+            }
+            case JsonArray array -> array.setValue(checkIndex(path, array.size() - 1), value);
+            default -> throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+        }
+        return root;
+    }
+
+    @Override
+    public Json copyOf(Json existing) {
+        return existing instanceof JsonContainer container ? container.deepCopy() : existing;
+    }
+
+    @Override
+    public Json valueOf(PatchValue value) {
+        return value.forMutable();
+    }
+
+    private static Json parentOf(Json root, JsonPointer path) {
+        Json parent = path.parent().resolve(root);
+
+        if (parent == null) {
+            throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+        }
+        return parent;
+    }
+
+    private static int checkIndex(JsonPointer path, int maxIndex) {
+        int index = JsonPointer.arrayIndex(path.lastToken());
+
+        if (index < 0 || index > maxIndex) {
+            throw new JsonPatchException(PATCH_INVALID_ARRAY_INDEX.getMessage() + path);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,152 @@
+package jsonjar.patching;
+
+import jsonjar.error_handling.JsonPatchException;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonObject;
+import jsonjar.json_objects.JsonString;
+
+import java.util.List;
+
+import static jsonjar.patching.JsonPatchErrorConstants.*;
+
+// One compiled JSON Patch operation with its pointers already parsed
+
+sealed interface PatchOperation {
+    Json apply(Json root, DocumentEditor editor);
+
+    // Every location the operation reads or writes
+    List<JsonPointer> pointers();
+
+    // The operation as a member of an RFC 6902 patch document
+    JsonObject toJson();
+
+    private static JsonObject toJson(String op, JsonPointer from, JsonPointer path, PatchValue value) {
+        JsonObject operation = new JsonObject();
+        operation.addValue("op", new JsonString(op));
+        if (from != null) {
+            operation.addValue("from", new JsonString(from.toString()));
+        }
+        operation.addValue("path", new JsonString(path.toString()));
+        if (value != null) {
+            operation.addValue("value", value.forMutable());
+        }
+        return operation;
+    }
+
+    record Add(JsonPointer path, PatchValue value) implements PatchOperation {
+        @Override
+        public Json apply(Json root, DocumentEditor editor) {
+            return editor.add(root, path, editor.valueOf(value));
+        }
+
+        @Override
+        public JsonObject toJson() {
+            return PatchOperation.toJson("add", null, path, value);
+        }
+
+        @Override
+        public List<JsonPointer> pointers() {
+            return List.of(path);
+        }
+    }
+
+    record Remove(JsonPointer path) implements PatchOperation {
+        @Override
+        public Json apply(Json root, DocumentEditor editor) {
+            return editor.remove(root, path);
+        }
+
+        @Override
+        public JsonObject toJson() {
+            return PatchOperation.toJson("remove", null, path, null);
+        }
+
+        @Override
+        public List<JsonPointer> pointers() {
+            return List.of(path);
+        }
+    }
+
+    record Replace(JsonPointer path, PatchValue value) implements PatchOperation {
+        @Override
+        public Json apply(Json root, DocumentEditor editor) {
+            return editor.replace(root, path, editor.valueOf(value));
+        }
+
+        @Override
+        public JsonObject toJson() {
+            return PatchOperation.toJson("replace", null, path, value);
+        }
+
+        @Override
+        public List<JsonPointer> pointers() {
+            return List.of(path);
+        }
+    }
+
+    record Move(JsonPointer from, JsonPointer path) implements PatchOperation {
+        @Override
+        public Json apply(Json root, DocumentEditor editor) {
+            if (from.equals(path)) {
+                return root;
+            }
+
+            Json value = from.resolve(root);
+            if (value == null) {
+                throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + from);
+            }
+            return editor.add(editor.remove(root, from), path, value);
+        }
+
+        @Override
+        public JsonObject toJson() {
+            return PatchOperation.toJson("move", from, path, null);
+        }
+
+        @Override
+        public List<JsonPointer> pointers() {
+            return List.of(from, path);
+        }
+    }
+
+    record Copy(JsonPointer from, JsonPointer path) implements PatchOperation {
+        @Override
+        public Json apply(Json root, DocumentEditor editor) {
+            Json value = from.resolve(root);
+            if (value == null) {
+                throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + from);
+            }
+            return editor.add(root, path, editor.copyOf(value));
+        }
+
+        @Override
+        public JsonObject toJson() {
+            return PatchOperation.toJson("copy", from, path, null);
+        }
+
+        @Override
+        public List<JsonPointer> pointers() {
+            return List.of(from, path);
+        }
+    }
+
+    record Test(JsonPointer path, PatchValue value) implements PatchOperation {
+        @Override
+        public Json apply(Json root, DocumentEditor editor) {
+            if (!value.matches(path.resolve(root))) {
+                throw new JsonPatchException(PATCH_TEST_FAILED.getMessage() + path);
+            }
+            return root;
+        }
+
+        @Override
+        public JsonObject toJson() {
+            return PatchOperation.toJson("test", null, path, value);
+        }
+
+        @Override
+        public List<JsonPointer> pointers() {
+            return List.of(path);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package jsonjar.patching;
+
+import jsonjar.json_objects.*;
+
+// A value carried by a compiled patch. Mutable documents receive a fresh copy on every application so
+// that documents never share containers with the patch; persistent documents share one converted form.
+
+final class PatchValue {
+    private final Json value;
+    private volatile Json persistentValue;
+
+    PatchValue(Json value) {
+        this.value = value instanceof JsonContainer container ? container.deepCopy() : toMutable(value);
+    }
+
+    Json forMutable() {
+        return value instanceof JsonContainer container ? container.deepCopy() : value;
+    }
+
+    Json forPersistent() {
+        Json converted = persistentValue;
+        if (converted == null) {
+            converted = toPersistent(value);
+            persistentValue = converted;
+        }
+        return converted;
+    }
+
+    boolean matches(Json actual) {
+        if (actual instanceof PersistentJsonObject || actual instanceof PersistentJsonArray) {
+            return forPersistent().equals(actual);
+        }
+        return value.equals(actual);
+    }
+
+    static Json toPersistent(Json json) {
+        return switch (json) {
+            case JsonObject object -> PersistentJsonObject.from(object);
+            case JsonArray array -> PersistentJsonArray.from(array);
+            default -> json;
+        };
+    }
+
+    static Json toMutable(Json json) {
+        return switch (json) {
+            case PersistentJsonObject object -> object.toMutable();
+            case PersistentJsonArray array -> array.toMutable();
+            default -> json;
+        };
+    }
+}
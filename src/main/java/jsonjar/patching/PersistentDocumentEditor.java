@@ -0,0 +1,119 @@
+package jsonjar.patching;
+
+import jsonjar.error_handling.JsonPatchException;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.PersistentJsonArray;
+import jsonjar.json_objects.PersistentJsonObject;
+
+import java.util.function.UnaryOperator;
+
+import static jsonjar.patching.JsonPatchErrorConstants.*;
+
+// Copy-on-write edits of persistent documents: only the containers on the path to the target are
+// rebuilt, everything else is shared with the previous version
+
+final class PersistentDocumentEditor implements DocumentEditor {
+    static final PersistentDocumentEditor INSTANCE = new PersistentDocumentEditor();
+
+    private PersistentDocumentEditor() {
+    }
+
+    @Override
+    public Json add(Json root, JsonPointer path, Json value) {
+        if (path.size() == 0) {
+            return value;
+        }
+
+        String token = path.lastToken();
+        return updateParent(root, path, 0, parent -> switch (parent) {
+            case PersistentJsonObject object -> object.with(token, value);
+            case PersistentJsonArray array -> token.equals("-")
+                    ? array.withAppended(value)
+                    : array.withInserted(checkIndex(path, array.size()), value);
+            default -> throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+        });
+    }
+
+    @Override
+    public Json remove(Json root, JsonPointer path) {
+        if (path.size() == 0) {
+            throw new JsonPatchException(PATCH_CANNOT_REMOVE_ROOT.getMessage());
+        }
+
+        String token = path.lastToken();
+        return updateParent(root, path, 0, parent -> switch (parent) {
+            case PersistentJsonObject object -> {
+                if (!object.containsKey(token)) {
+                    throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path);
+                }
+                yield object.without(token);
+            }
+            case PersistentJsonArray array -> array.without(checkIndex(path, array.size() - 1));
+            default -> throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+        });
+    }
+
+    @Override
+    public Json replace(Json root, JsonPointer path, Json value) {
+        if (path.size() == 0) {
+            return value;
+        }
+
+        String token = path.lastToken();
+        return updateParent(root, path, 0, parent -> switch (parent) {
+            case PersistentJsonObject object -> {
+                if (!object.containsKey(token)) {
+                    throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path);
+                }
+                yield object.with(token, value);
+            }
+            case PersistentJsonArray array -> array.with(checkIndex(path, array.size() - 1), value);
+            default -> throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+        });
+    }
+
+    @Override
+    public Json copyOf(Json existing) {
+        return existing; // Persistent values can be shared freely
+    }
+
+    @Override
+    public Json valueOf(PatchValue value) {
+        return value.forPersistent();
+    }
+
+    // Rebuilds the containers from node down to the parent of path, applying change to that parent
+    private static Json updateParent(Json node, JsonPointer path, int depth, UnaryOperator<Json> change) {
+        if (depth == path.size() - 1) {
+            return change.apply(node);
+        }
+
+        String token = path.token(depth);
+        switch (node) {
+            case PersistentJsonObject object -> {
+                Json child = object.get(token);
+                if (child != null) {
+                    return object.with(token, updateParent(child, path, depth + 1, change));
+                }
+            }
+            case PersistentJsonArray array -> {
+                int index = JsonPointer.arrayIndex(token);
+                if (index >= 0 && index < array.size()) {
+                    return array.with(index, updateParent(array.get(index), path, depth + 1, change));
+                }
+            }
+            default -> {
+            }
+        }
+        throw new JsonPatchException(PATCH_PATH_NOT_FOUND.getMessage() + path.parent());
+    }
+
+    private static int checkIndex(JsonPointer path, int maxIndex) {
+        int index = JsonPointer.arrayIndex(path.lastToken());
+
+        if (index < 0 || index > maxIndex) {
+            throw new JsonPatchException(PATCH_INVALID_ARRAY_INDEX.getMessage() + path);
+        }
+        return index;
+    }
+}
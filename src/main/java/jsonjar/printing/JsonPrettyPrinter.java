@@ -1,9 +1,11 @@
 package jsonjar.printing;
 
 import jsonjar.json_objects.*;
+import jsonjar.monitoring.JsonInstrumentation;
+import jsonjar.monitoring.PrintEvent;
 
-import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 public class JsonPrettyPrinter {
@@ -11,16 +13,24 @@ public class JsonPrettyPrinter {
     private final StringBuilder output = new StringBuilder();
 
     public String getFormattedJsonString(Json json, int currentIndentLevel) {
+        PrintEvent event = JsonInstrumentation.beginPrint();
+        boolean succeeded = false;
         output.setLength(0); // Clear previous output
-        formatJson(json, currentIndentLevel);
-
+        try {
+            formatJson(json, currentIndentLevel);
+            succeeded = true;
+        } finally {
+            JsonInstrumentation.endPrint(event, "pretty-string", output.length(), succeeded);
+        }
         return output.toString();
     }
 
     private void formatJson(Json json, int currentIndentLevel) {
         switch (json) {
-            case JsonObject object : handleJsonObject(object, currentIndentLevel); break;
-            case JsonArray array   : handleJsonArray(array, currentIndentLevel); break;
+            case JsonObject object : handleJsonObject(object.getValue(), currentIndentLevel); break;
+            case JsonArray array   : handleJsonArray(array.getValue(), currentIndentLevel); break;
+            case PersistentJsonObject object : handleJsonObject(object.getValue(), currentIndentLevel); break;
+            case PersistentJsonArray array   : handleJsonArray(array.getValue(), currentIndentLevel); break;
             case JsonString str    : handleJsonString(str); break;
             case JsonNumber number : handleJsonNumber(number); break;
             case JsonBoolean bool  : handleJsonPrimitive(bool); break;
@@ -31,9 +41,7 @@ public class JsonPrettyPrinter {
         }
     }
 
-    private void handleJsonObject(JsonObject object, int currentIndentLevel) {
-        Map<String, Json> topLevelValues = object.getValue();
-
+    private void handleJsonObject(Map<String, Json> topLevelValues, int currentIndentLevel) {
         if (topLevelValues.isEmpty()) {
             output.append("{}");
             return;
@@ -58,9 +66,7 @@ public class JsonPrettyPrinter {
         output.append("}");
     }
 
-    private void handleJsonArray(JsonArray array, int currentIndentLevel) {
-        ArrayList<Json> elements = array.getValue();
-
+    private void handleJsonArray(List<Json> elements, int currentIndentLevel) {
         if (elements.isEmpty()) {
             output.append("[]");
             return;
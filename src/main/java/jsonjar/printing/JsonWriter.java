@@ -0,0 +1,299 @@
+package jsonjar.printing;
+
+import jsonjar.json_objects.*;
+import jsonjar.monitoring.JsonInstrumentation;
+import jsonjar.monitoring.PrintEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+// Serializes Json to UTF-8 bytes, splicing in the cached bytes of frozen or cache-enabled containers
+
+public class JsonWriter {
+    private static final byte[] INDENT = {' ', ' '};
+    private static final String COMPACT_ENGINE = "compact-bytes";
+    private static final String PRETTY_ENGINE = "pretty-bytes";
+    private static final int INITIAL_CAPACITY = 256;
+    private byte[] output = new byte[INITIAL_CAPACITY];
+    private int count = 0;
+
+    public byte[] getCompactBytes(Json json) {
+        PrintEvent event = JsonInstrumentation.beginPrint();
+        boolean succeeded = false;
+        count = 0; // Clear previous output
+        try {
+            writeCompactJson(json);
+            succeeded = true;
+        } finally {
+            JsonInstrumentation.endPrint(event, COMPACT_ENGINE, count, succeeded);
+        }
+        return Arrays.copyOf(output, count);
+    }
+
+    public byte[] getPrettyBytes(Json json, int currentIndentLevel) {
+        PrintEvent event = JsonInstrumentation.beginPrint();
+        boolean succeeded = false;
+        count = 0;
+        try {
+            writePrettyJson(json, currentIndentLevel);
+            succeeded = true;
+        } finally {
+            JsonInstrumentation.endPrint(event, PRETTY_ENGINE, count, succeeded);
+        }
+        return Arrays.copyOf(output, count);
+    }
+
+    public void writeCompact(Json json, OutputStream outputStream) throws IOException {
+        PrintEvent event = JsonInstrumentation.beginPrint();
+        boolean succeeded = false;
+        count = 0;
+        try {
+            writeCompactJson(json);
+            outputStream.write(output, 0, count);
+            succeeded = true;
+        } finally {
+            JsonInstrumentation.endPrint(event, COMPACT_ENGINE, count, succeeded);
+        }
+    }
+
+    public void writePretty(Json json, int currentIndentLevel, OutputStream outputStream) throws IOException {
+        PrintEvent event = JsonInstrumentation.beginPrint();
+        boolean succeeded = false;
+        count = 0;
+        try {
+            writePrettyJson(json, currentIndentLevel);
+            outputStream.write(output, 0, count);
+            succeeded = true;
+        } finally {
+            JsonInstrumentation.endPrint(event, PRETTY_ENGINE, count, succeeded);
+        }
+    }
+
+    private void writeCompactJson(Json json) {
+        switch (json) {
+            case JsonObject object : writeCompactContainer(object); break;
+            case JsonArray array   : writeCompactContainer(array); break;
+            case PersistentJsonObject object : writeCompactObject(object.getValue()); break;
+            case PersistentJsonArray array   : writeCompactArray(array.iterator()); break;
+            case JsonString str    : appendEscapedString(str.getValue()); break;
+            case JsonNumber number : appendAscii(number.toString()); break;
+            case JsonBoolean bool  : appendAscii(bool.toString()); break;
+            case JsonNull jnull    : appendAscii(jnull.toString()); break;
+
+            default:
+                throw new IllegalStateException("Unexpected Json type " + json);
+        }
+    }
+
+    private void writeCompactContainer(JsonContainer container) {
+        if (!(container.serializationCache(SerializedForms::new) instanceof SerializedForms forms)) {
+            writeCompactContents(container);
+            return;
+        }
+
+        byte[] cached = forms.compact();
+        if (cached != null) {
+            append(cached, cached.length);
+            return;
+        }
+
+        int start = count;
+        writeCompactContents(container);
+        forms.setCompact(Arrays.copyOfRange(output, start, count));
+    }
+
+    private void writeCompactContents(JsonContainer container) {
+        if (container instanceof JsonObject object) {
+            writeCompactObject(object.getValue());
+        } else if (container instanceof JsonArray array) {
+            writeCompactArray(array.iterator());
+        }
+    }
+
+    private void writeCompactObject(Map<String, Json> values) {
+        append('{');
+        Iterator<Map.Entry<String, Json>> iterator = values.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Json> entry = iterator.next();
+            appendEscapedString(entry.getKey());
+            append(':');
+            writeCompactJson(entry.getValue());
+            if (iterator.hasNext()) {
+                append(',');
+            }
+        }
+        append('}');
+    }
+
+    private void writeCompactArray(Iterator<Json> iterator) {
+        append('[');
+        while (iterator.hasNext()) {
+            writeCompactJson(iterator.next());
+            if (iterator.hasNext()) {
+                append(',');
+            }
+        }
+        append(']');
+    }
+
+    private void writePrettyJson(Json json, int currentIndentLevel) {
+        switch (json) {
+            case JsonObject object : writePrettyContainer(object, currentIndentLevel); break;
+            case JsonArray array   : writePrettyContainer(array, currentIndentLevel); break;
+            case PersistentJsonObject object : writePrettyObject(object.getValue(), currentIndentLevel); break;
+            case PersistentJsonArray array   : writePrettyArray(array.iterator(), currentIndentLevel); break;
+            case JsonString str    : appendEscapedString(str.getValue()); break;
+            case JsonNumber number : appendAscii(number.toString()); break;
+            case JsonBoolean bool  : appendAscii(bool.toString()); break;
+            case JsonNull jnull    : appendAscii(jnull.toString()); break;
+
+            default:
+                throw new IllegalStateException("Unexpected Json type " + json);
+        }
+    }
+
+    private void writePrettyContainer(JsonContainer container, int currentIndentLevel) {
+        if (!(container.serializationCache(SerializedForms::new) instanceof SerializedForms forms)) {
+            writePrettyContents(container, currentIndentLevel);
+            return;
+        }
+
+        byte[] cached = forms.pretty(currentIndentLevel);
+        if (cached != null) {
+            append(cached, cached.length);
+            return;
+        }
+
+        int start = count;
+        writePrettyContents(container, currentIndentLevel);
+        forms.setPretty(currentIndentLevel, Arrays.copyOfRange(output, start, count));
+    }
+
+    private void writePrettyContents(JsonContainer container, int currentIndentLevel) {
+        if (container instanceof JsonObject object) {
+            writePrettyObject(object.getValue(), currentIndentLevel);
+        } else if (container instanceof JsonArray array) {
+            writePrettyArray(array.iterator(), currentIndentLevel);
+        }
+    }
+
+    // Mirrors the layout produced by JsonPrettyPrinter so that both outputs are interchangeable
+    private void writePrettyObject(Map<String, Json> values, int currentIndentLevel) {
+        if (values.isEmpty()) {
+            appendAscii("{}");
+            return;
+        }
+
+        append('{');
+        Iterator<Map.Entry<String, Json>> iterator = values.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Json> entry = iterator.next();
+            appendNewLineAndIndent(currentIndentLevel + 1);
+            appendEscapedString(entry.getKey());
+            append(':');
+            append(' ');
+            writePrettyJson(entry.getValue(), currentIndentLevel + 1);
+            if (iterator.hasNext()) {
+                append(',');
+            }
+        }
+        appendNewLineAndIndent(currentIndentLevel);
+        append('}');
+    }
+
+    private void writePrettyArray(Iterator<Json> iterator, int currentIndentLevel) {
+        if (!iterator.hasNext()) {
+            appendAscii("[]");
+            return;
+        }
+
+        append('[');
+        while (iterator.hasNext()) {
+            appendNewLineAndIndent(currentIndentLevel + 1);
+            writePrettyJson(iterator.next(), currentIndentLevel + 1);
+            if (iterator.hasNext()) {
+                append(',');
+            }
+        }
+        appendNewLineAndIndent(currentIndentLevel);
+        append(']');
+    }
+
+    private void appendNewLineAndIndent(int indentLevel) {
+        append('\n');
+        for (int i = 0; i < indentLevel; i++) {
+            append(INDENT, INDENT.length);
+        }
+    }
+
+    private void appendEscapedString(String value) {
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"'  -> appendAscii("\\\"");
+                case '\\' -> appendAscii("\\\\");
+                case '\b' -> appendAscii("\\b");
+                case '\f' -> appendAscii("\\f");
+                case '\n' -> appendAscii("\\n");
+                case '\r' -> appendAscii("\\r");
+                case '\t' -> appendAscii("\\t");
+                default   -> {
+                    if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        appendCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+                    } else if (Character.isSurrogate(c)) {
+                        append('?'); // Unpaired surrogates cannot be encoded, matching String.getBytes(UTF_8)
+                    } else {
+                        appendCodePoint(c);
+                    }
+                }
+            }
+        }
+        append('"');
+    }
+
+    private void appendCodePoint(int codePoint) {
+        if (codePoint < 0x80) {
+            append(codePoint);
+        } else if (codePoint < 0x800) {
+            append(0xC0 | (codePoint >> 6));
+            append(0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            append(0xE0 | (codePoint >> 12));
+            append(0x80 | ((codePoint >> 6) & 0x3F));
+            append(0x80 | (codePoint & 0x3F));
+        } else {
+            append(0xF0 | (codePoint >> 18));
+            append(0x80 | ((codePoint >> 12) & 0x3F));
+            append(0x80 | ((codePoint >> 6) & 0x3F));
+            append(0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void appendAscii(String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            output[count++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void append(int b) {
+        ensureCapacity(1);
+        output[count++] = (byte) b;
+    }
+
+    private void append(byte[] bytes, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, 0, output, count, length);
+        count += length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (count + additional > output.length) {
+            output = Arrays.copyOf(output, Math.max(output.length * 2, count + additional));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package jsonjar.printing;
+
+import jsonjar.json_objects.SerializationCache;
+
+import java.util.Arrays;
+
+// The UTF-8 output JsonWriter has produced for one container, held by the container and dropped whenever it
+// changes. Only the writer can read or fill it, so cached bytes always come from the writer itself.
+//
+// Frozen containers may be written by several threads at once. Arrays are complete before they are
+// published through the volatile fields, and the pretty forms are copied on write, so a racing writer
+// can at worst drop another's entry, which is then rebuilt.
+
+final class SerializedForms implements SerializationCache {
+    private volatile byte[] compact;
+    private volatile byte[][] pretty; // Indexed by indent level, as pretty output depends on nesting depth
+
+    byte[] compact() {
+        return compact;
+    }
+
+    void setCompact(byte[] bytes) {
+        compact = bytes;
+    }
+
+    byte[] pretty(int indentLevel) {
+        byte[][] forms = pretty;
+        if (forms == null || indentLevel >= forms.length) {
+            return null;
+        }
+        return forms[indentLevel];
+    }
+
+    void setPretty(int indentLevel, byte[] bytes) {
+        byte[][] forms = pretty;
+        byte[][] updated = forms == null ? new byte[indentLevel + 1][] : Arrays.copyOf(forms, Math.max(forms.length, indentLevel + 1));
+        updated[indentLevel] = bytes;
+        pretty = updated;
+    }
+}
@@ -0,0 +1,148 @@
+package jsonjar.reactive;
+
+import jsonjar.error_handling.JsonSyntaxException;
+import jsonjar.json_objects.Json;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonParserOptions;
+import jsonjar.lexing_parsing.JsonTokenTape;
+import jsonjar.state_management.GrammarExtension;
+import jsonjar.state_management.JsonGrammar;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static jsonjar.reactive.ReactiveErrorConstants.*;
+
+// Cuts a top-level array arriving in chunks of UTF-8 bytes into its elements, and parses each element
+// once its last byte has arrived. Only brackets, commas and string boundaries are tracked here: the
+// bytes of the current element are collected and then lexed and parsed like any other document, so
+// elements are checked exactly as JsonParser checks them. Memory use is bounded by the largest element.
+
+final class ArrayElementSplitter {
+    private static final int BEFORE_ARRAY = 0;
+    private static final int FIRST_ELEMENT = 1; // Right after '[', where ']' may close an empty array
+    private static final int NEXT_ELEMENT = 2;
+    private static final int IN_ELEMENT = 3;
+    private static final int AFTER_ARRAY = 4;
+
+    // A lone value is valid under every grammar, but not every grammar accepts it as a whole document
+    private static final JsonGrammar SCALAR_GRAMMAR = JsonGrammar.strict(EnumSet.of(GrammarExtension.TOP_LEVEL_SCALARS));
+
+    private final JsonParser parser;
+    private final JsonParser scalarParser; // Same options, for elements of a single scalar token
+    private final JsonTokenTape tape = new JsonTokenTape();
+    private byte[] element = new byte[256];
+    private int length = 0;
+    private int state = BEFORE_ARRAY;
+    private int depth = 0; // Brackets open inside the current element
+    private boolean insideString = false;
+    private boolean escapeNext = false;
+    private long offset = 0; // Bytes consumed so far, for error messages
+
+    ArrayElementSplitter(JsonParserOptions options) {
+        this.parser = new JsonParser(options);
+        this.scalarParser = new JsonParser(options.withGrammar(SCALAR_GRAMMAR));
+    }
+
+    // Consumes input up to the end of the next element and returns that element, or null once input runs out first
+    Json next(ByteBuffer input) {
+        while (input.hasRemaining()) {
+            byte character = input.get();
+            offset++;
+
+            if (state == IN_ELEMENT) {
+                if (insideString || depth > 0 || (character != ',' && character != ']')) {
+                    append(character);
+                    continue;
+                }
+                state = character == ',' ? NEXT_ELEMENT : AFTER_ARRAY;
+                return materialise();
+            }
+            if (isWhitespace(character)) {
+                continue;
+            }
+
+            switch (state) {
+                case BEFORE_ARRAY -> {
+                    if (character != '[') {
+                        throw error(STREAM_NOT_AN_ARRAY);
+                    }
+                    state = FIRST_ELEMENT;
+                }
+                case FIRST_ELEMENT, NEXT_ELEMENT -> {
+                    if (character == ']' && state == FIRST_ELEMENT) {
+                        state = AFTER_ARRAY;
+                    } else if (character == ',' || character == ']') {
+                        throw error(STREAM_MISSING_ELEMENT);
+                    } else {
+                        state = IN_ELEMENT;
+                        length = 0;
+                        append(character);
+                    }
+                }
+                default -> throw error(STREAM_TRAILING_CONTENT);
+            }
+        }
+        return null;
+    }
+
+    boolean isAfterArray() {
+        return state == AFTER_ARRAY;
+    }
+
+    // Called at the end of input, which must not fall inside the array
+    void finish() {
+        if (state != AFTER_ARRAY) {
+            throw error(STREAM_UNEXPECTED_END);
+        }
+    }
+
+    private void append(byte character) {
+        if (escapeNext) {
+            escapeNext = false;
+        } else if (insideString) {
+            escapeNext = character == '\\';
+            insideString = character != '"';
+        } else if (character == '"') {
+            insideString = true;
+        } else if (character == '{' || character == '[') {
+            depth++;
+        } else if (character == '}' || character == ']') {
+            if (depth == 0) {
+                throw error(STREAM_UNEXPECTED_CLOSER);
+            }
+            depth--;
+        }
+
+        if (length == element.length) {
+            element = Arrays.copyOf(element, length * 2);
+        }
+        element[length++] = character;
+    }
+
+    private Json materialise() {
+        try {
+            tape.lex(new String(element, 0, length, StandardCharsets.UTF_8));
+            return (isScalar() ? scalarParser : parser).parse(tape);
+        } finally {
+            tape.clear();
+        }
+    }
+
+    private boolean isScalar() {
+        return tape.size() == 1 && switch (tape.type(0)) {
+            case CONTENT, NUMBER, BOOLEAN, NULL -> true;
+            default -> false;
+        };
+    }
+
+    private JsonSyntaxException error(ReactiveErrorConstants constant) {
+        return new JsonSyntaxException(constant.getMessage() + offset);
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,25 @@
+package jsonjar.reactive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Where a JsonArrayPublisher takes its bytes from. Only ever called by one thread at a time, except
+// for interrupt, which may arrive from any thread while next is blocked.
+
+interface ChunkSource {
+    ByteBuffer END = ByteBuffer.allocate(0);
+
+    // Bytes still to be split, END once input is exhausted, or null if no bytes have arrived yet.
+    // Returned buffers are consumed in place; a buffer with bytes remaining is returned again next time.
+    ByteBuffer next() throws IOException;
+
+    // Lets a source with no bytes ready notify the publisher once some arrive
+    default void setListener(Runnable listener) {
+    }
+
+    // Releases a next call blocked on another thread, where the source can; close still follows
+    default void interrupt() {
+    }
+
+    void close() throws IOException;
+}
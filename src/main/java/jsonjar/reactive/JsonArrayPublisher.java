@@ -0,0 +1,196 @@
+package jsonjar.reactive;
+
+import jsonjar.json_objects.Json;
+import jsonjar.lexing_parsing.JsonParserOptions;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static jsonjar.reactive.ReactiveErrorConstants.*;
+
+// Publishes the elements of a top-level JSON array one by one, reading only as far as the subscriber
+// has requested; nothing is read before the first request. Only the element being handed over is ever
+// materialised, so arrays far larger than the heap can be consumed. Input is UTF-8 from a stream or
+// channel, read on the given executor (a new virtual thread by default), or from a JsonChunkFeed, in
+// which case elements are delivered on the thread that pushes bytes or requests more.
+//
+// Input can only be read once, so each publisher accepts a single subscriber. The publisher closes its
+// input when the array ends, when the input is invalid (signalled through onError) and on cancellation.
+// Cancelling closes a channel or stream at once, from the cancelling thread, so that a read blocked
+// waiting for input is abandoned rather than waited out (see StreamChunkSource for the limits). Channels
+// must be in blocking mode; non-blocking input is pushed through a JsonChunkFeed.
+
+public final class JsonArrayPublisher implements Flow.Publisher<Json> {
+    private static final Executor VIRTUAL_THREADS = runnable -> Thread.ofVirtual().start(runnable);
+    private static final Executor CALLER = Runnable::run;
+
+    private final ChunkSource source;
+    private final Executor executor;
+    private final JsonParserOptions options;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private JsonArrayPublisher(ChunkSource source, Executor executor, JsonParserOptions options) {
+        this.source = source;
+        this.executor = executor;
+        this.options = options;
+    }
+
+    public static JsonArrayPublisher from(InputStream input) {
+        return from(input, VIRTUAL_THREADS);
+    }
+
+    public static JsonArrayPublisher from(InputStream input, Executor executor) {
+        return new JsonArrayPublisher(new StreamChunkSource(input), executor, JsonParserOptions.DEFAULT);
+    }
+
+    public static JsonArrayPublisher from(ReadableByteChannel channel) {
+        return from(channel, VIRTUAL_THREADS);
+    }
+
+    public static JsonArrayPublisher from(ReadableByteChannel channel, Executor executor) {
+        return new JsonArrayPublisher(new StreamChunkSource(channel), executor, JsonParserOptions.DEFAULT);
+    }
+
+    public static JsonArrayPublisher from(JsonChunkFeed feed) {
+        return new JsonArrayPublisher(feed, CALLER, JsonParserOptions.DEFAULT);
+    }
+
+    // Options for parsing each element, e.g. a string pool shared by all of them. Call before subscribing.
+    public JsonArrayPublisher withParserOptions(JsonParserOptions options) {
+        return new JsonArrayPublisher(source, executor, options);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Json> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException(PUBLISHER_ALREADY_SUBSCRIBED.getMessage()));
+            return;
+        }
+
+        ElementSubscription subscription = new ElementSubscription(subscriber);
+        source.setListener(subscription::signal);
+        subscriber.onSubscribe(subscription);
+    }
+
+    // Signals from request, cancel and the feed only count up work in progress; whichever thread raises it
+    // from zero runs the emit loop until the count drops back, so onNext calls never overlap or recurse
+    private final class ElementSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super Json> subscriber;
+        private final ArrayElementSplitter splitter = new ArrayElementSplitter(options);
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private volatile boolean cancelled = false;
+        private volatile Throwable invalidRequest;
+        private boolean terminated = false; // Only touched by the emit loop
+
+        ElementSubscription(Flow.Subscriber<? super Json> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException(SUBSCRIPTION_NON_POSITIVE_REQUEST.getMessage() + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            source.interrupt();
+            signal();
+        }
+
+        void signal() {
+            if (workInProgress.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                emit();
+                missed = workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            while (!terminated) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    terminate();
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+
+                if (demand.get() == 0 && !splitter.isAfterArray()) {
+                    return; // Nothing is read ahead, except to confirm that the array has ended
+                }
+
+                Json element;
+                try {
+                    ByteBuffer chunk = source.next();
+                    if (chunk == null) {
+                        return; // The feed signals again once bytes arrive
+                    }
+                    if (chunk == ChunkSource.END) {
+                        splitter.finish();
+                        terminate();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    element = splitter.next(chunk);
+                } catch (Exception e) {
+                    terminate();
+                    if (!cancelled) { // A read cut short by cancel is no error to report
+                        subscriber.onError(e);
+                    }
+                    return;
+                }
+
+                if (element != null) {
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet(); // Long.MAX_VALUE stands for unbounded demand
+                    }
+                    try {
+                        subscriber.onNext(element);
+                    } catch (RuntimeException e) {
+                        terminate(); // A subscriber that throws is treated as cancelled
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            try {
+                source.close();
+            } catch (Exception ignored) {
+                // The subscriber has already been told how the array ended
+            }
+        }
+    }
+}
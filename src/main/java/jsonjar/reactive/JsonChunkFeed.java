@@ -0,0 +1,81 @@
+package jsonjar.reactive;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static jsonjar.reactive.ReactiveErrorConstants.FEED_COMPLETED;
+
+// Bytes pushed by the caller, for input that arrives through callbacks rather than a stream, such as
+// the body of a non-blocking HTTP response. Chunks are queued until the subscriber's demand lets the
+// publisher split them, so producers that can slow down should watch bufferedBytes. Any thread may push.
+
+public final class JsonChunkFeed implements ChunkSource {
+    private final ConcurrentLinkedQueue<ByteBuffer> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private volatile boolean completed = false;
+    private ByteBuffer current; // Head of the queue as last handed out, with its remaining bytes at that time
+    private int currentRemaining;
+    private volatile Runnable listener = () -> {
+    };
+
+    // The feed reads the chunk in place, so its contents must not change until it has been consumed
+    public void push(ByteBuffer chunk) {
+        if (completed) {
+            throw new IllegalStateException(FEED_COMPLETED.getMessage());
+        }
+        bufferedBytes.addAndGet(chunk.remaining());
+        chunks.add(chunk);
+        listener.run();
+    }
+
+    public void push(byte[] chunk) {
+        push(ByteBuffer.wrap(chunk));
+    }
+
+    // Marks the end of input; the publisher completes once every pushed byte has been split
+    public void complete() {
+        completed = true;
+        listener.run();
+    }
+
+    public long bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    @Override
+    public ByteBuffer next() {
+        if (current != null) {
+            bufferedBytes.addAndGet(current.remaining() - currentRemaining);
+            if (current.hasRemaining()) {
+                currentRemaining = current.remaining();
+                return current;
+            }
+            chunks.poll();
+            current = null;
+        }
+
+        boolean done = completed; // Read before the queue, so that every chunk pushed before complete is seen
+        while ((current = chunks.peek()) != null && !current.hasRemaining()) {
+            chunks.poll();
+        }
+        if (current == null) {
+            return done ? END : null;
+        }
+        currentRemaining = current.remaining();
+        return current;
+    }
+
+    @Override
+    public void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void close() {
+        completed = true;
+        chunks.clear();
+        current = null;
+        bufferedBytes.set(0);
+    }
+}
@@ -0,0 +1,23 @@
+package jsonjar.reactive;
+
+enum ReactiveErrorConstants {
+    STREAM_NOT_AN_ARRAY("Error: Expected a top-level array at byte "),
+    STREAM_MISSING_ELEMENT("Error: Expected an array element at byte "),
+    STREAM_UNEXPECTED_CLOSER("Error: Unmatched closing bracket at byte "),
+    STREAM_TRAILING_CONTENT("Error: Unexpected content after the top-level array at byte "),
+    STREAM_UNEXPECTED_END("Error: Input ended inside the top-level array at byte "),
+    SUBSCRIPTION_NON_POSITIVE_REQUEST("Error: Subscribers must request a positive number of elements, not "),
+    PUBLISHER_ALREADY_SUBSCRIBED("Error: This publisher reads its input once and already has a subscriber."),
+    FEED_COMPLETED("Error: No chunks can be pushed after the feed has completed."),
+    CHANNEL_NOT_BLOCKING("Error: Channels must be in blocking mode; push bytes from a selector through a JsonChunkFeed instead.");
+
+    private final String message;
+
+    ReactiveErrorConstants(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
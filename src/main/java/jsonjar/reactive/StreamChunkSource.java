@@ -0,0 +1,67 @@
+package jsonjar.reactive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.concurrent.locks.LockSupport;
+
+import static jsonjar.reactive.ReactiveErrorConstants.CHANNEL_NOT_BLOCKING;
+
+// Blocking reads from a channel, or from an input stream through a channel adapter, into one reused buffer.
+// Selectable channels must be in blocking mode. Any other channel that reads nothing is polled again
+// after a short pause rather than in a tight loop.
+//
+// interrupt closes the channel from the cancelling thread. Interruptible channels, which include files,
+// sockets, pipes and the stream adapter, then abort a read in progress; a stream whose read ignores the
+// adapter's close is only released once that read returns.
+
+final class StreamChunkSource implements ChunkSource {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final long EMPTY_READ_PAUSE_NANOS = 100_000;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+
+    StreamChunkSource(ReadableByteChannel channel) {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalArgumentException(CHANNEL_NOT_BLOCKING.getMessage());
+        }
+        this.channel = channel;
+    }
+
+    StreamChunkSource(InputStream input) {
+        this(Channels.newChannel(input));
+    }
+
+    @Override
+    public ByteBuffer next() throws IOException {
+        if (buffer.hasRemaining()) {
+            return buffer;
+        }
+
+        buffer.clear();
+        int read;
+        while ((read = channel.read(buffer)) == 0) {
+            LockSupport.parkNanos(EMPTY_READ_PAUSE_NANOS);
+        }
+        buffer.flip();
+        return read < 0 ? END : buffer;
+    }
+
+    @Override
+    public void interrupt() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The read it interrupts ends the emit loop either way
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,81 @@
+package jsonjar.schema;
+
+import jsonjar.json_objects.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// A JSON Schema compiled once into a tree of SchemaNodes and then reused for any number of instances.
+// Supports type, enum, required, properties, additionalProperties, items (single or tuple form),
+// additionalItems, minimum, maximum, exclusiveMinimum, exclusiveMaximum, minLength, maxLength,
+// pattern, minItems, maxItems and local $ref. Compiled schemas are immutable and thread-safe.
+//
+// Instances are checked either as a finished Json tree (validate) or while they are being parsed,
+// by passing the schema to JsonParserOptions.withSchema, which drives a SchemaStreamValidator.
+
+public final class JsonSchema {
+    private final SchemaNode root;
+
+    private JsonSchema(SchemaNode root) {
+        this.root = root;
+    }
+
+    public static JsonSchema compile(Json schemaDocument) {
+        return new JsonSchema(SchemaCompiler.compile(schemaDocument));
+    }
+
+    // Returns every violation found, in document order; an empty list means the instance is valid
+    public List<SchemaViolation> validate(Json instance) {
+        List<SchemaViolation> violations = new ArrayList<>();
+        validate(root, instance, new SchemaPath(), violations);
+        return violations;
+    }
+
+    public boolean isValid(Json instance) {
+        return validate(instance).isEmpty();
+    }
+
+    public SchemaStreamValidator newStreamValidator() {
+        return new SchemaStreamValidator(root);
+    }
+
+    private static void validate(SchemaNode schema, Json value, SchemaPath path, List<SchemaViolation> violations) {
+        SchemaNode node = schema.resolve();
+        node.checkLocal(value, path, violations);
+
+        switch (value) {
+            case JsonObject object -> validateMembers(node, object.getValue(), path, violations);
+            case PersistentJsonObject object -> validateMembers(node, object.getValue(), path, violations);
+            case JsonArray array -> validateElements(node, array, path, violations);
+            case PersistentJsonArray array -> validateElements(node, array, path, violations);
+            default -> {
+                // Leaves were fully checked by checkLocal
+            }
+        }
+    }
+
+    private static void validateMembers(SchemaNode node, Map<String, Json> members, SchemaPath path, List<SchemaViolation> violations) {
+        for (Map.Entry<String, Json> member : members.entrySet()) {
+            SchemaNode child = node.forMember(member.getKey());
+            if (child != null) {
+                path.push(member.getKey());
+                validate(child, member.getValue(), path, violations);
+                path.pop();
+            }
+        }
+    }
+
+    private static void validateElements(SchemaNode node, Iterable<Json> elements, SchemaPath path, List<SchemaViolation> violations) {
+        int index = 0;
+        for (Json element : elements) {
+            SchemaNode child = node.forElement(index);
+            if (child != null) {
+                path.push(index);
+                validate(child, element, path, violations);
+                path.pop();
+            }
+            index++;
+        }
+    }
+}
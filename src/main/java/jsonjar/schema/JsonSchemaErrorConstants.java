@@ -0,0 +1,32 @@
+package jsonjar.schema;
+
+enum JsonSchemaErrorConstants {
+    SCHEMA_INVALID_KEYWORD("Error: Invalid schema keyword at "),
+    SCHEMA_NOT_A_SCHEMA("Error: Expected a schema object or boolean at "),
+    SCHEMA_UNSUPPORTED_REF("Error: Only local $ref values starting with '#' are supported. $ref = "),
+    SCHEMA_UNRESOLVED_REF("Error: $ref does not point into the schema. $ref = "),
+    SCHEMA_CIRCULAR_REF("Error: $ref chain never reaches a schema. $ref = "),
+    VIOLATION_FALSE_SCHEMA("No value is allowed here."),
+    VIOLATION_TYPE("Value is not of type "),
+    VIOLATION_ENUM("Value is not one of the enumerated values."),
+    VIOLATION_MINIMUM("Value is less than the minimum "),
+    VIOLATION_MAXIMUM("Value is greater than the maximum "),
+    VIOLATION_EXCLUSIVE_MINIMUM("Value is not greater than "),
+    VIOLATION_EXCLUSIVE_MAXIMUM("Value is not less than "),
+    VIOLATION_MIN_LENGTH("String is shorter than "),
+    VIOLATION_MAX_LENGTH("String is longer than "),
+    VIOLATION_PATTERN("String does not match pattern "),
+    VIOLATION_REQUIRED("Missing required member "),
+    VIOLATION_MIN_ITEMS("Array has fewer items than "),
+    VIOLATION_MAX_ITEMS("Array has more items than ");
+
+    private final String message;
+
+    JsonSchemaErrorConstants(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
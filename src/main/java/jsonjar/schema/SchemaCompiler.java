@@ -0,0 +1,228 @@
+package jsonjar.schema;
+
+import jsonjar.error_handling.JsonPatchException;
+import jsonjar.error_handling.JsonSchemaException;
+import jsonjar.json_objects.*;
+import jsonjar.patching.JsonPointer;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static jsonjar.schema.JsonSchemaErrorConstants.*;
+
+// Turns a schema document into a SchemaNode tree. Subschemas are compiled once per location, so a
+// $ref to a definition shares the definition's node and recursive schemas become cycles in the tree.
+// References are linked after the walk, once every node they may point at exists.
+
+final class SchemaCompiler {
+    private final Json document;
+    private final Map<JsonPointer, SchemaNode> compiled = new HashMap<>();
+    private final Map<SchemaNode, String> pendingRefs = new LinkedHashMap<>();
+
+    private SchemaCompiler(Json document) {
+        this.document = document;
+    }
+
+    static SchemaNode compile(Json document) {
+        SchemaCompiler compiler = new SchemaCompiler(document);
+        SchemaNode root = compiler.compile(document, JsonPointer.ROOT);
+        compiler.linkRefs();
+        return root;
+    }
+
+    private SchemaNode compile(Json schema, JsonPointer location) {
+        SchemaNode existing = compiled.get(location);
+        if (existing != null) {
+            return existing;
+        }
+
+        SchemaNode node = new SchemaNode();
+        compiled.put(location, node);
+
+        if (schema instanceof JsonBoolean bool) {
+            node.rejectAll = !bool.getValue();
+            return node;
+        }
+        if (!(schema instanceof JsonObject object)) {
+            throw new JsonSchemaException(SCHEMA_NOT_A_SCHEMA.getMessage() + describe(location));
+        }
+
+        Json ref = object.get("$ref");
+        if (ref != null) {
+            pendingRefs.put(node, stringKeyword(ref, location.append("$ref")));
+            return node;
+        }
+
+        for (Map.Entry<String, Json> entry : object.getValue().entrySet()) {
+            compileKeyword(node, entry.getKey(), entry.getValue(), location.append(entry.getKey()));
+        }
+        return node;
+    }
+
+    private void compileKeyword(SchemaNode node, String keyword, Json value, JsonPointer location) {
+        switch (keyword) {
+            case "type" -> compileType(node, value, location);
+            case "enum" -> node.enumValues = arrayKeyword(value, location).getValue().toArray(new Json[0]);
+            case "minimum" -> node.minimum = numberKeyword(value, location);
+            case "maximum" -> node.maximum = numberKeyword(value, location);
+            case "exclusiveMinimum" -> node.exclusiveMinimum = numberKeyword(value, location);
+            case "exclusiveMaximum" -> node.exclusiveMaximum = numberKeyword(value, location);
+            case "minLength" -> node.minLength = countKeyword(value, location);
+            case "maxLength" -> node.maxLength = countKeyword(value, location);
+            case "minItems" -> node.minItems = countKeyword(value, location);
+            case "maxItems" -> node.maxItems = countKeyword(value, location);
+            case "pattern" -> node.pattern = patternKeyword(value, location);
+            case "required" -> node.required = stringArrayKeyword(value, location);
+            case "properties" -> node.properties = compileProperties(value, location);
+            case "additionalProperties" -> node.additionalProperties = compile(value, location);
+            case "additionalItems" -> node.additionalItems = compile(value, location);
+            case "items" -> {
+                if (value instanceof JsonArray tuple) {
+                    node.tupleItems = new SchemaNode[tuple.size()];
+                    for (int i = 0; i < tuple.size(); i++) {
+                        node.tupleItems[i] = compile(tuple.get(i), location.append(i));
+                    }
+                } else {
+                    node.items = compile(value, location);
+                }
+            }
+            default -> {
+                // Annotations, definitions and unsupported keywords do not constrain the instance
+            }
+        }
+    }
+
+    private void compileType(SchemaNode node, Json value, JsonPointer location) {
+        String[] names = value instanceof JsonString name ? new String[]{name.getValue()} : stringArrayKeyword(value, location);
+
+        for (String name : names) {
+            int index = Arrays.asList(SchemaNode.TYPE_NAMES).indexOf(name);
+            if (index < 0) {
+                throw new JsonSchemaException(SCHEMA_INVALID_KEYWORD.getMessage() + describe(location));
+            }
+            node.types |= 1 << index;
+        }
+        node.typeDescription = String.join(" or ", names);
+    }
+
+    private Map<String, SchemaNode> compileProperties(Json value, JsonPointer location) {
+        if (!(value instanceof JsonObject object)) {
+            throw new JsonSchemaException(SCHEMA_INVALID_KEYWORD.getMessage() + describe(location));
+        }
+
+        Map<String, SchemaNode> properties = new HashMap<>();
+        for (Map.Entry<String, Json> entry : object.getValue().entrySet()) {
+            properties.put(entry.getKey(), compile(entry.getValue(), location.append(entry.getKey())));
+        }
+        return properties;
+    }
+
+    // Compiling a reference target can uncover further references, so keep going until none are left
+    private void linkRefs() {
+        List<SchemaNode> linked = new ArrayList<>();
+
+        while (!pendingRefs.isEmpty()) {
+            Iterator<Map.Entry<SchemaNode, String>> iterator = pendingRefs.entrySet().iterator();
+            Map.Entry<SchemaNode, String> pending = iterator.next();
+            iterator.remove();
+
+            pending.getKey().target = compile(resolveRef(pending.getValue()), refPointer(pending.getValue()));
+            linked.add(pending.getKey());
+        }
+
+        for (SchemaNode node : linked) {
+            SchemaNode current = node;
+            for (int steps = 0; current.target != null; steps++) {
+                if (steps > linked.size()) {
+                    throw new JsonSchemaException(SCHEMA_CIRCULAR_REF.getMessage() + describe(node));
+                }
+                current = current.target;
+            }
+        }
+    }
+
+    private Json resolveRef(String ref) {
+        Json target = refPointer(ref).resolve(document);
+        if (target == null) {
+            throw new JsonSchemaException(SCHEMA_UNRESOLVED_REF.getMessage() + ref);
+        }
+        return target;
+    }
+
+    private static JsonPointer refPointer(String ref) {
+        if (!ref.startsWith("#")) {
+            throw new JsonSchemaException(SCHEMA_UNSUPPORTED_REF.getMessage() + ref);
+        }
+
+        try {
+            return JsonPointer.parse(ref.substring(1));
+        } catch (JsonPatchException e) {
+            throw new JsonSchemaException(SCHEMA_UNRESOLVED_REF.getMessage() + ref);
+        }
+    }
+
+    private String describe(SchemaNode node) {
+        for (Map.Entry<JsonPointer, SchemaNode> entry : compiled.entrySet()) {
+            if (entry.getValue() == node) {
+                return describe(entry.getKey());
+            }
+        }
+        return describe(JsonPointer.ROOT);
+    }
+
+    private static String describe(JsonPointer location) {
+        return "#" + location;
+    }
+
+    private static String stringKeyword(Json value, JsonPointer location) {
+        if (value instanceof JsonString string) {
+            return string.getValue();
+        }
+        throw new JsonSchemaException(SCHEMA_INVALID_KEYWORD.getMessage() + describe(location));
+    }
+
+    private static JsonArray arrayKeyword(Json value, JsonPointer location) {
+        if (value instanceof JsonArray array) {
+            return array;
+        }
+        throw new JsonSchemaException(SCHEMA_INVALID_KEYWORD.getMessage() + describe(location));
+    }
+
+    private static String[] stringArrayKeyword(Json value, JsonPointer location) {
+        JsonArray array = arrayKeyword(value, location);
+        String[] strings = new String[array.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = stringKeyword(array.get(i), location.append(i));
+        }
+        return strings;
+    }
+
+    private static BigDecimal numberKeyword(Json value, JsonPointer location) {
+        if (value instanceof JsonNumber number) {
+            return number.getValue();
+        }
+        throw new JsonSchemaException(SCHEMA_INVALID_KEYWORD.getMessage() + describe(location));
+    }
+
+    private static int countKeyword(Json value, JsonPointer location) {
+        try {
+            int count = numberKeyword(value, location).intValueExact();
+            if (count >= 0) {
+                return count;
+            }
+        } catch (ArithmeticException e) {
+            // Reported below like any other invalid count
+        }
+        throw new JsonSchemaException(SCHEMA_INVALID_KEYWORD.getMessage() + describe(location));
+    }
+
+    private static Pattern patternKeyword(Json value, JsonPointer location) {
+        try {
+            return Pattern.compile(stringKeyword(value, location));
+        } catch (PatternSyntaxException e) {
+            throw new JsonSchemaException(SCHEMA_INVALID_KEYWORD.getMessage() + describe(location));
+        }
+    }
+}
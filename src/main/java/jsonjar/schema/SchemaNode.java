@@ -0,0 +1,176 @@
+package jsonjar.schema;
+
+import jsonjar.json_objects.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static jsonjar.schema.JsonSchemaErrorConstants.*;
+
+// One compiled (sub)schema. Keywords are stored in ready-to-check form; absent keywords are null or -1.
+// checkLocal applies everything that does not descend into children, so the DOM and streaming
+// validators only differ in how they walk the instance.
+
+final class SchemaNode {
+    static final int NULL = 1;
+    static final int BOOLEAN = 1 << 1;
+    static final int OBJECT = 1 << 2;
+    static final int ARRAY = 1 << 3;
+    static final int NUMBER = 1 << 4;
+    static final int INTEGER = 1 << 5;
+    static final int STRING = 1 << 6;
+    static final String[] TYPE_NAMES = {"null", "boolean", "object", "array", "number", "integer", "string"};
+
+    SchemaNode target; // Set for a $ref, whose sibling keywords are ignored as in draft-07
+    boolean rejectAll;
+    int types;
+    String typeDescription;
+    Json[] enumValues;
+    BigDecimal minimum;
+    BigDecimal maximum;
+    BigDecimal exclusiveMinimum;
+    BigDecimal exclusiveMaximum;
+    int minLength = -1;
+    int maxLength = -1;
+    Pattern pattern;
+    String[] required;
+    Map<String, SchemaNode> properties;
+    SchemaNode additionalProperties;
+    SchemaNode items;
+    SchemaNode[] tupleItems;
+    SchemaNode additionalItems;
+    int minItems = -1;
+    int maxItems = -1;
+
+    SchemaNode resolve() {
+        SchemaNode node = this;
+        while (node.target != null) {
+            node = node.target;
+        }
+        return node;
+    }
+
+    // Schema for a member value, or null when the member is unconstrained
+    SchemaNode forMember(String key) {
+        SchemaNode property = properties != null ? properties.get(key) : null;
+        return property != null ? property : additionalProperties;
+    }
+
+    // Schema for an array element, or null when the element is unconstrained
+    SchemaNode forElement(int index) {
+        if (tupleItems != null) {
+            return index < tupleItems.length ? tupleItems[index] : additionalItems;
+        }
+        return items;
+    }
+
+    void checkLocal(Json value, SchemaPath path, List<SchemaViolation> violations) {
+        if (rejectAll) {
+            report(VIOLATION_FALSE_SCHEMA.getMessage(), path, violations);
+            return;
+        }
+        if (types != 0 && !matchesType(value)) {
+            report(VIOLATION_TYPE.getMessage() + typeDescription + ".", path, violations);
+        }
+        if (enumValues != null && !isEnumerated(value)) {
+            report(VIOLATION_ENUM.getMessage(), path, violations);
+        }
+
+        switch (value) {
+            case JsonNumber number -> checkNumber(number.getValue(), path, violations);
+            case JsonString string -> checkString(string.getValue(), path, violations);
+            case JsonObject object -> checkRequired(object.getValue(), path, violations);
+            case PersistentJsonObject object -> checkRequired(object.getValue(), path, violations);
+            case JsonArray array -> checkItemCount(array.size(), path, violations);
+            case PersistentJsonArray array -> checkItemCount(array.size(), path, violations);
+            default -> {
+                // Null and booleans have no further keywords
+            }
+        }
+    }
+
+    private boolean matchesType(Json value) {
+        return switch (value) {
+            case JsonNull ignored -> (types & NULL) != 0;
+            case JsonBoolean ignored -> (types & BOOLEAN) != 0;
+            case JsonObject ignored -> (types & OBJECT) != 0;
+            case PersistentJsonObject ignored -> (types & OBJECT) != 0;
+            case JsonArray ignored -> (types & ARRAY) != 0;
+            case PersistentJsonArray ignored -> (types & ARRAY) != 0;
+            case JsonString ignored -> (types & STRING) != 0;
+            case JsonNumber number -> (types & NUMBER) != 0 || ((types & INTEGER) != 0 && isInteger(number.getValue()));
+            default -> false;
+        };
+    }
+
+    // 1.0 is an integer too, as in draft-06 onwards
+    private static boolean isInteger(BigDecimal value) {
+        return value.signum() == 0 || value.stripTrailingZeros().scale() <= 0;
+    }
+
+    private boolean isEnumerated(Json value) {
+        for (Json allowed : enumValues) {
+            if (allowed.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkNumber(BigDecimal value, SchemaPath path, List<SchemaViolation> violations) {
+        if (minimum != null && value.compareTo(minimum) < 0) {
+            report(VIOLATION_MINIMUM.getMessage() + minimum.toPlainString() + ".", path, violations);
+        }
+        if (maximum != null && value.compareTo(maximum) > 0) {
+            report(VIOLATION_MAXIMUM.getMessage() + maximum.toPlainString() + ".", path, violations);
+        }
+        if (exclusiveMinimum != null && value.compareTo(exclusiveMinimum) <= 0) {
+            report(VIOLATION_EXCLUSIVE_MINIMUM.getMessage() + exclusiveMinimum.toPlainString() + ".", path, violations);
+        }
+        if (exclusiveMaximum != null && value.compareTo(exclusiveMaximum) >= 0) {
+            report(VIOLATION_EXCLUSIVE_MAXIMUM.getMessage() + exclusiveMaximum.toPlainString() + ".", path, violations);
+        }
+    }
+
+    // Lengths count code points, not UTF-16 chars
+    private void checkString(String value, SchemaPath path, List<SchemaViolation> violations) {
+        if (minLength >= 0 || maxLength >= 0) {
+            int length = value.codePointCount(0, value.length());
+            if (minLength >= 0 && length < minLength) {
+                report(VIOLATION_MIN_LENGTH.getMessage() + minLength + " characters.", path, violations);
+            }
+            if (maxLength >= 0 && length > maxLength) {
+                report(VIOLATION_MAX_LENGTH.getMessage() + maxLength + " characters.", path, violations);
+            }
+        }
+        if (pattern != null && !pattern.matcher(value).find()) {
+            report(VIOLATION_PATTERN.getMessage() + pattern.pattern() + ".", path, violations);
+        }
+    }
+
+    private void checkRequired(Map<String, Json> members, SchemaPath path, List<SchemaViolation> violations) {
+        if (required == null) {
+            return;
+        }
+        for (String key : required) {
+            if (members.get(key) == null) {
+                report(VIOLATION_REQUIRED.getMessage() + "\"" + key + "\".", path, violations);
+            }
+        }
+    }
+
+    private void checkItemCount(int size, SchemaPath path, List<SchemaViolation> violations) {
+        if (minItems >= 0 && size < minItems) {
+            report(VIOLATION_MIN_ITEMS.getMessage() + minItems + ".", path, violations);
+        }
+        if (maxItems >= 0 && size > maxItems) {
+            report(VIOLATION_MAX_ITEMS.getMessage() + maxItems + ".", path, violations);
+        }
+    }
+
+    private static void report(String message, SchemaPath path, List<SchemaViolation> violations) {
+        violations.add(new SchemaViolation(path.toPointer(), message));
+    }
+}
@@ -0,0 +1,48 @@
+package jsonjar.schema;
+
+import jsonjar.patching.JsonPointer;
+
+import java.util.Arrays;
+
+// Location of the value being validated, kept as a stack of raw keys and indexes so that walking a
+// document costs nothing; a JsonPointer is only built when a violation is reported
+
+final class SchemaPath {
+    private String[] keys = new String[16];
+    private int[] indexes = new int[16];
+    private int size = 0;
+
+    void push(String key) {
+        ensureCapacity();
+        keys[size++] = key;
+    }
+
+    void push(int index) {
+        ensureCapacity();
+        keys[size] = null;
+        indexes[size++] = index;
+    }
+
+    void pop() {
+        keys[--size] = null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    JsonPointer toPointer() {
+        JsonPointer pointer = JsonPointer.ROOT;
+        for (int i = 0; i < size; i++) {
+            pointer = keys[i] != null ? pointer.append(keys[i]) : pointer.append(indexes[i]);
+        }
+        return pointer;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            indexes = Arrays.copyOf(indexes, size * 2);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package jsonjar.schema;
+
+import jsonjar.json_objects.Json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Validates one instance from parse events, so that a document is checked in the same pass that
+// parses it. Every value's schema is chosen from its parent's frame as the value starts; leaves are
+// checked on arrival and container-level keywords (required, item counts, enum) once the finished
+// container is handed to endContainer. Reports the same violations as JsonSchema.validate, except that
+// a container's own violations follow those of its children.
+
+public final class SchemaStreamValidator {
+    private static final int INITIAL_DEPTH = 16;
+
+    private final SchemaNode root;
+    private final SchemaPath path = new SchemaPath();
+    private final List<SchemaViolation> violations = new ArrayList<>();
+
+    // One frame per open container; a null schema means nothing below is constrained
+    private SchemaNode[] schemas = new SchemaNode[INITIAL_DEPTH];
+    private boolean[] isArray = new boolean[INITIAL_DEPTH];
+    private int[] nextIndex = new int[INITIAL_DEPTH];
+    private String[] pendingKeys = new String[INITIAL_DEPTH];
+    private int depth = 0;
+
+    SchemaStreamValidator(SchemaNode root) {
+        this.root = root;
+    }
+
+    public void startObject() {
+        startContainer(false);
+    }
+
+    public void startArray() {
+        startContainer(true);
+    }
+
+    public void key(String key) {
+        pendingKeys[depth - 1] = key;
+    }
+
+    public void value(Json value) {
+        SchemaNode schema = startValue();
+        if (schema != null) {
+            schema.checkLocal(value, path, violations);
+        }
+        endValue();
+    }
+
+    public void endContainer(Json completed) {
+        SchemaNode schema = schemas[--depth];
+        pendingKeys[depth] = null;
+        if (schema != null) {
+            schema.checkLocal(completed, path, violations);
+        }
+        endValue();
+    }
+
+    public List<SchemaViolation> getViolations() {
+        return violations;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public void reset() {
+        while (path.size() > 0) {
+            path.pop();
+        }
+        Arrays.fill(pendingKeys, 0, depth, null);
+        violations.clear();
+        depth = 0;
+    }
+
+    private void startContainer(boolean array) {
+        SchemaNode schema = startValue();
+
+        if (depth == schemas.length) {
+            schemas = Arrays.copyOf(schemas, depth * 2);
+            isArray = Arrays.copyOf(isArray, depth * 2);
+            nextIndex = Arrays.copyOf(nextIndex, depth * 2);
+            pendingKeys = Arrays.copyOf(pendingKeys, depth * 2);
+        }
+        schemas[depth] = schema;
+        isArray[depth] = array;
+        nextIndex[depth] = 0;
+        depth++;
+    }
+
+    // Moves the path onto the value that is starting and returns its resolved schema
+    private SchemaNode startValue() {
+        if (depth == 0) {
+            return root.resolve();
+        }
+
+        int parent = depth - 1;
+        SchemaNode parentSchema = schemas[parent];
+        SchemaNode schema;
+        if (isArray[parent]) {
+            int index = nextIndex[parent]++;
+            path.push(index);
+            schema = parentSchema != null ? parentSchema.forElement(index) : null;
+        } else {
+            path.push(pendingKeys[parent]);
+            schema = parentSchema != null ? parentSchema.forMember(pendingKeys[parent]) : null;
+        }
+        return schema != null ? schema.resolve() : null;
+    }
+
+    private void endValue() {
+        if (depth > 0) {
+            path.pop();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package jsonjar.schema;
+
+import jsonjar.patching.JsonPointer;
+
+// One failed schema constraint; location is the JSON Pointer of the offending value in the instance
+
+public record SchemaViolation(JsonPointer location, String message) {
+    @Override
+    public String toString() {
+        return (location.size() == 0 ? "(root)" : location.toString()) + ": " + message;
+    }
+}
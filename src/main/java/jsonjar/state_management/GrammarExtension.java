@@ -0,0 +1,30 @@
+package jsonjar.state_management;
+
+import jsonjar.lexing_parsing.TokenType;
+
+import static jsonjar.state_management.JsonGrammar.*;
+
+// Optional departures from the strict grammar (see JsonGrammar.strict). Each one only adds transitions
+// to the table, so an extended grammar runs exactly as fast as the strict one.
+
+public enum GrammarExtension {
+    // [1, 2,] and {"a": 1,}
+    TRAILING_COMMAS {
+        @Override
+        void extend(JsonGrammar.Table table) {
+            table.close(OBJECT_NEXT_KEY, TokenType.OBJECT_CLOSER);
+            table.close(ARRAY_NEXT_VALUE, TokenType.ARRAY_CLOSER);
+        }
+    },
+    // A lone string, boolean or null as the whole document, as RFC 8259 allows
+    TOP_LEVEL_SCALARS {
+        @Override
+        void extend(JsonGrammar.Table table) {
+            table.move(START, TokenType.CONTENT, END);
+            table.move(START, TokenType.BOOLEAN, END);
+            table.move(START, TokenType.NULL, END);
+        }
+    };
+
+    abstract void extend(JsonGrammar.Table table);
+}
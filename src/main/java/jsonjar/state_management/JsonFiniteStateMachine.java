@@ -2,120 +2,82 @@ package jsonjar.state_management;
 
 import jsonjar.lexing_parsing.TokenType;
 
-import java.util.*;
+import java.util.Arrays;
 
-import static jsonjar.state_management.State.*;
+import static jsonjar.state_management.JsonGrammar.*;
+
+// Runs a compiled JsonGrammar: one array load per token, with the states to resume after each open
+// container kept on an int stack. advance reports a bad token as a negative code rather than throwing,
+// so callers can raise their own exception with the message precomputed for it.
+//
+// Instances hold per-document state and must not be shared between concurrent parses.
 
 public class JsonFiniteStateMachine {
     public static final JsonFiniteStateMachine JSON_FINITE_STATE_MACHINE = new JsonFiniteStateMachine();
 
-    private final Deque<State> stateHistory; // Use a double-ended queue as stack for performance
-    private State currentState;
-    private EnumMap<State, Map<TokenType, State>> stateTransitionTable;
+    private static final int INITIAL_DEPTH = 32;
+
+    private final JsonGrammar grammar;
+    private int[] resumeStates = new int[INITIAL_DEPTH];
+    private int depth = 0;
+    private int currentState = 0;
+
+    public JsonFiniteStateMachine() {
+        this(JsonGrammar.LENIENT);
+    }
 
-    private JsonFiniteStateMachine() {
-        this.currentState = IDLE;
-        this.stateHistory = new ArrayDeque<>();
-        initialiseStateTransitionTable();
+    public JsonFiniteStateMachine(JsonGrammar grammar) {
+        this.grammar = grammar;
     }
 
-    private void initialiseStateTransitionTable() {
-        this.stateTransitionTable = new EnumMap<>(State.class);
+    // Returns the new state, or a negative error code for describeError when the token is not allowed
+    public int advance(TokenType tokenType) {
+        int cell = grammar.transition(currentState, tokenType.ordinal());
 
-        // Initialize the state transition table with empty maps for each state
-        for (State state : State.values()) {
-            stateTransitionTable.put(state, new EnumMap<>(TokenType.class));
+        if (cell == ERROR) {
+            return -(currentState * TOKEN_TYPES + tokenType.ordinal()) - 1;
         }
+        if ((cell & PUSH) != 0) {
+            if (depth == resumeStates.length) {
+                resumeStates = Arrays.copyOf(resumeStates, depth * 2);
+            }
+            resumeStates[depth++] = (cell >>> RESUME_SHIFT) & STATE_MASK;
+            currentState = cell & STATE_MASK;
+        } else if ((cell & POP) != 0) {
+            currentState = depth > 0 ? resumeStates[--depth] : 0;
+        } else {
+            currentState = cell & STATE_MASK;
+        }
+        return currentState;
+    }
 
-        stateTransitionTable.get(IDLE).put(TokenType.OBJECT_OPENER, OPEN_OBJECT);
-        stateTransitionTable.get(IDLE).put(TokenType.ARRAY_OPENER, OPEN_ARRAY);
-        stateTransitionTable.get(IDLE).put(TokenType.NUMBER, IDLE);
-
-        stateTransitionTable.get(AWAITING_VALUE).put(TokenType.CONTENT, VALUE_PARSED_IN_OBJECT);
-        stateTransitionTable.get(AWAITING_VALUE).put(TokenType.OBJECT_OPENER, OPEN_OBJECT);
-        stateTransitionTable.get(AWAITING_VALUE).put(TokenType.ARRAY_OPENER, OPEN_ARRAY);
-        stateTransitionTable.get(AWAITING_VALUE).put(TokenType.BOOLEAN, VALUE_PARSED_IN_OBJECT);
-        stateTransitionTable.get(AWAITING_VALUE).put(TokenType.NULL, VALUE_PARSED_IN_OBJECT);
-        stateTransitionTable.get(AWAITING_VALUE).put(TokenType.NUMBER, VALUE_PARSED_IN_OBJECT);
-
-        stateTransitionTable.get(OPEN_OBJECT).put(TokenType.ARRAY_OPENER, OPEN_ARRAY);
-        stateTransitionTable.get(OPEN_OBJECT).put(TokenType.OBJECT_OPENER, OPEN_OBJECT);
-        stateTransitionTable.get(OPEN_OBJECT).put(TokenType.CONTENT, OBJECT_KEY);
-        stateTransitionTable.get(OPEN_OBJECT).put(TokenType.OBJECT_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(OPEN_OBJECT).put(TokenType.ARRAY_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(OPEN_OBJECT).put(TokenType.COMMA, OPEN_OBJECT);
-
-        stateTransitionTable.get(OBJECT_KEY).put(TokenType.COLON, AWAITING_VALUE);
-        stateTransitionTable.get(OBJECT_KEY).put(TokenType.CONTENT, OBJECT_KEY);
-
-        stateTransitionTable.get(OBJECT_VALUE).put(TokenType.CONTENT, VALUE_PARSED_IN_OBJECT);
-        stateTransitionTable.get(OBJECT_VALUE).put(TokenType.OBJECT_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(OBJECT_VALUE).put(TokenType.COMMA, OPEN_OBJECT);
-
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.OBJECT_OPENER, OPEN_OBJECT);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.ARRAY_OPENER, OPEN_ARRAY);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.CONTENT, ARRAY_VALUE);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.OBJECT_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.ARRAY_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.BOOLEAN, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.NULL, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.NUMBER, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(OPEN_ARRAY).put(TokenType.COMMA, OPEN_ARRAY);
-
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.CONTENT, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.ARRAY_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.NUMBER, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.BOOLEAN, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.NULL, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.OBJECT_OPENER, OPEN_OBJECT);
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.ARRAY_OPENER, OPEN_ARRAY);
-        stateTransitionTable.get(ARRAY_VALUE).put(TokenType.COMMA, OPEN_ARRAY);
-
-        stateTransitionTable.get(VALUE_PARSED_IN_OBJECT).put(TokenType.COMMA, OPEN_OBJECT);
-        stateTransitionTable.get(VALUE_PARSED_IN_OBJECT).put(TokenType.OBJECT_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(VALUE_PARSED_IN_OBJECT).put(TokenType.ARRAY_CLOSER, RETURN_TO_PREVIOUS);
-
-        stateTransitionTable.get(VALUE_PARSED_IN_ARRAY).put(TokenType.COMMA, OPEN_ARRAY);
-        stateTransitionTable.get(VALUE_PARSED_IN_ARRAY).put(TokenType.ARRAY_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(VALUE_PARSED_IN_ARRAY).put(TokenType.OBJECT_CLOSER, RETURN_TO_PREVIOUS);
-        stateTransitionTable.get(VALUE_PARSED_IN_ARRAY).put(TokenType.NUMBER, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(VALUE_PARSED_IN_ARRAY).put(TokenType.BOOLEAN, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(VALUE_PARSED_IN_ARRAY).put(TokenType.NULL, VALUE_PARSED_IN_ARRAY);
-        stateTransitionTable.get(VALUE_PARSED_IN_ARRAY).put(TokenType.CONTENT, VALUE_PARSED_IN_ARRAY);
+    public String describeError(int errorCode) {
+        return grammar.errorMessage(-errorCode - 1);
     }
 
     public void nextState(TokenType currentTokenType) {
-        State nextState = stateTransitionTable.get(currentState).get(currentTokenType);
+        int result = advance(currentTokenType);
 
-        if (nextState == null) {
-            throw new IllegalStateException("Cannot transition from " + currentState + " with " + currentTokenType + ".");
+        if (result < 0) {
+            throw new IllegalStateException(describeError(result));
         }
+    }
 
-        boolean nextStateIsAnOpenState = (nextState == OPEN_OBJECT || nextState == OPEN_ARRAY);
-
-        if (nextStateIsAnOpenState) {
-            if (currentState == AWAITING_VALUE) {
-                stateHistory.push(VALUE_PARSED_IN_OBJECT); // AWAITING_VALUE only occurs when inside an object context
-            } else if (currentState == OPEN_ARRAY) {
-                stateHistory.push(VALUE_PARSED_IN_ARRAY);
-            }
-        } else if (nextState == RETURN_TO_PREVIOUS) { // Special state that triggers the FSM to pop previous state from the stack.
-            if (!stateHistory.isEmpty()) {
-                nextState = stateHistory.pop();
-            } else {
-                nextState = IDLE;
-            }
-        }
+    // True when the last token was an object member name
+    public boolean isAtKey() {
+        return currentState == grammar.keyState();
+    }
 
-        currentState = nextState;
+    public int getDepth() {
+        return depth;
     }
 
     public State getCurrentState() {
-        return this.currentState;
+        return grammar.view(currentState);
     }
 
     public void reset() {
-        this.currentState = IDLE;
-        this.stateHistory.clear();
+        this.currentState = 0;
+        this.depth = 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,237 @@
+package jsonjar.state_management;
+
+import jsonjar.lexing_parsing.TokenType;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static jsonjar.state_management.State.*;
+
+// A JSON grammar compiled into one flat transition table indexed by state * TOKEN_TYPES + token type.
+// Each cell packs the next state with a push or pop of the container stack, or is ERROR, in which case
+// the message for that state and token was built when the table was compiled. Extensions are folded
+// in at compile time (see GrammarExtension), so the machine that runs the table never branches on them.
+//
+// LENIENT is the grammar JsonParser has always accepted, which lets through stray and trailing commas
+// among other things. STRICT follows RFC 8259, except that a lone string, boolean or null document
+// needs GrammarExtension.TOP_LEVEL_SCALARS, as JsonParser never accepted one.
+
+public final class JsonGrammar {
+    static final int TOKEN_TYPES = TokenType.values().length;
+
+    // Cell layout: next state in the low byte, the state to resume after a pushed container in the
+    // second byte, then the action flags. Popping an empty stack returns to state 0.
+    static final int ERROR = -1;
+    static final int STATE_MASK = 0xFF;
+    static final int RESUME_SHIFT = 8;
+    static final int PUSH = 1 << 16;
+    static final int POP = 1 << 17;
+
+    // Strict states
+    static final int START = 0;
+    static final int OBJECT_START = 1;       // After {
+    static final int KEY = 2;                // After a member name
+    static final int MEMBER_VALUE = 3;       // After :
+    static final int AFTER_OBJECT_VALUE = 4;
+    static final int OBJECT_NEXT_KEY = 5;    // After a comma in an object
+    static final int ARRAY_START = 6;        // After [
+    static final int AFTER_ARRAY_VALUE = 7;
+    static final int ARRAY_NEXT_VALUE = 8;   // After a comma in an array
+    static final int END = 9;                // The top-level value is complete
+
+    // How the strict states look through the public State enum
+    private static final State[] STRICT_VIEWS = {
+            IDLE, OPEN_OBJECT, OBJECT_KEY, AWAITING_VALUE, VALUE_PARSED_IN_OBJECT,
+            OPEN_OBJECT, OPEN_ARRAY, VALUE_PARSED_IN_ARRAY, OPEN_ARRAY, IDLE
+    };
+
+    // Declared after the constants their construction reads
+    public static final JsonGrammar LENIENT = new JsonGrammar(State.values(), OBJECT_KEY.ordinal(), lenientTable(), EnumSet.noneOf(GrammarExtension.class));
+    public static final JsonGrammar STRICT = strict(EnumSet.noneOf(GrammarExtension.class));
+
+    private final State[] views;
+    private final int keyState;
+    private final int[] transitions;
+    private final String[] errorMessages;
+    private final Set<GrammarExtension> extensions;
+
+    private JsonGrammar(State[] views, int keyState, Table table, Set<GrammarExtension> extensions) {
+        this.views = views;
+        this.keyState = keyState;
+        this.transitions = table.cells;
+        this.extensions = extensions;
+
+        this.errorMessages = new String[transitions.length];
+        for (int state = 0; state < views.length; state++) {
+            for (TokenType type : TokenType.values()) {
+                errorMessages[state * TOKEN_TYPES + type.ordinal()] = "Cannot transition from " + views[state] + " with " + type + ".";
+            }
+        }
+    }
+
+    // RFC 8259 plus the given extensions
+    public static JsonGrammar strict(Set<GrammarExtension> extensions) {
+        Set<GrammarExtension> copy = EnumSet.noneOf(GrammarExtension.class);
+        copy.addAll(extensions);
+
+        Table table = strictTable();
+        for (GrammarExtension extension : copy) {
+            extension.extend(table);
+        }
+        return new JsonGrammar(STRICT_VIEWS, KEY, table, copy);
+    }
+
+    public Set<GrammarExtension> extensions() {
+        Set<GrammarExtension> copy = EnumSet.noneOf(GrammarExtension.class);
+        copy.addAll(extensions);
+        return copy;
+    }
+
+    int transition(int state, int tokenType) {
+        return transitions[state * TOKEN_TYPES + tokenType];
+    }
+
+    int keyState() {
+        return keyState;
+    }
+
+    String errorMessage(int cell) {
+        return errorMessages[cell];
+    }
+
+    State view(int state) {
+        return views[state];
+    }
+
+    private static Table strictTable() {
+        Table table = new Table(STRICT_VIEWS.length);
+
+        table.open(START, TokenType.OBJECT_OPENER, OBJECT_START, END);
+        table.open(START, TokenType.ARRAY_OPENER, ARRAY_START, END);
+        table.move(START, TokenType.NUMBER, END);
+
+        table.move(OBJECT_START, TokenType.CONTENT, KEY);
+        table.close(OBJECT_START, TokenType.OBJECT_CLOSER);
+        table.move(KEY, TokenType.COLON, MEMBER_VALUE);
+        table.value(MEMBER_VALUE, AFTER_OBJECT_VALUE);
+        table.move(AFTER_OBJECT_VALUE, TokenType.COMMA, OBJECT_NEXT_KEY);
+        table.close(AFTER_OBJECT_VALUE, TokenType.OBJECT_CLOSER);
+        table.move(OBJECT_NEXT_KEY, TokenType.CONTENT, KEY);
+
+        table.value(ARRAY_START, AFTER_ARRAY_VALUE);
+        table.close(ARRAY_START, TokenType.ARRAY_CLOSER);
+        table.move(AFTER_ARRAY_VALUE, TokenType.COMMA, ARRAY_NEXT_VALUE);
+        table.close(AFTER_ARRAY_VALUE, TokenType.ARRAY_CLOSER);
+        table.value(ARRAY_NEXT_VALUE, AFTER_ARRAY_VALUE);
+        return table;
+    }
+
+    // The original EnumMap grammar, cell for cell. Only containers opened after a colon or directly
+    // inside an array remember where to resume; closing any other container returns to IDLE.
+    private static Table lenientTable() {
+        Table table = new Table(State.values().length);
+
+        table.move(IDLE, TokenType.OBJECT_OPENER, OPEN_OBJECT);
+        table.move(IDLE, TokenType.ARRAY_OPENER, OPEN_ARRAY);
+        table.move(IDLE, TokenType.NUMBER, IDLE);
+
+        table.move(AWAITING_VALUE, TokenType.CONTENT, VALUE_PARSED_IN_OBJECT);
+        table.open(AWAITING_VALUE, TokenType.OBJECT_OPENER, OPEN_OBJECT, VALUE_PARSED_IN_OBJECT);
+        table.open(AWAITING_VALUE, TokenType.ARRAY_OPENER, OPEN_ARRAY, VALUE_PARSED_IN_OBJECT);
+        table.move(AWAITING_VALUE, TokenType.BOOLEAN, VALUE_PARSED_IN_OBJECT);
+        table.move(AWAITING_VALUE, TokenType.NULL, VALUE_PARSED_IN_OBJECT);
+        table.move(AWAITING_VALUE, TokenType.NUMBER, VALUE_PARSED_IN_OBJECT);
+
+        table.move(OPEN_OBJECT, TokenType.ARRAY_OPENER, OPEN_ARRAY);
+        table.move(OPEN_OBJECT, TokenType.OBJECT_OPENER, OPEN_OBJECT);
+        table.move(OPEN_OBJECT, TokenType.CONTENT, OBJECT_KEY);
+        table.close(OPEN_OBJECT, TokenType.OBJECT_CLOSER);
+        table.close(OPEN_OBJECT, TokenType.ARRAY_CLOSER);
+        table.move(OPEN_OBJECT, TokenType.COMMA, OPEN_OBJECT);
+
+        table.move(OBJECT_KEY, TokenType.COLON, AWAITING_VALUE);
+        table.move(OBJECT_KEY, TokenType.CONTENT, OBJECT_KEY);
+
+        table.move(OBJECT_VALUE, TokenType.CONTENT, VALUE_PARSED_IN_OBJECT);
+        table.close(OBJECT_VALUE, TokenType.OBJECT_CLOSER);
+        table.move(OBJECT_VALUE, TokenType.COMMA, OPEN_OBJECT);
+
+        table.open(OPEN_ARRAY, TokenType.OBJECT_OPENER, OPEN_OBJECT, VALUE_PARSED_IN_ARRAY);
+        table.open(OPEN_ARRAY, TokenType.ARRAY_OPENER, OPEN_ARRAY, VALUE_PARSED_IN_ARRAY);
+        table.move(OPEN_ARRAY, TokenType.CONTENT, ARRAY_VALUE);
+        table.close(OPEN_ARRAY, TokenType.OBJECT_CLOSER);
+        table.close(OPEN_ARRAY, TokenType.ARRAY_CLOSER);
+        table.move(OPEN_ARRAY, TokenType.BOOLEAN, VALUE_PARSED_IN_ARRAY);
+        table.move(OPEN_ARRAY, TokenType.NULL, VALUE_PARSED_IN_ARRAY);
+        table.move(OPEN_ARRAY, TokenType.NUMBER, VALUE_PARSED_IN_ARRAY);
+        table.open(OPEN_ARRAY, TokenType.COMMA, OPEN_ARRAY, VALUE_PARSED_IN_ARRAY); // The original machine pushed here too
+
+        table.move(ARRAY_VALUE, TokenType.CONTENT, VALUE_PARSED_IN_ARRAY);
+        table.close(ARRAY_VALUE, TokenType.ARRAY_CLOSER);
+        table.move(ARRAY_VALUE, TokenType.NUMBER, VALUE_PARSED_IN_ARRAY);
+        table.move(ARRAY_VALUE, TokenType.BOOLEAN, VALUE_PARSED_IN_ARRAY);
+        table.move(ARRAY_VALUE, TokenType.NULL, VALUE_PARSED_IN_ARRAY);
+        table.move(ARRAY_VALUE, TokenType.OBJECT_OPENER, OPEN_OBJECT);
+        table.move(ARRAY_VALUE, TokenType.ARRAY_OPENER, OPEN_ARRAY);
+        table.move(ARRAY_VALUE, TokenType.COMMA, OPEN_ARRAY);
+
+        table.move(VALUE_PARSED_IN_OBJECT, TokenType.COMMA, OPEN_OBJECT);
+        table.close(VALUE_PARSED_IN_OBJECT, TokenType.OBJECT_CLOSER);
+        table.close(VALUE_PARSED_IN_OBJECT, TokenType.ARRAY_CLOSER);
+
+        table.move(VALUE_PARSED_IN_ARRAY, TokenType.COMMA, OPEN_ARRAY);
+        table.close(VALUE_PARSED_IN_ARRAY, TokenType.ARRAY_CLOSER);
+        table.close(VALUE_PARSED_IN_ARRAY, TokenType.OBJECT_CLOSER);
+        table.move(VALUE_PARSED_IN_ARRAY, TokenType.NUMBER, VALUE_PARSED_IN_ARRAY);
+        table.move(VALUE_PARSED_IN_ARRAY, TokenType.BOOLEAN, VALUE_PARSED_IN_ARRAY);
+        table.move(VALUE_PARSED_IN_ARRAY, TokenType.NULL, VALUE_PARSED_IN_ARRAY);
+        table.move(VALUE_PARSED_IN_ARRAY, TokenType.CONTENT, VALUE_PARSED_IN_ARRAY);
+        return table;
+    }
+
+    // Mutable table written while a grammar is compiled
+    static final class Table {
+        private final int[] cells;
+
+        private Table(int states) {
+            cells = new int[states * TOKEN_TYPES];
+            Arrays.fill(cells, ERROR);
+        }
+
+        void move(int state, TokenType type, int next) {
+            cells[state * TOKEN_TYPES + type.ordinal()] = next;
+        }
+
+        // Opens a container; once it closes the machine resumes in the given state
+        void open(int state, TokenType type, int next, int resume) {
+            cells[state * TOKEN_TYPES + type.ordinal()] = next | resume << RESUME_SHIFT | PUSH;
+        }
+
+        void close(int state, TokenType type) {
+            cells[state * TOKEN_TYPES + type.ordinal()] = POP;
+        }
+
+        // Any value: scalars move straight to after, containers resume there once closed
+        void value(int state, int after) {
+            move(state, TokenType.CONTENT, after);
+            move(state, TokenType.NUMBER, after);
+            move(state, TokenType.BOOLEAN, after);
+            move(state, TokenType.NULL, after);
+            open(state, TokenType.OBJECT_OPENER, OBJECT_START, after);
+            open(state, TokenType.ARRAY_OPENER, ARRAY_START, after);
+        }
+
+        private void move(State state, TokenType type, State next) {
+            move(state.ordinal(), type, next.ordinal());
+        }
+
+        private void open(State state, TokenType type, State next, State resume) {
+            open(state.ordinal(), type, next.ordinal(), resume.ordinal());
+        }
+
+        private void close(State state, TokenType type) {
+            close(state.ordinal(), type);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package allocation;
+
+import com.sun.management.ThreadMXBean;
+import jsonjar.generator.CorpusShape;
+import jsonjar.generator.JsonCorpusGenerator;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonArray;
+import jsonjar.json_objects.JsonObject;
+import jsonjar.lexing_parsing.JsonParseContext;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonValidator;
+import jsonjar.printing.JsonPrettyPrinter;
+import jsonjar.printing.JsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bytes allocated per operation in steady state, measured on the calling thread. Budgets sit roughly
+// 50% above what the current implementation allocates, so they catch regressions without tracking
+// every small change; lower them when an optimisation lands.
+
+class AllocationBudgetTest {
+    private static final String TINY = "{\"id\": 12345, \"user\": {\"name\": \"Ada\", \"roles\": [\"admin\", \"dev\"], \"verified\": true}, \"score\": 9.75}";
+    private static final int RECORDS_SIZE = 16 * 1024;
+
+    private static final long PARSE_TINY_BUDGET = 1200;
+    private static final long PARSE_RECORDS_BUDGET = 160 * 1024;
+    private static final long SCOPED_PARSE_TINY_BUDGET = 900;
+    private static final long SCOPED_PARSE_RECORDS_BUDGET = 130 * 1024;
+    private static final long TO_STRING_RECORDS_BUDGET = 600 * 1024;
+    private static final long PRETTY_RECORDS_BUDGET = 300 * 1024;
+    private static final long WRITE_COMPACT_RECORDS_BUDGET = 48 * 1024;
+    private static final long UNBOXED_LONG_GET_BUDGET = 168;
+    private static final long UNBOXED_DOUBLE_GET_BUDGET = 312;
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Object sink; // Keeps results reachable so that no work is optimised away
+    private static double primitiveSink;
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws IOException;
+    }
+
+    private JsonParser parser;
+    private String records;
+
+    @BeforeEach
+    void init() throws IOException {
+        parser = new JsonParser();
+        StringWriter writer = new StringWriter();
+        new JsonCorpusGenerator(CorpusShape.DEFAULT).writeRecords(writer, RECORDS_SIZE);
+        records = writer.toString();
+    }
+
+    // Runs the operation once per iteration to warm up, then again while measuring
+    private static long bytesPerOperation(int iterations, Operation operation) throws IOException {
+        assertTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / iterations;
+    }
+
+    private static void assertWithinBudget(long budget, long allocated, String operation) {
+        assertTrue(allocated <= budget, operation + " allocated " + allocated + " bytes per document, budget is " + budget);
+    }
+
+    @Test
+    void givenDocumentsThenParseWithinBudget() throws IOException {
+        assertWithinBudget(PARSE_TINY_BUDGET, bytesPerOperation(2000, () -> sink = parser.parseFromString(TINY)), "Parsing a tiny object");
+        assertWithinBudget(PARSE_RECORDS_BUDGET, bytesPerOperation(100, () -> sink = parser.parseFromString(records)), "Parsing 16 KB of records");
+    }
+
+    @Test
+    void givenParseContextThenParseScopedDocumentsWithinBudget() throws IOException {
+        JsonParseContext context = new JsonParseContext();
+        Operation parseTiny = () -> {
+            try (JsonParseContext.ScopedDocument document = context.parseScoped(TINY)) {
+                sink = document.root();
+            }
+        };
+        Operation parseRecords = () -> {
+            try (JsonParseContext.ScopedDocument document = context.parseScoped(records)) {
+                sink = document.root();
+            }
+        };
+
+        assertWithinBudget(SCOPED_PARSE_TINY_BUDGET, bytesPerOperation(2000, parseTiny), "Scoped parsing of a tiny object");
+        assertWithinBudget(SCOPED_PARSE_RECORDS_BUDGET, bytesPerOperation(100, parseRecords), "Scoped parsing of 16 KB of records");
+    }
+
+    @Test
+    void givenParsedDocumentThenPrintWithinBudget() throws IOException {
+        Json document = parser.parseFromString(records);
+        JsonPrettyPrinter printer = new JsonPrettyPrinter();
+        JsonWriter writer = new JsonWriter();
+
+        assertWithinBudget(TO_STRING_RECORDS_BUDGET, bytesPerOperation(100, () -> sink = document.toString()), "toString");
+        assertWithinBudget(PRETTY_RECORDS_BUDGET, bytesPerOperation(100, () -> sink = printer.getFormattedJsonString(document, 0)), "Pretty printing");
+        assertWithinBudget(WRITE_COMPACT_RECORDS_BUDGET, bytesPerOperation(100, () -> writer.writeCompact(document, OutputStream.nullOutputStream())), "Writing compact bytes");
+    }
+
+    @Test
+    void givenValidationThenAllocateNothing() throws IOException {
+        byte[] bytes = records.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(0, bytesPerOperation(500, () -> sink = JsonValidator.isValid(bytes)));
+        assertEquals(0, bytesPerOperation(500, () -> sink = JsonValidator.isValid(records)));
+        assertEquals(0, bytesPerOperation(500, () -> sink = JsonValidator.isValid("{\"a\": [1, tru")));
+    }
+
+    @Test
+    void givenPrimitiveAccessorsThenAllocateNothing() throws IOException {
+        JsonObject record = parser.parseFromString(TINY).toJsonObject();
+        JsonArray numbers = parser.parseFromString("[1, 2, 3, 4, 5, 6, 7, 8]").toJsonArray();
+        JsonArray largeNumbers = parser.parseFromString("[1000, -70000, 9223372036854775807]").toJsonArray();
+        JsonArray doubles = parser.parseFromString("[0.5, 2.25, 1234.125]").toJsonArray();
+
+        assertEquals(0, bytesPerOperation(20_000, () -> {
+            sink = record.getAsBigDecimal("id");
+            sink = record.getAsJsonObject("user").getAsString("name");
+            sink = record.getAsJsonObject("user").getAsJsonArray("roles").getAsString(1);
+            sink = record.getAsJsonObject("user").getAsBoolean("verified");
+            sink = numbers.getAsBigDecimal(3);
+            sink = numbers.get(7);
+            primitiveSink += largeNumbers.getAsLong(1) + largeNumbers.getAsLong(2);
+            primitiveSink += doubles.getAsDouble(2);
+        }));
+    }
+
+    // Unboxed elements outside the small-integer cache may be materialised on every get
+    @Test
+    void givenUnboxedElementsOutsideSmallIntegersThenGetAllocatesWithinBudget() throws IOException {
+        JsonArray largeNumbers = parser.parseFromString("[1000, -70000, 9223372036854775807]").toJsonArray();
+        JsonArray doubles = parser.parseFromString("[0.5, 2.25, 1234.125]").toJsonArray();
+
+        long longRead = bytesPerOperation(20_000, () -> sink = largeNumbers.get(1));
+        long doubleRead = bytesPerOperation(20_000, () -> sink = doubles.get(2));
+
+        assertWithinBudget(UNBOXED_LONG_GET_BUDGET, longRead, "Reading an unboxed long");
+        assertWithinBudget(UNBOXED_DOUBLE_GET_BUDGET, doubleRead, "Reading an unboxed double");
+    }
+}
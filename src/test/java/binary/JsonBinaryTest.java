@@ -0,0 +1,134 @@
+package binary;
+
+import jsonjar.binary.JsonBinaryDecoder;
+import jsonjar.binary.JsonBinaryEncoder;
+import jsonjar.error_handling.JsonBinaryFormatException;
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonBinaryTest {
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser();
+    }
+
+    private void assertRoundTrip(String json) throws IOException {
+        Json original = parser.parseFromString(json);
+        Json decoded = JsonBinaryDecoder.decode(JsonBinaryEncoder.encode(original));
+
+        assertEquals(original, decoded);
+        assertEquals(original.toString(), decoded.toString());
+    }
+
+    @Test
+    void givenValuesThenRoundTripExactly() throws IOException {
+        assertRoundTrip("{\"a\": 1, \"b\": -42, \"c\": 9223372036854775807, \"d\": 1.50, \"e\": 1e5, \"f\": -0, \"g\": 123456789012345678901234567890}");
+        assertRoundTrip("[true, false, null, \"text\", \"\", \"caf\\u00e9 \\ud83d\\ude00\", [], {}]");
+        assertRoundTrip("{\"nested\": {\"deeper\": [[1, 2], {\"x\": 0.001}]}}");
+    }
+
+    @Test
+    void givenTestResourcesThenRoundTrip() throws IOException {
+        for (String name : new String[]{"pass.json", "pass_complicatedNumber.json", "pass_nestedComplete.json", "pass_multipleEscapeSequences.json"}) {
+            Json original = parser.parseFromFile(new File("src/test/resources/" + name));
+            assertEquals(original.toString(), JsonBinaryDecoder.decode(JsonBinaryEncoder.encode(original)).toString());
+        }
+    }
+
+    @Test
+    void givenRepeatedKeysThenEncodeBackReferences() throws IOException {
+        Json records = parser.parseFromString("[{\"identifier\": 1}, {\"identifier\": 2}, {\"identifier\": 3}]");
+
+        byte[] encoded = JsonBinaryEncoder.encode(records);
+        String asText = new String(encoded, StandardCharsets.ISO_8859_1);
+
+        assertEquals(asText.indexOf("identifier"), asText.lastIndexOf("identifier"));
+        assertTrue(encoded.length < records.toString().length());
+
+        JsonArray decoded = JsonBinaryDecoder.decode(encoded).toJsonArray();
+        String firstKey = decoded.getAsJsonObject(0).getValue().keySet().iterator().next();
+        String lastKey = decoded.getAsJsonObject(2).getValue().keySet().iterator().next();
+        assertSame(firstKey, lastKey);
+    }
+
+    @Test
+    void givenPersistentContainersThenEncodeLikeMutableOnes() throws IOException {
+        JsonObject mutable = parser.parseFromString("{\"a\": [1, {\"b\": null}]}").toJsonObject();
+
+        assertArrayEquals(JsonBinaryEncoder.encode(mutable), JsonBinaryEncoder.encode(PersistentJsonObject.from(mutable)));
+    }
+
+    @Test
+    void givenStreamingWritesThenDecodeWholeDocument() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonBinaryEncoder encoder = new JsonBinaryEncoder(output);
+
+        encoder.writeArrayHeader(1000);
+        for (int i = 0; i < 1000; i++) {
+            encoder.writeObjectHeader(1);
+            encoder.writeKey("id");
+            encoder.writeValue(JsonNumber.valueOf(i));
+        }
+        encoder.flush();
+
+        JsonArray decoded = JsonBinaryDecoder.decode(output.toByteArray()).toJsonArray();
+        assertEquals(1000, decoded.size());
+        assertEquals("{\"id\":999}", decoded.get(999).toString());
+    }
+
+    @Test
+    void givenBufferSliceThenDecodeWithoutMovingIt() throws IOException {
+        byte[] encoded = JsonBinaryEncoder.encode(parser.parseFromString("[1, 2]"));
+        byte[] padded = new byte[encoded.length + 4];
+        System.arraycopy(encoded, 0, padded, 2, encoded.length);
+        ByteBuffer buffer = ByteBuffer.wrap(padded, 2, encoded.length);
+
+        assertEquals("[1,2]", JsonBinaryDecoder.decode(buffer).toString());
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    void givenCorruptInputThenThrow() throws IOException {
+        byte[] encoded = JsonBinaryEncoder.encode(parser.parseFromString("{\"a\": [1, 2, 3]}"));
+
+        assertThrows(JsonBinaryFormatException.class, () -> JsonBinaryDecoder.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(JsonBinaryFormatException.class, () -> JsonBinaryDecoder.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+        assertThrows(JsonBinaryFormatException.class, () -> JsonBinaryDecoder.decode("{}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(JsonBinaryFormatException.class, () -> JsonBinaryDecoder.decode(new byte[]{'J', 'B', 1, 0x7F}));
+    }
+
+    @Test
+    void givenDeeplyNestedInputThenDecodeWithoutOverflowingTheStack() {
+        int depth = 200_000;
+        byte[] nested = new byte[3 + 2 * depth + 1];
+        nested[0] = 'J';
+        nested[1] = 'B';
+        nested[2] = 1;
+        for (int i = 0; i < depth; i++) {
+            nested[3 + 2 * i] = 0x07; // Array of one element
+            nested[4 + 2 * i] = 1;
+        }
+
+        Json decoded = JsonBinaryDecoder.decode(nested);
+        for (int i = 0; i < depth; i++) {
+            decoded = decoded.toJsonArray().get(0);
+        }
+        assertEquals(JsonNull.getInstance(), decoded);
+
+        byte[] truncated = Arrays.copyOf(nested, nested.length - 1);
+        assertThrows(JsonBinaryFormatException.class, () -> JsonBinaryDecoder.decode(truncated));
+    }
+}
@@ -0,0 +1,125 @@
+package binary;
+
+import jsonjar.binary.JsonSnapshot;
+import jsonjar.error_handling.JsonBinaryFormatException;
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.error_handling.JsonWriteException;
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.printing.JsonWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSnapshotTest {
+    private JsonParser parser;
+    private Path file;
+
+    @BeforeEach
+    void init() throws IOException {
+        parser = new JsonParser();
+        file = Files.createTempFile("jsonjar", ".snapshot");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private Json reopen(Json original) throws IOException {
+        JsonSnapshot.write(original, file);
+        return JsonSnapshot.open(file).getRoot();
+    }
+
+    @Test
+    void givenDocumentThenReopenEqualToOriginal() throws IOException {
+        Json original = parser.parseFromString("{\"a\": 1, \"b\": [true, false, null, 1.50, -7, 1e5], \"c\": {\"d\": \"caf\\u00e9 \\ud83d\\ude00\", \"e\": {}}, \"f\": []}");
+        Json reopened = reopen(original);
+
+        assertInstanceOf(JsonObject.class, reopened);
+        assertEquals(original, reopened);
+        assertEquals(original.hashCode(), reopened.hashCode());
+        assertEquals(original.toString(), reopened.toString());
+        assertArrayEquals(new JsonWriter().getPrettyBytes(original, 0), new JsonWriter().getPrettyBytes(reopened, 0));
+    }
+
+    @Test
+    void givenTestResourcesThenReopenEqualToOriginal() throws IOException {
+        for (String name : new String[]{"pass.json", "pass_complicatedNumber.json", "pass_nestedComplete.json", "pass_multipleEscapeSequences.json"}) {
+            Json original = parser.parseFromFile(new File("src/test/resources/" + name));
+            assertEquals(original.toString(), reopen(original).toString());
+        }
+    }
+
+    @Test
+    void givenReopenedDocumentThenAccessorsWorkLikeHeapModel() throws IOException {
+        JsonObject reopened = (JsonObject) reopen(parser.parseFromString("{\"name\": \"jsonjar\", \"tags\": [\"a\", \"b\"], \"sizes\": [1, 2, 3], \"meta\": {\"ok\": true}}"));
+
+        assertEquals("jsonjar", reopened.getAsString("name"));
+        assertEquals(List.of(new JsonString("a"), new JsonString("b")), reopened.getAsArrayList("tags"));
+        assertArrayEquals(new long[]{1, 2, 3}, reopened.getAsJsonArray("sizes").toLongArray());
+        assertTrue(reopened.getAsJsonObject("meta").getAsBoolean("ok"));
+        assertNull(reopened.get("missing"));
+        assertEquals(4, reopened.size());
+        assertThrows(JsonReadException.class, () -> reopened.getAsString("sizes"));
+    }
+
+    @Test
+    void givenManyKeysThenLookUpEveryKey() throws IOException {
+        JsonObject original = new JsonObject();
+        for (int i = 0; i < 1000; i++) {
+            original.addValue("key" + i, JsonNumber.valueOf(i));
+        }
+        original.addValue("Aa", new JsonString("first")); // "Aa" and "BB" share a String.hashCode
+        original.addValue("BB", new JsonString("second"));
+
+        JsonObject reopened = (JsonObject) reopen(original);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(JsonNumber.valueOf(i), reopened.get("key" + i));
+        }
+        assertEquals("first", reopened.getAsString("Aa"));
+        assertEquals("second", reopened.getAsString("BB"));
+        assertNull(reopened.get("key1000"));
+    }
+
+    @Test
+    void givenReopenedDocumentThenRejectMutation() throws IOException {
+        JsonObject reopened = (JsonObject) reopen(parser.parseFromString("{\"a\": [1, 2]}"));
+
+        assertTrue(reopened.isFrozen());
+        assertThrows(JsonWriteException.class, () -> reopened.addValue("b", JsonNull.getInstance()));
+        assertThrows(JsonWriteException.class, () -> reopened.getAsJsonArray("a").addValue(JsonNull.getInstance()));
+        assertThrows(JsonWriteException.class, () -> reopened.getAsJsonArray("a").removeValue(0));
+
+        JsonObject copy = reopened.deepCopy();
+        copy.addValue("b", JsonNull.getInstance());
+        assertEquals("{\"a\":[1,2],\"b\":null}", copy.toString());
+    }
+
+    @Test
+    void givenClosedSnapshotThenViewsFailOnAccess() throws IOException {
+        JsonSnapshot.write(parser.parseFromString("{\"a\": [1, 2]}"), file);
+        JsonSnapshot snapshot = JsonSnapshot.open(file);
+        JsonObject root = (JsonObject) snapshot.getRoot();
+
+        snapshot.close();
+
+        assertThrows(JsonReadException.class, () -> root.get("a"));
+    }
+
+    @Test
+    void givenFileThatIsNotSnapshotThenThrow() throws IOException {
+        Files.writeString(file, "{\"not\": \"a snapshot\"}");
+
+        assertThrows(JsonBinaryFormatException.class, () -> JsonSnapshot.open(file));
+    }
+}
@@ -0,0 +1,78 @@
+package binary;
+
+import jsonjar.binary.JsonSnapshot;
+import jsonjar.binary.OffHeapJsonDocument;
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.error_handling.JsonWriteException;
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapJsonDocumentTest {
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser();
+    }
+
+    @Test
+    void givenDocumentThenOffHeapCopyIsEqual() throws IOException {
+        Json original = parser.parseFromFile(new File("src/test/resources/pass_nestedComplete.json"));
+
+        try (OffHeapJsonDocument document = OffHeapJsonDocument.of(original)) {
+            assertEquals(original, document.getRoot());
+            assertEquals(original.toString(), document.getRoot().toString());
+            assertTrue(document.sizeInBytes() > 0);
+        }
+    }
+
+    @Test
+    void givenOffHeapDocumentThenAccessorsWorkLikeHeapModel() throws IOException {
+        Json original = parser.parseFromString("[{\"id\": 1, \"name\": \"first\"}, {\"id\": 2, \"name\": \"second\"}]");
+
+        try (OffHeapJsonDocument document = OffHeapJsonDocument.of(original)) {
+            JsonArray records = (JsonArray) document.getRoot();
+
+            assertEquals(2, records.size());
+            assertEquals("second", records.getAsJsonObject(1).getAsString("name"));
+            assertEquals(1, records.getAsJsonObject(0).getAsBigDecimal("id").intValue());
+            assertThrows(JsonWriteException.class, () -> records.addValue(JsonNull.getInstance()));
+        }
+    }
+
+    @Test
+    void givenSnapshotFileThenLoadIntoDirectMemory() throws IOException {
+        Json original = parser.parseFromString("{\"a\": [1, 2.5, \"three\"], \"b\": null}");
+        Path file = Files.createTempFile("jsonjar", ".snapshot");
+
+        try {
+            JsonSnapshot.write(original, file);
+            try (OffHeapJsonDocument document = OffHeapJsonDocument.load(file)) {
+                assertEquals(original, document.getRoot());
+                assertEquals(Files.size(file), document.sizeInBytes());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void givenClosedDocumentThenViewsFailOnAccess() throws IOException {
+        OffHeapJsonDocument document = OffHeapJsonDocument.of(parser.parseFromString("{\"a\": [1, 2]}"));
+        JsonArray array = ((JsonObject) document.getRoot()).getAsJsonArray("a");
+
+        document.close();
+
+        assertThrows(JsonReadException.class, () -> array.get(0));
+        assertThrows(JsonReadException.class, document::getRoot);
+    }
+}
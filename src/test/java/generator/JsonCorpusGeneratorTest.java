@@ -0,0 +1,72 @@
+package generator;
+
+import jsonjar.generator.CorpusShape;
+import jsonjar.generator.JsonCorpusGenerator;
+import jsonjar.json_objects.Json;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonValidator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCorpusGeneratorTest {
+    private static String records(CorpusShape shape, long targetBytes) throws IOException {
+        StringWriter writer = new StringWriter();
+        new JsonCorpusGenerator(shape).writeRecords(writer, targetBytes);
+        return writer.toString();
+    }
+
+    private static String ndjson(CorpusShape shape, long documents) throws IOException {
+        StringWriter writer = new StringWriter();
+        new JsonCorpusGenerator(shape).writeNdjson(writer, documents);
+        return writer.toString();
+    }
+
+    @Test
+    void givenSameSeedThenSameOutput() throws IOException {
+        assertEquals(records(CorpusShape.DEFAULT, 20_000), records(CorpusShape.DEFAULT, 20_000));
+        assertNotEquals(records(CorpusShape.DEFAULT, 20_000), records(CorpusShape.DEFAULT.withSeed(2), 20_000));
+    }
+
+    @Test
+    void givenTargetSizeThenReachIt() throws IOException {
+        StringWriter writer = new StringWriter();
+        JsonCorpusGenerator generator = new JsonCorpusGenerator(CorpusShape.DEFAULT);
+
+        generator.writeRecords(writer, 50_000);
+
+        assertTrue(writer.getBuffer().length() >= 50_000);
+        assertEquals(writer.getBuffer().length(), generator.bytesWritten());
+        assertTrue(JsonValidator.isValid(writer.toString()));
+    }
+
+    @Test
+    void givenNdjsonThenEveryLineParses() throws IOException {
+        CorpusShape shape = CorpusShape.DEFAULT.withSeed(7).withEscapeDensity(0.2)
+                .withNumberKinds(EnumSet.allOf(CorpusShape.NumberKind.class));
+        String[] lines = ndjson(shape, 50).split("\n");
+        JsonParser parser = new JsonParser();
+
+        assertEquals(50, lines.length);
+        for (String line : lines) {
+            assertTrue(JsonValidator.isValid(line), line);
+            Json document = parser.parseFromString(line);
+            assertNotNull(document.toJsonObject());
+        }
+    }
+
+    @Test
+    void givenShapeThenOutputFollowsIt() throws IOException {
+        String plain = ndjson(CorpusShape.DEFAULT.withEscapeDensity(0).withMaxDepth(0).withFanOut(3, 3), 20);
+
+        assertFalse(plain.contains("\\"));
+        for (String line : plain.split("\n")) {
+            assertEquals(3, new JsonParser().parseFromString(line).toJsonObject().size());
+            assertFalse(line.substring(1).contains("{") || line.contains("["), line);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package json_objects;
+
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.error_handling.JsonWriteException;
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonParserOptions;
+import jsonjar.printing.JsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarJsonArrayTest {
+    private static final String RECORDS = """
+            [
+              {"id": 1, "price": 9.5, "status": "open", "active": true},
+              {"id": 2, "price": 12.25, "status": "closed", "active": false},
+              {"id": 3, "price": null, "status": "open", "active": true}
+            ]""";
+
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser(JsonParserOptions.DEFAULT.withColumnarArrays(true));
+    }
+
+    @Test
+    void givenHomogeneousRecordsThenStoreColumnWise() throws IOException {
+        JsonArray array = parser.parseFromString(RECORDS).toJsonArray();
+
+        assertTrue(array.isColumnar());
+        assertEquals(6, array.getLongColumn("id").sum());
+        assertEquals(21.75, array.getDoubleColumn("price").sum());
+        assertEquals(List.of("open", "closed", "open"), array.getStringColumn("status").collect(Collectors.toList()));
+    }
+
+    @Test
+    void givenColumnarArrayThenRowsBehaveLikeJsonObjects() throws IOException {
+        JsonArray array = parser.parseFromString(RECORDS).toJsonArray();
+        JsonArray expected = new JsonParser().parseFromString(RECORDS).toJsonArray();
+
+        assertEquals(expected, array);
+        assertEquals(expected.toString(), array.toString());
+        assertEquals("closed", array.getAsJsonObject(1).getAsString("status"));
+        assertEquals(JsonNull.getInstance(), array.getAsJsonObject(2).getAsJsonNull("price"));
+        assertFalse(array.getAsJsonObject(1).getAsBoolean("active"));
+    }
+
+    @Test
+    void givenWriteThroughRowThenUpdateColumns() throws IOException {
+        JsonArray array = parser.parseFromString(RECORDS).toJsonArray();
+
+        array.getAsJsonObject(0).addValue("id", new JsonNumber(new BigDecimal(10), "10"));
+        array.getAsJsonObject(1).addValue("note", new JsonString("late"));
+
+        assertEquals(15, array.getLongColumn("id").sum());
+        assertEquals("late", array.getAsJsonObject(1).getAsString("note"));
+        assertNull(array.getAsJsonObject(0).get("note"));
+        assertEquals(4, array.getAsJsonObject(0).size());
+    }
+
+    @Test
+    void givenMixedValueInColumnThenKeepExactValues() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"v\": 1}, {\"v\": \"text\"}, {\"v\": 1.50}]").toJsonArray();
+
+        assertTrue(array.isColumnar());
+        assertEquals("[{\"v\":1},{\"v\":\"text\"},{\"v\":1.50}]", array.toString());
+        assertThrows(JsonReadException.class, () -> array.getLongColumn("v"));
+    }
+
+    @Test
+    void givenNonMatchingElementThenFallBackToGenericStorage() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"a\": 1}, {\"b\": 2}, 3]").toJsonArray();
+
+        assertFalse(array.isColumnar());
+        assertEquals("[{\"a\":1},{\"b\":2},3]", array.toString());
+    }
+
+    @Test
+    void givenRowViewHeldBeforeFallbackThenItStaysValid() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"a\": 1}, {\"a\": 2}]").toJsonArray();
+        JsonObject firstRow = array.getAsJsonObject(0);
+
+        array.addValue(new JsonString("not a record"));
+        firstRow.addValue("a", new JsonNumber(new BigDecimal(5), "5"));
+
+        assertFalse(array.isColumnar());
+        assertEquals("[{\"a\":5},{\"a\":2},\"not a record\"]", array.toString());
+    }
+
+    @Test
+    void givenNestedContainersThenDoNotUseColumns() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"a\": [1]}, {\"a\": [2]}]").toJsonArray();
+
+        assertFalse(array.isColumnar());
+        assertEquals("[{\"a\":[1]},{\"a\":[2]}]", array.toString());
+    }
+
+    @Test
+    void givenRemovedCellThenRowNoLongerHasKey() throws IOException {
+        JsonArray array = parser.parseFromString(RECORDS).toJsonArray();
+
+        array.getAsJsonObject(1).removeValue("price");
+
+        assertTrue(array.isColumnar());
+        assertNull(array.getAsJsonObject(1).get("price"));
+        assertEquals(3, array.getAsJsonObject(1).size());
+        assertEquals("{\"id\":2,\"status\":\"closed\",\"active\":false}", array.getAsJsonObject(1).toString());
+    }
+
+    @Test
+    void givenObjectAddedToColumnarArrayThenStoreACopy() throws IOException {
+        JsonArray array = JsonArray.columnar();
+        JsonObject record = parser.parseFromString("{\"a\": 1}").toJsonObject();
+        array.addValue(record);
+        array.addValue(parser.parseFromString("{\"a\": 2}"));
+
+        record.addValue("a", new JsonNumber(new BigDecimal(7), "7"));
+
+        assertTrue(array.isColumnar());
+        assertEquals("[{\"a\":1},{\"a\":2}]", array.toString());
+    }
+
+    @Test
+    void givenElementsWithDifferentShapesThenKeepParsedObjects() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"a\": 1}, {\"a\": 2, \"b\": 3}]").toJsonArray();
+        JsonArray single = parser.parseFromString("[{\"a\": 1}]").toJsonArray();
+
+        assertFalse(array.isColumnar());
+        assertFalse(single.isColumnar());
+        assertSame(JsonObject.class, array.get(0).getClass());
+
+        array.getAsJsonObject(0).addValue("a", JsonNull.getInstance());
+        assertEquals("[{\"a\":null},{\"a\":2,\"b\":3}]", array.toString());
+    }
+
+    @Test
+    void givenWideRecordsThenStoreColumnWise() throws IOException {
+        StringBuilder record = new StringBuilder("{");
+        for (int i = 0; i < 20; i++) {
+            record.append(i == 0 ? "" : ", ").append("\"k").append(i).append("\": ").append(i);
+        }
+        record.append("}");
+
+        JsonArray array = parser.parseFromString("[" + record + ", " + record + "]").toJsonArray();
+
+        assertTrue(array.isColumnar());
+        assertEquals(38, array.getLongColumn("k19").sum());
+    }
+
+    @Test
+    void givenMutableContainerWrittenThroughRowThenRejectIt() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"a\": 1}, {\"a\": 2}]").toJsonArray();
+        JsonArray expected = new JsonParser().parseFromString("[{\"a\": 1}, {\"a\": 2}]").toJsonArray();
+        JsonWriter writer = new JsonWriter();
+        array.enableSerializationCache();
+        int hash = array.hashCode();
+        writer.getCompactBytes(array);
+
+        JsonArray nested = new JsonArray();
+        assertThrows(JsonWriteException.class, () -> array.getAsJsonObject(0).addValue("b", nested));
+        nested.addValue(new JsonString("changed"));
+
+        assertEquals(hash, array.hashCode());
+        assertEquals(expected, array);
+        assertEquals("[{\"a\":1},{\"a\":2}]", new String(writer.getCompactBytes(array), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenFrozenContainerWrittenThroughRowThenKeepHashesAndBytesCurrent() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"a\": 1}, {\"a\": 2}]").toJsonArray();
+        JsonWriter writer = new JsonWriter();
+        array.enableSerializationCache();
+        array.hashCode();
+        writer.getCompactBytes(array);
+
+        JsonArray nested = parser.parseFromString("[true]").toJsonArray();
+        nested.freeze();
+        array.getAsJsonObject(0).addValue("b", nested);
+
+        JsonArray expected = new JsonParser().parseFromString("[{\"a\": 1, \"b\": [true]}, {\"a\": 2}]").toJsonArray();
+        assertEquals(expected, array);
+        assertEquals(expected.hashCode(), array.hashCode());
+        assertEquals("[{\"a\":1,\"b\":[true]},{\"a\":2}]", new String(writer.getCompactBytes(array), StandardCharsets.UTF_8));
+    }
+}
@@ -247,4 +247,33 @@ class JsonArrayTest {
 
         assertEquals(array1.hashCode(), array2.hashCode());
     }
+
+    @Test
+    void shouldSetInsertAndRemoveValues() {
+        JsonArray array = new JsonArray();
+        array.addValue(new JsonString("a"));
+        array.addValue(new JsonString("c"));
+
+        array.insertValue(1, new JsonString("b"));
+        assertEquals(new JsonString("c"), array.setValue(2, new JsonString("d")));
+        assertEquals(new JsonString("a"), array.removeValue(0));
+
+        assertEquals("[\"b\",\"d\"]", array.toString());
+        assertThrows(JsonReadException.class, () -> array.removeValue(2));
+        assertThrows(JsonReadException.class, () -> array.insertValue(3, JsonNull.getInstance()));
+    }
+
+    @Test
+    void shouldKeepValuesWhenEditingPrimitiveArrays() {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < 4; i++) {
+            array.addValue(JsonNumber.valueOf(i));
+        }
+
+        array.setValue(0, JsonNumber.valueOf(7));
+        array.removeValue(1);
+        array.setValue(2, new JsonString("x"));
+
+        assertEquals("[7,2,\"x\"]", array.toString());
+    }
 }
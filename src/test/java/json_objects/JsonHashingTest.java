@@ -0,0 +1,106 @@
+package json_objects;
+
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonHashingTest {
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser();
+    }
+
+    @Test
+    void givenNestedMutationThenInvalidateCachedHashes() throws IOException {
+        JsonObject root = parser.parseFromString("{\"a\": {\"b\": [1, 2]}}").toJsonObject();
+        int hashCode = root.hashCode();
+        long structuralHash = root.structuralHash();
+
+        root.getAsJsonObject("a").getAsJsonArray("b").addValue(JsonNumber.valueOf(3));
+
+        assertNotEquals(hashCode, root.hashCode());
+        assertNotEquals(structuralHash, root.structuralHash());
+        assertEquals(parser.parseFromString("{\"a\": {\"b\": [1, 2, 3]}}").structuralHash(), root.structuralHash());
+    }
+
+    @Test
+    void givenEqualValuesThenHashAlike() throws IOException {
+        Json first = parser.parseFromString("{\"a\": 1, \"b\": [1.0, true, null, \"x\"]}");
+        Json second = parser.parseFromString("{\"b\": [1, true, null, \"x\"], \"a\": 1.00}");
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first.structuralHash(), second.structuralHash());
+        assertEquals(first.structuralHash(), PersistentJsonObject.from(second.toJsonObject()).structuralHash());
+    }
+
+    @Test
+    void givenDifferentValuesThenStructuralHashesDiffer() throws IOException {
+        assertNotEquals(parser.parseFromString("[1, 2]").structuralHash(), parser.parseFromString("[2, 1]").structuralHash());
+        assertNotEquals(parser.parseFromString("{\"a\": \"b\"}").structuralHash(), parser.parseFromString("{\"b\": \"a\"}").structuralHash());
+        assertNotEquals(parser.parseFromString("[\"1\"]").structuralHash(), parser.parseFromString("[1]").structuralHash());
+    }
+
+    @Test
+    void givenNumbersDifferingInSignOrMagnitudeThenStructuralHashesDiffer() throws IOException {
+        String[][] pairs = {
+                {"255", "-1"}, {"128", "-128"}, {"200", "-56"}, {"40000", "-25536"}, {"1.5", "-1.5"},
+                {"65535", "-1"}, {"1e30", "-1e30"}, {"18446744073709551615", "-1"}, {"36893488147419103232", "-36893488147419103232"}
+        };
+
+        for (String[] pair : pairs) {
+            assertNotEquals(parser.parseFromString(pair[0]).structuralHash(), parser.parseFromString(pair[1]).structuralHash(), pair[0] + " vs " + pair[1]);
+        }
+        assertEquals(parser.parseFromString("123456789012345678901234567890").structuralHash(), parser.parseFromString("1.23456789012345678901234567890e29").structuralHash());
+    }
+
+    @Test
+    void givenManySmallLeavesThenStructuralHashesAreDistinct() throws IOException {
+        Set<Long> hashes = new HashSet<>();
+        for (int i = -70000; i <= 70000; i++) {
+            hashes.add(JsonNumber.valueOf(i).structuralHash());
+        }
+        hashes.add(JsonBoolean.valueOf(true).structuralHash());
+        hashes.add(JsonBoolean.valueOf(false).structuralHash());
+        hashes.add(JsonNull.getInstance().structuralHash());
+
+        assertEquals(140004, hashes.size());
+        assertNotEquals(parser.parseFromString("[true, false]").structuralHash(), parser.parseFromString("[false, true]").structuralHash());
+        assertNotEquals(parser.parseFromString("[[1], 2]").structuralHash(), parser.parseFromString("[1, [2]]").structuralHash());
+    }
+
+    @Test
+    void givenSharedChildThenMutationReachesEveryParent() {
+        JsonArray shared = new JsonArray();
+        JsonObject first = new JsonObject();
+        JsonObject second = new JsonObject();
+        first.addValue("shared", shared);
+        second.addValue("shared", shared);
+        int firstHash = first.hashCode();
+        int secondHash = second.hashCode();
+
+        shared.addValue(new JsonString("changed"));
+
+        assertNotEquals(firstHash, first.hashCode());
+        assertNotEquals(secondHash, second.hashCode());
+    }
+
+    @Test
+    void givenContainersAsSetKeysThenFindThemAfterChanges() throws IOException {
+        Set<Json> seen = new HashSet<>();
+        JsonObject request = parser.parseFromString("{\"user\": 1, \"items\": [1, 2, 3]}").toJsonObject();
+
+        seen.add(request);
+        assertTrue(seen.contains(parser.parseFromString("{\"items\": [1, 2, 3], \"user\": 1}")));
+        assertFalse(seen.contains(parser.parseFromString("{\"items\": [1, 2], \"user\": 1}")));
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -62,9 +64,10 @@ class JsonObjectTest {
 
     @Test
     void shouldThrowExceptionForMissingKey() {
-        assertThrows(JsonReadException.class, () -> {
+        JsonReadException exception = assertThrows(JsonReadException.class, () -> {
             jsonObject.getRequired("nonexistent");
         });
+        assertEquals("Error: No entry for requested key nonexistent", exception.getMessage());
     }
 
     @Test
@@ -135,6 +138,58 @@ class JsonObjectTest {
         assertEquals(JsonNull.getInstance(), result);
     }
 
+    @Test
+    void shouldKeepInsertionOrderAndOverwriteInPlace() {
+        jsonObject = new JsonObject();
+        jsonObject.addValue("b", new JsonString("1"));
+        jsonObject.addValue("a", new JsonString("2"));
+        jsonObject.addValue("b", new JsonString("3"));
+
+        assertEquals(2, jsonObject.size());
+        assertEquals("{\"b\":\"3\",\"a\":\"2\"}", jsonObject.toString());
+    }
+
+    @Test
+    void shouldKeepAllValuesWhenGrowingBeyondCompactSize() {
+        JsonObject large = new JsonObject();
+        for (int i = 0; i < 100; i++) {
+            large.addValue("key" + i, new JsonNumber(new BigDecimal(i), String.valueOf(i)));
+        }
+
+        assertEquals(100, large.size());
+        assertEquals(new ArrayList<>(large.getValue().keySet()).get(99), "key99");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(new BigDecimal(i), large.getAsBigDecimal("key" + i));
+        }
+    }
+
+    @Test
+    void shouldBeEqualRegardlessOfKeyOrder() {
+        JsonObject first = new JsonObject();
+        JsonObject second = new JsonObject();
+        for (int i = 0; i < 3; i++) {
+            first.addValue("key" + i, new JsonString("value" + i));
+            second.addValue("key" + (2 - i), new JsonString("value" + (2 - i)));
+        }
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first.getValue(), second.getValue());
+    }
+
+    @Test
+    void shouldHashLikeAMapInBothRepresentations() {
+        JsonObject large = new JsonObject();
+        Map<String, Json> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            large.addValue("key" + i, new JsonBoolean(i % 2 == 0));
+            expected.put("key" + i, new JsonBoolean(i % 2 == 0));
+        }
+
+        assertEquals(expected.hashCode(), large.hashCode());
+        assertEquals(jsonObject.getValue().hashCode(), jsonObject.hashCode());
+    }
+
     @Test
     void testNestedAccess() {
         // Test chaining getters for nested objects
@@ -143,4 +198,24 @@ class JsonObjectTest {
     }
 
 
+
+    @Test
+    void shouldRemoveValuesInBothRepresentations() {
+        JsonObject small = new JsonObject();
+        JsonObject large = new JsonObject();
+        for (int i = 0; i < 20; i++) {
+            large.addValue("key" + i, new JsonNumber(new BigDecimal(i), String.valueOf(i)));
+        }
+        small.addValue("a", new JsonString("1"));
+        small.addValue("b", new JsonString("2"));
+        small.addValue("c", new JsonString("3"));
+
+        assertEquals(new JsonString("2"), small.removeValue("b"));
+        assertNull(small.removeValue("missing"));
+        assertNotNull(large.removeValue("key5"));
+
+        assertEquals("{\"a\":\"1\",\"c\":\"3\"}", small.toString());
+        assertEquals(19, large.size());
+        assertFalse(large.containsKey("key5"));
+    }
 }
@@ -0,0 +1,107 @@
+package json_objects;
+
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.json_objects.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentJsonArrayTest {
+    private static JsonNumber number(int value) {
+        return new JsonNumber(new BigDecimal(value), String.valueOf(value));
+    }
+
+    @Test
+    void givenWithAppendedThenReturnNewVersionAndLeaveOriginalUnchanged() {
+        PersistentJsonArray base = PersistentJsonArray.of(number(1), number(2));
+        PersistentJsonArray appended = base.withAppended(number(3));
+
+        assertEquals(2, base.size());
+        assertEquals(3, appended.size());
+        assertEquals("[1,2,3]", appended.toString());
+    }
+
+    @Test
+    void givenManyElementsThenIndexAndIterateAcrossChunks() {
+        PersistentJsonArray array = PersistentJsonArray.empty();
+        for (int i = 0; i < 40000; i++) {
+            array = array.withAppended(number(i));
+        }
+
+        assertEquals(40000, array.size());
+        int expected = 0;
+        for (Json value : array) {
+            assertEquals(new BigDecimal(expected++), value.toJsonNumber().getValue());
+        }
+        assertEquals(number(32768), array.get(32768));
+    }
+
+    @Test
+    void givenWithAtIndexThenOnlyNewVersionChanges() {
+        PersistentJsonArray array = PersistentJsonArray.empty();
+        for (int i = 0; i < 1000; i++) {
+            array = array.withAppended(number(i));
+        }
+
+        PersistentJsonArray updated = array.with(10, new JsonString("changed")).with(999, new JsonString("last"));
+
+        assertEquals(number(10), array.get(10));
+        assertEquals(new JsonString("changed"), updated.get(10));
+        assertEquals(new JsonString("last"), updated.get(999));
+    }
+
+    @Test
+    void givenInsertAndRemoveThenShiftElements() {
+        PersistentJsonArray array = PersistentJsonArray.of(number(1), number(3));
+
+        assertEquals("[1,2,3]", array.withInserted(1, number(2)).toString());
+        assertEquals("[3]", array.without(0).toString());
+    }
+
+    @Test
+    void givenOutOfBoundsIndexThenReturnNullOrThrow() {
+        PersistentJsonArray array = PersistentJsonArray.of(number(1));
+
+        assertNull(array.get(5));
+        assertThrows(JsonReadException.class, () -> array.getRequired(5));
+        assertThrows(JsonReadException.class, () -> array.with(-1, number(0)));
+    }
+
+    @Test
+    void givenMutableArrayThenConvertDeeplyBothWays() {
+        JsonArray nested = new JsonArray();
+        nested.addValue(number(1));
+        JsonArray mutable = new JsonArray();
+        mutable.addValue(nested);
+
+        PersistentJsonArray persistent = PersistentJsonArray.from(mutable);
+
+        assertInstanceOf(PersistentJsonArray.class, persistent.get(0));
+        assertEquals(mutable, persistent.toMutable());
+        assertEquals(PersistentJsonArray.from(mutable), persistent);
+    }
+
+    @Test
+    void givenSourceContainerChangedAfterAddingThenVersionStaysUnchanged() {
+        JsonArray source = new JsonArray();
+        source.addValue(number(1));
+        JsonObject member = new JsonObject();
+        member.addValue("a", number(1));
+
+        PersistentJsonArray version = PersistentJsonArray.empty().withAppended(source).withInserted(0, member).with(1, source);
+        PersistentJsonArray expected = PersistentJsonArray.of(PersistentJsonArray.of(number(1))).withInserted(0, PersistentJsonObject.empty().with("a", number(1)));
+        int hash = version.hashCode();
+        long structuralHash = version.structuralHash();
+
+        source.addValue(number(2));
+        member.addValue("b", number(2));
+
+        assertEquals(hash, version.hashCode());
+        assertEquals(structuralHash, version.structuralHash());
+        assertEquals(expected, version);
+        assertEquals(1, ((PersistentJsonArray) version.get(1)).size());
+        assertEquals(1, ((PersistentJsonObject) version.get(0)).size());
+    }
+}
@@ -0,0 +1,124 @@
+package json_objects;
+
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.json_objects.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentJsonObjectTest {
+    @Test
+    void givenWithThenReturnNewVersionAndLeaveOriginalUnchanged() {
+        PersistentJsonObject base = PersistentJsonObject.empty().with("name", new JsonString("Alice"));
+        PersistentJsonObject variant = base.with("tenant", new JsonString("acme"));
+
+        assertEquals(1, base.size());
+        assertNull(base.get("tenant"));
+        assertEquals(2, variant.size());
+        assertEquals(new JsonString("acme"), variant.get("tenant"));
+    }
+
+    @Test
+    void givenOverwrittenKeyThenKeepInsertionOrder() {
+        PersistentJsonObject object = PersistentJsonObject.empty()
+                .with("a", new JsonString("1"))
+                .with("b", new JsonString("2"))
+                .with("a", new JsonString("3"));
+
+        assertEquals("{\"a\":\"3\",\"b\":\"2\"}", object.toString());
+    }
+
+    @Test
+    void givenManyKeysThenAllRemainReachable() {
+        PersistentJsonObject object = PersistentJsonObject.empty();
+        for (int i = 0; i < 5000; i++) {
+            object = object.with("key" + i, new JsonNumber(new BigDecimal(i), String.valueOf(i)));
+        }
+
+        assertEquals(5000, object.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(new BigDecimal(i), object.getRequired("key" + i).toJsonNumber().getValue());
+        }
+    }
+
+    @Test
+    void givenKeysWithCollidingHashesThenKeepBoth() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        PersistentJsonObject object = PersistentJsonObject.empty()
+                .with("Aa", new JsonString("first"))
+                .with("BB", new JsonString("second"));
+
+        assertEquals(new JsonString("first"), object.get("Aa"));
+        assertEquals(new JsonString("second"), object.get("BB"));
+        assertEquals(new JsonString("second"), object.without("Aa").get("BB"));
+        assertNull(object.without("Aa").get("Aa"));
+    }
+
+    @Test
+    void givenWithoutThenRemoveKeyAndPreserveOrderOfRest() {
+        PersistentJsonObject object = PersistentJsonObject.empty();
+        List<String> expectedKeys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            object = object.with("key" + i, JsonNull.getInstance());
+        }
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 == 0) {
+                object = object.without("key" + i);
+            } else {
+                expectedKeys.add("key" + i);
+            }
+        }
+
+        assertEquals(expectedKeys, new ArrayList<>(object.getValue().keySet()));
+        assertSame(object, object.without("missing"));
+    }
+
+    @Test
+    void givenMutableObjectThenConvertDeeplyBothWays() {
+        JsonObject nested = new JsonObject();
+        nested.addValue("city", new JsonString("London"));
+        JsonObject mutable = new JsonObject();
+        mutable.addValue("address", nested);
+
+        PersistentJsonObject persistent = PersistentJsonObject.from(mutable);
+
+        assertInstanceOf(PersistentJsonObject.class, persistent.get("address"));
+        assertEquals(mutable, persistent.toMutable());
+    }
+
+    @Test
+    void givenEqualContentThenObjectsAreEqual() {
+        PersistentJsonObject first = PersistentJsonObject.empty().with("a", new JsonBoolean(true)).with("b", JsonNull.getInstance());
+        PersistentJsonObject second = PersistentJsonObject.empty().with("b", JsonNull.getInstance()).with("a", new JsonBoolean(true));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void givenMissingKeyThenThrowOnGetRequired() {
+        JsonReadException persistent = assertThrows(JsonReadException.class, () -> PersistentJsonObject.empty().getRequired("missing"));
+        JsonReadException mutable = assertThrows(JsonReadException.class, () -> new JsonObject().getRequired("missing"));
+
+        assertEquals("Error: No entry for requested key missing", persistent.getMessage());
+        assertEquals(persistent.getMessage(), mutable.getMessage());
+    }
+
+    @Test
+    void givenSourceContainerChangedAfterWithThenVersionStaysUnchanged() {
+        JsonArray source = new JsonArray();
+        source.addValue(JsonBoolean.TRUE);
+        PersistentJsonObject version = PersistentJsonObject.empty().with("a", source);
+        long structuralHash = version.structuralHash();
+
+        source.addValue(JsonBoolean.FALSE);
+
+        assertEquals(structuralHash, version.structuralHash());
+        assertEquals(PersistentJsonObject.empty().with("a", PersistentJsonArray.of(JsonBoolean.TRUE)), version);
+    }
+}
@@ -0,0 +1,108 @@
+package json_objects;
+
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveJsonArrayTest {
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser();
+    }
+
+    @Test
+    void givenArrayOfIntegersThenReadAsLongs() throws IOException {
+        JsonArray array = parser.parseFromString("[1, -2, 9223372036854775807]").toJsonArray();
+
+        assertArrayEquals(new long[]{1, -2, Long.MAX_VALUE}, array.toLongArray());
+        assertEquals(Long.MAX_VALUE - 1, array.longStream().sum());
+        assertEquals("[1,-2,9223372036854775807]", array.toString());
+        assertEquals(new BigDecimal("-2"), array.getAsBigDecimal(1));
+    }
+
+    @Test
+    void givenArrayOfDoublesThenReadAsDoubles() throws IOException {
+        JsonArray array = parser.parseFromString("[0.5, 2.25, -1.0]").toJsonArray();
+
+        assertArrayEquals(new double[]{0.5, 2.25, -1.0}, array.toDoubleArray());
+        assertEquals(1.75, array.doubleStream().sum());
+        assertEquals("[0.5,2.25,-1.0]", array.toString());
+    }
+
+    @Test
+    void givenUnboxedArrayThenReadPrimitivesWithoutMaterialising() throws IOException {
+        JsonArray longs = parser.parseFromString("[1000, -70000]").toJsonArray();
+        JsonArray doubles = parser.parseFromString("[0.5, 2.25]").toJsonArray();
+        JsonArray mixed = parser.parseFromString("[1.50, \"x\"]").toJsonArray();
+
+        assertEquals(-70000, longs.getAsLong(1));
+        assertEquals(1000.0, longs.getAsDouble(0));
+        assertEquals(2.25, doubles.getAsDouble(1));
+        assertEquals(1.5, mixed.getAsDouble(0));
+        assertThrows(JsonReadException.class, () -> doubles.getAsLong(0));
+        assertThrows(JsonReadException.class, () -> longs.getAsLong(2));
+
+        assertEquals(longs.get(0), longs.get(0));
+        assertNotSame(longs.get(0), longs.get(0)); // Each read materialises a new JsonNumber
+    }
+
+    @Test
+    void givenArrayOfBooleansThenReadAsBooleans() throws IOException {
+        JsonArray array = parser.parseFromString("[true, false, true]").toJsonArray();
+
+        assertArrayEquals(new boolean[]{true, false, true}, array.toBooleanArray());
+        assertFalse(array.getAsBoolean(1));
+        assertEquals("[true,false,true]", array.toString());
+    }
+
+    @Test
+    void givenMixedElementsThenKeepExactValues() throws IOException {
+        JsonArray array = parser.parseFromString("[1, 1.50, 1e5, -0, \"text\"]").toJsonArray();
+
+        assertEquals("[1,1.50,1e5,-0,\"text\"]", array.toString());
+        assertThrows(JsonReadException.class, array::toLongArray);
+    }
+
+    @Test
+    void givenNonIntegerElementThenLongAccessFails() throws IOException {
+        JsonArray array = parser.parseFromString("[1, 2.5]").toJsonArray();
+
+        assertArrayEquals(new double[]{1, 2.5}, array.toDoubleArray());
+        assertThrows(JsonReadException.class, array::toLongArray);
+    }
+
+    @Test
+    void givenSpecialisedArrayThenEqualToGenericArray() throws IOException {
+        JsonArray parsed = parser.parseFromString("[1, 2, 3]").toJsonArray();
+        JsonArray built = parser.parseFromString("[\"x\"]").toJsonArray();
+        JsonArray generic = new JsonArray();
+        for (String number : new String[]{"1", "2", "3"}) {
+            generic.addValue(new JsonNumber(new BigDecimal(number), number));
+        }
+
+        assertEquals(generic, parsed);
+        assertEquals(generic.hashCode(), parsed.hashCode());
+        assertNotEquals(built, parsed);
+    }
+
+    @Test
+    void givenManyElementsThenGrowStorage() {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < 200; i++) {
+            array.addValue(new JsonBoolean(i % 3 == 0));
+        }
+
+        assertEquals(200, array.size());
+        assertTrue(array.getAsBoolean(198));
+        assertFalse(array.getAsBoolean(199));
+    }
+}
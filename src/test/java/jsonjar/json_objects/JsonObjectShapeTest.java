@@ -0,0 +1,36 @@
+package jsonjar.json_objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonObjectShapeTest {
+
+    @Test
+    void givenShapeInUseThenShareIt() {
+        JsonObjectShape first = JsonObjectShape.ROOT.withKey("id").withKey("name");
+        JsonObjectShape second = JsonObjectShape.ROOT.withKey("id").withKey("name");
+
+        assertSame(first, second);
+        assertEquals("name", second.keyAt(1));
+    }
+
+    @Test
+    void givenUnusedShapesThenReleaseThem() throws InterruptedException {
+        WeakReference<JsonObjectShape> unused = new WeakReference<>(JsonObjectShape.ROOT.withKey("unused-key").withKey("leaf"));
+        for (int i = 0; i < 100_000; i++) {
+            JsonObjectShape.ROOT.withKey("untrusted-" + i);
+        }
+
+        for (int attempt = 0; attempt < 50 && unused.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(unused.get());
+        JsonObjectShape recreated = JsonObjectShape.ROOT.withKey("unused-key").withKey("leaf");
+        assertSame(recreated, JsonObjectShape.ROOT.withKey("unused-key").withKey("leaf"));
+    }
+}
@@ -0,0 +1,122 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.error_handling.JsonSyntaxException;
+import jsonjar.json_objects.Json;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonBatchParserTest {
+    private static final int FILES = 200;
+
+    private Path directory;
+    private List<Path> files;
+
+    @BeforeEach
+    void init() throws IOException {
+        directory = Files.createTempDirectory("jsonjar");
+        files = new ArrayList<>();
+        for (int i = 0; i < FILES; i++) {
+            Path file = directory.resolve(i + ".json");
+            String content = i % 50 == 7 ? "{\"id\": " + i + (i % 100 == 7 ? ",}}" : "x}") : "{\"id\": " + i + ", \"tags\": [\"" + "x".repeat(i) + "\"]}";
+            Files.writeString(file, content);
+            files.add(file);
+        }
+        files.add(directory.resolve("missing.json"));
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void assertResultMatchesFile(JsonFileResult result) throws IOException {
+        if (result.file().endsWith("missing.json")) {
+            assertInstanceOf(NoSuchFileException.class, result.error());
+        } else if (Files.readString(result.file()).matches(".*(,}}|x})")) { // Bad syntax, or a number the lexer accepts but is not one
+            assertInstanceOf(JsonSyntaxException.class, result.error());
+        } else {
+            Json expected = new JsonParser().parseFromString(Files.readString(result.file()));
+            assertTrue(result.isSuccess());
+            assertEquals(expected, result.json());
+        }
+    }
+
+    @Test
+    void givenFilesThenReturnResultsInOrder() throws Exception {
+        List<JsonFileResult> results = JsonParser.parseAll(files);
+
+        assertEquals(files.size(), results.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(files.get(i), results.get(i).file());
+            assertResultMatchesFile(results.get(i));
+        }
+        assertEquals(5, results.stream().filter(result -> !result.isSuccess()).count());
+    }
+
+    @Test
+    void givenConsumerThenStreamEveryResultOnce() throws Exception {
+        Set<Path> seen = new HashSet<>();
+        List<String> threads = new ArrayList<>();
+
+        JsonParser.parseAll(files, result -> {
+            assertTrue(seen.add(result.file()));
+            threads.add(Thread.currentThread().getName());
+        });
+
+        assertEquals(new HashSet<>(files), seen);
+        assertTrue(threads.stream().allMatch(Thread.currentThread().getName()::equals));
+    }
+
+    @Test
+    void givenTightLimitsThenStillParseEverythingInOrder() throws Exception {
+        JsonBatchParser batchParser = JsonBatchParser.DEFAULT.withThreads(3).withMaxInFlightBytes(64).withMaxInFlightFiles(2);
+        List<Path> delivered = new ArrayList<>();
+
+        batchParser.parseAll(files, true, result -> delivered.add(result.file()));
+
+        assertEquals(files, delivered);
+        for (JsonFileResult result : batchParser.parseAll(files.subList(0, 20))) {
+            assertResultMatchesFile(result);
+        }
+    }
+
+    @Test
+    void givenFailingConsumerThenStopAndRethrow() {
+        List<JsonFileResult> delivered = new ArrayList<>();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> JsonBatchParser.DEFAULT.parseAll(files, true, result -> {
+            delivered.add(result);
+            if (delivered.size() == 3) {
+                throw new IllegalStateException("stop");
+            }
+        }));
+
+        assertEquals("stop", thrown.getMessage());
+        assertEquals(3, delivered.size());
+    }
+
+    @Test
+    void givenInvalidLimitsThenThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> JsonBatchParser.DEFAULT.withThreads(-1));
+        assertThrows(IllegalArgumentException.class, () -> JsonBatchParser.DEFAULT.withMaxInFlightBytes(0));
+        assertThrows(IllegalArgumentException.class, () -> JsonBatchParser.DEFAULT.withMaxInFlightFiles(0));
+    }
+}
@@ -0,0 +1,138 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.error_handling.JsonReadException;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonArray;
+import jsonjar.json_objects.JsonNodePool;
+import jsonjar.json_objects.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonParseContextTest {
+    private static final String DOCUMENT = "{\"a\": [1, {\"b\": \"c\"}, [true]], \"d\": {\"e\": null}}";
+
+    @Test
+    void givenContextThenParseLikeParser() throws IOException {
+        JsonParseContext context = new JsonParseContext();
+        Json expected = new JsonParser().parseFromString(DOCUMENT);
+
+        assertEquals(expected, context.parse(DOCUMENT));
+        assertEquals(expected, context.parse(DOCUMENT));
+        assertThrows(RuntimeException.class, () -> context.parse("{\"a\": }"));
+        assertEquals(expected, context.parse(DOCUMENT));
+    }
+
+    @Test
+    void givenFileThenReuseReadBuffer() throws IOException {
+        Path file = Files.createTempFile("jsonjar", ".json");
+        String large = "[" + "\"été\", ".repeat(5000) + "0]";
+        JsonParseContext context = new JsonParseContext();
+
+        try {
+            Files.writeString(file, large);
+            assertEquals(5001, context.parse(file).toJsonArray().size());
+            Files.writeString(file, DOCUMENT);
+            assertEquals(new JsonParser().parseFromString(DOCUMENT), context.parse(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void givenHugeFileThenShrinkReadBufferAfterwards() throws IOException {
+        Path file = Files.createTempFile("jsonjar", ".json");
+        JsonParseContext context = new JsonParseContext();
+
+        try {
+            Files.writeString(file, "[" + "\"padding\", ".repeat(200_000) + "0]");
+            assertEquals(200_001, context.parse(file).toJsonArray().size());
+            assertEquals(8192, context.readBufferSize());
+
+            Files.writeString(file, "[" + "1, ".repeat(10_000) + "0]");
+            context.parse(file);
+            assertTrue(context.readBufferSize() > 8192);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void givenClosedScopedDocumentThenRecycleItsContainers() throws IOException {
+        JsonParseContext context = new JsonParseContext();
+        JsonParseContext.ScopedDocument first = context.parseScoped(DOCUMENT);
+        JsonObject firstRoot = first.root().toJsonObject();
+        List<Json> firstObjects = List.of(firstRoot, firstRoot.getAsJsonArray("a").get(1), firstRoot.getAsJsonObject("d"));
+
+        first.close();
+        first.close();
+
+        assertThrows(JsonReadException.class, first::root);
+        try (JsonParseContext.ScopedDocument second = context.parseScoped("{\"x\": [[]]}")) {
+            assertEquals(new JsonParser().parseFromString("{\"x\": [[]]}"), second.root());
+            assertTrue(firstObjects.stream().anyMatch(object -> object == second.root()));
+        }
+    }
+
+    @Test
+    void givenSharedOrFrozenContainersThenLeaveThemAlone() throws IOException {
+        JsonNodePool pool = new JsonNodePool();
+        JsonObject root = new JsonParser().parseFromString(DOCUMENT).toJsonObject();
+        JsonArray kept = root.getAsJsonArray("a");
+        JsonObject elsewhere = new JsonObject();
+        elsewhere.addValue("a", kept);
+        root.getAsJsonObject("d").freeze();
+
+        pool.recycle(root);
+
+        assertEquals(1, pool.pooledObjects());
+        assertEquals(0, pool.pooledArrays());
+        assertEquals(new JsonParser().parseFromString("[1, {\"b\": \"c\"}, [true]]"), kept);
+        assertEquals(0, pool.newObject().size());
+    }
+
+    @Test
+    void givenThreadsThenGiveEachItsOwnContext() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<JsonParseContext> other = executor.submit(JsonParseContext::forCurrentThread);
+            assertSame(JsonParseContext.forCurrentThread(), JsonParseContext.forCurrentThread());
+            assertNotSame(JsonParseContext.forCurrentThread(), other.get());
+        } finally {
+            executor.shutdown();
+        }
+
+        JsonParseContext acquired = JsonParseContext.acquire();
+        assertNotSame(acquired, JsonParseContext.acquire());
+        acquired.close();
+        try (JsonParseContext again = JsonParseContext.acquire()) {
+            assertSame(acquired, again);
+            assertEquals(new JsonParser().parseFromString(DOCUMENT), again.parse(DOCUMENT));
+        }
+    }
+
+    @Test
+    void givenAcquiredContextClosedTwiceThenPoolItOnce() {
+        JsonParseContext acquired = JsonParseContext.acquire();
+        acquired.close();
+        acquired.close();
+
+        List<JsonParseContext> contexts = new ArrayList<>();
+        for (int i = 0; i <= 2 * Runtime.getRuntime().availableProcessors(); i++) {
+            contexts.add(JsonParseContext.acquire());
+        }
+
+        assertEquals(1, contexts.stream().filter(context -> context == acquired).count());
+        contexts.forEach(JsonParseContext::close);
+    }
+}
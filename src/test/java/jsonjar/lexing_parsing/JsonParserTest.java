@@ -388,4 +388,77 @@ class JsonParserTest {
                 Arguments.of("src/test/resources/pass_objectScientificNotation.json", new BigDecimal("123e4"))
         );
     }
+
+    @Test
+    void givenRepeatedBooleansAndSmallIntegersThenShareInstances() throws IOException {
+        JsonObject root = jsonParser.parseFromString("{\"a\": true, \"b\": true, \"c\": 7, \"d\": 7, \"e\": -0, \"f\": 5000}").toJsonObject();
+
+        assertSame(JsonBoolean.TRUE, root.get("a"));
+        assertSame(root.get("a"), root.get("b"));
+        assertSame(root.get("c"), root.get("d"));
+        assertEquals("-0", root.get("e").toString());
+        assertEquals("{\"a\":true,\"b\":true,\"c\":7,\"d\":7,\"e\":-0,\"f\":5000}", root.toString());
+    }
+
+    @Test
+    void givenDisabledIntegerCacheThenAllocateNumbers() throws IOException {
+        JsonParser parser = new JsonParser(JsonParserOptions.DEFAULT.withSmallIntegerCache(0, -1));
+        JsonObject root = parser.parseFromString("{\"c\": 700, \"d\": 700}").toJsonObject();
+
+        assertNotSame(root.get("c"), root.get("d"));
+        assertEquals(root.get("c"), root.get("d"));
+    }
+
+    @Test
+    void givenStringPoolThenShareShortStringsAndCountHits() throws IOException {
+        JsonStringPool pool = new JsonStringPool(2, 8);
+        JsonParser parser = new JsonParser(JsonParserOptions.DEFAULT.withStringPool(pool));
+        JsonObject root = parser.parseFromString(
+                "{\"a\": \"open\", \"b\": \"open\", \"c\": \"closed\", \"d\": \"pending\", \"e\": \"pending\", \"f\": \"much too long\"}")
+                .toJsonObject();
+
+        assertSame(root.get("a"), root.get("b"));
+        assertNotSame(root.get("d"), root.get("e")); // Pool was full
+        assertEquals("much too long", root.getAsString("f"));
+        assertEquals(2, pool.size());
+        assertEquals(1, pool.getHits());
+        assertEquals(4, pool.getMisses());
+        assertEquals(0.2, pool.getHitRate());
+    }
+
+    @Test
+    void givenDeduplicationThenShareRepeatedSubtrees() throws IOException {
+        JsonParser parser = new JsonParser(JsonParserOptions.DEFAULT.withSubtreeDeduplication(1024));
+        String input = "[{\"address\": {\"city\": \"Oslo\", \"zip\": [1, 2]}}, {\"address\": {\"city\": \"Oslo\", \"zip\": [1, 2]}},"
+                + " {\"address\": {\"zip\": [1, 2], \"city\": \"Oslo\"}}, {\"address\": {\"city\": \"Oslo\", \"zip\": [1.0, 2]}}]";
+        JsonArray root = parser.parseFromString(input).toJsonArray();
+
+        assertSame(root.get(0), root.get(1));
+        assertNotSame(root.getAsJsonObject(0).get("address"), root.getAsJsonObject(2).get("address")); // Different member order
+        assertNotSame(root.getAsJsonObject(0).get("address"), root.getAsJsonObject(3).get("address")); // Different number text
+        assertTrue(root.getAsJsonObject(0).isFrozen());
+        assertEquals(new JsonParser().parseFromString(input).toString(), root.toString());
+
+        DeduplicationStatistics statistics = parser.getDeduplicationStatistics();
+        assertEquals(12, statistics.lookups());
+        assertEquals(4, statistics.hits());
+    }
+
+    @Test
+    void givenDeduplicationDisabledThenBuildSeparateTrees() throws IOException {
+        JsonArray root = jsonParser.parseFromString("[{\"a\": 1}, {\"a\": 1}]").toJsonArray();
+
+        assertNotSame(root.get(0), root.get(1));
+        assertFalse(root.getAsJsonObject(0).isFrozen());
+        assertEquals(0, jsonParser.getDeduplicationStatistics().lookups());
+    }
+
+    @Test
+    void givenNumberTokenThatIsNotANumberShouldReportInvalidJson() {
+        JsonSyntaxException lone = assertThrows(JsonSyntaxException.class, () -> jsonParser.parseFromString("[-]"));
+        JsonSyntaxException suffixed = assertThrows(JsonSyntaxException.class, () -> jsonParser.parseFromString("{\"a\": 1x}"));
+
+        assertEquals("Error: Invalid number: -", lone.getMessage());
+        assertEquals("Error: Invalid number: 1x", suffixed.getMessage());
+    }
 }
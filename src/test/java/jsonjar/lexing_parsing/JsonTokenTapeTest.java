@@ -0,0 +1,95 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.error_handling.JsonSyntaxException;
+import jsonjar.json_objects.Json;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTokenTapeTest {
+    private static final String DOCUMENT = "{\"a\": [1, -2.5, \"x\\ty\\u00e9\"], \"b\": {\"c\": true}, \"d\": null}";
+
+    @Test
+    void givenDocumentThenRecordTokensAsSourceOffsets() {
+        JsonTokenTape tape = JsonTokenTape.of(DOCUMENT);
+
+        assertEquals(23, tape.size());
+        assertEquals(TokenType.CONTENT, tape.type(1));
+        assertEquals(2, tape.offset(1));
+        assertEquals(1, tape.length(1));
+        assertEquals("-2.5", tape.text(6));
+        assertTrue(tape.hasFlag(4, JsonTokenTape.INTEGER));
+        assertFalse(tape.hasFlag(6, JsonTokenTape.INTEGER));
+        assertTrue(tape.hasFlag(8, JsonTokenTape.HAS_ESCAPES));
+        assertEquals("x\\ty\\u00e9", tape.text(8));
+        assertEquals("x\ty\u00e9", tape.stringValue(8));
+    }
+
+    @Test
+    void givenTapeThenMatchTheListLexer() throws IOException {
+        assertEquals(new JsonLexer().lexFromString(DOCUMENT), JsonTokenTape.of(DOCUMENT).toTokens());
+    }
+
+    @Test
+    void givenContainerThenSkipToItsEnd() {
+        JsonTokenTape tape = JsonTokenTape.of(DOCUMENT);
+
+        assertEquals(9, tape.matchingIndex(3));
+        assertEquals(3, tape.matchingIndex(9));
+        assertEquals(10, tape.skip(3));
+        assertEquals(tape.size(), tape.skip(0));
+        assertEquals(7, tape.skip(6));
+        assertEquals(-1, JsonTokenTape.of("[[1]").matchingIndex(0));
+    }
+
+    @Test
+    void givenTapeThenParseItRepeatedly() throws IOException {
+        JsonTokenTape tape = JsonTokenTape.of(DOCUMENT);
+        JsonParser parser = new JsonParser();
+        Json expected = new JsonParser().parseFromString(DOCUMENT);
+
+        assertEquals(expected, parser.parse(tape));
+        assertEquals(expected, parser.parse(tape));
+    }
+
+    @Test
+    void givenReusedTapeThenReplaceContents() {
+        JsonTokenTape tape = JsonTokenTape.of("[" + "1, ".repeat(1000) + "2]");
+
+        tape.lex("{}");
+
+        assertEquals(2, tape.size());
+        assertEquals("{}", tape.source());
+        assertThrows(IndexOutOfBoundsException.class, () -> tape.type(2));
+    }
+
+    @Test
+    void givenHugeDocumentThenShrinkOnClear() {
+        JsonTokenTape tape = JsonTokenTape.of("[" + "[1], ".repeat(50_000) + "2]");
+        assertTrue(tape.capacity() > 64 * 1024);
+
+        tape.clear();
+        assertEquals(64, tape.capacity());
+
+        tape.lex("[" + "1, ".repeat(1000) + "2]");
+        int grown = tape.capacity();
+        tape.clear();
+        assertEquals(grown, tape.capacity());
+    }
+
+    @Test
+    void givenMalformedStringsThenThrowAndRecover() {
+        JsonTokenTape tape = new JsonTokenTape();
+
+        JsonSyntaxException unterminated = assertThrows(JsonSyntaxException.class, () -> tape.lex("[\"abc"));
+        assertEquals("Error: Unexpected end of input inside a string.", unterminated.getMessage());
+        JsonSyntaxException hex = assertThrows(JsonSyntaxException.class, () -> tape.lex("\"\\u12g4\""));
+        assertEquals("Error: Invalid Unicode escape '\\u12g4'", hex.getMessage());
+        assertThrows(JsonSyntaxException.class, () -> tape.lex("\"\\x\""));
+
+        tape.lex("\"ok\"");
+        assertEquals("ok", tape.stringValue(0));
+    }
+}
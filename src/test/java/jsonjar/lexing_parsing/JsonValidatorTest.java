@@ -0,0 +1,146 @@
+package jsonjar.lexing_parsing;
+
+import jsonjar.monitoring.JsonInstrumentation;
+import jsonjar.monitoring.JsonMetrics;
+import jsonjar.state_management.GrammarExtension;
+import jsonjar.state_management.JsonGrammar;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonValidatorTest {
+    private static final JsonGrammar STRICT_WITH_SCALARS = JsonGrammar.strict(EnumSet.of(GrammarExtension.TOP_LEVEL_SCALARS));
+
+    @Test
+    void givenStrictGrammarThenAgreeWithTestResourceNames() throws IOException {
+        File[] files = new File("src/test/resources").listFiles((d, name) -> name.endsWith(".json") && (name.startsWith("pass") || name.startsWith("fail")));
+        assertNotNull(files);
+
+        for (File file : files) {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            boolean expected = file.getName().startsWith("pass");
+
+            assertEquals(expected, JsonValidator.isValid(bytes, JsonGrammar.STRICT), file.getName());
+            assertEquals(expected, JsonValidator.isValid(new String(bytes, StandardCharsets.UTF_8), JsonGrammar.STRICT), file.getName());
+            assertEquals(expected, JsonValidator.isValid(new ByteArrayInputStream(bytes), JsonGrammar.STRICT), file.getName());
+        }
+    }
+
+    @Test
+    void givenWellFormedInputThenValid() {
+        String[] inputs = {"{}", "[]", "0", "-0.5e+10", "\"text\"", "true", " null ", "[1, [2, {\"a\": [false]}], \"\\u00e9\\n\"]",
+                "{\"a\": {\"b\": {\"c\": []}}, \"d\": 1E3}", "\"caf\u00e9 \uD83D\uDE00\""};
+
+        for (String input : inputs) {
+            assertTrue(JsonValidator.isValid(input, STRICT_WITH_SCALARS), input);
+            assertTrue(JsonValidator.isValid(input.getBytes(StandardCharsets.UTF_8), STRICT_WITH_SCALARS), input);
+        }
+    }
+
+    @Test
+    void givenMalformedInputThenInvalid() {
+        String[] inputs = {"", " ", "{", "[1,]", "{\"a\":1,}", "[1 2]", "{\"a\" 1}", "{1: 2}", "01", "-", "1e", "tru", "nul",
+                "\"unterminated", "\"bad \\x escape\"", "\"\\u12G4\"", "[}", "{]", "{} {}", "[\"tab\tinside\"]", "+1", ".5"};
+
+        for (String input : inputs) {
+            assertFalse(JsonValidator.isValid(input, STRICT_WITH_SCALARS), input);
+            assertFalse(JsonValidator.isValid(input.getBytes(StandardCharsets.UTF_8), STRICT_WITH_SCALARS), input);
+        }
+    }
+
+    @Test
+    void givenDefaultGrammarThenAgreeWithParser() {
+        String[] inputs = {"[1,2,]", "{\"a\":1,}", "[1.]", "true", "\"s\"", "null", "1", "1.", "[-]", "[1e]", "[-.5]", "[1.e5]",
+                "[1:2]", "[,1]", "{\"a\" 1}", "{{}}", "[[1]", "[1]]", "[1 2]", "[true1]", "[01]", "{\"a\":[,1],\"b\":2}", "", " "};
+
+        for (String input : inputs) {
+            boolean parses;
+            try {
+                new JsonParser().parseFromString(input);
+                parses = true;
+            } catch (Exception e) {
+                parses = false;
+            }
+            assertEquals(parses, JsonValidator.isValid(input), input);
+            assertEquals(parses, JsonValidator.isValid(input.getBytes(StandardCharsets.UTF_8)), input);
+        }
+    }
+
+    @Test
+    void givenTokenTheGrammarRejectsThenReportGrammarMessage() {
+        JsonValidationResult result = JsonValidator.validate(" true");
+
+        assertFalse(result.isValid());
+        assertEquals(1, result.offset());
+        assertEquals("Error: Unexpected token. Cannot transition from IDLE with BOOLEAN.", result.message());
+    }
+
+    @Test
+    void givenMalformedInputThenReportFirstErrorPosition() {
+        JsonValidationResult result = JsonValidator.validate("{\n  \"a\": [1, 2,]\n}", JsonGrammar.STRICT);
+
+        assertFalse(result.isValid());
+        assertEquals(15, result.offset());
+        assertEquals(2, result.line());
+        assertEquals(14, result.column());
+        assertNotNull(result.message());
+    }
+
+    @Test
+    void givenTruncatedInputThenReportEndOfInput() {
+        JsonValidationResult result = JsonValidator.validate("[1, 2".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(result.isValid());
+        assertEquals(5, result.offset());
+        assertEquals(JsonParsingErrorConstants.VALIDATOR_UNEXPECTED_END.getMessage(), result.message());
+    }
+
+    @Test
+    void givenValidInputThenShareValidResult() {
+        assertSame(JsonValidator.validate("[]"), JsonValidator.validate("{}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void givenInvalidUtf8ThenRejectBytes() {
+        assertFalse(JsonValidator.isValid(new byte[]{'"', (byte) 0xC0, (byte) 0x80, '"'}, STRICT_WITH_SCALARS));          // Overlong encoding
+        assertFalse(JsonValidator.isValid(new byte[]{'"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"'}, STRICT_WITH_SCALARS)); // Encoded surrogate
+        assertFalse(JsonValidator.isValid(new byte[]{'"', (byte) 0xE2, (byte) 0x82, '"'}, STRICT_WITH_SCALARS));          // Truncated sequence
+        assertTrue(JsonValidator.isValid(new byte[]{'"', (byte) 0xE2, (byte) 0x82, (byte) 0xAC, '"'}, STRICT_WITH_SCALARS));
+    }
+
+    @Test
+    void givenDeepNestingThenTrackContainerKinds() {
+        String deep = "[{\"a\":".repeat(200) + "1" + "}]".repeat(200);
+        String mismatched = "[{\"a\":".repeat(200) + "1" + "]}".repeat(200);
+
+        assertTrue(JsonValidator.isValid(deep, JsonGrammar.STRICT));
+        assertFalse(JsonValidator.isValid(mismatched, JsonGrammar.STRICT));
+    }
+
+    @Test
+    void givenListenerThatValidatesThenKeepTheFailureOfTheOuterCall() {
+        JsonInstrumentation.setMetrics(new JsonMetrics() {
+            @Override
+            public void validated(String engine, long inputSize, boolean valid, long errorOffset, boolean succeeded, long durationNanos) {
+                if (!valid) {
+                    JsonValidator.validate("[]".getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        try {
+            JsonValidationResult result = JsonValidator.validate("[1, 2".getBytes(StandardCharsets.UTF_8));
+
+            assertFalse(result.isValid());
+            assertEquals(5, result.offset());
+        } finally {
+            JsonInstrumentation.setMetrics(null);
+        }
+    }
+}
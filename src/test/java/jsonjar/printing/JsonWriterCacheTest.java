@@ -0,0 +1,140 @@
+package jsonjar.printing;
+
+import jsonjar.error_handling.JsonWriteException;
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWriterCacheTest {
+    JsonWriter writer;
+    JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        writer = new JsonWriter();
+        parser = new JsonParser();
+    }
+
+    @Test
+    void givenCacheEnabledThenReuseCachedBytesForUnchangedSubtrees() throws IOException {
+        JsonObject root = parser.parseFromString("{\"config\": {\"a\": 1}, \"items\": [1, 2]}").toJsonObject();
+        root.enableSerializationCache();
+        byte[] first = writer.getCompactBytes(root);
+
+        JsonObject config = root.getAsJsonObject("config");
+        byte[] cachedConfig = compact(config);
+        assertNotNull(cachedConfig);
+
+        writer.getCompactBytes(root);
+        assertSame(cachedConfig, compact(config));
+        assertArrayEquals(first, compact(root));
+    }
+
+    @Test
+    void givenMutationThenInvalidateNodeAndAncestorsOnly() throws IOException {
+        JsonObject root = parser.parseFromString("{\"config\": {\"a\": 1}, \"items\": [1, 2]}").toJsonObject();
+        root.enableSerializationCache();
+        writer.getCompactBytes(root);
+        writer.getPrettyBytes(root, 0);
+
+        JsonArray items = root.getAsJsonArray("items");
+        items.addValue(new JsonString("three"));
+
+        assertNull(compact(items));
+        assertNull(compact(root));
+        assertNull(pretty(root, 0));
+        assertNotNull(compact(root.getAsJsonObject("config")));
+        assertEquals("{\"config\":{\"a\":1},\"items\":[1,2,\"three\"]}", new String(writer.getCompactBytes(root), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenFrozenContainerThenCacheWithoutOptInAndRejectMutation() throws IOException {
+        JsonArray array = parser.parseFromString("[{\"a\": 1}]").toJsonArray();
+        array.freeze();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.writeCompact(array, outputStream);
+
+        assertEquals("[{\"a\":1}]", outputStream.toString(StandardCharsets.UTF_8));
+        assertNotNull(compact(array));
+        assertThrows(JsonWriteException.class, () -> array.getAsJsonObject(0).addValue("b", JsonNull.getInstance()));
+    }
+
+    @Test
+    void givenFrozenDocumentWrittenByManyThreadsThenShareOneCache() throws Exception {
+        JsonObject root = parser.parseFromString("{\"a\": [1, {\"b\": 2}], \"c\": \"d\"}").toJsonObject();
+        root.freeze();
+        byte[] expected = new JsonWriter().getCompactBytes(parser.parseFromString("{\"a\": [1, {\"b\": 2}], \"c\": \"d\"}"));
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<SerializationCache>> caches = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                caches.add(threads.submit(() -> {
+                    JsonWriter own = new JsonWriter();
+                    assertArrayEquals(expected, own.getCompactBytes(root));
+                    assertArrayEquals(expected, own.getCompactBytes(root));
+                    return root.serializationCache(SerializedForms::new);
+                }));
+            }
+            for (Future<SerializationCache> cache : caches) {
+                assertSame(caches.get(0).get(), cache.get());
+            }
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    void givenUncachedContainerThenDoNotRetainBytes() throws IOException {
+        JsonObject root = parser.parseFromString("{\"a\": [1]}").toJsonObject();
+        writer.getCompactBytes(root);
+
+        assertNull(compact(root));
+    }
+
+    @Test
+    void givenDetachedChildThenMutationNoLongerReachesFormerParent() throws IOException {
+        JsonObject root = parser.parseFromString("{\"config\": {\"a\": 1}}").toJsonObject();
+        root.enableSerializationCache();
+        JsonObject config = root.getAsJsonObject("config");
+        root.removeValue("config");
+        writer.getCompactBytes(root);
+
+        config.addValue("b", JsonNull.getInstance());
+
+        assertEquals("{}", new String(compact(root), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenCachedHashThenNestedMutationChangesIt() throws IOException {
+        JsonObject root = parser.parseFromString("{\"config\": {\"a\": [1, 2]}}").toJsonObject();
+        JsonObject copy = root.deepCopy();
+        assertEquals(copy.hashCode(), root.hashCode());
+
+        root.getAsJsonObject("config").getAsJsonArray("a").addValue(new JsonString("three"));
+
+        assertNotEquals(copy.hashCode(), root.hashCode());
+        assertNotEquals(copy, root);
+    }
+
+    private static byte[] compact(JsonContainer container) {
+        return container.serializationCache(SerializedForms::new) instanceof SerializedForms forms ? forms.compact() : null;
+    }
+
+    private static byte[] pretty(JsonContainer container, int indentLevel) {
+        return container.serializationCache(SerializedForms::new) instanceof SerializedForms forms ? forms.pretty(indentLevel) : null;
+    }
+}
@@ -0,0 +1,174 @@
+package monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jsonjar.json_objects.Json;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonValidator;
+import jsonjar.monitoring.DurationHistogram;
+import jsonjar.monitoring.JsonInstrumentation;
+import jsonjar.monitoring.JsonMetrics;
+import jsonjar.monitoring.JsonMetricsRecorder;
+import jsonjar.printing.JsonPrettyPrinter;
+import jsonjar.printing.JsonWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonInstrumentationTest {
+    private static final String DOCUMENT = "{\"a\": [1, 2, {\"b\": null}], \"c\": \"d\"}";
+
+    @AfterEach
+    void uninstall() {
+        JsonInstrumentation.setMetrics(null);
+    }
+
+    @Test
+    void givenRecorderThenCountEveryOperation() throws IOException {
+        JsonMetricsRecorder recorder = new JsonMetricsRecorder();
+        JsonInstrumentation.setMetrics(recorder);
+
+        Json parsed = new JsonParser().parseFromString(DOCUMENT);
+        new JsonPrettyPrinter().getFormattedJsonString(parsed, 0);
+        byte[] compact = new JsonWriter().getCompactBytes(parsed);
+        JsonValidator.isValid(compact);
+        JsonValidator.isValid("[1,");
+
+        assertEquals(1, recorder.parses());
+        assertEquals(DOCUMENT.length(), recorder.parsedInput());
+        assertEquals(7, recorder.parsedNodes());
+        assertEquals(2, recorder.prints());
+        assertTrue(recorder.printedOutput() > compact.length);
+        assertEquals(2, recorder.validations());
+        assertEquals(1, recorder.invalidDocuments());
+        assertEquals(1, recorder.parseDurations().count());
+        assertEquals(2, recorder.validateDurations().count());
+    }
+
+    @Test
+    void givenListenerThenReportParseShape() throws IOException {
+        List<String> parses = new ArrayList<>();
+        JsonInstrumentation.setMetrics(new JsonMetrics() {
+            @Override
+            public void parsed(String engine, long inputSize, int tokenCount, int maxDepth, int nodeCount, boolean succeeded, long durationNanos) {
+                parses.add(engine + " " + tokenCount + " " + maxDepth + " " + nodeCount);
+            }
+        });
+
+        new JsonParser().parseFromString(DOCUMENT);
+        JsonInstrumentation.setMetrics(null);
+        new JsonParser().parseFromString(DOCUMENT);
+
+        assertEquals(List.of("tree 19 3 7"), parses);
+    }
+
+    @Test
+    void givenFailedOperationsThenReportThemAsFailed() {
+        JsonMetricsRecorder recorder = new JsonMetricsRecorder();
+        JsonInstrumentation.setMetrics(recorder);
+
+        assertThrows(RuntimeException.class, () -> new JsonParser().parseFromString("{\"a\": }"));
+        assertThrows(RuntimeException.class, () -> new JsonParser().parseFromString("[\"\\x\"]"));
+        assertThrows(IOException.class, () -> new JsonWriter().writeCompact(new JsonParser().parseFromString(DOCUMENT), new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        }));
+        assertThrows(IOException.class, () -> JsonValidator.isValid(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("closed");
+            }
+        }));
+
+        assertEquals(3, recorder.parses());
+        assertEquals(2, recorder.failedParses());
+        assertEquals(1, recorder.prints());
+        assertEquals(1, recorder.failedPrints());
+        assertEquals(1, recorder.validations());
+        assertEquals(1, recorder.failedValidations());
+        assertEquals(0, recorder.invalidDocuments());
+    }
+
+    @Test
+    void givenInvalidInputThenReportLengthAndErrorOffsetSeparately() {
+        List<String> validations = new ArrayList<>();
+        JsonInstrumentation.setMetrics(new JsonMetrics() {
+            @Override
+            public void validated(String engine, long inputSize, boolean valid, long errorOffset, boolean succeeded, long durationNanos) {
+                validations.add(engine + " " + inputSize + " " + valid + " " + errorOffset + " " + succeeded);
+            }
+        });
+
+        JsonValidator.isValid("[1, : 2]");
+        JsonValidator.validate("[1, 2]".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of("chars 8 false 4 true", "bytes 6 true -1 true"), validations);
+    }
+
+    @Test
+    void givenRecordingThenCommitFlightRecorderEvents() throws IOException {
+        Path file = Files.createTempFile("jsonjar", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jsonjar.Parse").withThreshold(Duration.ZERO);
+            recording.enable("jsonjar.Print").withThreshold(Duration.ZERO);
+            recording.enable("jsonjar.Validate").withThreshold(Duration.ZERO);
+            recording.start();
+
+            Json parsed = new JsonParser().parseFromString(DOCUMENT);
+            new JsonWriter().getPrettyBytes(parsed, 0);
+            JsonValidator.isValid(DOCUMENT);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .collect(Collectors.toMap(event -> event.getEventType().getName(), event -> event, (first, second) -> first));
+        Files.delete(file);
+
+        RecordedEvent parse = events.get("jsonjar.Parse");
+        assertEquals("tree", parse.getString("engine"));
+        assertEquals(DOCUMENT.length(), parse.getLong("inputSize"));
+        assertEquals(3, parse.getInt("maxDepth"));
+        assertEquals(7, parse.getInt("nodeCount"));
+        assertEquals("pretty-bytes", events.get("jsonjar.Print").getString("engine"));
+        assertTrue(parse.getBoolean("succeeded"));
+        assertTrue(events.get("jsonjar.Print").getBoolean("succeeded"));
+        RecordedEvent validate = events.get("jsonjar.Validate");
+        assertTrue(validate.getBoolean("valid"));
+        assertEquals(DOCUMENT.length(), validate.getLong("inputSize"));
+        assertEquals(-1, validate.getLong("errorOffset"));
+    }
+
+    @Test
+    void givenDurationsThenPercentilesBoundThem() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500_500, histogram.totalNanos());
+        assertEquals(1000, histogram.maxNanos());
+        assertEquals(512, histogram.percentileNanos(0.5));
+        assertEquals(1000, histogram.percentileNanos(1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(2));
+    }
+}
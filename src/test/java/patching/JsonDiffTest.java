@@ -0,0 +1,127 @@
+package patching;
+
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.patching.JsonDiff;
+import jsonjar.patching.JsonPatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonDiffTest {
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser();
+    }
+
+    private void assertDiffTransforms(JsonDiff differ, String source, String target) throws IOException {
+        Json sourceDocument = parser.parseFromString(source);
+        Json targetDocument = parser.parseFromString(target);
+
+        JsonPatch patch = differ.diff(sourceDocument, targetDocument);
+        Json patched = JsonPatch.compile(patch.toJson()).apply(sourceDocument);
+
+        assertEquals(targetDocument, patched);
+    }
+
+    @Test
+    void givenEqualDocumentsThenEmitNothing() throws IOException {
+        Json source = parser.parseFromString("{\"a\": [1, {\"b\": 2.0}], \"c\": null}");
+        Json target = parser.parseFromString("{\"c\": null, \"a\": [1, {\"b\": 2}]}");
+
+        assertEquals(0, JsonDiff.DEFAULT.diff(source, target).size());
+    }
+
+    @Test
+    void givenObjectChangesThenEmitMemberOperations() throws IOException {
+        Json source = parser.parseFromString("{\"a\": 1, \"b\": {\"c\": \"x\"}, \"d\": true}");
+        Json target = parser.parseFromString("{\"a\": 1, \"b\": {\"c\": \"y\"}, \"e\": [1]}");
+
+        JsonPatch patch = JsonDiff.DEFAULT.diff(source, target);
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/b/c\",\"value\":\"y\"},{\"op\":\"remove\",\"path\":\"/d\"},"
+                + "{\"op\":\"add\",\"path\":\"/e\",\"value\":[1]}]", patch.toString());
+    }
+
+    @Test
+    void givenArrayInsertionThenEmitSingleAdd() throws IOException {
+        Json source = parser.parseFromString("[\"a\", \"b\", \"c\", \"d\"]");
+        Json target = parser.parseFromString("[\"a\", \"b\", \"x\", \"c\", \"d\"]");
+
+        assertEquals("[{\"op\":\"add\",\"path\":\"/2\",\"value\":\"x\"}]", JsonDiff.DEFAULT.diff(source, target).toString());
+    }
+
+    @Test
+    void givenChangedArrayElementThenDiffInsideIt() throws IOException {
+        Json source = parser.parseFromString("[{\"id\": 1, \"v\": 1}, {\"id\": 2, \"v\": 1}]");
+        Json target = parser.parseFromString("[{\"id\": 1, \"v\": 1}, {\"id\": 2, \"v\": 2}]");
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/1/v\",\"value\":2}]", JsonDiff.DEFAULT.diff(source, target).toString());
+    }
+
+    @Test
+    void givenArrayEditsThenPatchReproducesTarget() throws IOException {
+        assertDiffTransforms(JsonDiff.DEFAULT, "[1, 2, 3, 4, 5, 6]", "[0, 2, 3, 5, 7, 6, 8]");
+        assertDiffTransforms(JsonDiff.DEFAULT, "[1, 2, 3]", "[]");
+        assertDiffTransforms(JsonDiff.DEFAULT, "[]", "[1, [2], {\"a\": 3}]");
+        assertDiffTransforms(JsonDiff.DEFAULT, "{\"a\": [1, 2]}", "{\"a\": {\"0\": 1}}");
+    }
+
+    @Test
+    void givenTinyBudgetThenFallBackToPositionalDiff() throws IOException {
+        JsonDiff differ = JsonDiff.DEFAULT.withArrayCostBudget(0);
+
+        assertDiffTransforms(differ, "[1, 2, 3, 4, 5, 6]", "[0, 2, 3, 5, 7, 6, 8]");
+        assertDiffTransforms(differ, "[1, 2, 3, 4]", "[9, 1]");
+    }
+
+    @Test
+    void givenRandomEditsThenPatchReproducesTarget() throws IOException {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            StringBuilder source = new StringBuilder("[");
+            StringBuilder target = new StringBuilder("[");
+            for (int i = 0; i < 20; i++) {
+                int value = random.nextInt(6);
+                source.append(i == 0 ? "" : ",").append(value);
+                target.append(i == 0 ? "" : ",").append(random.nextInt(4) == 0 ? random.nextInt(6) : value);
+            }
+            assertDiffTransforms(JsonDiff.DEFAULT, source.append("]").toString(), target.append("]").toString());
+        }
+    }
+
+    @Test
+    void givenPersistentSnapshotsThenOnlyVisitChangedPath() throws IOException {
+        PersistentJsonObject first = PersistentJsonObject.from(parser.parseFromString("{\"config\": {\"a\": 1, \"b\": [1, 2]}, \"other\": {\"x\": 1}}").toJsonObject());
+        PersistentJsonObject second = first.with("config", ((PersistentJsonObject) first.get("config")).with("a", JsonNumber.valueOf(2)));
+
+        JsonPatch patch = JsonDiff.DEFAULT.diff(first, second);
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/config/a\",\"value\":2}]", patch.toString());
+        assertEquals(second, patch.apply(first));
+    }
+
+    @Test
+    void givenSpecialCharactersInKeysThenEscapePaths() throws IOException {
+        Json source = parser.parseFromString("{\"a/b\": 1}");
+        Json target = parser.parseFromString("{\"a/b\": 2}");
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/a~1b\",\"value\":2}]", JsonDiff.DEFAULT.diff(source, target).toString());
+    }
+
+    // Values whose structural hashes may coincide must still be told apart
+    @Test
+    void givenValuesWithCollidingHashesThenDiffStillReachesTarget() throws IOException {
+        assertDiffTransforms(JsonDiff.DEFAULT, "{\"limit\": 255}", "{\"limit\": -1}");
+        assertDiffTransforms(JsonDiff.DEFAULT, "[\"/\", -128, 128]", "[\"m2\", \"ins1\", -128, \"m2\"]");
+        assertDiffTransforms(JsonDiff.DEFAULT, "[200, 40000, 7]", "[-56, -25536, 7]");
+        assertDiffTransforms(JsonDiff.DEFAULT.withArrayCostBudget(0), "[1, 128, 2]", "[1, -128, 2]");
+        assertEquals(1, JsonDiff.DEFAULT.diff(parser.parseFromString("{\"limit\": 255}"), parser.parseFromString("{\"limit\": -1}")).size());
+    }
+}
@@ -0,0 +1,65 @@
+package patching;
+
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonObject;
+import jsonjar.json_objects.PersistentJsonObject;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.patching.JsonMergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonMergePatchTest {
+    private static final String DOCUMENT = """
+            {"title": "Goodbye!", "author": {"givenName": "John", "familyName": "Doe"}, "tags": ["example", "sample"], "content": "text"}""";
+    private static final String PATCH = """
+            {"title": "Hello!", "phoneNumber": "+01-123-456-7890", "author": {"familyName": null}, "tags": ["example"]}""";
+    private static final String EXPECTED = """
+            {"title":"Hello!","author":{"givenName":"John"},"tags":["example"],"content":"text","phoneNumber":"+01-123-456-7890"}""";
+
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser();
+    }
+
+    @Test
+    void givenRfcExampleThenMergeInPlace() throws IOException {
+        JsonObject document = parser.parseFromString(DOCUMENT).toJsonObject();
+        JsonMergePatch patch = JsonMergePatch.compile(parser.parseFromString(PATCH));
+
+        Json result = patch.apply(document);
+
+        assertSame(document, result);
+        assertEquals(EXPECTED, result.toString());
+    }
+
+    @Test
+    void givenPersistentDocumentThenProduceNewVersion() throws IOException {
+        PersistentJsonObject document = PersistentJsonObject.from(parser.parseFromString(DOCUMENT).toJsonObject());
+        JsonMergePatch patch = JsonMergePatch.compile(parser.parseFromString(PATCH));
+
+        Json result = patch.apply(document);
+
+        assertEquals(EXPECTED, result.toString());
+        assertEquals("Goodbye!", document.get("title").getValue());
+    }
+
+    @Test
+    void givenNestedPatchForMissingMemberThenCreateObjectWithoutNulls() throws IOException {
+        JsonMergePatch patch = JsonMergePatch.compile(parser.parseFromString("{\"a\": {\"b\": {\"c\": null, \"d\": 1}}}"));
+
+        assertEquals("{\"a\":{\"b\":{\"d\":1}}}", patch.apply(new JsonObject()).toString());
+    }
+
+    @Test
+    void givenNonObjectPatchThenReplaceDocument() throws IOException {
+        JsonMergePatch patch = JsonMergePatch.compile(parser.parseFromString("[1, null]"));
+
+        assertEquals("[1,null]", patch.apply(parser.parseFromString("{\"a\": 1}")).toString());
+    }
+}
@@ -0,0 +1,153 @@
+package patching;
+
+import jsonjar.error_handling.JsonPatchException;
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.patching.JsonPatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPatchTest {
+    private JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        parser = new JsonParser();
+    }
+
+    private Json parse(String json) throws IOException {
+        return parser.parseFromString(json);
+    }
+
+    private JsonPatch compile(String patch) throws IOException {
+        return JsonPatch.compile(parse(patch));
+    }
+
+    @Test
+    void givenEachOperationThenApplyInPlace() throws IOException {
+        JsonObject document = parse("{\"a\": {\"b\": [1, 2, 3]}, \"c\": \"x\"}").toJsonObject();
+        JsonPatch patch = compile("""
+                [
+                  {"op": "add", "path": "/a/b/1", "value": 9},
+                  {"op": "remove", "path": "/a/b/0"},
+                  {"op": "replace", "path": "/c", "value": {"d": true}},
+                  {"op": "copy", "from": "/c", "path": "/e"},
+                  {"op": "move", "from": "/a/b", "path": "/f"},
+                  {"op": "add", "path": "/f/-", "value": 4},
+                  {"op": "test", "path": "/e/d", "value": true}
+                ]""");
+
+        Json result = patch.apply(document);
+
+        assertSame(document, result);
+        assertEquals("{\"a\":{},\"c\":{\"d\":true},\"e\":{\"d\":true},\"f\":[9,2,3,4]}", result.toString());
+        assertNotSame(document.get("c"), document.get("e"));
+    }
+
+    @Test
+    void givenPersistentDocumentThenLeaveOriginalUntouched() throws IOException {
+        PersistentJsonObject original = PersistentJsonObject.from(parse("{\"a\": {\"b\": 1}, \"big\": [1, 2, 3]}").toJsonObject());
+        JsonPatch patch = compile("[{\"op\": \"replace\", \"path\": \"/a/b\", \"value\": 2}]");
+
+        PersistentJsonObject patched = (PersistentJsonObject) patch.apply(original);
+
+        assertEquals("{\"a\":{\"b\":1},\"big\":[1,2,3]}", original.toString());
+        assertEquals("{\"a\":{\"b\":2},\"big\":[1,2,3]}", patched.toString());
+        assertSame(original.get("big"), patched.get("big"));
+    }
+
+    @Test
+    void givenFailingPatchOnPersistentDocumentThenOriginalIsUnchanged() throws IOException {
+        PersistentJsonObject original = PersistentJsonObject.from(parse("{\"a\": 1}").toJsonObject());
+        JsonPatch patch = compile("[{\"op\": \"remove\", \"path\": \"/a\"}, {\"op\": \"test\", \"path\": \"/a\", \"value\": 1}]");
+
+        assertThrows(JsonPatchException.class, () -> patch.apply(original));
+        assertEquals(1, original.size());
+    }
+
+    @Test
+    void givenCompiledPatchThenReuseAcrossDocumentsWithoutSharingValues() throws IOException {
+        JsonPatch patch = compile("[{\"op\": \"add\", \"path\": \"/list\", \"value\": []}]");
+        JsonObject first = patch.apply(new JsonObject()).toJsonObject();
+        JsonObject second = patch.apply(new JsonObject()).toJsonObject();
+
+        first.getAsJsonArray("list").addValue(new JsonString("only first"));
+
+        assertEquals("{\"list\":[]}", second.toString());
+    }
+
+    @Test
+    void givenRootPathThenReplaceWholeDocument() throws IOException {
+        Json result = compile("[{\"op\": \"replace\", \"path\": \"\", \"value\": [1]}]").apply(parse("{\"a\": 1}"));
+
+        assertEquals("[1]", result.toString());
+    }
+
+    @Test
+    void givenEscapedPointerThenResolveMemberNames() throws IOException {
+        Json result = compile("[{\"op\": \"add\", \"path\": \"/a~1b/c~0d\", \"value\": 1}]").apply(parse("{\"a/b\": {}}"));
+
+        assertEquals("{\"a/b\":{\"c~d\":1}}", result.toString());
+    }
+
+    @Test
+    void givenInvalidOperationsThenThrow() throws IOException {
+        JsonObject document = parse("{\"a\": [1]}").toJsonObject();
+
+        assertThrows(JsonPatchException.class, () -> compile("[{\"op\": \"jump\", \"path\": \"/a\"}]"));
+        assertThrows(JsonPatchException.class, () -> compile("[{\"op\": \"add\", \"path\": \"/a\"}]"));
+        assertThrows(JsonPatchException.class, () -> compile("[{\"op\": \"move\", \"from\": \"/a\", \"path\": \"/a/0\"}]"));
+        assertThrows(JsonPatchException.class, () -> compile("[{\"op\": \"remove\", \"path\": \"/x\"}]").apply(document));
+        assertThrows(JsonPatchException.class, () -> compile("[{\"op\": \"add\", \"path\": \"/a/5\", \"value\": 1}]").apply(document));
+        assertThrows(JsonPatchException.class, () -> compile("[{\"op\": \"add\", \"path\": \"/a/01\", \"value\": 1}]").apply(document));
+        assertThrows(JsonPatchException.class, () -> compile("[{\"op\": \"test\", \"path\": \"/a\", \"value\": [2]}]").apply(document));
+    }
+
+    @Test
+    void givenNumericTestThenCompareNumerically() throws IOException {
+        Json result = compile("[{\"op\": \"test\", \"path\": \"/n\", \"value\": 1.0}]").apply(parse("{\"n\": 1}"));
+
+        assertEquals("{\"n\":1}", result.toString());
+    }
+
+    @Test
+    void givenBatchOfPatchesThenCoalesceOverwrittenMembers() throws IOException {
+        List<JsonPatch> batch = List.of(
+                compile("[{\"op\": \"replace\", \"path\": \"/count\", \"value\": 1}]"),
+                compile("[{\"op\": \"replace\", \"path\": \"/count\", \"value\": 2}, {\"op\": \"add\", \"path\": \"/list/-\", \"value\": 1}]"),
+                compile("[{\"op\": \"replace\", \"path\": \"/count\", \"value\": 3}]"));
+
+        JsonPatch combined = JsonPatch.combine(batch);
+        Json result = JsonPatch.applyAll(parse("{\"count\": 0, \"list\": []}"), batch);
+
+        assertEquals(2, combined.size());
+        assertEquals("{\"count\":3,\"list\":[1]}", result.toString());
+    }
+
+    @Test
+    void givenInterveningReadThenKeepEarlierWrite() throws IOException {
+        List<JsonPatch> batch = List.of(
+                compile("[{\"op\": \"replace\", \"path\": \"/a\", \"value\": 1}]"),
+                compile("[{\"op\": \"copy\", \"from\": \"/a\", \"path\": \"/b\"}]"),
+                compile("[{\"op\": \"replace\", \"path\": \"/a\", \"value\": 2}]"));
+
+        Json result = JsonPatch.applyAll(parse("{\"a\": 0}"), batch);
+
+        assertEquals(3, JsonPatch.combine(batch).size());
+        assertEquals("{\"a\":2,\"b\":1}", result.toString());
+    }
+
+    @Test
+    void givenCoalescedReplaceOfMissingMemberThenStillFail() throws IOException {
+        List<JsonPatch> batch = List.of(
+                compile("[{\"op\": \"replace\", \"path\": \"/missing\", \"value\": 1}]"),
+                compile("[{\"op\": \"add\", \"path\": \"/missing\", \"value\": 2}]"));
+
+        assertThrows(JsonPatchException.class, () -> JsonPatch.applyAll(new JsonObject(), batch));
+    }
+}
@@ -0,0 +1,50 @@
+package printing;
+
+import jsonjar.json_objects.*;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.printing.JsonPrettyPrinter;
+import jsonjar.printing.JsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWriterTest {
+    JsonWriter writer;
+    JsonParser parser;
+
+    @BeforeEach
+    void init() {
+        writer = new JsonWriter();
+        parser = new JsonParser();
+    }
+
+    @Test
+    void givenNestedInputThenCompactBytesContainNoWhitespace() throws IOException {
+        Json input = parser.parseFromString("{\"key1\": [1, true, null], \"key2\": {\"nested\": \"value\"}}");
+        String expected = "{\"key1\":[1,true,null],\"key2\":{\"nested\":\"value\"}}";
+
+        assertEquals(expected, new String(writer.getCompactBytes(input), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenComplexInputThenPrettyBytesMatchPrettyPrinter() throws IOException {
+        Json input = parser.parseFromFile(new File("src/test/resources/pass_complexArray.json"));
+        String expected = new JsonPrettyPrinter().getFormattedJsonString(input, 0);
+
+        assertEquals(expected, new String(writer.getPrettyBytes(input, 0), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenEscapedAndNonAsciiStringsThenEncodeAsUtf8() throws IOException {
+        JsonArray array = new JsonArray();
+        array.addValue(new JsonString("quote\" tab\t café 😀"));
+
+        byte[] expected = "[\"quote\\\" tab\\t café 😀\"]".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, writer.getCompactBytes(array));
+    }
+}
@@ -0,0 +1,338 @@
+package reactive;
+
+import jsonjar.error_handling.JsonSyntaxException;
+import jsonjar.generator.CorpusShape;
+import jsonjar.generator.JsonCorpusGenerator;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonArray;
+import jsonjar.json_objects.JsonNull;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonParserOptions;
+import jsonjar.lexing_parsing.JsonStringPool;
+import jsonjar.reactive.JsonArrayPublisher;
+import jsonjar.reactive.JsonChunkFeed;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonArrayPublisherTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    // Requests batch elements at a time, asking for the next batch once the previous one has arrived
+    private static final class CollectingSubscriber implements Flow.Subscriber<Json> {
+        private final long batch;
+        private final List<Json> elements = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<Json>> done = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private long outstanding = 0;
+
+        CollectingSubscriber(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = batch;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(Json item) {
+            elements.add(item);
+            if (--outstanding == 0) {
+                outstanding = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(elements);
+        }
+
+        List<Json> await() throws Exception {
+            return done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        Throwable awaitError() {
+            Exception thrown = assertThrows(Exception.class, () -> done.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            return thrown.getCause();
+        }
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final ByteArrayInputStream delegate;
+        private final AtomicInteger read = new AtomicInteger();
+        private volatile boolean closed = false;
+
+        CountingInputStream(byte[] bytes) {
+            this.delegate = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            int value = delegate.read();
+            read.addAndGet(value < 0 ? 0 : 1);
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int count = delegate.read(buffer, offset, length);
+            read.addAndGet(Math.max(count, 0));
+            return count;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static String records(long targetBytes) throws IOException {
+        StringWriter writer = new StringWriter();
+        new JsonCorpusGenerator(CorpusShape.DEFAULT.withEscapeDensity(0.1)).writeRecords(writer, targetBytes);
+        return writer.toString();
+    }
+
+    @Test
+    void givenStreamThenPublishEveryElementInOrder() throws Exception {
+        String json = records(200_000);
+        JsonArray expected = new JsonParser().parseFromString(json).toJsonArray();
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+
+        JsonArrayPublisher.from(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))).subscribe(subscriber);
+
+        assertEquals(expected.getValue(), subscriber.await());
+    }
+
+    @Test
+    void givenChannelThenPublishScalarsAndContainers() throws Exception {
+        String json = " [1, -2.5e3, \"a]b,\\\"c\", true, false, null, {\"k\": [\"}\"]}, [[]], \"\u00e9\"] \n";
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+        JsonArrayPublisher.from(Channels.newChannel(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))).subscribe(subscriber);
+
+        assertEquals(new JsonParser().parseFromString(json).toJsonArray().getValue(), subscriber.await());
+        assertEquals(JsonNull.getInstance(), subscriber.await().get(5));
+    }
+
+    @Test
+    void givenLimitedDemandThenReadNoFurtherAndCloseOnCancel() throws Exception {
+        byte[] bytes = records(1_000_000).getBytes(StandardCharsets.UTF_8);
+        CountingInputStream input = new CountingInputStream(bytes);
+        List<Json> received = new CopyOnWriteArrayList<>();
+        CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+
+        JsonArrayPublisher.from(input).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscribed.complete(subscription);
+                subscription.request(2);
+            }
+
+            @Override
+            public void onNext(Json item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                fail("The array should not have been read to the end");
+            }
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (received.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(2, received.size());
+        assertTrue(input.read.get() < bytes.length / 10);
+
+        subscribed.get().cancel();
+        while (!input.closed && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(input.closed);
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void givenNonBlockingChannelThenReject() throws IOException {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            assertThrows(IllegalArgumentException.class, () -> JsonArrayPublisher.from(pipe.source()));
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    @Test
+    void givenReadBlockedOnChannelThenCancelAbandonsIt() throws Exception {
+        Pipe pipe = Pipe.open();
+        List<Thread> readers = new CopyOnWriteArrayList<>();
+        List<String> signals = new CopyOnWriteArrayList<>();
+        CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+        Executor executor = runnable -> {
+            Thread reader = new Thread(runnable);
+            readers.add(reader);
+            reader.start();
+        };
+
+        JsonArrayPublisher.from(pipe.source(), executor).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscribed.complete(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Json item) {
+                signals.add("next " + item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add("error " + throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+            }
+        });
+
+        pipe.sink().write(ByteBuffer.wrap("[1, ".getBytes(StandardCharsets.UTF_8)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (signals.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50); // The reader is now blocked waiting for the second element
+
+        subscribed.get().cancel();
+        for (Thread reader : readers) {
+            reader.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+            assertFalse(reader.isAlive());
+        }
+        assertFalse(pipe.source().isOpen());
+        assertEquals(List.of("next 1"), signals);
+        pipe.sink().close();
+    }
+
+    @Test
+    void givenPushedChunksThenSplitAcrossAnyBoundary() throws Exception {
+        byte[] bytes = "[{\"a\": \"x\\\\\", \"b\": [1, 2]}, \"\u00e9\u20ac\", 42]".getBytes(StandardCharsets.UTF_8);
+        JsonChunkFeed feed = new JsonChunkFeed();
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        JsonArrayPublisher.from(feed).subscribe(subscriber);
+
+        for (byte b : bytes) {
+            feed.push(new byte[]{b});
+        }
+        feed.complete();
+
+        assertEquals(new JsonParser().parseFromString(new String(bytes, StandardCharsets.UTF_8)).toJsonArray().getValue(), subscriber.await());
+        assertEquals(0, feed.bufferedBytes());
+        assertThrows(IllegalStateException.class, () -> feed.push(new byte[]{' '}));
+    }
+
+    @Test
+    void givenFeedWithoutDemandThenBufferChunks() {
+        JsonChunkFeed feed = new JsonChunkFeed();
+        List<Json> received = new ArrayList<>();
+        JsonArrayPublisher.from(feed).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+            }
+
+            @Override
+            public void onNext(Json item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        feed.push("[1, 2, 3]".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(received.isEmpty());
+        assertEquals(9, feed.bufferedBytes());
+    }
+
+    @Test
+    void givenInvalidInputThenSignalError() {
+        for (String input : Arrays.asList("{\"a\": 1}", "[1,]", "[1 ,, 2]", "[1] x", "[1, 2", "[1}]", "[{\"a\": }]", "[\"\\q\"]", "[1x]", "[-]")) {
+            CollectingSubscriber subscriber = new CollectingSubscriber(1);
+            JsonArrayPublisher.from(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))).subscribe(subscriber);
+
+            assertInstanceOf(JsonSyntaxException.class, subscriber.awaitError(), input);
+        }
+    }
+
+    @Test
+    void givenParserOptionsThenApplyThemToScalarElements() throws Exception {
+        JsonParserOptions options = JsonParserOptions.DEFAULT.withStringPool(new JsonStringPool(16, 16)).withSmallIntegerCache(0, 2000);
+        String json = "[\"open\", \"open\", 1500, 1500]";
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+        JsonArrayPublisher.from(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))).withParserOptions(options).subscribe(subscriber);
+
+        List<Json> elements = subscriber.await();
+        assertSame(elements.get(0), elements.get(1));
+        assertSame(elements.get(2), elements.get(3));
+    }
+
+    @Test
+    void givenSpecViolationsThenSignalError() throws Exception {
+        CollectingSubscriber zeroRequest = new CollectingSubscriber(0);
+        JsonArrayPublisher publisher = JsonArrayPublisher.from(new ByteArrayInputStream("[1]".getBytes(StandardCharsets.UTF_8)));
+        publisher.subscribe(zeroRequest);
+        assertInstanceOf(IllegalArgumentException.class, zeroRequest.awaitError());
+
+        CollectingSubscriber second = new CollectingSubscriber(1);
+        publisher.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, second.awaitError());
+
+        CollectingSubscriber empty = new CollectingSubscriber(1);
+        JsonArrayPublisher.from(new ByteArrayInputStream(" [ ] ".getBytes(StandardCharsets.UTF_8))).subscribe(empty);
+        assertTrue(empty.await().isEmpty());
+    }
+}
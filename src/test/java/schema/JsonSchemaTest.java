@@ -0,0 +1,125 @@
+package schema;
+
+import jsonjar.error_handling.JsonSchemaException;
+import jsonjar.json_objects.Json;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonParserOptions;
+import jsonjar.patching.JsonPointer;
+import jsonjar.schema.JsonSchema;
+import jsonjar.schema.SchemaViolation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonSchemaTest {
+    private static final String EVENT_SCHEMA = """
+            {
+              "type": "object",
+              "required": ["id", "kind", "tags"],
+              "properties": {
+                "id": {"type": "integer", "minimum": 1},
+                "kind": {"enum": ["click", "view"]},
+                "score": {"type": "number", "exclusiveMaximum": 1},
+                "name": {"type": "string", "minLength": 2, "maxLength": 5, "pattern": "^[a-z]+$"},
+                "tags": {"type": "array", "items": {"type": "string"}, "maxItems": 2},
+                "owner": {"$ref": "#/definitions/person"}
+              },
+              "additionalProperties": false,
+              "definitions": {
+                "person": {"type": "object", "required": ["name"], "properties": {"name": {"type": "string"}, "manager": {"$ref": "#/definitions/person"}}}
+              }
+            }""";
+
+    private JsonParser parser;
+    private JsonSchema schema;
+
+    @BeforeEach
+    void init() throws IOException {
+        parser = new JsonParser();
+        schema = JsonSchema.compile(parser.parseFromString(EVENT_SCHEMA));
+    }
+
+    private static Set<String> locations(List<SchemaViolation> violations) {
+        return violations.stream().map(violation -> violation.location().toString()).collect(Collectors.toSet());
+    }
+
+    @Test
+    void givenValidInstanceThenNoViolations() throws IOException {
+        Json instance = parser.parseFromString("{\"id\": 3, \"kind\": \"click\", \"score\": 0.5, \"name\": \"abc\", \"tags\": [\"a\"], \"owner\": {\"name\": \"x\", \"manager\": {\"name\": \"y\"}}}");
+
+        assertTrue(schema.isValid(instance));
+        assertEquals(List.of(), schema.validate(instance));
+    }
+
+    @Test
+    void givenInvalidInstanceThenReportEveryViolationWithPointer() throws IOException {
+        Json instance = parser.parseFromString("{\"id\": 0, \"kind\": \"buy\", \"score\": 1, \"name\": \"ABCDEFG\", \"tags\": [\"a\", 2, \"c\"], \"owner\": {\"manager\": {}}, \"extra\": true}");
+
+        List<SchemaViolation> violations = schema.validate(instance);
+
+        assertEquals(Set.of("/id", "/kind", "/score", "/name", "/tags", "/tags/1", "/owner", "/owner/manager", "/extra"), locations(violations));
+        assertEquals(10, violations.size()); // "name" breaks both maxLength and pattern
+        assertEquals(JsonPointer.parse("/tags/1"), violations.stream().filter(v -> v.message().contains("type")).findFirst().orElseThrow().location());
+    }
+
+    @Test
+    void givenMissingRequiredMembersThenReportAtObject() throws IOException {
+        List<SchemaViolation> violations = schema.validate(parser.parseFromString("{\"id\": 1}"));
+
+        assertEquals(2, violations.size());
+        assertEquals(Set.of(""), locations(violations));
+        assertTrue(violations.get(0).message().contains("\"kind\""));
+    }
+
+    @Test
+    void givenIntegerTypeThenAcceptIntegralDecimals() throws IOException {
+        JsonSchema integers = JsonSchema.compile(parser.parseFromString("{\"type\": [\"integer\", \"null\"]}"));
+
+        assertTrue(integers.isValid(parser.parseFromString("[2.0]").toJsonArray().get(0)));
+        assertTrue(integers.isValid(parser.parseFromString("[null]").toJsonArray().get(0)));
+        assertFalse(integers.isValid(parser.parseFromString("[2.5]").toJsonArray().get(0)));
+    }
+
+    @Test
+    void givenTupleItemsThenCheckEachPosition() throws IOException {
+        JsonSchema pair = JsonSchema.compile(parser.parseFromString("{\"items\": [{\"type\": \"string\"}, {\"type\": \"number\"}], \"additionalItems\": false}"));
+
+        assertTrue(pair.isValid(parser.parseFromString("[\"a\", 1]")));
+        assertEquals(Set.of("/1", "/2"), locations(pair.validate(parser.parseFromString("[\"a\", \"b\", 3]"))));
+    }
+
+    @Test
+    void givenSchemaWhileParsingThenValidateInSamePass() throws IOException {
+        JsonParser validatingParser = new JsonParser(JsonParserOptions.DEFAULT.withSchema(schema));
+        String invalid = "{\"id\": 0, \"kind\": \"buy\", \"tags\": [\"a\", 2, \"c\"], \"owner\": {\"manager\": {}}, \"extra\": [1]}";
+
+        Json parsed = validatingParser.parseFromString(invalid);
+
+        assertEquals(Set.copyOf(schema.validate(parsed)), Set.copyOf(validatingParser.getSchemaViolations()));
+
+        validatingParser.parseFromString("{\"id\": 3, \"kind\": \"view\", \"tags\": []}");
+        assertEquals(List.of(), validatingParser.getSchemaViolations());
+    }
+
+    @Test
+    void givenNoSchemaThenParserReportsNoViolations() throws IOException {
+        parser.parseFromString("{\"a\": 1}");
+
+        assertEquals(List.of(), parser.getSchemaViolations());
+    }
+
+    @Test
+    void givenInvalidSchemaThenThrow() throws IOException {
+        assertThrows(JsonSchemaException.class, () -> JsonSchema.compile(parser.parseFromString("{\"type\": \"text\"}")));
+        assertThrows(JsonSchemaException.class, () -> JsonSchema.compile(parser.parseFromString("{\"minLength\": -1}")));
+        assertThrows(JsonSchemaException.class, () -> JsonSchema.compile(parser.parseFromString("{\"$ref\": \"#/definitions/missing\"}")));
+        assertThrows(JsonSchemaException.class, () -> JsonSchema.compile(parser.parseFromString("{\"$ref\": \"other.json#/a\"}")));
+        assertThrows(JsonSchemaException.class, () -> JsonSchema.compile(parser.parseFromString("{\"properties\": {\"a\": {\"$ref\": \"#/properties/a\"}}}")));
+    }
+}
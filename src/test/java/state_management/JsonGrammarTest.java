@@ -0,0 +1,84 @@
+package state_management;
+
+import jsonjar.error_handling.JsonSyntaxException;
+import jsonjar.json_objects.Json;
+import jsonjar.json_objects.JsonString;
+import jsonjar.lexing_parsing.JsonParser;
+import jsonjar.lexing_parsing.JsonParserOptions;
+import jsonjar.lexing_parsing.TokenType;
+import jsonjar.state_management.GrammarExtension;
+import jsonjar.state_management.JsonFiniteStateMachine;
+import jsonjar.state_management.JsonGrammar;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static jsonjar.state_management.State.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonGrammarTest {
+    private static Json parse(JsonGrammar grammar, String input) throws IOException {
+        return new JsonParser(JsonParserOptions.DEFAULT.withGrammar(grammar)).parseFromString(input);
+    }
+
+    @Test
+    void givenLenientGrammarThenKeepHistoricBehaviour() throws IOException {
+        JsonFiniteStateMachine machine = new JsonFiniteStateMachine();
+
+        machine.nextState(TokenType.OBJECT_OPENER);
+        machine.nextState(TokenType.ARRAY_OPENER);
+        assertEquals(OPEN_ARRAY, machine.getCurrentState());
+
+        assertEquals(parse(JsonGrammar.STRICT, "{\"a\": [1, 2]}"), parse(JsonGrammar.LENIENT, "{\"a\": [1, 2,]}"));
+    }
+
+    // A leading comma in an array pushed a state in the original machine, which leaves the enclosing object unable to continue
+    @Test
+    void givenLeadingCommaInNestedArrayThenRejectLikeTheOriginalMachine() {
+        JsonSyntaxException exception = assertThrows(JsonSyntaxException.class, () -> parse(JsonGrammar.LENIENT, "{\"a\":[,1],\"b\":2}"));
+
+        assertEquals("Error: Invalid JSON syntax. Cannot transition from ARRAY_VALUE with COLON.", exception.getMessage());
+    }
+
+    @Test
+    void givenStrictGrammarThenRejectStrayCommas() {
+        for (String input : new String[]{"[1, 2,]", "{\"a\": 1,}", "[, 1]", "[1 2]", "{\"a\" \"b\": 1}", "{{}}", "[1]]", "[1] [2]", "\"text\""}) {
+            assertThrows(JsonSyntaxException.class, () -> parse(JsonGrammar.STRICT, input), input);
+        }
+    }
+
+    @Test
+    void givenStrictGrammarThenParseNestedDocuments() throws IOException {
+        String deep = "[".repeat(100) + "{\"a\": [true, null, {\"b\": \"c\"}]}" + "]".repeat(100);
+
+        assertEquals(parse(JsonGrammar.LENIENT, deep), parse(JsonGrammar.STRICT, deep));
+        assertEquals(parse(JsonGrammar.LENIENT, "-1.5e3"), parse(JsonGrammar.STRICT, "-1.5e3"));
+    }
+
+    @Test
+    void givenExtensionsThenAcceptTheirSyntax() throws IOException {
+        JsonGrammar trailing = JsonGrammar.strict(EnumSet.of(GrammarExtension.TRAILING_COMMAS));
+        JsonGrammar scalars = JsonGrammar.strict(EnumSet.of(GrammarExtension.TOP_LEVEL_SCALARS));
+
+        assertEquals(parse(JsonGrammar.STRICT, "{\"a\": [1, 2]}"), parse(trailing, "{\"a\": [1, 2,],}"));
+        assertThrows(JsonSyntaxException.class, () -> parse(trailing, "[1,,]"));
+        assertEquals(new JsonString("text"), parse(scalars, "\"text\""));
+        assertThrows(JsonSyntaxException.class, () -> parse(scalars, "\"a\" \"b\""));
+        assertEquals(Set.of(GrammarExtension.TRAILING_COMMAS), trailing.extensions());
+    }
+
+    @Test
+    void givenInvalidTokenThenReportErrorCodeWithoutThrowing() {
+        JsonFiniteStateMachine machine = new JsonFiniteStateMachine(JsonGrammar.STRICT);
+
+        assertTrue(machine.advance(TokenType.OBJECT_OPENER) >= 0);
+        assertEquals(1, machine.getDepth());
+        int error = machine.advance(TokenType.COLON);
+
+        assertTrue(error < 0);
+        assertEquals("Cannot transition from OPEN_OBJECT with COLON.", machine.describeError(error));
+        assertEquals(OPEN_OBJECT, machine.getCurrentState());
+    }
+}
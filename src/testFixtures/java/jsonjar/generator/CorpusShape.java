@@ -0,0 +1,154 @@
+package jsonjar.generator;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Immutable description of the documents JsonCorpusGenerator produces; each with* method returns a
+// modified copy. The same shape and seed always produce the same bytes.
+
+public final class CorpusShape {
+    public enum NumberKind { INTEGER, LONG, DECIMAL, EXPONENT, BIG_INTEGER }
+
+    public static final CorpusShape DEFAULT = new CorpusShape(1L, 4, 1, 8, 64, 0, 24, 0.02,
+            EnumSet.of(NumberKind.INTEGER, NumberKind.DECIMAL), 0.8, 0.3);
+
+    private final long seed;
+    private final int maxDepth;
+    private final int minFanOut;
+    private final int maxFanOut;
+    private final int keyPoolSize;
+    private final int minStringLength;
+    private final int maxStringLength;
+    private final double escapeDensity;
+    private final Set<NumberKind> numberKinds;
+    private final double arrayHomogeneity;
+    private final double containerProbability;
+
+    private CorpusShape(long seed, int maxDepth, int minFanOut, int maxFanOut, int keyPoolSize, int minStringLength, int maxStringLength,
+                        double escapeDensity, Set<NumberKind> numberKinds, double arrayHomogeneity, double containerProbability) {
+        this.seed = seed;
+        this.maxDepth = maxDepth;
+        this.minFanOut = minFanOut;
+        this.maxFanOut = maxFanOut;
+        this.keyPoolSize = keyPoolSize;
+        this.minStringLength = minStringLength;
+        this.maxStringLength = maxStringLength;
+        this.escapeDensity = escapeDensity;
+        this.numberKinds = numberKinds;
+        this.arrayHomogeneity = arrayHomogeneity;
+        this.containerProbability = containerProbability;
+    }
+
+    public CorpusShape withSeed(long seed) {
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    // Containers nest at most maxDepth levels below the top-level value
+    public CorpusShape withMaxDepth(int maxDepth) {
+        checkArgument(maxDepth >= 0, "Maximum depth must not be negative.");
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    // Members per object and elements per nested array, chosen uniformly between min and max
+    public CorpusShape withFanOut(int min, int max) {
+        checkArgument(min >= 0 && max >= min, "Fan-out needs 0 <= min <= max.");
+        return new CorpusShape(seed, maxDepth, min, max, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    // Keys are drawn from a pool of this many distinct names; 0 makes every key new
+    public CorpusShape withKeyPoolSize(int keyPoolSize) {
+        checkArgument(keyPoolSize >= 0, "Key pool size must not be negative.");
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    public CorpusShape withStringLength(int min, int max) {
+        checkArgument(min >= 0 && max >= min, "String length needs 0 <= min <= max.");
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, min, max, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    // Probability that a string character is written as an escape sequence
+    public CorpusShape withEscapeDensity(double escapeDensity) {
+        checkProbability(escapeDensity);
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    public CorpusShape withNumberKinds(Set<NumberKind> numberKinds) {
+        checkArgument(!numberKinds.isEmpty(), "At least one number kind is needed.");
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                EnumSet.copyOf(numberKinds), arrayHomogeneity, containerProbability);
+    }
+
+    // Probability that an array element has the same kind (and, for objects, the same keys) as the first
+    public CorpusShape withArrayHomogeneity(double arrayHomogeneity) {
+        checkProbability(arrayHomogeneity);
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    // Probability that a value above the maximum depth is an object or array rather than a leaf
+    public CorpusShape withContainerProbability(double containerProbability) {
+        checkProbability(containerProbability);
+        return new CorpusShape(seed, maxDepth, minFanOut, maxFanOut, keyPoolSize, minStringLength, maxStringLength, escapeDensity,
+                numberKinds, arrayHomogeneity, containerProbability);
+    }
+
+    private static void checkProbability(double probability) {
+        checkArgument(probability >= 0 && probability <= 1, "Probabilities must be between 0 and 1.");
+    }
+
+    private static void checkArgument(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    public int minFanOut() {
+        return minFanOut;
+    }
+
+    public int maxFanOut() {
+        return maxFanOut;
+    }
+
+    public int keyPoolSize() {
+        return keyPoolSize;
+    }
+
+    public int minStringLength() {
+        return minStringLength;
+    }
+
+    public int maxStringLength() {
+        return maxStringLength;
+    }
+
+    public double escapeDensity() {
+        return escapeDensity;
+    }
+
+    public Set<NumberKind> numberKinds() {
+        return EnumSet.copyOf(numberKinds);
+    }
+
+    public double arrayHomogeneity() {
+        return arrayHomogeneity;
+    }
+
+    public double containerProbability() {
+        return containerProbability;
+    }
+}
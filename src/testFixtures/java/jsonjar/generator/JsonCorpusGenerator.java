@@ -0,0 +1,306 @@
+package jsonjar.generator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Streams seeded synthetic JSON shaped by a CorpusShape, from a few bytes to many gigabytes. Values are
+// written as they are generated and nothing is kept except the key pool, so memory use does not grow
+// with the output. Output is pure ASCII, with other characters only ever written as escape sequences,
+// so the number of characters written equals the number of bytes.
+//
+// Usage: JsonCorpusGenerator [--seed n] [--size bytes|--documents n] [--ndjson] [--depth n] [--fan-out min:max]
+//        [--keys n] [--string-length min:max] [--escapes p] [--numbers kind,kind] [--homogeneity p]
+//        [--containers p] [--out file]
+// Sizes accept KB, MB and GB suffixes. Without --out the JSON goes to stdout.
+
+public final class JsonCorpusGenerator {
+    private static final String[] ESCAPES = {"\\\"", "\\\\", "\\n", "\\t", "\\/", "\\u00e9", "\\ud83d\\ude00"};
+    private static final String PLAIN_CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 _-";
+
+    private enum ValueKind { OBJECT, ARRAY, STRING, NUMBER, BOOLEAN, NULL }
+
+    private final CorpusShape shape;
+    private final Random random;
+    private final String[] keyPool;
+    private final CorpusShape.NumberKind[] numberKinds;
+    private Writer output;
+    private long written = 0;
+    private long freshKeys = 0;
+
+    public JsonCorpusGenerator(CorpusShape shape) {
+        this.shape = shape;
+        this.random = new Random(shape.seed());
+        this.numberKinds = shape.numberKinds().toArray(new CorpusShape.NumberKind[0]);
+        this.keyPool = new String[shape.keyPoolSize()];
+        for (int i = 0; i < keyPool.length; i++) {
+            keyPool[i] = randomKey(i);
+        }
+    }
+
+    // One top-level object
+    public void writeDocument(Writer writer) throws IOException {
+        output = writer;
+        writeObject(0, null);
+        output.flush();
+    }
+
+    // A top-level array of records that share a key set according to the array homogeneity, growing
+    // until at least targetBytes have been written. Suited to producing very large single documents.
+    public void writeRecords(Writer writer, long targetBytes) throws IOException {
+        output = writer;
+        long start = written;
+        List<String> recordKeys = chooseKeys(1 + shape.maxFanOut());
+
+        write('[');
+        for (boolean first = true; written - start < targetBytes; first = false) {
+            if (!first) {
+                write(",\n");
+            }
+            writeObject(1, random.nextDouble() < shape.arrayHomogeneity() ? recordKeys : null);
+        }
+        write(']');
+        output.flush();
+    }
+
+    // Newline-delimited JSON: one top-level object per line
+    public void writeNdjson(Writer writer, long documents) throws IOException {
+        output = writer;
+        for (long i = 0; i < documents; i++) {
+            writeObject(0, null);
+            write('\n');
+        }
+        output.flush();
+    }
+
+    // Like writeNdjson, but stops after the first line that reaches targetBytes in total
+    public void writeNdjsonOfSize(Writer writer, long targetBytes) throws IOException {
+        output = writer;
+        long start = written;
+        while (written - start < targetBytes) {
+            writeObject(0, null);
+            write('\n');
+        }
+        output.flush();
+    }
+
+    public long bytesWritten() {
+        return written;
+    }
+
+    private void writeValue(ValueKind kind, int depth, List<String> keys) throws IOException {
+        switch (kind) {
+            case OBJECT -> writeObject(depth, keys);
+            case ARRAY -> writeArray(depth);
+            case STRING -> writeString(randomBetween(shape.minStringLength(), shape.maxStringLength()));
+            case NUMBER -> writeNumber();
+            case BOOLEAN -> write(random.nextBoolean() ? "true" : "false");
+            case NULL -> write("null");
+        }
+    }
+
+    private ValueKind randomKind(int depth) {
+        if (depth < shape.maxDepth() && random.nextDouble() < shape.containerProbability()) {
+            return random.nextBoolean() ? ValueKind.OBJECT : ValueKind.ARRAY;
+        }
+
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            return ValueKind.STRING;
+        } else if (roll < 80) {
+            return ValueKind.NUMBER;
+        }
+        return roll < 95 ? ValueKind.BOOLEAN : ValueKind.NULL;
+    }
+
+    // Keys may be given so that homogeneous array elements repeat one record layout
+    private void writeObject(int depth, List<String> keys) throws IOException {
+        List<String> members = keys != null ? keys : chooseKeys(randomBetween(shape.minFanOut(), shape.maxFanOut()));
+
+        write('{');
+        for (int i = 0; i < members.size(); i++) {
+            if (i > 0) {
+                write(", ");
+            }
+            write('"');
+            write(members.get(i));
+            write("\": ");
+            writeValue(randomKind(depth + 1), depth + 1, null);
+        }
+        write('}');
+    }
+
+    private void writeArray(int depth) throws IOException {
+        int size = randomBetween(shape.minFanOut(), shape.maxFanOut());
+        ValueKind firstKind = null;
+        List<String> firstKeys = null;
+
+        write('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                write(", ");
+            }
+
+            if (firstKind == null) {
+                firstKind = randomKind(depth + 1);
+                firstKeys = firstKind == ValueKind.OBJECT ? chooseKeys(randomBetween(shape.minFanOut(), shape.maxFanOut())) : null;
+                writeValue(firstKind, depth + 1, firstKeys);
+            } else if (random.nextDouble() < shape.arrayHomogeneity()) {
+                writeValue(firstKind, depth + 1, firstKeys);
+            } else {
+                writeValue(randomKind(depth + 1), depth + 1, null);
+            }
+        }
+        write(']');
+    }
+
+    // Distinct keys for one object: a run of consecutive pool entries, topped up with fresh keys
+    private List<String> chooseKeys(int count) {
+        List<String> keys = new ArrayList<>(count);
+        int fromPool = Math.min(count, keyPool.length);
+        int start = keyPool.length == 0 ? 0 : random.nextInt(keyPool.length);
+
+        for (int i = 0; i < fromPool; i++) {
+            keys.add(keyPool[(start + i) % keyPool.length]);
+        }
+        while (keys.size() < count) {
+            keys.add(randomKey(keyPool.length + freshKeys++));
+        }
+        return keys;
+    }
+
+    private String randomKey(long uniqueSuffix) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0, length = 3 + random.nextInt(8); i < length; i++) {
+            key.append((char) ('a' + random.nextInt(26)));
+        }
+        return key.append('_').append(uniqueSuffix).toString();
+    }
+
+    private void writeString(int length) throws IOException {
+        write('"');
+        for (int i = 0; i < length; i++) {
+            if (random.nextDouble() < shape.escapeDensity()) {
+                write(ESCAPES[random.nextInt(ESCAPES.length)]);
+            } else {
+                write(PLAIN_CHARACTERS.charAt(random.nextInt(PLAIN_CHARACTERS.length())));
+            }
+        }
+        write('"');
+    }
+
+    private void writeNumber() throws IOException {
+        switch (numberKinds[random.nextInt(numberKinds.length)]) {
+            case INTEGER -> write(Integer.toString(random.nextInt(2_000_001) - 1_000_000));
+            case LONG -> write(Long.toString(random.nextLong()));
+            case DECIMAL -> write((random.nextInt(2_000_001) - 1_000_000) + "." + (10 + random.nextInt(90)));
+            case EXPONENT -> write((1 + random.nextInt(9)) + "." + random.nextInt(1000) + "e" + (random.nextInt(61) - 30));
+            case BIG_INTEGER -> {
+                write((char) ('1' + random.nextInt(9)));
+                for (int i = 0; i < 29; i++) {
+                    write((char) ('0' + random.nextInt(10)));
+                }
+            }
+        }
+    }
+
+    private int randomBetween(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private void write(char c) throws IOException {
+        output.write(c);
+        written++;
+    }
+
+    private void write(String s) throws IOException {
+        output.write(s);
+        written += s.length();
+    }
+
+    public static void main(String[] args) throws IOException {
+        CorpusShape shape = CorpusShape.DEFAULT;
+        long size = -1;
+        long documents = 1;
+        boolean ndjson = false;
+        Path out = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--ndjson")) {
+                ndjson = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+
+            String value = args[++i];
+            switch (option) {
+                case "--seed" -> shape = shape.withSeed(Long.parseLong(value));
+                case "--size" -> size = parseSize(value);
+                case "--documents" -> documents = Long.parseLong(value);
+                case "--depth" -> shape = shape.withMaxDepth(Integer.parseInt(value));
+                case "--fan-out" -> shape = shape.withFanOut(rangeStart(value), rangeEnd(value));
+                case "--keys" -> shape = shape.withKeyPoolSize(Integer.parseInt(value));
+                case "--string-length" -> shape = shape.withStringLength(rangeStart(value), rangeEnd(value));
+                case "--escapes" -> shape = shape.withEscapeDensity(Double.parseDouble(value));
+                case "--numbers" -> shape = shape.withNumberKinds(parseNumberKinds(value));
+                case "--homogeneity" -> shape = shape.withArrayHomogeneity(Double.parseDouble(value));
+                case "--containers" -> shape = shape.withContainerProbability(Double.parseDouble(value));
+                case "--out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+
+        OutputStream stream = out != null ? Files.newOutputStream(out) : new FileOutputStream(FileDescriptor.out);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.US_ASCII), 1 << 16)) {
+            JsonCorpusGenerator generator = new JsonCorpusGenerator(shape);
+            if (ndjson && size >= 0) {
+                generator.writeNdjsonOfSize(writer, size);
+            } else if (ndjson) {
+                generator.writeNdjson(writer, documents);
+            } else if (size >= 0) {
+                generator.writeRecords(writer, size);
+            } else {
+                generator.writeDocument(writer);
+            }
+        }
+    }
+
+    private static long parseSize(String value) {
+        String upper = value.toUpperCase();
+        long multiplier = 1;
+        if (upper.endsWith("KB")) {
+            multiplier = 1L << 10;
+        } else if (upper.endsWith("MB")) {
+            multiplier = 1L << 20;
+        } else if (upper.endsWith("GB")) {
+            multiplier = 1L << 30;
+        }
+        String digits = multiplier == 1 ? upper : upper.substring(0, upper.length() - 2);
+        return Long.parseLong(digits.trim()) * multiplier;
+    }
+
+    private static int rangeStart(String range) {
+        return Integer.parseInt(range.substring(0, range.indexOf(':')));
+    }
+
+    private static int rangeEnd(String range) {
+        return Integer.parseInt(range.substring(range.indexOf(':') + 1));
+    }
+
+    private static Set<CorpusShape.NumberKind> parseNumberKinds(String value) {
+        Set<CorpusShape.NumberKind> kinds = EnumSet.noneOf(CorpusShape.NumberKind.class);
+        for (String kind : value.split(",")) {
+            kinds.add(CorpusShape.NumberKind.valueOf(kind.trim().toUpperCase()));
+        }
+        return kinds;
+    }
+}